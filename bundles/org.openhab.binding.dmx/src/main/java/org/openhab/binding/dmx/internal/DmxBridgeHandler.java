@@ -18,8 +18,6 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
 
 import org.eclipse.smarthome.core.library.types.OnOffType;
 import org.eclipse.smarthome.core.thing.Bridge;
@@ -55,9 +53,9 @@ public abstract class DmxBridgeHandler extends BaseBridgeHandler {
 
     protected Universe universe;
 
-    private ScheduledFuture<?> senderJob;
-    private boolean isMuted = false;
-    private int refreshTime = 1000 / DEFAULT_REFRESH_RATE;
+    private boolean senderInstalled = false;
+    private volatile boolean isMuted = false;
+    private int refreshRate = DEFAULT_REFRESH_RATE;
 
     public DmxBridgeHandler(Bridge dmxBridge) {
         super(dmxBridge);
@@ -150,13 +148,15 @@ public abstract class DmxBridgeHandler extends BaseBridgeHandler {
 
     /**
      * install the sending and updating scheduler
+     *
+     * The frames of all bridges are sent by the shared {@link DmxFrameEngine}.
      */
     protected void installScheduler() {
-        if (senderJob != null) {
+        if (senderInstalled) {
             uninstallScheduler();
         }
-        if (refreshTime > 0) {
-            senderJob = scheduler.scheduleAtFixedRate(() -> {
+        if (refreshRate > 0) {
+            DmxFrameEngine.getInstance().addSender(this, () -> {
                 logger.trace("runnable packet sender for universe {} called, state {}/{}", universe.getUniverseId(),
                         getThing().getStatus(), isMuted);
                 if (!isMuted) {
@@ -164,7 +164,8 @@ public abstract class DmxBridgeHandler extends BaseBridgeHandler {
                 } else {
                     logger.trace("bridge {} is muted", getThing().getUID());
                 }
-            }, 1, refreshTime, TimeUnit.MILLISECONDS);
+            }, refreshRate);
+            senderInstalled = true;
             logger.trace("started scheduler for thing {}", this.thing.getUID());
         } else {
             logger.info("refresh disabled for thing {}", this.thing.getUID());
@@ -175,12 +176,10 @@ public abstract class DmxBridgeHandler extends BaseBridgeHandler {
      * uninstall the sending and updating scheduler
      */
     protected void uninstallScheduler() {
-        if (senderJob != null) {
-            if (!senderJob.isCancelled()) {
-                senderJob.cancel(true);
-            }
-            senderJob = null;
-            closeConnection();
+        if (senderInstalled) {
+            // the connection is closed as soon as a frame of this bridge that is currently sent is finished
+            DmxFrameEngine.getInstance().removeSender(this, this::closeConnection);
+            senderInstalled = false;
             logger.trace("stopping scheduler for thing {}", this.thing.getUID());
         }
     }
@@ -200,14 +199,10 @@ public abstract class DmxBridgeHandler extends BaseBridgeHandler {
             universe.setDimCurveChannels(configuration.applycurve);
         }
 
-        int refreshRate = configuration.refreshrate;
-        if (refreshRate > 0) {
-            refreshTime = (int) (1000.0 / refreshRate);
-        } else {
-            refreshTime = 0;
-        }
+        refreshRate = Util.coerceToRange(configuration.refreshrate, 0, DmxFrameEngine.MAX_REFRESH_RATE, logger,
+                "refreshrate");
 
-        logger.debug("set refreshTime to {} ms in thing {}", refreshTime, this.thing.getUID());
+        logger.debug("set refreshRate to {} Hz in thing {}", refreshRate, this.thing.getUID());
 
         installScheduler();
     }
@@ -0,0 +1,197 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.dmx.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link DmxFrameEngine} sends the frames of all DMX bridges from a single thread
+ *
+ * Every bridge has its own frame period, all periods are timed on {@link System#nanoTime()}. The thread is started
+ * with the first bridge and ends when the last bridge is removed. If the thread is interrupted, a new thread takes
+ * over the remaining bridges. Frames must not block, bridges with blocking
+ * transports hand the actual sending over to their own threads.
+ *
+ * @author agent - Initial contribution
+ */
+public class DmxFrameEngine {
+    public static final int MAX_REFRESH_RATE = 44;
+
+    private static final DmxFrameEngine INSTANCE = new DmxFrameEngine();
+
+    private final Logger logger = LoggerFactory.getLogger(DmxFrameEngine.class);
+
+    private final Object lock = new Object();
+    private final List<FrameSender> senders = new ArrayList<>();
+    private FrameSender currentSender;
+    private final List<Runnable> afterCurrentFrame = new ArrayList<>();
+    private Thread thread;
+
+    private static class FrameSender {
+        private final Object key;
+        private final Runnable sendFrame;
+        private final long framePeriod;
+        private long nextFrame;
+
+        FrameSender(Object key, Runnable sendFrame, long framePeriod, long nextFrame) {
+            this.key = key;
+            this.sendFrame = sendFrame;
+            this.framePeriod = framePeriod;
+            this.nextFrame = nextFrame;
+        }
+    }
+
+    /**
+     * get the engine shared by all bridges
+     *
+     * @return the frame engine
+     */
+    public static DmxFrameEngine getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * add a frame sender, replaces an already added sender with the same key
+     *
+     * @param key the key of the sender, usually the bridge handler
+     * @param sendFrame called once per frame, must not block
+     * @param refreshRate frames per second, coerced to {@link #MAX_REFRESH_RATE}
+     */
+    public void addSender(Object key, Runnable sendFrame, int refreshRate) {
+        int rate = Util.coerceToRange(refreshRate, 1, MAX_REFRESH_RATE, logger, "refresh rate");
+        long framePeriod = TimeUnit.SECONDS.toNanos(1) / rate;
+        synchronized (lock) {
+            senders.removeIf(sender -> sender.key == key);
+            senders.add(new FrameSender(key, sendFrame, framePeriod, System.nanoTime()));
+            if (thread == null) {
+                startThread();
+            }
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * remove a frame sender, does not wait for a frame of this sender that is currently sent
+     *
+     * @param key the key the sender was added with
+     */
+    public void removeSender(Object key) {
+        removeSender(key, () -> {
+        });
+    }
+
+    /**
+     * remove a frame sender without waiting for a frame of this sender that is currently sent
+     *
+     * @param key the key the sender was added with
+     * @param onRemoved called when no frame of this sender is sent anymore, either immediately or by the frame
+     *            thread after the current frame, must not block
+     */
+    public void removeSender(Object key, Runnable onRemoved) {
+        synchronized (lock) {
+            senders.removeIf(sender -> sender.key == key);
+            lock.notifyAll();
+            if (currentSender != null && currentSender.key == key && Thread.currentThread() != thread) {
+                afterCurrentFrame.add(onRemoved);
+                return;
+            }
+        }
+        onRemoved.run();
+    }
+
+    /**
+     * start the frame thread, must be called with the lock held
+     */
+    private void startThread() {
+        Thread thread = new Thread(this::run, "OH-binding-dmx-frameEngine");
+        thread.setDaemon(true);
+        this.thread = thread;
+        thread.start();
+    }
+
+    private void run() {
+        List<Runnable> finishedCallbacks = new ArrayList<>();
+        while (true) {
+            FrameSender sender;
+            synchronized (lock) {
+                currentSender = null;
+                finishedCallbacks.addAll(afterCurrentFrame);
+                afterCurrentFrame.clear();
+            }
+            for (Runnable callback : finishedCallbacks) {
+                try {
+                    callback.run();
+                } catch (RuntimeException e) {
+                    logger.warn("removing DMX frame sender failed", e);
+                }
+            }
+            finishedCallbacks.clear();
+            synchronized (lock) {
+                sender = nextSender();
+                if (sender == null) {
+                    return;
+                }
+                currentSender = sender;
+            }
+            try {
+                sender.sendFrame.run();
+            } catch (RuntimeException e) {
+                logger.warn("sending DMX frame failed", e);
+            }
+        }
+    }
+
+    /**
+     * wait for the next due sender, must be called with the lock held
+     *
+     * @return the sender or null if no senders are left or the thread was interrupted and the thread has to end
+     */
+    private FrameSender nextSender() {
+        while (true) {
+            if (senders.isEmpty()) {
+                thread = null;
+                return null;
+            }
+            FrameSender next = senders.get(0);
+            for (FrameSender sender : senders) {
+                if (sender.nextFrame - next.nextFrame < 0) {
+                    next = sender;
+                }
+            }
+            long now = System.nanoTime();
+            long wait = next.nextFrame - now;
+            if (wait <= 0) {
+                next.nextFrame += next.framePeriod;
+                if (next.nextFrame - now <= 0) {
+                    // frames were missed, do not try to catch up
+                    next.nextFrame = now + next.framePeriod;
+                }
+                return next;
+            }
+            try {
+                TimeUnit.NANOSECONDS.timedWait(lock, wait);
+            } catch (InterruptedException e) {
+                // hand the remaining senders over to a new thread
+                logger.debug("DMX frame thread was interrupted, starting a new one");
+                Thread.currentThread().interrupt();
+                startThread();
+                return null;
+            }
+        }
+    }
+}
@@ -103,6 +103,14 @@ public class ArtnetPacket extends DmxOverEthernetPacket {
         setPayload(payload);
     }
 
+    @Override
+    public void setPayload(Universe universe) {
+        if (universe.getBufferSize() != this.payloadSize) {
+            setPayloadSize(universe.getBufferSize());
+        }
+        universe.copyBuffer(rawPacket, 18, payloadSize);
+    }
+
     @Override
     public int getPacketLength() {
         return (18 + this.payloadSize);
@@ -13,9 +13,10 @@
 package org.openhab.binding.dmx.internal.dmxoverethernet;
 
 import java.io.IOException;
-import java.net.DatagramPacket;
-import java.net.DatagramSocket;
-import java.net.SocketException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -42,7 +43,9 @@ public abstract class DmxOverEthernetHandler extends DmxBridgeHandler {
 
     protected boolean refreshAlways = false;
 
-    DatagramSocket socket = null;
+    DatagramChannel channel = null;
+    private ByteBuffer sendBuffer;
+    private final List<InetSocketAddress> receiverAddresses = new ArrayList<>();
     private long lastSend = 0;
     private int repeatCounter = 0;
     private int sequenceNo = 0;
@@ -51,23 +54,27 @@ public abstract class DmxOverEthernetHandler extends DmxBridgeHandler {
     protected void openConnection() {
         if (getThing().getStatus() != ThingStatus.ONLINE) {
             try {
+                channel = DatagramChannel.open();
+                channel.setOption(StandardSocketOptions.SO_BROADCAST, true);
                 if (senderNode.getAddress() == null) {
-                    if (senderNode.getPort() == 0) {
-                        socket = new DatagramSocket();
-                        senderNode.setInetAddress(socket.getLocalAddress());
-                        senderNode.setPort(socket.getLocalPort());
-                    } else {
-                        socket = new DatagramSocket(senderNode.getPort());
-                        senderNode.setInetAddress(socket.getLocalAddress());
-                    }
+                    channel.bind(new InetSocketAddress(senderNode.getPort()));
+                    senderNode.setInetAddress(channel.socket().getLocalAddress());
+                    senderNode.setPort(channel.socket().getLocalPort());
                 } else {
-                    socket = new DatagramSocket(senderNode.getPort(), senderNode.getAddress());
+                    channel.bind(new InetSocketAddress(senderNode.getAddress(), senderNode.getPort()));
+                }
+                // the packet is sent directly from the raw packet, no copies per frame or receiver
+                sendBuffer = ByteBuffer.wrap(packetTemplate.getRawPacket());
+                receiverAddresses.clear();
+                for (IpNode receiverNode : receiverNodes) {
+                    receiverAddresses.add(new InetSocketAddress(receiverNode.getAddress(), receiverNode.getPort()));
                 }
                 updateStatus(ThingStatus.ONLINE);
                 logger.debug("opened socket {} in bridge {}", senderNode, this.thing.getUID());
-            } catch (SocketException e) {
+            } catch (IOException e) {
                 logger.debug("could not open socket {} in bridge {}: {}", senderNode, this.thing.getUID(),
                         e.getMessage());
+                closeChannel();
                 updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR, "opening UDP socket failed");
             }
         }
@@ -75,16 +82,27 @@ public abstract class DmxOverEthernetHandler extends DmxBridgeHandler {
 
     @Override
     protected void closeConnection() {
-        if (socket != null) {
+        if (channel != null) {
             logger.debug("closing socket {} in bridge {}", senderNode, this.thing.getUID());
-            socket.close();
-            socket = null;
+            closeChannel();
         } else {
             logger.debug("socket was already closed when calling closeConnection in bridge {}", this.thing.getUID());
         }
         updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR, "UDP socket closed");
     }
 
+    private void closeChannel() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.debug("could not close socket {} in bridge {}: {}", senderNode, this.thing.getUID(),
+                        e.getMessage());
+            }
+            channel = null;
+        }
+    }
+
     @Override
     protected void sendDmxData() {
         if (getThing().getStatus() == ThingStatus.ONLINE) {
@@ -101,21 +119,20 @@ public abstract class DmxOverEthernetHandler extends DmxBridgeHandler {
                 repeatCounter++;
             }
             if (needsSending) {
-                packetTemplate.setPayload(universe.getBuffer(), universe.getBufferSize());
+                packetTemplate.setPayload(universe);
                 packetTemplate.setSequence(sequenceNo);
-                DatagramPacket sendPacket = new DatagramPacket(packetTemplate.getRawPacket(),
-                        packetTemplate.getPacketLength());
-                for (IpNode receiverNode : receiverNodes) {
-                    sendPacket.setAddress(receiverNode.getAddress());
-                    sendPacket.setPort(receiverNode.getPort());
-                    logger.trace("sending packet with length {} to {}", packetTemplate.getPacketLength(),
-                            receiverNode.toString());
+                int packetLength = packetTemplate.getPacketLength();
+                for (InetSocketAddress receiverAddress : receiverAddresses) {
+                    logger.trace("sending packet with length {} to {}", packetLength, receiverAddress);
+                    sendBuffer.limit(packetLength);
+                    sendBuffer.position(0);
                     try {
-                        socket.send(sendPacket);
+                        channel.send(sendBuffer, receiverAddress);
                     } catch (IOException e) {
-                        logger.debug("Could not send to {} in {}: {}", receiverNode, this.thing.getUID(),
+                        logger.debug("Could not send to {} in {}: {}", receiverAddress, this.thing.getUID(),
                                 e.getMessage());
                         closeConnection(ThingStatusDetail.COMMUNICATION_ERROR, "could not send DMX data");
+                        break;
                     }
                 }
                 lastSend = now;
@@ -12,6 +12,8 @@
  */
 package org.openhab.binding.dmx.internal.dmxoverethernet;
 
+import org.openhab.binding.dmx.internal.multiverse.Universe;
+
 /**
  * The {@link DmxOverEthernetPacket} is an abstract class for
  * DMX over Ethernet packets (ArtNet, sACN)
@@ -60,6 +62,13 @@ public abstract class DmxOverEthernetPacket {
      */
     public abstract void setPayload(byte[] payload, int payloadSize);
 
+    /**
+     * set payload data by copying the buffer of a universe directly into the packet
+     *
+     * @param universe the universe, payload size is adjusted to its buffer size
+     */
+    public abstract void setPayload(Universe universe);
+
     /**
      * get packet for transmission
      *
@@ -177,6 +177,14 @@ public class SacnPacket extends DmxOverEthernetPacket {
         setPayload(payload);
     }
 
+    @Override
+    public void setPayload(Universe universe) {
+        if (universe.getBufferSize() != this.payloadSize) {
+            setPayloadSize(universe.getBufferSize());
+        }
+        universe.copyBuffer(rawPacket, 126, payloadSize);
+    }
+
     @Override
     public int getPacketLength() {
         return (126 + this.payloadSize);
@@ -15,11 +15,15 @@ package org.openhab.binding.dmx.internal.handler;
 import static org.openhab.binding.dmx.internal.DmxBindingConstants.THING_TYPE_LIB485_BRIDGE;
 
 import java.io.IOException;
+import java.net.InetSocketAddress;
 import java.net.Socket;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Future;
 
 import org.eclipse.smarthome.core.thing.Bridge;
 import org.eclipse.smarthome.core.thing.ThingStatus;
@@ -45,8 +49,14 @@ public class Lib485BridgeHandler extends DmxBridgeHandler {
     public static final int MAX_UNIVERSE_ID = 0;
     public static final int DEFAULT_PORT = 9020;
 
+    private static final int CONNECT_TIMEOUT_MS = 2000;
+    private static final long WRITE_TIMEOUT_MS = 2000;
+
     private final Logger logger = LoggerFactory.getLogger(Lib485BridgeHandler.class);
     private final Map<IpNode, Socket> receiverNodes = new HashMap<>();
+    private int connectionGeneration;
+    private volatile Future<?> connectionTask;
+    private long connectionTaskStarted;
 
     public Lib485BridgeHandler(Bridge lib485Bridge) {
         super(lib485Bridge);
@@ -55,12 +65,24 @@ public class Lib485BridgeHandler extends DmxBridgeHandler {
     @Override
     protected void openConnection() {
         if (getThing().getStatus() != ThingStatus.ONLINE) {
-            for (IpNode receiverNode : receiverNodes.keySet()) {
-                Socket socket = receiverNodes.get(receiverNode);
+            int generation;
+            List<IpNode> nodes;
+            synchronized (receiverNodes) {
+                generation = connectionGeneration;
+                nodes = new ArrayList<>(receiverNodes.keySet());
+            }
+            for (IpNode receiverNode : nodes) {
+                Socket socket;
+                synchronized (receiverNodes) {
+                    socket = receiverNodes.get(receiverNode);
+                }
                 if (socket == null) {
+                    socket = new Socket();
                     try {
-                        socket = new Socket(receiverNode.getAddressString(), receiverNode.getPort());
+                        socket.connect(new InetSocketAddress(receiverNode.getAddressString(), receiverNode.getPort()),
+                                CONNECT_TIMEOUT_MS);
                     } catch (IOException e) {
+                        closeSocket(receiverNode, socket);
                         logger.debug("Could not connect to {} in {}: {}", receiverNode, this.thing.getUID(),
                                 e.getMessage());
                         updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR,
@@ -69,12 +91,13 @@ public class Lib485BridgeHandler extends DmxBridgeHandler {
                     }
                 }
 
-                if (socket.isConnected()) {
+                synchronized (receiverNodes) {
+                    if (generation != connectionGeneration || !receiverNodes.containsKey(receiverNode)) {
+                        // the connection was closed or reconfigured meanwhile
+                        closeSocket(receiverNode, socket);
+                        return;
+                    }
                     receiverNodes.put(receiverNode, socket);
-                } else {
-                    updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR);
-                    receiverNodes.put(receiverNode, null);
-                    return;
                 }
             }
             updateStatus(ThingStatus.ONLINE);
@@ -83,43 +106,82 @@ public class Lib485BridgeHandler extends DmxBridgeHandler {
 
     @Override
     protected void closeConnection() {
-        for (IpNode receiverNode : receiverNodes.keySet()) {
-            Socket socket = receiverNodes.get(receiverNode);
-            if ((socket != null) && (!socket.isClosed())) {
-                try {
-                    socket.close();
-                } catch (IOException e) {
-                    logger.warn("Could not close socket {} in {}: {}", receiverNode, this.thing.getUID(),
-                            e.getMessage());
-                }
+        Future<?> task = connectionTask;
+        if (task != null) {
+            task.cancel(false);
+        }
+        Map<IpNode, Socket> sockets;
+        synchronized (receiverNodes) {
+            connectionGeneration++;
+            sockets = new HashMap<>(receiverNodes);
+            for (IpNode receiverNode : sockets.keySet()) {
+                receiverNodes.put(receiverNode, null);
+            }
+        }
+        // closing the sockets also ends a blocked write
+        for (Map.Entry<IpNode, Socket> entry : sockets.entrySet()) {
+            Socket socket = entry.getValue();
+            if (socket != null) {
+                closeSocket(entry.getKey(), socket);
+            }
+        }
+    }
+
+    private void closeSocket(IpNode receiverNode, Socket socket) {
+        if (!socket.isClosed()) {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                logger.warn("Could not close socket {} in {}: {}", receiverNode, this.thing.getUID(), e.getMessage());
             }
-            receiverNodes.put(receiverNode, null);
         }
     }
 
+    /**
+     * called by the shared frame thread, the connection attempts and writes are blocking and therefore run on the
+     * scheduler of this bridge. Frames are skipped while the last frame or connection attempt is not finished.
+     */
     @Override
     protected void sendDmxData() {
+        long now = System.currentTimeMillis();
+        Future<?> task = connectionTask;
+        if (task != null && !task.isDone()) {
+            if (getThing().getStatus() == ThingStatus.ONLINE && now - connectionTaskStarted > WRITE_TIMEOUT_MS) {
+                logger.debug("Sending DMX data in {} timed out", this.thing.getUID());
+                closeConnection(ThingStatusDetail.COMMUNICATION_ERROR, "sending DMX data timed out");
+            }
+            return;
+        }
         if (getThing().getStatus() == ThingStatus.ONLINE) {
-            long now = System.currentTimeMillis();
             universe.calculateBuffer(now);
-            for (IpNode receiverNode : receiverNodes.keySet()) {
-                Socket socket = receiverNodes.get(receiverNode);
-                if (socket.isConnected()) {
-                    try {
-                        socket.getOutputStream().write(universe.getBuffer());
-                    } catch (IOException e) {
-                        logger.debug("Could not send to {} in {}: {}", receiverNode, this.thing.getUID(),
-                                e.getMessage());
-                        closeConnection(ThingStatusDetail.COMMUNICATION_ERROR, "could not send DMX data");
-                        return;
-                    }
-                } else {
-                    closeConnection(ThingStatusDetail.NONE, "reconnect");
+            byte[] buffer = universe.getBuffer();
+            connectionTask = scheduler.submit(() -> writeDmxData(buffer));
+        } else {
+            connectionTask = scheduler.submit(this::openConnection);
+        }
+        connectionTaskStarted = now;
+    }
+
+    private void writeDmxData(byte[] buffer) {
+        Map<IpNode, Socket> sockets;
+        synchronized (receiverNodes) {
+            sockets = new HashMap<>(receiverNodes);
+        }
+        for (Map.Entry<IpNode, Socket> entry : sockets.entrySet()) {
+            Socket socket = entry.getValue();
+            if (socket != null && socket.isConnected() && !socket.isClosed()) {
+                try {
+                    socket.getOutputStream().write(buffer);
+                } catch (IOException e) {
+                    logger.debug("Could not send to {} in {}: {}", entry.getKey(), this.thing.getUID(),
+                            e.getMessage());
+                    closeConnection(ThingStatusDetail.COMMUNICATION_ERROR, "could not send DMX data");
                     return;
                 }
+            } else {
+                closeConnection(ThingStatusDetail.NONE, "reconnect");
+                return;
             }
-        } else {
-            openConnection();
         }
     }
 
@@ -129,21 +191,27 @@ public class Lib485BridgeHandler extends DmxBridgeHandler {
 
         universe = new Universe(MIN_UNIVERSE_ID);
 
-        receiverNodes.clear();
+        List<IpNode> nodes;
         if (configuration.address.isEmpty()) {
-            receiverNodes.put(new IpNode("localhost:9020"), null);
-            logger.debug("sending to {} for {}", receiverNodes, this.thing.getUID());
+            nodes = Collections.singletonList(new IpNode("localhost:9020"));
         } else {
             try {
-                for (IpNode receiverNode : IpNode.fromString(configuration.address, DEFAULT_PORT)) {
-                    receiverNodes.put(receiverNode, null);
-                    logger.debug("sending to {} for {}", receiverNode, this.thing.getUID());
-                }
+                nodes = IpNode.fromString(configuration.address, DEFAULT_PORT);
             } catch (IllegalArgumentException e) {
+                synchronized (receiverNodes) {
+                    receiverNodes.clear();
+                }
                 updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR, e.getMessage());
                 return;
             }
         }
+        synchronized (receiverNodes) {
+            receiverNodes.clear();
+            for (IpNode receiverNode : nodes) {
+                receiverNodes.put(receiverNode, null);
+                logger.debug("sending to {} for {}", receiverNode, this.thing.getUID());
+            }
+        }
         super.updateConfiguration();
 
         updateStatus(ThingStatus.UNKNOWN, ThingStatusDetail.NONE);
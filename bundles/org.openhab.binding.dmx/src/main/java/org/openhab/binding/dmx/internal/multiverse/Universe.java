@@ -16,6 +16,7 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
 
 import org.eclipse.smarthome.core.thing.Thing;
 import org.slf4j.Logger;
@@ -32,20 +33,23 @@ public class Universe {
     public static final int MAX_UNIVERSE_SIZE = 512;
     public static final int DEFAULT_REFRESH_TIME = 1000;
 
+    private static final short[] CIE1931_CURVE = createDimCurveLookupTable();
+
     private final Logger logger = LoggerFactory.getLogger(Universe.class);
     private final ReentrantLock universeLock = new ReentrantLock();
 
     private int universeId;
     private int bufferSize = MIN_UNIVERSE_SIZE;
 
-    private final short[] buffer = new short[MAX_UNIVERSE_SIZE];
-    private final short[] cie1931Curve = new short[DmxChannel.MAX_VALUE << 8 + 1];
+    private final byte[] buffer = new byte[MAX_UNIVERSE_SIZE];
 
-    private long bufferChanged;
+    private volatile long bufferChanged;
     private int refreshTime = DEFAULT_REFRESH_TIME;
 
     private final List<DmxChannel> channels = new ArrayList<>();
-    private final List<Integer> applyCurve = new ArrayList<>();
+    // snapshot of channels and dim curve channels for the buffer calculation, replaced on every change
+    private volatile DmxChannel[] calculatedChannels = new DmxChannel[0];
+    private volatile boolean[] applyCurve = new boolean[MAX_UNIVERSE_SIZE + 1];
 
     /**
      * universe constructor
@@ -54,7 +58,6 @@ public class Universe {
      */
     public Universe(int universeId) {
         this.universeId = universeId;
-        fillDimCurveLookupTable();
     }
 
     /**
@@ -104,6 +107,7 @@ public class Universe {
                     logger.trace("Removing channel {}, no more things", channel);
                 }
             }
+            calculatedChannels = channels.toArray(new DmxChannel[0]);
         } finally {
             universeLock.unlock();
         }
@@ -122,6 +126,7 @@ public class Universe {
                 if (channel.getChannelId() > bufferSize) {
                     bufferSize = channel.getChannelId();
                 }
+                calculatedChannels = channels.toArray(new DmxChannel[0]);
             } finally {
                 universeLock.unlock();
             }
@@ -174,28 +179,27 @@ public class Universe {
     /**
      * calculate this universe buffer (run all channel actions) for a given time
      *
+     * The calculation works on a snapshot of the registered channels, so it does not block or get blocked by
+     * registering channels. It must not be called concurrently for the same universe.
+     *
      * @param time the timestamp used for calculation
      */
     public void calculateBuffer(long time) {
-        universeLock.lock();
-        try {
-            for (DmxChannel channel : channels) {
-                logger.trace("calculating new value for {}", channel);
-                int channelId = channel.getChannelId();
-                int vx = channel.getNewHiResValue(time);
-                int value;
-                if (applyCurve.contains(channelId)) {
-                    value = cie1931Curve[vx];
-                } else {
-                    value = vx >> 8;
-                }
-                if (buffer[channelId - 1] != value) {
-                    buffer[channelId - 1] = (short) value;
-                    bufferChanged = time;
-                }
+        boolean[] applyCurve = this.applyCurve;
+        for (DmxChannel channel : calculatedChannels) {
+            logger.trace("calculating new value for {}", channel);
+            int channelId = channel.getChannelId();
+            int vx = channel.getNewHiResValue(time);
+            int value;
+            if (applyCurve[channelId]) {
+                value = CIE1931_CURVE[vx];
+            } else {
+                value = vx >> 8;
+            }
+            if ((buffer[channelId - 1] & 0xFF) != value) {
+                buffer[channelId - 1] = (byte) value;
+                bufferChanged = time;
             }
-        } finally {
-            universeLock.unlock();
         }
     }
 
@@ -206,34 +210,42 @@ public class Universe {
      */
     public byte[] getBuffer() {
         byte[] b = new byte[bufferSize];
-        universeLock.lock();
-        try {
-            for (int i = 0; i < bufferSize; i++) {
-                b[i] = (byte) buffer[i];
-            }
-        } finally {
-            universeLock.unlock();
-        }
+        copyBuffer(b, 0, bufferSize);
         return b;
     }
 
+    /**
+     * copy the universe buffer to a given array, e.g. the payload of a packet
+     *
+     * @param destination the destination array
+     * @param offset the position of the first channel in the destination array
+     * @param length the number of channels to copy
+     */
+    public void copyBuffer(byte[] destination, int offset, int length) {
+        System.arraycopy(buffer, 0, destination, offset, length);
+    }
+
     /**
      * set list of channels that should use the LED dim curve
      *
      * @param listString
      */
     public void setDimCurveChannels(String listString) {
-        applyCurve.clear();
-        for (BaseDmxChannel channel : BaseDmxChannel.fromString(listString, universeId)) {
-            applyCurve.add(channel.getChannelId());
+        boolean[] applyCurve = new boolean[MAX_UNIVERSE_SIZE + 1];
+        List<BaseDmxChannel> curveChannels = BaseDmxChannel.fromString(listString, universeId);
+        for (BaseDmxChannel channel : curveChannels) {
+            applyCurve[channel.getChannelId()] = true;
         }
-        logger.debug("applying dim curve in universe {} to channels {}", universeId, applyCurve);
+        this.applyCurve = applyCurve;
+        logger.debug("applying dim curve in universe {} to channels {}", universeId,
+                curveChannels.stream().map(BaseDmxChannel::getChannelId).collect(Collectors.toList()));
     }
 
     /**
      * calculate dim curve table for fast lookup
      */
-    private void fillDimCurveLookupTable() {
+    private static short[] createDimCurveLookupTable() {
+        short[] cie1931Curve = new short[DmxChannel.MAX_VALUE << 8 + 1];
         // formula taken from: Poynton, C.A.: “Gamma” and its Disguises: The Nonlinear Mappings of
         // Intensity in Perception, CRTs, Film and Video, SMPTE Journal Dec. 1993, pp. 1099 - 1108
         // inverted
@@ -246,6 +258,7 @@ public class Universe {
                 cie1931Curve[i] = (short) Math.round(DmxChannel.MAX_VALUE * Math.pow((lLn + 0.16) / 1.16, 3));
             }
         }
+        return cie1931Curve;
     }
 
     /**
@@ -0,0 +1,154 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.dmx.internal;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import org.junit.Test;
+
+/**
+ * Tests cases for DmxFrameEngine
+ *
+ * @author agent - Initial contribution
+ */
+public class DmxFrameEngineTest {
+
+    private final DmxFrameEngine frameEngine = DmxFrameEngine.getInstance();
+
+    private void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean() && System.nanoTime() - end < 0) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
+    @Test
+    public void sendersAreCalledWithTheirRefreshRate() throws InterruptedException {
+        Object fastKey = new Object();
+        Object slowKey = new Object();
+        AtomicInteger fastFrames = new AtomicInteger();
+        AtomicInteger slowFrames = new AtomicInteger();
+        CountDownLatch slowFramesSent = new CountDownLatch(5);
+
+        long start = System.nanoTime();
+        frameEngine.addSender(fastKey, fastFrames::incrementAndGet, 40);
+        frameEngine.addSender(slowKey, () -> {
+            slowFrames.incrementAndGet();
+            slowFramesSent.countDown();
+        }, 10);
+        assertTrue(slowFramesSent.await(10, TimeUnit.SECONDS));
+        frameEngine.removeSender(fastKey);
+        frameEngine.removeSender(slowKey);
+        double seconds = (System.nanoTime() - start) / (double) TimeUnit.SECONDS.toNanos(1);
+
+        // missed frames are not caught up, so no sender is called more often than its refresh rate
+        assertTrue("fast frames " + fastFrames.get(), fastFrames.get() <= 40 * seconds + 2);
+        assertTrue("slow frames " + slowFrames.get(), slowFrames.get() <= 10 * seconds + 2);
+        assertTrue("fast frames " + fastFrames.get() + ", slow frames " + slowFrames.get(),
+                fastFrames.get() > slowFrames.get());
+    }
+
+    @Test
+    public void sendersAreCalledAfterTheThreadWasInterrupted() throws InterruptedException {
+        Object key = new Object();
+        AtomicReference<Thread> frameThread = new AtomicReference<>();
+        AtomicInteger frames = new AtomicInteger();
+
+        frameEngine.addSender(key, () -> {
+            frameThread.set(Thread.currentThread());
+            frames.incrementAndGet();
+        }, 40);
+        waitFor(() -> frames.get() > 0);
+        Thread interruptedThread = frameThread.get();
+        interruptedThread.interrupt();
+
+        waitFor(() -> frameThread.get() != interruptedThread);
+        int framesAfterInterrupt = frames.get();
+        waitFor(() -> frames.get() > framesAfterInterrupt);
+        frameEngine.removeSender(key);
+    }
+
+    @Test
+    public void removedSendersAreNotCalled() throws InterruptedException {
+        Object key = new Object();
+        AtomicInteger frames = new AtomicInteger();
+
+        frameEngine.addSender(key, frames::incrementAndGet, 20);
+        waitFor(() -> frames.get() > 0);
+        CountDownLatch removed = new CountDownLatch(1);
+        frameEngine.removeSender(key, removed::countDown);
+        assertTrue(removed.await(1, TimeUnit.SECONDS));
+        int framesAfterRemove = frames.get();
+        Thread.sleep(200);
+
+        assertTrue(framesAfterRemove > 0);
+        assertEquals(framesAfterRemove, frames.get());
+    }
+
+    @Test
+    public void failingSenderDoesNotStopOtherSenders() throws InterruptedException {
+        Object failingKey = new Object();
+        Object key = new Object();
+        AtomicInteger frames = new AtomicInteger();
+
+        frameEngine.addSender(failingKey, () -> {
+            throw new IllegalStateException("test");
+        }, 40);
+        frameEngine.addSender(key, frames::incrementAndGet, 40);
+        Thread.sleep(200);
+        frameEngine.removeSender(failingKey);
+        frameEngine.removeSender(key);
+
+        assertTrue(frames.get() > 0);
+    }
+
+    @Test
+    public void removeSenderDoesNotWaitForCurrentFrame() throws InterruptedException {
+        Object key = new Object();
+        CountDownLatch frameStarted = new CountDownLatch(1);
+        CountDownLatch releaseFrame = new CountDownLatch(1);
+        CountDownLatch removed = new CountDownLatch(1);
+
+        frameEngine.addSender(key, () -> {
+            frameStarted.countDown();
+            try {
+                releaseFrame.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, 40);
+        assertTrue(frameStarted.await(1, TimeUnit.SECONDS));
+
+        long start = System.nanoTime();
+        frameEngine.removeSender(key, removed::countDown);
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+        // the callback runs only after the current frame is finished
+        assertEquals(1, removed.getCount());
+        releaseFrame.countDown();
+        assertTrue(removed.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void removeSenderWithoutCurrentFrameCallsBackImmediately() {
+        AtomicInteger calls = new AtomicInteger();
+        frameEngine.removeSender(new Object(), calls::incrementAndGet);
+        assertEquals(1, calls.get());
+    }
+}
@@ -0,0 +1,116 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.dmx.internal.multiverse;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.UUID;
+
+import org.eclipse.smarthome.core.thing.Thing;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.openhab.binding.dmx.internal.dmxoverethernet.ArtnetPacket;
+import org.openhab.binding.dmx.internal.dmxoverethernet.SacnPacket;
+
+/**
+ * Tests cases for Universe
+ *
+ * @author agent - Initial contribution
+ */
+public class UniverseTest {
+
+    Universe universe;
+    Thing thing;
+    long currentTime;
+
+    @Before
+    public void setup() {
+        universe = new Universe(1);
+        thing = Mockito.mock(Thing.class);
+        currentTime = System.currentTimeMillis();
+    }
+
+    @Test
+    public void checkBufferCalculation() {
+        universe.registerChannel(new BaseDmxChannel(1, 1), thing).setValue(100);
+        universe.registerChannel(new BaseDmxChannel(1, 40), thing).setValue(255);
+
+        universe.calculateBuffer(currentTime);
+
+        assertThat(universe.getBufferSize(), is(40));
+        assertThat(universe.getLastBufferChanged(), is(currentTime));
+        byte[] buffer = universe.getBuffer();
+        assertThat(buffer.length, is(40));
+        assertThat(buffer[0] & 0xFF, is(100));
+        assertThat(buffer[1] & 0xFF, is(0));
+        assertThat(buffer[39] & 0xFF, is(255));
+    }
+
+    @Test
+    public void unchangedBufferKeepsTimestamp() {
+        universe.registerChannel(new BaseDmxChannel(1, 1), thing).setValue(100);
+        universe.calculateBuffer(currentTime);
+
+        universe.calculateBuffer(currentTime + 100);
+        assertThat(universe.getLastBufferChanged(), is(currentTime));
+    }
+
+    @Test
+    public void unregisteredChannelsAreNotCalculated() {
+        DmxChannel channel = universe.registerChannel(new BaseDmxChannel(1, 2), thing);
+        channel.setValue(10);
+        universe.unregisterChannels(thing);
+        channel.setValue(20);
+
+        universe.calculateBuffer(currentTime);
+        assertThat(universe.getBuffer()[1] & 0xFF, is(0));
+    }
+
+    @Test
+    public void checkDimCurveIsApplied() {
+        universe.registerChannel(new BaseDmxChannel(1, 1), thing).setValue(128);
+        universe.registerChannel(new BaseDmxChannel(1, 2), thing).setValue(128);
+        universe.registerChannel(new BaseDmxChannel(1, 3), thing).setValue(255);
+        universe.setDimCurveChannels("1,3");
+
+        universe.calculateBuffer(currentTime);
+
+        byte[] buffer = universe.getBuffer();
+        assertThat(buffer[0] & 0xFF, is(47));
+        assertThat(buffer[1] & 0xFF, is(128));
+        assertThat(buffer[2] & 0xFF, is(255));
+    }
+
+    @Test
+    public void checkBufferIsCopiedToPackets() {
+        universe.registerChannel(new BaseDmxChannel(1, 1), thing).setValue(17);
+        universe.registerChannel(new BaseDmxChannel(1, 50), thing).setValue(42);
+        universe.calculateBuffer(currentTime);
+
+        ArtnetPacket artnetPacket = new ArtnetPacket();
+        artnetPacket.setPayload(universe);
+        assertThat(artnetPacket.getPayloadSize(), is(50));
+        assertThat(artnetPacket.getPacketLength(), is(18 + 50));
+        assertThat(artnetPacket.getRawPacket()[18] & 0xFF, is(17));
+        assertThat(artnetPacket.getRawPacket()[18 + 49] & 0xFF, is(42));
+
+        SacnPacket sacnPacket = new SacnPacket(UUID.randomUUID());
+        sacnPacket.setPayload(universe);
+        assertThat(sacnPacket.getPayloadSize(), is(50));
+        assertThat(sacnPacket.getPacketLength(), is(126 + 50));
+        assertThat(sacnPacket.getRawPacket()[126] & 0xFF, is(17));
+        assertThat(sacnPacket.getRawPacket()[126 + 49] & 0xFF, is(42));
+    }
+}
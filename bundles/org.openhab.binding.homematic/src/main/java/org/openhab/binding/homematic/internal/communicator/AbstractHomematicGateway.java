@@ -40,6 +40,7 @@ import org.openhab.binding.homematic.internal.communicator.client.UnknownParamet
 import org.openhab.binding.homematic.internal.communicator.client.XmlRpcClient;
 import org.openhab.binding.homematic.internal.communicator.parser.ListBidcosInterfacesParser;
 import org.openhab.binding.homematic.internal.communicator.server.BinRpcServer;
+import org.openhab.binding.homematic.internal.communicator.server.RpcEvent;
 import org.openhab.binding.homematic.internal.communicator.server.RpcEventListener;
 import org.openhab.binding.homematic.internal.communicator.server.RpcServer;
 import org.openhab.binding.homematic.internal.communicator.server.XmlRpcServer;
@@ -337,7 +338,10 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
 
     @Override
     public HmDatapoint getDatapoint(HmDatapointInfo dpInfo) throws HomematicClientException {
-        HmDevice device = getDevice(dpInfo.getAddress());
+        return getDatapoint(getDevice(dpInfo.getAddress()), dpInfo);
+    }
+
+    private HmDatapoint getDatapoint(HmDevice device, HmDatapointInfo dpInfo) throws HomematicClientException {
         HmChannel channel = device.getChannel(dpInfo.getChannel());
         if (channel == null) {
             throw new HomematicClientException(String.format("Channel %s in device '%s' not found on gateway '%s'",
@@ -722,6 +726,21 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
 
     @Override
     public void eventReceived(HmDatapointInfo dpInfo, Object newValue) {
+        eventReceived(devices.get(dpInfo.getAddress()), dpInfo, newValue);
+    }
+
+    @Override
+    public void eventsReceived(String address, List<RpcEvent> events) {
+        HmDevice device = devices.get(address);
+        for (RpcEvent event : events) {
+            eventReceived(device, event.getDpInfo(), event.getValue());
+        }
+    }
+
+    /**
+     * Handles a event of the given device, the device is null if it is unknown.
+     */
+    private void eventReceived(HmDevice device, HmDatapointInfo dpInfo, Object newValue) {
         String className = newValue == null ? "Unknown" : newValue.getClass().getSimpleName();
         logger.debug("Received new ({}) value '{}' for '{}' from gateway with id '{}'", className, newValue, dpInfo,
                 id);
@@ -734,7 +753,8 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
                     connectionTrackerThread.pongReceived();
                 }
                 if (initialized) {
-                    final HmDatapoint dp = getDatapoint(dpInfo);
+                    final HmDatapoint dp = getDatapoint(device != null ? device : getDevice(dpInfo.getAddress()),
+                            dpInfo);
                     HmDatapointConfig config = gatewayAdapter.getDatapointConfig(dp);
                     receiveDelayedExecutor.start(dpInfo, config.getReceiveDelay(), () -> {
                         dp.setValue(newValue);
@@ -19,26 +19,36 @@ import java.io.UnsupportedEncodingException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.math.RoundingMode;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.UnsupportedCharsetException;
 import java.text.ParseException;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 
-import org.apache.commons.lang.ArrayUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Handles BIN-RPC request and response messages to communicate with a Homematic gateway.
  *
+ * Messages are encoded into and decoded from a {@link ByteBuffer}. A received message is read with a single
+ * allocation for the whole message and decoded in place.
+ *
  * @author Gerhard Riegler - Initial contribution
  */
 public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
+    private static final int HEADER_LENGTH = 8;
+    private static final int INITIAL_CAPACITY = 256;
+    // far above the largest messages of the gateways, like newDevices with the descriptions of all devices
+    public static final int MAX_DATA_LENGTH = 16 * 1024 * 1024;
+
     private final Logger logger = LoggerFactory.getLogger(BinRpcMessage.class);
 
     public enum TYPE {
@@ -47,13 +57,14 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
     }
 
     private Object[] messageData;
-    private byte binRpcData[];
-    private int offset;
+    private ByteBuffer binRpcData;
+    private byte[] message;
+    private int argsPosition;
 
     private String methodName;
     private TYPE type;
     private int args;
-    private String encoding;
+    private Charset charset;
 
     public BinRpcMessage(String methodName, String encoding) {
         this(methodName, TYPE.REQUEST, encoding);
@@ -65,7 +76,7 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
     public BinRpcMessage(String methodName, TYPE type, String encoding) {
         this.methodName = methodName;
         this.type = type;
-        this.encoding = encoding;
+        this.charset = toCharset(encoding);
         createHeader();
     }
 
@@ -73,33 +84,40 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
      * Decodes a BIN-RPC message from the given InputStream.
      */
     public BinRpcMessage(InputStream is, boolean methodHeader, String encoding) throws IOException {
-        this.encoding = encoding;
-        byte sig[] = new byte[8];
-        int length = is.read(sig, 0, 4);
+        this.charset = toCharset(encoding);
+        byte header[] = new byte[HEADER_LENGTH];
+        int length = readFully(is, header, 0, 4);
         if (length != 4) {
             throw new EOFException("Only " + length + " bytes received reading signature");
         }
-        validateBinXSignature(sig);
-        length = is.read(sig, 4, 4);
+        validateBinXSignature(header);
+        length = readFully(is, header, 4, 4);
         if (length != 4) {
             throw new EOFException("Only " + length + " bytes received reading message length");
         }
-        int datasize = (new BigInteger(ArrayUtils.subarray(sig, 4, 8))).intValue();
-        byte payload[] = new byte[datasize];
-        int offset = 0;
-        int currentLength;
-
-        while (offset < datasize && (currentLength = is.read(payload, offset, datasize - offset)) != -1) {
-            offset += currentLength;
+        int datasize = ByteBuffer.wrap(header).getInt(4);
+        if (datasize < 0 || datasize > MAX_DATA_LENGTH) {
+            throw new IOException("Invalid message length " + datasize);
         }
-        if (offset != datasize) {
-            throw new EOFException("Only " + offset + " bytes received while reading message payload, expected "
+        byte message[] = new byte[HEADER_LENGTH + datasize];
+        System.arraycopy(header, 0, message, 0, HEADER_LENGTH);
+        length = readFully(is, message, HEADER_LENGTH, datasize);
+        if (length != datasize) {
+            throw new EOFException("Only " + length + " bytes received while reading message payload, expected "
                     + datasize + " bytes");
         }
-        byte[] message = ArrayUtils.addAll(sig, payload);
         decodeMessage(message, methodHeader);
     }
 
+    private static int readFully(InputStream is, byte[] buffer, int offset, int length) throws IOException {
+        int read = 0;
+        int currentLength;
+        while (read < length && (currentLength = is.read(buffer, offset + read, length - read)) != -1) {
+            read += currentLength;
+        }
+        return read;
+    }
+
     private void validateBinXSignature(byte[] sig) throws UnsupportedEncodingException {
         if (sig[0] != 'B' || sig[1] != 'i' || sig[2] != 'n') {
             throw new UnsupportedEncodingException("No BinX signature");
@@ -110,7 +128,7 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
      * Decodes a BIN-RPC message from the given byte array.
      */
     public BinRpcMessage(byte[] message, boolean methodHeader, String encoding) throws IOException, ParseException {
-        this.encoding = encoding;
+        this.charset = toCharset(encoding);
         if (message.length < 8) {
             throw new EOFException("Only " + message.length + " bytes received");
         }
@@ -118,43 +136,46 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
         decodeMessage(message, methodHeader);
     }
 
-    private void decodeMessage(byte[] message, boolean methodHeader) throws IOException {
-        binRpcData = message;
-
-        offset = 8;
-
-        if (methodHeader) {
-            methodName = readString();
-            readInt();
+    private static Charset toCharset(String encoding) {
+        try {
+            return Charset.forName(encoding);
+        } catch (IllegalCharsetNameException | UnsupportedCharsetException e) {
+            return Charset.defaultCharset();
         }
-        generateResponseData();
     }
 
-    public void setType(TYPE type) {
-        binRpcData[3] = type == TYPE.RESPONSE ? (byte) 1 : (byte) 0;
+    private void decodeMessage(byte[] message, boolean methodHeader) throws IOException {
+        this.message = message;
+        binRpcData = ByteBuffer.wrap(message);
+        binRpcData.position(HEADER_LENGTH);
+        try {
+            if (methodHeader) {
+                methodName = readString(binRpcData);
+                binRpcData.getInt();
+            }
+            argsPosition = binRpcData.position();
+            messageData = readRpcValues(binRpcData);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Unexpected end of BIN-RPC message");
+        }
     }
 
-    private void generateResponseData() throws IOException {
-        offset = 8 + (methodName != null ? methodName.length() + 8 : 0);
-        List<Object> values = new ArrayList<>();
-        while (offset < binRpcData.length) {
-            values.add(readRpcValue());
-        }
-        messageData = values.toArray();
-        values.clear();
+    public void setType(TYPE type) {
+        binRpcData.put(3, type == TYPE.RESPONSE ? (byte) 1 : (byte) 0);
+        message = null;
     }
 
     private void createHeader() {
-        binRpcData = new byte[256];
-        addString("Bin ");
+        binRpcData = ByteBuffer.allocate(INITIAL_CAPACITY);
+        binRpcData.put(new byte[] { 'B', 'i', 'n', 0 });
         setType(type);
-        addInt(0); // placeholder content length
+        binRpcData.putInt(0); // placeholder content length
         if (methodName != null) {
-            addInt(methodName.length());
             addString(methodName);
-            addInt(0); // placeholder arguments
+            binRpcData.putInt(0); // placeholder arguments
         }
-        setInt(4, offset - 8);
+        argsPosition = binRpcData.position();
+        binRpcData.putInt(4, binRpcData.position() - HEADER_LENGTH);
     }
 
     /**
@@ -163,11 +184,12 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
     @Override
     public void addArg(Object argument) {
         addObject(argument);
-        setInt(4, offset - 8);
+        binRpcData.putInt(4, binRpcData.position() - HEADER_LENGTH);
 
         if (methodName != null) {
-            setInt(12 + methodName.length(), ++args);
+            binRpcData.putInt(argsPosition - 4, ++args);
         }
+        message = null;
     }
 
     public int getArgCount() {
@@ -181,14 +203,10 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
 
     @Override
     public byte[] createMessage() {
-        trimBinRpcData();
-        return binRpcData;
-    }
-
-    private void trimBinRpcData() {
-        byte[] trimmed = new byte[offset];
-        System.arraycopy(binRpcData, 0, trimmed, 0, offset);
-        binRpcData = trimmed;
+        if (message == null) {
+            message = Arrays.copyOf(binRpcData.array(), binRpcData.position());
+        }
+        return message;
     }
 
     @Override
@@ -197,92 +215,94 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
     }
 
     // read rpc values
-    private int readInt() {
-        byte bi[] = new byte[4];
-        System.arraycopy(binRpcData, offset, bi, 0, 4);
-        offset += 4;
-        return (new BigInteger(bi)).intValue();
+    private Object[] readRpcValues(ByteBuffer data) throws IOException {
+        Object[] values = new Object[8];
+        int count = 0;
+        while (data.hasRemaining()) {
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+            }
+            values[count++] = readRpcValue(data);
+        }
+        return Arrays.copyOf(values, count);
     }
 
-    private long readInt64() {
-        byte bi[] = new byte[8];
-        System.arraycopy(binRpcData, offset, bi, 0, 8);
-        offset += 8;
-        return (new BigInteger(bi)).longValue();
+    private String readString(ByteBuffer data) throws IOException {
+        int len = data.getInt();
+        if (len < 0 || len > data.remaining()) {
+            throw new IOException("Invalid string length " + len);
+        }
+        String string = new String(data.array(), data.arrayOffset() + data.position(), len, charset);
+        data.position(data.position() + len);
+        return string;
     }
 
-    private String readString() throws UnsupportedEncodingException {
-        int len = readInt();
-        offset += len;
-        return new String(binRpcData, offset - len, len, encoding);
+    private int readElementCount(ByteBuffer data) throws IOException {
+        int count = data.getInt();
+        // every element takes at least four bytes
+        if (count < 0 || count > data.remaining() / 4) {
+            throw new IOException("Invalid number of elements " + count);
+        }
+        return count;
     }
 
-    private Object readRpcValue() throws IOException {
-        int type = readInt();
+    private Object readRpcValue(ByteBuffer data) throws IOException {
+        int type = data.getInt();
         switch (type) {
             case 1:
-                return new Integer(readInt());
+                return Integer.valueOf(data.getInt());
             case 2:
-                return binRpcData[offset++] != 0 ? Boolean.TRUE : Boolean.FALSE;
+                return data.get() != 0 ? Boolean.TRUE : Boolean.FALSE;
             case 3:
-                return readString();
+                return readString(data);
             case 4:
-                int mantissa = readInt();
-                int exponent = readInt();
+                int mantissa = data.getInt();
+                int exponent = data.getInt();
                 BigDecimal bd = new BigDecimal((double) mantissa / (double) (1 << 30) * Math.pow(2, exponent));
                 return bd.setScale(6, RoundingMode.HALF_DOWN).doubleValue();
             case 5:
-                return new Date(readInt() * 1000);
+                return new Date(data.getInt() * 1000L);
             case 0xD1:
                 // Int64
-                return new Long(readInt64());
+                return Long.valueOf(data.getLong());
             case 0x100:
                 // Array
-                int numElements = readInt();
-                Collection<Object> array = new ArrayList<>();
-                while (numElements-- > 0) {
-                    array.add(readRpcValue());
+                Object[] array = new Object[readElementCount(data)];
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = readRpcValue(data);
                 }
-                return array.toArray();
+                return array;
             case 0x101:
                 // Struct
-                numElements = readInt();
+                int numElements = readElementCount(data);
                 Map<String, Object> struct = new TreeMap<>();
                 while (numElements-- > 0) {
-                    String name = readString();
-                    struct.put(name, readRpcValue());
+                    String name = readString(data);
+                    struct.put(name, readRpcValue(data));
                 }
                 return struct;
 
             default:
-                for (int i = 0; i < binRpcData.length; i++) {
-                    logger.info("{} {}", Integer.toHexString(binRpcData[i]), (char) binRpcData[i]);
+                if (logger.isInfoEnabled()) {
+                    logger.info("Unknown data type {} in BIN-RPC message {}", type, Arrays.toString(data.array()));
                 }
                 throw new IOException("Unknown data type " + type);
         }
     }
 
-    private void setInt(int position, int value) {
-        int temp = offset;
-        offset = position;
-        addInt(value);
-        offset = temp;
-    }
-
-    private void addByte(byte b) {
-        if (offset == binRpcData.length) {
-            byte newdata[] = new byte[binRpcData.length * 2];
-            System.arraycopy(binRpcData, 0, newdata, 0, binRpcData.length);
-            binRpcData = newdata;
+    private void ensureCapacity(int length) {
+        if (binRpcData.remaining() < length) {
+            int capacity = Math.max(binRpcData.capacity() * 2, binRpcData.position() + length);
+            ByteBuffer newData = ByteBuffer.allocate(capacity);
+            binRpcData.flip();
+            newData.put(binRpcData);
+            binRpcData = newData;
         }
-        binRpcData[offset++] = b;
     }
 
     private void addInt(int value) {
-        addByte((byte) (value >> 24));
-        addByte((byte) (value >> 16));
-        addByte((byte) (value >> 8));
-        addByte((byte) (value));
+        ensureCapacity(4);
+        binRpcData.putInt(value);
     }
 
     private void addDouble(double value) {
@@ -303,40 +323,30 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
             tmp *= -1;
         }
         int mantissa = (int) Math.round(tmp * 0x40000000);
-        addInt(mantissa);
-        addInt(exp);
+        ensureCapacity(8);
+        binRpcData.putInt(mantissa);
+        binRpcData.putInt(exp);
     }
 
     private void addString(String string) {
-        byte sd[];
-        try {
-            sd = string.getBytes(encoding);
-        } catch (UnsupportedEncodingException use) {
-            sd = string.getBytes();
-        }
-        for (byte ch : sd) {
-            addByte(ch);
-        }
-    }
-
-    private void addList(Collection<?> collection) {
-        for (Object object : collection) {
-            addObject(object);
-        }
+        byte sd[] = string.getBytes(charset);
+        ensureCapacity(4 + sd.length);
+        binRpcData.putInt(sd.length);
+        binRpcData.put(sd);
     }
 
     private void addObject(Object object) {
         if (object.getClass() == String.class) {
             addInt(3);
-            String string = (String) object;
-            addInt(string.length());
-            addString(string);
+            addString((String) object);
         } else if (object.getClass() == Boolean.class) {
-            addInt(2);
-            addByte(((Boolean) object).booleanValue() ? (byte) 1 : (byte) 0);
+            ensureCapacity(5);
+            binRpcData.putInt(2);
+            binRpcData.put(((Boolean) object).booleanValue() ? (byte) 1 : (byte) 0);
         } else if (object.getClass() == Integer.class) {
-            addInt(1);
-            addInt(((Integer) object).intValue());
+            ensureCapacity(8);
+            binRpcData.putInt(1);
+            binRpcData.putInt(((Integer) object).intValue());
         } else if (object.getClass() == Double.class) {
             addInt(4);
             addDouble(((Double) object).doubleValue());
@@ -351,23 +361,27 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
             addInt(4);
             addDouble(((BigInteger) object).doubleValue());
         } else if (object.getClass() == Date.class) {
-            addInt(5);
-            addInt((int) ((Date) object).getTime() / 1000);
+            ensureCapacity(8);
+            binRpcData.putInt(5);
+            binRpcData.putInt((int) (((Date) object).getTime() / 1000));
         } else if (object instanceof List<?>) {
             Collection<?> list = (Collection<?>) object;
-            addInt(0x100);
-            addInt(list.size());
-            addList(list);
+            ensureCapacity(8);
+            binRpcData.putInt(0x100);
+            binRpcData.putInt(list.size());
+            for (Object element : list) {
+                addObject(element);
+            }
         } else if (object instanceof Map<?, ?>) {
             Map<?, ?> map = (Map<?, ?>) object;
-            addInt(0x101);
-            addInt(map.size());
+            ensureCapacity(8);
+            binRpcData.putInt(0x101);
+            binRpcData.putInt(map.size());
             for (Map.Entry<?, ?> entry : map.entrySet()) {
                 String key = (String) entry.getKey();
                 if (key != null) {
-                    addInt(key.length());
                     addString(key);
-                    addList(Collections.singleton(entry.getValue()));
+                    addObject(entry.getValue());
                 }
             }
         }
@@ -380,9 +394,9 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
     @Override
     public String toString() {
         try {
-            trimBinRpcData();
-            generateResponseData();
-            return RpcUtils.dumpRpcMessage(methodName, messageData);
+            ByteBuffer data = ByteBuffer.wrap(createMessage());
+            data.position(argsPosition);
+            return RpcUtils.dumpRpcMessage(methodName, readRpcValues(data));
         } catch (Exception e) {
             throw new RuntimeException(e.getMessage(), e);
         }
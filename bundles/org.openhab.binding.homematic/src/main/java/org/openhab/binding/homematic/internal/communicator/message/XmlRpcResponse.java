@@ -37,6 +37,9 @@ import org.xml.sax.helpers.DefaultHandler;
  * @author Gerhard Riegler - Initial contribution
  */
 public class XmlRpcResponse implements RpcResponse {
+    private static final SAXParserFactory PARSER_FACTORY = SAXParserFactory.newInstance();
+    private static final ThreadLocal<SAXParser> PARSERS = new ThreadLocal<>();
+
     private String methodName;
     private Object[] responseData;
 
@@ -45,11 +48,28 @@ public class XmlRpcResponse implements RpcResponse {
      */
     public XmlRpcResponse(InputStream is, String encoding)
             throws SAXException, ParserConfigurationException, IOException {
-        SAXParserFactory factory = SAXParserFactory.newInstance();
-        SAXParser saxParser = factory.newSAXParser();
+        SAXParser saxParser = getParser();
         InputSource inputSource = new InputSource(is);
         inputSource.setEncoding(encoding);
-        saxParser.parse(inputSource, new XmlRpcHandler());
+        try {
+            saxParser.parse(inputSource, new XmlRpcHandler());
+        } finally {
+            saxParser.reset();
+        }
+    }
+
+    /**
+     * Returns the parser of the current thread, creating a parser is expensive compared to parsing short messages.
+     */
+    private static SAXParser getParser() throws SAXException, ParserConfigurationException {
+        SAXParser saxParser = PARSERS.get();
+        if (saxParser == null) {
+            synchronized (PARSER_FACTORY) {
+                saxParser = PARSER_FACTORY.newSAXParser();
+            }
+            PARSERS.set(saxParser);
+        }
+        return saxParser;
     }
 
     @Override
@@ -75,7 +95,7 @@ public class XmlRpcResponse implements RpcResponse {
     private class XmlRpcHandler extends DefaultHandler {
         private List<Object> result = new ArrayList<>();
         private LinkedList<List<Object>> currentDataObject = new LinkedList<>();
-        private StringBuilder tagValue;
+        private final StringBuilder tagValue = new StringBuilder();
         private boolean isValueTag;
 
         @Override
@@ -92,12 +112,11 @@ public class XmlRpcResponse implements RpcResponse {
         @Override
         public void startElement(String uri, String localName, String qName, Attributes attributes)
                 throws SAXException {
-            String tag = qName.toLowerCase();
-            if (tag.equals("array") || tag.equals("struct")) {
+            if (qName.equalsIgnoreCase("array") || qName.equalsIgnoreCase("struct")) {
                 currentDataObject.addLast(new ArrayList<>());
             }
-            isValueTag = tag.equals("value");
-            tagValue = new StringBuilder();
+            isValueTag = qName.equalsIgnoreCase("value");
+            tagValue.setLength(0);
         }
 
         @Override
@@ -112,10 +131,10 @@ public class XmlRpcResponse implements RpcResponse {
                     break;
                 case "int":
                 case "i4":
-                    data.add(new Integer(currentValue));
+                    data.add(Integer.valueOf(currentValue));
                     break;
                 case "double":
-                    data.add(new Double(currentValue));
+                    data.add(Double.valueOf(currentValue));
                     break;
                 case "string":
                 case "name":
@@ -168,7 +187,7 @@ public class XmlRpcResponse implements RpcResponse {
 
         @Override
         public void characters(char[] ch, int start, int length) throws SAXException {
-            tagValue.append(new String(ch, start, length));
+            tagValue.append(ch, start, length);
         }
     }
 }
@@ -14,30 +14,49 @@ package org.openhab.binding.homematic.internal.communicator.server;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
-import java.net.ServerSocket;
-import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.openhab.binding.homematic.internal.common.HomematicConfig;
 import org.openhab.binding.homematic.internal.communicator.message.BinRpcMessage;
 import org.openhab.binding.homematic.internal.communicator.message.RpcRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
- * Waits for a message from the Homematic gateway and starts the RpcCallbackHandler to handle the message.
+ * Waits for messages from the Homematic gateway and starts the RpcCallbackHandler to handle the messages.
+ *
+ * All connections are served by a single thread with a {@link Selector}. Only received messages are handled on the
+ * RPC thread pool, no thread is waiting for the gateway to send the next message on a kept alive connection. A
+ * connection is not read while a message from it is handled, so the messages of a connection are handled in order.
  *
  * @author Gerhard Riegler - Initial contribution
  */
 public class BinRpcNetworkService implements Runnable {
+    private final Logger logger = LoggerFactory.getLogger(BinRpcNetworkService.class);
+
     private static final byte BIN_EMPTY_STRING[] = { 'B', 'i', 'n', 1, 0, 0, 0, 8, 0, 0, 0, 3, 0, 0, 0, 0 };
     private static final byte BIN_EMPTY_ARRAY[] = { 'B', 'i', 'n', 1, 0, 0, 0, 8, 0, 0, 1, 0, 0, 0, 0, 0 };
     private static final byte BIN_EMPTY_EVENT_LIST[] = { 'B', 'i', 'n', 1, 0, 0, 0, 21, 0, 0, 1, 0, 0, 0, 0, 1, 0, 0, 0,
             3, 0, 0, 0, 5, 'e', 'v', 'e', 'n', 't' };
+    private static final int HEADER_LENGTH = 8;
 
     private static final String RPC_POOL_NAME = "homematicRpc";
-    private ServerSocket serverSocket;
-    private boolean accept = true;
+    private ServerSocketChannel serverChannel;
+    private Selector selector;
+    private volatile boolean accept = true;
     private HomematicConfig config;
     private RpcResponseHandler<byte[]> rpcResponseHandler;
+    private final Queue<Runnable> selectorTasks = new ConcurrentLinkedQueue<>();
 
     /**
      * Creates the socket for listening to events from the Homematic gateway.
@@ -45,9 +64,17 @@ public class BinRpcNetworkService implements Runnable {
     public BinRpcNetworkService(RpcEventListener listener, HomematicConfig config) throws IOException {
         this.config = config;
 
-        serverSocket = new ServerSocket();
-        serverSocket.setReuseAddress(true);
-        serverSocket.bind(new InetSocketAddress(config.getBindAddress(), config.getBinCallbackPort()));
+        selector = Selector.open();
+        try {
+            serverChannel = ServerSocketChannel.open();
+            serverChannel.socket().setReuseAddress(true);
+            serverChannel.bind(new InetSocketAddress(config.getBindAddress(), config.getBinCallbackPort()));
+            serverChannel.configureBlocking(false);
+            serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException e) {
+            closeQuietly();
+            throw e;
+        }
 
         this.rpcResponseHandler = new RpcResponseHandler<byte[]>(listener) {
 
@@ -74,30 +101,232 @@ public class BinRpcNetworkService implements Runnable {
     }
 
     /**
-     * Listening for events and starts the callbackHandler if a event received.
+     * Accepts connections and reads messages until the service is shut down.
      */
     @Override
     public void run() {
-        while (accept) {
-            try {
-                Socket cs = serverSocket.accept();
-                BinRpcResponseHandler rpcHandler = new BinRpcResponseHandler(cs, rpcResponseHandler, config);
-                ThreadPoolManager.getPool(RPC_POOL_NAME).execute(rpcHandler);
-            } catch (IOException ex) {
-                // ignore
+        try {
+            while (accept) {
+                try {
+                    selector.select();
+                    Runnable task;
+                    while ((task = selectorTasks.poll()) != null) {
+                        task.run();
+                    }
+                    Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                    while (keys.hasNext()) {
+                        SelectionKey key = keys.next();
+                        keys.remove();
+                        if (!key.isValid()) {
+                            continue;
+                        }
+                        if (key.isAcceptable()) {
+                            acceptConnection();
+                        } else {
+                            handleConnection(key);
+                        }
+                    }
+                } catch (IOException ex) {
+                    logger.debug("BIN-RPC server failure: {}", ex.getMessage());
+                }
             }
+        } catch (ClosedSelectorException ex) {
+            // shut down
+        } finally {
+            closeQuietly();
         }
     }
 
+    /**
+     * Reads from or writes to a connection, a failure only closes this connection.
+     */
+    private void handleConnection(SelectionKey key) {
+        Connection connection = (Connection) key.attachment();
+        try {
+            if (key.isReadable()) {
+                connection.read();
+            }
+            if (key.isValid() && key.isWritable()) {
+                connection.write();
+            }
+        } catch (RuntimeException ex) {
+            logger.warn("BIN-RPC connection failure: {}", ex.getMessage(), ex);
+            connection.close();
+        }
+    }
+
+    private void acceptConnection() throws IOException {
+        SocketChannel channel = serverChannel.accept();
+        if (channel != null) {
+            channel.configureBlocking(false);
+            Connection connection = new Connection(channel);
+            connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+        }
+    }
+
+    /**
+     * Runs the task on the selector thread.
+     */
+    private void runOnSelector(Runnable task) {
+        selectorTasks.add(task);
+        selector.wakeup();
+    }
+
     /**
      * Stops the listening.
      */
     public void shutdown() {
         accept = false;
         try {
-            serverSocket.close();
+            serverChannel.close();
         } catch (IOException ioe) {
             // ignore
         }
+        selector.wakeup();
+    }
+
+    private void closeQuietly() {
+        if (selector.isOpen()) {
+            for (SelectionKey key : selector.keys()) {
+                try {
+                    key.channel().close();
+                } catch (IOException ioe) {
+                    // ignore
+                }
+            }
+            try {
+                selector.close();
+            } catch (IOException ioe) {
+                // ignore
+            }
+        }
+        if (serverChannel != null) {
+            try {
+                serverChannel.close();
+            } catch (IOException ioe) {
+                // ignore
+            }
+        }
+    }
+
+    /**
+     * A connection from the Homematic gateway, which may be used for several messages.
+     */
+    private class Connection {
+        private final SocketChannel channel;
+        private final long created = System.currentTimeMillis();
+        private final ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+        private SelectionKey key;
+        private ByteBuffer message;
+        private ByteBuffer response;
+
+        private Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        /**
+         * Reads the available data and handles the message when it is complete.
+         */
+        private void read() {
+            try {
+                if (message == null) {
+                    if (channel.read(header) < 0) {
+                        close();
+                        return;
+                    }
+                    if (header.hasRemaining()) {
+                        return;
+                    }
+                    byte[] headerData = header.array();
+                    if (headerData[0] != 'B' || headerData[1] != 'i' || headerData[2] != 'n') {
+                        throw new IOException("No BinX signature");
+                    }
+                    int datasize = header.getInt(4);
+                    if (datasize < 0 || datasize > BinRpcMessage.MAX_DATA_LENGTH) {
+                        throw new IOException("Invalid message length " + datasize);
+                    }
+                    message = ByteBuffer.allocate(HEADER_LENGTH + datasize);
+                    message.put(headerData);
+                    header.clear();
+                }
+                if (message.hasRemaining() && channel.read(message) < 0) {
+                    close();
+                    return;
+                }
+                if (!message.hasRemaining()) {
+                    byte[] messageData = message.array();
+                    message = null;
+                    key.interestOps(0);
+                    ThreadPoolManager.getPool(RPC_POOL_NAME).execute(() -> handle(messageData));
+                }
+            } catch (IOException | RejectedExecutionException ex) {
+                logger.warn("{}", ex.getMessage(), ex);
+                close();
+            }
+        }
+
+        /**
+         * Handles the method call of a message, runs on the RPC thread pool.
+         */
+        private void handle(byte[] messageData) {
+            try {
+                BinRpcMessage message = new BinRpcMessage(messageData, true, config.getEncoding());
+                logger.trace("Event BinRpcMessage: {}", message);
+                byte[] returnValue = rpcResponseHandler.handleMethodCall(message.getMethodName(),
+                        message.getResponseData());
+                runOnSelector(() -> respond(returnValue));
+            } catch (Exception e) {
+                logger.warn("{}", e.getMessage(), e);
+                runOnSelector(this::close);
+            }
+        }
+
+        private void respond(byte[] returnValue) {
+            if (!key.isValid()) {
+                return;
+            }
+            if (returnValue != null) {
+                response = ByteBuffer.wrap(returnValue);
+                write();
+            } else {
+                responseSent();
+            }
+        }
+
+        /**
+         * Writes the pending response, continues when the socket is writable again if it could not be written at once.
+         */
+        private void write() {
+            try {
+                channel.write(response);
+                if (response.hasRemaining()) {
+                    key.interestOps(SelectionKey.OP_WRITE);
+                } else {
+                    response = null;
+                    responseSent();
+                }
+            } catch (IOException ex) {
+                logger.debug("Writing BIN-RPC response failed: {}", ex.getMessage());
+                close();
+            }
+        }
+
+        private void responseSent() {
+            boolean isMaxAliveReached = System.currentTimeMillis() - created > (config.getSocketMaxAlive() * 1000);
+            if (isMaxAliveReached) {
+                close();
+            } else {
+                key.interestOps(SelectionKey.OP_READ);
+            }
+        }
+
+        private void close() {
+            key.cancel();
+            try {
+                channel.close();
+            } catch (IOException ioe) {
+                // ignore
+            }
+        }
     }
 }
@@ -28,6 +28,15 @@ public interface RpcEventListener {
      */
     public void eventReceived(HmDatapointInfo dpInfo, Object newValue);
 
+    /**
+     * Called with the events of one device received in a single system.multicall, in the order they were sent.
+     */
+    public default void eventsReceived(String address, List<RpcEvent> events) {
+        for (RpcEvent event : events) {
+            eventReceived(event.getDpInfo(), event.getValue());
+        }
+    }
+
     /**
      * Called when new devices has been detected on the Homeamtic gateway.
      */
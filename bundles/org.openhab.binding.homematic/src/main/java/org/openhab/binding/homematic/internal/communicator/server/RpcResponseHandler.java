@@ -16,6 +16,7 @@ import static org.openhab.binding.homematic.internal.misc.HomematicConstants.*;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -60,14 +61,24 @@ public abstract class RpcResponseHandler<T> {
             msg.addArg(getListMethods());
             return msg.createMessage();
         } else if (RPC_METHODNAME_SYSTEM_MULTICALL.equals(methodName)) {
+            Map<String, List<RpcEvent>> events = new LinkedHashMap<>();
+            EventParser eventParser = new EventParser();
             for (Object o : (Object[]) responseData[0]) {
                 Map<?, ?> call = (Map<?, ?>) o;
                 if (call != null) {
                     String method = ObjectUtils.toString(call.get("methodName"));
                     Object[] data = (Object[]) call.get("params");
-                    handleMethodCall(method, data);
+                    if (RPC_METHODNAME_EVENT.equals(method)) {
+                        HmDatapointInfo dpInfo = eventParser.parse(data);
+                        events.computeIfAbsent(dpInfo.getAddress(), address -> new ArrayList<>())
+                                .add(new RpcEvent(dpInfo, eventParser.getValue()));
+                    } else {
+                        handleEvents(events);
+                        handleMethodCall(method, data);
+                    }
                 }
             }
+            handleEvents(events);
             return getEmptyEventListResult();
         } else if (RPC_METHODNAME_SET_CONFIG_READY.equals(methodName)) {
             return getEmptyEventListResult();
@@ -99,6 +110,16 @@ public abstract class RpcResponseHandler<T> {
         return getEmptyStringResult();
     }
 
+    /**
+     * Populates the collected events of a multicall to the listener, grouped by device.
+     */
+    private void handleEvents(Map<String, List<RpcEvent>> events) {
+        for (Map.Entry<String, List<RpcEvent>> deviceEvents : events.entrySet()) {
+            listener.eventsReceived(deviceEvents.getKey(), deviceEvents.getValue());
+        }
+        events.clear();
+    }
+
     /**
      * Calls the listener when a devices has been detected.
      */
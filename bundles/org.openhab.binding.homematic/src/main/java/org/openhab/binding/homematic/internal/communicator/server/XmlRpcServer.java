@@ -23,7 +23,9 @@ import javax.xml.parsers.ParserConfigurationException;
 
 import org.eclipse.jetty.server.Request;
 import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
 import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
 import org.openhab.binding.homematic.internal.common.HomematicConfig;
 import org.openhab.binding.homematic.internal.communicator.message.RpcRequest;
 import org.openhab.binding.homematic.internal.communicator.message.XmlRpcRequest;
@@ -40,6 +42,11 @@ import org.xml.sax.SAXException;
 public class XmlRpcServer implements RpcServer {
     private final Logger logger = LoggerFactory.getLogger(XmlRpcServer.class);
 
+    // the connector needs one acceptor and one selector thread, the other threads handle the requests
+    private static final int MIN_THREADS = 2;
+    private static final int MAX_THREADS = 8;
+    private static final int THREAD_IDLE_TIMEOUT = 60000;
+
     private static final String XML_EMPTY_STRING = "<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?>\n<methodResponse><params><param><value></value></param></params></methodResponse>";
     private static final String XML_EMPTY_ARRAY = "<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?>\n<methodResponse><params><param><value><array><data></data></array></value></param></params></methodResponse>";
     private static final String XML_EMPTY_EVENT_LIST = "<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?>\n<methodResponse><params><param><value><array><data><value>event</value></data></array></value></param></params></methodResponse>";
@@ -80,7 +87,13 @@ public class XmlRpcServer implements RpcServer {
         logger.debug("Initializing XML-RPC server at port {}", config.getXmlCallbackPort());
 
         InetSocketAddress callbackAddress = new InetSocketAddress(config.getBindAddress(), config.getXmlCallbackPort());
-        xmlRpcHTTPD = new Server(callbackAddress);
+        QueuedThreadPool threadPool = new QueuedThreadPool(MAX_THREADS, MIN_THREADS, THREAD_IDLE_TIMEOUT);
+        threadPool.setName("HomematicXmlRpcServer");
+        xmlRpcHTTPD = new Server(threadPool);
+        ServerConnector connector = new ServerConnector(xmlRpcHTTPD, 1, 1);
+        connector.setHost(callbackAddress.getHostString());
+        connector.setPort(callbackAddress.getPort());
+        xmlRpcHTTPD.addConnector(connector);
         xmlRpcHTTPD.setHandler(jettyResponseHandler);
 
         try {
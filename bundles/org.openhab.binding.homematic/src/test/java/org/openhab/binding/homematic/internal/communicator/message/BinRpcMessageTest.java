@@ -0,0 +1,202 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homematic.internal.communicator.message;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+/**
+ * Tests of {@link BinRpcMessage} with messages recorded from a CCU.
+ *
+ * @author agent - Initial contribution
+ */
+public class BinRpcMessageTest {
+    private static final String ENCODING = "ISO-8859-1";
+
+    private static final Object[][] EVENTS = { { "BidCos-RF", "NEQ0123456:1", "LEVEL", 0.5 },
+            { "BidCos-RF", "NEQ0123456:1", "WORKING", false }, { "BidCos-RF", "NEQ0654321:2", "STATE", true },
+            { "HmIP-RF", "000A1B2C3D4E5F:3", "ACTUAL_TEMPERATURE", 21.3 },
+            { "HmIP-RF", "000A1B2C3D4E5F:0", "RSSI_DEVICE", -65 } };
+
+    // system.multicall with the EVENTS
+    private static final String MULTICALL_EVENTS = "42696e00000002660000001073797374656d2e6d756c746963616c6c000000"
+            + "01000001000000000500000101000000020000000a6d6574686f644e616d6500000003000000056576656e7400000006706172"
+            + "616d7300000100000000040000000300000009426964436f732d5246000000030000000c4e4551303132333435363a31000000"
+            + "03000000054c4556454c00000004200000000000000000000101000000020000000a6d6574686f644e616d6500000003000000"
+            + "056576656e7400000006706172616d7300000100000000040000000300000009426964436f732d5246000000030000000c4e45"
+            + "51303132333435363a310000000300000007574f524b494e47000000020000000101000000020000000a6d6574686f644e616d"
+            + "6500000003000000056576656e7400000006706172616d7300000100000000040000000300000009426964436f732d52460000"
+            + "00030000000c4e4551303635343332313a3200000003000000055354415445000000020100000101000000020000000a6d6574"
+            + "686f644e616d6500000003000000056576656e7400000006706172616d7300000100000000040000000300000007486d49502d"
+            + "5246000000030000001030303041314232433344344535463a33000000030000001241435455414c5f54454d504552415455"
+            + "5245000000042a99999a0000000500000101000000020000000a6d6574686f644e616d6500000003000000056576656e740000"
+            + "0006706172616d7300000100000000040000000300000007486d49502d5246000000030000001030303041314232433344344535"
+            + "463a30000000030000000b525353495f44455649434500000001ffffffbf";
+
+    // response with a device description, a string and an integer
+    private static final String DEVICE_RESPONSE = "42696e01000000b90000010000000003000001010000000500000007414444"
+            + "52455353000000030000000a4e4551303132333435360000000a4145535f4143544956450000000201000000084348494c44"
+            + "52454e0000010000000002000000030000000c4e4551303132333435363a30000000030000000c4e4551303132333435363a"
+            + "31000000034d494e00000004dddb3333000000090000000756455253494f4e000000010000000c0000000300000007d66c70"
+            + "72656973000000010000002a";
+
+    @Test
+    public void testRecordedMulticallIsDecoded() throws IOException, ParseException {
+        BinRpcMessage message = new BinRpcMessage(fromHex(MULTICALL_EVENTS), true, ENCODING);
+
+        assertThat(message.getMethodName(), is("system.multicall"));
+        assertThat(message.getResponseData().length, is(1));
+        assertEvents(message.getResponseData()[0]);
+    }
+
+    @Test
+    public void testRecordedBurstIsDecodedFromStream() throws IOException {
+        ByteArrayOutputStream burst = new ByteArrayOutputStream();
+        for (int i = 0; i < 100; i++) {
+            burst.write(fromHex(MULTICALL_EVENTS));
+        }
+        // deliver the messages in small chunks like a socket does
+        InputStream is = new ByteArrayInputStream(burst.toByteArray()) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                return super.read(b, off, Math.min(len, 7));
+            }
+        };
+
+        for (int i = 0; i < 100; i++) {
+            BinRpcMessage message = new BinRpcMessage(is, true, ENCODING);
+            assertThat(message.getMethodName(), is("system.multicall"));
+            assertEvents(message.getResponseData()[0]);
+        }
+    }
+
+    @Test
+    public void testMulticallIsEncodedLikeRecorded() {
+        BinRpcMessage message = new BinRpcMessage("system.multicall", ENCODING);
+        List<Object> calls = new ArrayList<>();
+        for (Object[] event : EVENTS) {
+            Map<String, Object> call = new LinkedHashMap<>();
+            call.put("methodName", "event");
+            call.put("params", Arrays.asList(event));
+            calls.add(call);
+        }
+        message.addArg(calls);
+
+        assertThat(toHex(message.createMessage()), is(MULTICALL_EVENTS));
+        assertThat(message.getArgCount(), is(1));
+    }
+
+    @Test
+    public void testResponseIsEncodedLikeRecorded() {
+        BinRpcMessage message = new BinRpcMessage(null, BinRpcMessage.TYPE.RESPONSE, ENCODING);
+        Map<String, Object> device = new TreeMap<>();
+        device.put("ADDRESS", "NEQ0123456");
+        device.put("VERSION", 12);
+        device.put("AES_ACTIVE", true);
+        device.put("CHILDREN", Arrays.asList("NEQ0123456:0", "NEQ0123456:1"));
+        device.put("MIN", -273.15);
+        message.addArg(Arrays.asList(device, "Ölpreis", 42));
+
+        assertThat(toHex(message.createMessage()), is(DEVICE_RESPONSE));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testRecordedResponseIsDecoded() throws IOException, ParseException {
+        BinRpcMessage message = new BinRpcMessage(fromHex(DEVICE_RESPONSE), false, ENCODING);
+
+        Object[] values = (Object[]) message.getResponseData()[0];
+        Map<String, Object> device = (Map<String, Object>) values[0];
+        assertThat(device.get("ADDRESS"), is("NEQ0123456"));
+        assertThat(device.get("VERSION"), is(12));
+        assertThat(device.get("AES_ACTIVE"), is(true));
+        assertThat((Object[]) device.get("CHILDREN"), is(new Object[] { "NEQ0123456:0", "NEQ0123456:1" }));
+        assertThat(device.get("MIN"), is(-273.15));
+        assertThat(values[1], is("Ölpreis"));
+        assertThat(values[2], is(42));
+    }
+
+    @Test
+    public void testArgumentsCanBeAddedAfterCreatingTheMessage() throws IOException, ParseException {
+        BinRpcMessage message = new BinRpcMessage("setValue", ENCODING);
+        message.addArg("NEQ0123456:1");
+        byte[] partial = message.createMessage();
+        message.addArg("LEVEL");
+        message.addArg(0.75);
+
+        BinRpcMessage decoded = new BinRpcMessage(message.createMessage(), true, ENCODING);
+        assertThat(decoded.getResponseData(), is(new Object[] { "NEQ0123456:1", "LEVEL", 0.75 }));
+        assertThat(new BinRpcMessage(partial, true, ENCODING).getResponseData(),
+                is(new Object[] { "NEQ0123456:1" }));
+    }
+
+    @Test(expected = IOException.class)
+    public void testTruncatedMessage() throws IOException, ParseException {
+        byte[] message = fromHex(MULTICALL_EVENTS);
+        new BinRpcMessage(Arrays.copyOf(message, message.length - 3), true, ENCODING);
+    }
+
+    @Test(expected = EOFException.class)
+    public void testClosedStream() throws IOException {
+        byte[] message = fromHex(MULTICALL_EVENTS);
+        new BinRpcMessage(new ByteArrayInputStream(message, 0, message.length - 3), true, ENCODING);
+    }
+
+    @Test(expected = IOException.class)
+    public void testOversizedMessageLength() throws IOException {
+        byte[] header = { 'B', 'i', 'n', 0, 0x7f, (byte) 0xff, (byte) 0xff, (byte) 0xff };
+        new BinRpcMessage(new ByteArrayInputStream(header), true, ENCODING);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void assertEvents(Object multicallArg) {
+        Object[] calls = (Object[]) multicallArg;
+        assertThat(calls.length, is(EVENTS.length));
+        for (int i = 0; i < EVENTS.length; i++) {
+            Map<String, Object> call = (Map<String, Object>) calls[i];
+            assertThat(call.get("methodName"), is("event"));
+            assertThat((Object[]) call.get("params"), is(EVENTS[i]));
+        }
+    }
+
+    private static byte[] fromHex(String hex) {
+        byte[] bytes = new byte[hex.length() / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) Integer.parseInt(hex.substring(i * 2, i * 2 + 2), 16);
+        }
+        return bytes;
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder();
+        for (byte b : bytes) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,81 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homematic.internal.communicator.message;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.junit.Test;
+import org.xml.sax.SAXException;
+
+/**
+ * Tests of {@link XmlRpcResponse} with messages recorded from a CCU.
+ *
+ * @author agent - Initial contribution
+ */
+public class XmlRpcResponseTest {
+    private static final String ENCODING = "ISO-8859-1";
+
+    private static final String MULTICALL_EVENTS = "<?xml version=\"1.0\"?><methodCall>"
+            + "<methodName>system.multicall</methodName><params><param><value><array><data>"
+            + "<value><struct><member><name>methodName</name><value>event</value></member>"
+            + "<member><name>params</name><value><array><data><value>HmIP-RF</value>"
+            + "<value>000A1B2C3D4E5F:3</value><value>ACTUAL_TEMPERATURE</value>"
+            + "<value><double>21.300000</double></value></data></array></value></member></struct></value>"
+            + "<value><struct><member><name>methodName</name><value>event</value></member>"
+            + "<member><name>params</name><value><array><data><value>HmIP-RF</value>"
+            + "<value>000A1B2C3D4E5F:0</value><value>RSSI_DEVICE</value>"
+            + "<value><i4>-65</i4></value></data></array></value></member></struct></value>"
+            + "</data></array></value></param></params></methodCall>";
+
+    @Test
+    public void testRecordedMulticallIsDecoded() throws SAXException, ParserConfigurationException, IOException {
+        for (int i = 0; i < 3; i++) {
+            XmlRpcResponse response = parse(MULTICALL_EVENTS);
+
+            assertThat(response.getMethodName(), is("system.multicall"));
+            Object[] calls = (Object[]) response.getResponseData()[0];
+            assertThat(calls.length, is(2));
+            assertThat(((Map<?, ?>) calls[0]).get("methodName"), is("event"));
+            assertThat((Object[]) ((Map<?, ?>) calls[0]).get("params"),
+                    is(new Object[] { "HmIP-RF", "000A1B2C3D4E5F:3", "ACTUAL_TEMPERATURE", 21.3 }));
+            assertThat((Object[]) ((Map<?, ?>) calls[1]).get("params"),
+                    is(new Object[] { "HmIP-RF", "000A1B2C3D4E5F:0", "RSSI_DEVICE", -65 }));
+        }
+    }
+
+    @Test
+    public void testParsingContinuesAfterInvalidMessage() throws ParserConfigurationException, IOException {
+        try {
+            parse("<methodResponse><params><param><unknown/></param></params></methodResponse>");
+        } catch (SAXException e) {
+            // expected
+        }
+        try {
+            assertThat(parse(MULTICALL_EVENTS).getMethodName(), is("system.multicall"));
+        } catch (SAXException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private XmlRpcResponse parse(String xml) throws SAXException, ParserConfigurationException, IOException {
+        return new XmlRpcResponse(new ByteArrayInputStream(xml.getBytes(StandardCharsets.ISO_8859_1)), ENCODING);
+    }
+}
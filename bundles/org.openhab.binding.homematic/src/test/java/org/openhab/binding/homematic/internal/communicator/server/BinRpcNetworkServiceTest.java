@@ -0,0 +1,119 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homematic.internal.communicator.server;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.homematic.internal.common.HomematicConfig;
+import org.openhab.binding.homematic.internal.communicator.message.BinRpcMessage;
+import org.openhab.binding.homematic.internal.model.HmDatapointInfo;
+
+/**
+ * Tests the handling of malformed messages by the {@link BinRpcNetworkService}.
+ *
+ * @author agent - Initial contribution
+ */
+public class BinRpcNetworkServiceTest {
+    private static final byte[] NEGATIVE_LENGTH_HEADER = { 'B', 'i', 'n', 0, (byte) 0xff, (byte) 0xff, (byte) 0xff,
+            (byte) 0xff };
+    private static final byte[] OVERFLOWING_LENGTH_HEADER = { 'B', 'i', 'n', 0, 0x7f, (byte) 0xff, (byte) 0xff,
+            (byte) 0xfc };
+    private static final byte[] NO_SIGNATURE_HEADER = { 'X', 'i', 'n', 0, 0, 0, 0, 0 };
+
+    private final HomematicConfig config = new HomematicConfig();
+    private BinRpcNetworkService service;
+    private Thread serviceThread;
+
+    @Before
+    public void setup() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            port = socket.getLocalPort();
+        }
+        config.setBindAddress(InetAddress.getLoopbackAddress().getHostAddress());
+        config.setBinCallbackPort(port);
+
+        service = new BinRpcNetworkService(new RpcEventListener() {
+            @Override
+            public void eventReceived(HmDatapointInfo dpInfo, Object newValue) {
+            }
+
+            @Override
+            public void newDevices(List<String> adresses) {
+            }
+
+            @Override
+            public void deleteDevices(List<String> addresses) {
+            }
+        }, config);
+        serviceThread = new Thread(service);
+        serviceThread.start();
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        service.shutdown();
+        serviceThread.join(5000);
+    }
+
+    @Test
+    public void testMalformedHeadersCloseOnlyTheirConnection() throws IOException {
+        try (Socket valid = connect()) {
+            for (byte[] header : new byte[][] { NEGATIVE_LENGTH_HEADER, OVERFLOWING_LENGTH_HEADER,
+                    NO_SIGNATURE_HEADER }) {
+                try (Socket malformed = connect()) {
+                    malformed.getOutputStream().write(header);
+                    assertThat(malformed.getInputStream().read(), is(-1));
+                }
+            }
+
+            // The other connection and the service are still working
+            assertThat(listDevices(valid), is(true));
+            assertThat(listDevices(valid), is(true));
+        }
+        try (Socket other = connect()) {
+            assertThat(listDevices(other), is(true));
+        }
+    }
+
+    private Socket connect() throws IOException {
+        Socket socket = new Socket(InetAddress.getLoopbackAddress(), config.getBinCallbackPort());
+        socket.setSoTimeout(5000);
+        return socket;
+    }
+
+    private boolean listDevices(Socket socket) throws IOException {
+        BinRpcMessage request = new BinRpcMessage("listDevices", config.getEncoding());
+        request.addArg("BidCos-RF");
+        socket.getOutputStream().write(request.createMessage());
+
+        DataInputStream in = new DataInputStream(socket.getInputStream());
+        byte[] header = new byte[8];
+        in.readFully(header);
+        byte[] data = new byte[((header[4] & 0xff) << 24) | ((header[5] & 0xff) << 16) | ((header[6] & 0xff) << 8)
+                | (header[7] & 0xff)];
+        in.readFully(data);
+        return header[0] == 'B' && header[1] == 'i' && header[2] == 'n';
+    }
+}
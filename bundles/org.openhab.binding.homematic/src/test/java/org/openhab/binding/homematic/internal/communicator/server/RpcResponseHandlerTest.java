@@ -0,0 +1,124 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homematic.internal.communicator.server;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.homematic.internal.communicator.message.BinRpcMessage;
+import org.openhab.binding.homematic.internal.communicator.message.RpcRequest;
+import org.openhab.binding.homematic.internal.model.HmDatapointInfo;
+
+/**
+ * Tests the dispatching of the events of a system.multicall by the {@link RpcResponseHandler}.
+ *
+ * @author agent - Initial contribution
+ */
+public class RpcResponseHandlerTest {
+    private final List<String> received = new ArrayList<>();
+    private RpcResponseHandler<byte[]> handler;
+
+    @Before
+    public void setup() {
+        RpcEventListener listener = new RpcEventListener() {
+            @Override
+            public void eventReceived(HmDatapointInfo dpInfo, Object newValue) {
+                received.add("event " + dpInfo.getAddress() + ":" + dpInfo.getChannel() + " " + dpInfo.getName()
+                        + "=" + newValue);
+            }
+
+            @Override
+            public void eventsReceived(String address, List<RpcEvent> events) {
+                received.add("device " + address + " " + events.size());
+                RpcEventListener.super.eventsReceived(address, events);
+            }
+
+            @Override
+            public void newDevices(List<String> adresses) {
+                received.add("newDevices " + adresses);
+            }
+
+            @Override
+            public void deleteDevices(List<String> addresses) {
+                received.add("deleteDevices " + addresses);
+            }
+        };
+
+        handler = new RpcResponseHandler<byte[]>(listener) {
+            @Override
+            protected byte[] getEmptyStringResult() {
+                return new byte[0];
+            }
+
+            @Override
+            protected byte[] getEmptyEventListResult() {
+                return new byte[0];
+            }
+
+            @Override
+            protected byte[] getEmptyArrayResult() {
+                return new byte[0];
+            }
+
+            @Override
+            protected RpcRequest<byte[]> createRpcRequest() {
+                return new BinRpcMessage(null, BinRpcMessage.TYPE.RESPONSE, "ISO-8859-1");
+            }
+        };
+    }
+
+    @Test
+    public void testMulticallEventsAreGroupedByDevice() throws IOException {
+        handler.handleMethodCall("system.multicall",
+                new Object[] { new Object[] { event("NEQ0123456:1", "LEVEL", 0.5),
+                        event("NEQ0654321:2", "STATE", true), event("NEQ0123456:1", "WORKING", false) } });
+
+        assertThat(received.size(), is(5));
+        assertThat(received.get(0), is("device NEQ0123456 2"));
+        assertThat(received.get(1), is("event NEQ0123456:1 LEVEL=0.5"));
+        assertThat(received.get(2), is("event NEQ0123456:1 WORKING=false"));
+        assertThat(received.get(3), is("device NEQ0654321 1"));
+        assertThat(received.get(4), is("event NEQ0654321:2 STATE=true"));
+    }
+
+    @Test
+    public void testMulticallKeepsOrderAroundOtherCalls() throws IOException {
+        Map<String, Object> deleteDevices = new HashMap<>();
+        deleteDevices.put("methodName", "deleteDevices");
+        deleteDevices.put("params",
+                new Object[] { "BidCos-RF", new Object[] { "NEQ0654321", "BidCos-RF" } });
+
+        handler.handleMethodCall("system.multicall", new Object[] { new Object[] {
+                event("NEQ0654321:2", "STATE", true), deleteDevices, event("NEQ0123456:1", "LEVEL", 1.0) } });
+
+        assertThat(received.size(), is(5));
+        assertThat(received.get(0), is("device NEQ0654321 1"));
+        assertThat(received.get(2), is("deleteDevices [NEQ0654321]"));
+        assertThat(received.get(3), is("device NEQ0123456 1"));
+    }
+
+    private Map<String, Object> event(String address, String name, Object value) {
+        Map<String, Object> call = new HashMap<>();
+        call.put("methodName", "event");
+        call.put("params", new Object[] { "BidCos-RF", address, name, value });
+        return call;
+    }
+}
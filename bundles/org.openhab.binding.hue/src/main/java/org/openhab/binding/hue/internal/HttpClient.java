@@ -12,62 +12,81 @@
  */
 package org.openhab.binding.hue.internal;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
 import java.io.OutputStreamWriter;
+import java.io.Reader;
 import java.io.Writer;
 import java.net.HttpURLConnection;
+import java.net.SocketTimeoutException;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
-import java.util.LinkedList;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Future;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.jetty.client.api.Request;
+import org.eclipse.jetty.client.api.Response;
+import org.eclipse.jetty.client.util.InputStreamResponseListener;
+import org.eclipse.jetty.client.util.StringContentProvider;
+import org.eclipse.jetty.http.HttpHeader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
+ * Sends the requests to the bridge.
+ *
+ * If constructed with a Jetty client, requests use its pooled keep-alive connections, so polling and commands reuse
+ * the same connections instead of opening a new one for each request. The response is decoded while it is received,
+ * without a limit on its size. Like the read timeout of {@link HttpURLConnection}, the timeout limits the time without
+ * any data being received; the request as a whole may take up to {@link #TOTAL_TIMEOUT_MULTIPLIER} times longer, so
+ * that large responses are not aborted while they are still being received. Without a Jetty client, requests fall
+ * back to {@link HttpURLConnection}.
  *
  * @author Q42 - Initial contribution
  * @author Denis Dudnik - moved Jue library source code inside the smarthome Hue binding
  */
 @NonNullByDefault
 public class HttpClient {
+    private static final String CONTENT_TYPE = "application/json";
+    private static final int BUFFER_SIZE = 8192;
+    /**
+     * Total time allowed for a request sent with Jetty client, as multiple of the timeout
+     */
+    static final int TOTAL_TIMEOUT_MULTIPLIER = 10;
+
     private int timeout = 1000;
     private final Logger logger = LoggerFactory.getLogger(HttpClient.class);
-    private final LinkedList<AsyncPutParameters> commandsQueue = new LinkedList<>();
-    private @Nullable Future<?> job;
-
-    @SuppressWarnings({ "null", "unused" })
-    private void executeCommands() {
-        while (true) {
-            try {
-                long delayTime = 0;
-                synchronized (commandsQueue) {
-                    AsyncPutParameters payloadCallbackPair = commandsQueue.poll();
-                    if (payloadCallbackPair != null) {
-                        logger.debug("Async sending put to address: {} delay: {} body: {}", payloadCallbackPair.address,
-                                payloadCallbackPair.delay, payloadCallbackPair.body);
-                        try {
-                            Result result = put(payloadCallbackPair.address, payloadCallbackPair.body);
-                            payloadCallbackPair.future.complete(result);
-                        } catch (IOException e) {
-                            payloadCallbackPair.future.completeExceptionally(e);
-                        }
-                        delayTime = payloadCallbackPair.delay;
-                    } else {
-                        return;
-                    }
-                }
-                Thread.sleep(delayTime);
-            } catch (InterruptedException e) {
-                logger.debug("commandExecutorThread was interrupted", e);
-            }
-        }
+
+    private final org.eclipse.jetty.client.@Nullable HttpClient jettyClient;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder totalLatencyMillis = new LongAdder();
+    private final AtomicLong maxLatencyMillis = new AtomicLong();
+
+    /**
+     * Construct client sending the requests with {@link HttpURLConnection}
+     */
+    public HttpClient() {
+        this.jettyClient = null;
+    }
+
+    /**
+     * Construct client sending the requests with the connections of the given Jetty client
+     *
+     * @param jettyClient started Jetty client, usually the common client of the framework
+     */
+    public HttpClient(org.eclipse.jetty.client.HttpClient jettyClient) {
+        this.jettyClient = jettyClient;
     }
 
     public void setTimeout(int timeout) {
@@ -86,24 +105,6 @@ public class HttpClient {
         return doNetwork(address, "PUT", body);
     }
 
-    public CompletableFuture<Result> putAsync(String address, String body, long delay,
-            ScheduledExecutorService scheduler) {
-        AsyncPutParameters asyncPutParameters = new AsyncPutParameters(address, body, delay);
-
-        synchronized (commandsQueue) {
-            if (commandsQueue.isEmpty()) {
-                commandsQueue.offer(asyncPutParameters);
-                if (job == null || job.isDone()) {
-                    job = scheduler.submit(this::executeCommands);
-                }
-            } else {
-                commandsQueue.offer(asyncPutParameters);
-            }
-        }
-
-        return asyncPutParameters.future;
-    }
-
     public Result delete(String address) throws IOException {
         return doNetwork(address, "DELETE");
     }
@@ -113,33 +114,108 @@ public class HttpClient {
     }
 
     protected Result doNetwork(String address, String requestMethod, @Nullable String body) throws IOException {
+        long start = System.currentTimeMillis();
+        requests.increment();
+        try {
+            org.eclipse.jetty.client.HttpClient client = jettyClient;
+            if (client != null) {
+                return doJettyNetwork(client, address, requestMethod, body);
+            } else {
+                return doConnectionNetwork(address, requestMethod, body);
+            }
+        } catch (IOException e) {
+            failures.increment();
+            throw e;
+        } finally {
+            long latency = System.currentTimeMillis() - start;
+            totalLatencyMillis.add(latency);
+            maxLatencyMillis.accumulateAndGet(latency, Math::max);
+        }
+    }
+
+    private Result doJettyNetwork(org.eclipse.jetty.client.HttpClient client, String address, String requestMethod,
+            @Nullable String body) throws IOException {
+        long totalTimeout = (long) timeout * TOTAL_TIMEOUT_MULTIPLIER;
+        Request request = client.newRequest(address).method(requestMethod).idleTimeout(timeout, TimeUnit.MILLISECONDS)
+                .timeout(totalTimeout, TimeUnit.MILLISECONDS).header(HttpHeader.CONTENT_TYPE, CONTENT_TYPE);
+        if (body != null && !"".equals(body)) {
+            request.content(new StringContentProvider(CONTENT_TYPE, body, StandardCharsets.UTF_8));
+        }
+
+        InputStreamResponseListener listener = new InputStreamResponseListener();
+        request.send(listener);
+        try {
+            Response response = listener.get(totalTimeout, TimeUnit.MILLISECONDS);
+            try (InputStream in = listener.getInputStream()) {
+                return new Result(read(in), response.getStatus());
+            }
+        } catch (InterruptedException e) {
+            request.abort(e);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for " + address);
+        } catch (TimeoutException e) {
+            request.abort(e);
+            throw new SocketTimeoutException("SocketTimeout while waiting for " + address);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+        }
+    }
+
+    private Result doConnectionNetwork(String address, String requestMethod, @Nullable String body)
+            throws IOException {
         HttpURLConnection conn = (HttpURLConnection) new URL(address).openConnection();
         try {
             conn.setRequestMethod(requestMethod);
-            conn.setRequestProperty("Content-Type", "application/json");
+            conn.setRequestProperty("Content-Type", CONTENT_TYPE);
             conn.setConnectTimeout(timeout);
             conn.setReadTimeout(timeout);
 
             if (body != null && !"".equals(body)) {
                 conn.setDoOutput(true);
-                try (Writer out = new OutputStreamWriter(conn.getOutputStream())) {
+                try (Writer out = new OutputStreamWriter(conn.getOutputStream(), StandardCharsets.UTF_8)) {
                     out.write(body);
                 }
             }
 
-            try (InputStream in = conn.getInputStream(); ByteArrayOutputStream result = new ByteArrayOutputStream()) {
-                byte[] buffer = new byte[1024];
-                int length;
-                while ((length = in.read(buffer)) != -1) {
-                    result.write(buffer, 0, length);
-                }
-                return new Result(result.toString(StandardCharsets.UTF_8.name()), conn.getResponseCode());
+            // Reading the response completely allows the connection to be kept alive for the next request
+            try (InputStream in = conn.getInputStream()) {
+                return new Result(read(in), conn.getResponseCode());
             }
-        } finally {
+        } catch (IOException e) {
             conn.disconnect();
+            throw e;
         }
     }
 
+    private String read(InputStream in) throws IOException {
+        StringBuilder result = new StringBuilder(BUFFER_SIZE);
+        try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            char[] buffer = new char[BUFFER_SIZE];
+            int length;
+            while ((length = reader.read(buffer)) != -1) {
+                result.append(buffer, 0, length);
+            }
+        }
+        return result.toString();
+    }
+
+    /**
+     * Get statistics of the requests
+     *
+     * @return human readable statistics
+     */
+    public List<String> getStatistics() {
+        List<String> statistics = new ArrayList<>();
+        long requestCount = requests.sum();
+        statistics.add("HTTP requests: " + requestCount);
+        statistics.add("Failed HTTP requests: " + failures.sum());
+        statistics.add("Average HTTP latency: " + (requestCount == 0 ? 0 : totalLatencyMillis.sum() / requestCount)
+                + " ms");
+        statistics.add("Maximum HTTP latency: " + maxLatencyMillis.get() + " ms");
+        return statistics;
+    }
+
     public static class Result {
         private final String body;
         private final int responseCode;
@@ -157,18 +233,4 @@ public class HttpClient {
             return responseCode;
         }
     }
-
-    public final class AsyncPutParameters {
-        public final String address;
-        public final String body;
-        public final CompletableFuture<Result> future;
-        public final long delay;
-
-        public AsyncPutParameters(String address, String body, long delay) {
-            this.address = address;
-            this.body = body;
-            this.future = new CompletableFuture<>();
-            this.delay = delay;
-        }
-    }
 }
@@ -24,9 +24,11 @@ import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.stream.Collectors;
@@ -34,6 +36,7 @@ import java.util.stream.Collectors;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.hue.internal.HttpClient.Result;
+import org.openhab.binding.hue.internal.HueCommandScheduler.Budget;
 import org.openhab.binding.hue.internal.exceptions.ApiException;
 import org.openhab.binding.hue.internal.exceptions.DeviceOffException;
 import org.openhab.binding.hue.internal.exceptions.EntityNotAvailableException;
@@ -71,12 +74,15 @@ public class HueBridge {
     private @Nullable String username;
 
     private final Gson gson = new GsonBuilder().setDateFormat(DATE_FORMAT).create();
-    private HttpClient http = new HttpClient();
-    private final ScheduledExecutorService scheduler;
+    private HttpClient http;
+    private final HueCommandScheduler commandScheduler;
 
     @Nullable
     private Config cachedConfig;
 
+    @Nullable
+    private JsonElement cachedAllLightsGroup;
+
     /**
      * Connect with a bridge as a new user.
      *
@@ -85,7 +91,25 @@ public class HueBridge {
      * @param protocol protocol to connect to the bridge
      */
     public HueBridge(String ip, int port, String protocol, ScheduledExecutorService scheduler) {
+        this(new HttpClient(), ip, port, protocol, scheduler);
+    }
+
+    /**
+     * Connect with a bridge as a new user, sending the requests with pooled keep-alive connections.
+     *
+     * @param httpClient Jetty client used to send the requests
+     * @param ip ip address of bridge
+     * @param port port of bridge
+     * @param protocol protocol to connect to the bridge
+     */
+    public HueBridge(org.eclipse.jetty.client.HttpClient httpClient, String ip, int port, String protocol,
+            ScheduledExecutorService scheduler) {
+        this(new HttpClient(httpClient), ip, port, protocol, scheduler);
+    }
+
+    private HueBridge(HttpClient http, String ip, int port, String protocol, ScheduledExecutorService scheduler) {
         this.ip = ip;
+        this.http = http;
         String baseUrl;
         try {
             URI uri = new URI(protocol, null, ip, port, "/api", null, null);
@@ -95,7 +119,7 @@ public class HueBridge {
             baseUrl = protocol + "://" + ip + ":" + port + "/api";
         }
         this.baseUrl = baseUrl;
-        this.scheduler = scheduler;
+        this.commandScheduler = new HueCommandScheduler(http, scheduler);
     }
 
     /**
@@ -123,8 +147,17 @@ public class HueBridge {
         this.ip = ip;
         this.baseUrl = baseUrl;
         this.username = username;
-        this.scheduler = scheduler;
         this.http = http;
+        this.commandScheduler = new HueCommandScheduler(http, scheduler);
+    }
+
+    /**
+     * Returns statistics of the HTTP requests sent to the bridge.
+     *
+     * @return human readable statistics
+     */
+    public List<String> getHttpStatistics() {
+        return http.getStatistics();
     }
 
     /**
@@ -136,6 +169,15 @@ public class HueBridge {
         http.setTimeout(timeout);
     }
 
+    /**
+     * Returns the scheduler of the state changing requests.
+     *
+     * @return command scheduler
+     */
+    public HueCommandScheduler getCommandScheduler() {
+        return commandScheduler;
+    }
+
     /**
      * Returns the IP address of the bridge.
      *
@@ -373,8 +415,7 @@ public class HueBridge {
         requireAuthentication();
 
         String body = update.toJson();
-        return http.putAsync(getRelativeURL("lights/" + enc(light.getId()) + "/state"), body, update.getMessageDelay(),
-                scheduler);
+        return submit(Budget.LIGHTS, getRelativeURL("lights/" + enc(light.getId()) + "/state"), body);
     }
 
     /**
@@ -391,8 +432,7 @@ public class HueBridge {
         requireAuthentication();
 
         String body = update.toJson();
-        return http.putAsync(getRelativeURL("sensors/" + enc(sensor.getId()) + "/state"), body,
-                update.getMessageDelay(), scheduler);
+        return submit(Budget.LIGHTS, getRelativeURL("sensors/" + enc(sensor.getId()) + "/state"), body);
     }
 
     /**
@@ -408,8 +448,7 @@ public class HueBridge {
         requireAuthentication();
 
         String body = update.toJson();
-        return http.putAsync(getRelativeURL("sensors/" + enc(sensor.getId()) + "/config"), body,
-                update.getMessageDelay(), scheduler);
+        return submit(Budget.LIGHTS, getRelativeURL("sensors/" + enc(sensor.getId()) + "/config"), body);
     }
 
     /**
@@ -622,8 +661,7 @@ public class HueBridge {
         requireAuthentication();
 
         String body = update.toJson();
-        return http.putAsync(getRelativeURL("groups/" + enc(group.getId()) + "/action"), body, update.getMessageDelay(),
-                scheduler);
+        return submit(Budget.GROUPS, getRelativeURL("groups/" + enc(group.getId()) + "/action"), body);
     }
 
     /**
@@ -811,6 +849,24 @@ public class HueBridge {
     }
 
     private @Nullable ScheduleCommand scheduleCommand = null;
+    private boolean recordingScheduleCommand = false;
+
+    /**
+     * Submits a state change to the command scheduler. While the command of a schedule is recorded, the state change
+     * is passed to the fake HTTP client instead, so that it is recorded and not sent to the bridge.
+     */
+    private CompletableFuture<Result> submit(Budget budget, String address, String body) {
+        if (!recordingScheduleCommand) {
+            return commandScheduler.submit(budget, address, body);
+        }
+        CompletableFuture<Result> future = new CompletableFuture<>();
+        try {
+            future.complete(http.put(address, body));
+        } catch (IOException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
 
     private @Nullable ScheduleCommand handleCommandCallback(ScheduleCallback callback) throws ApiException {
         // Temporarily reroute requests to a fake HTTP client
@@ -820,7 +876,7 @@ public class HueBridge {
             protected Result doNetwork(String address, String requestMethod, @Nullable String body) throws IOException {
                 // GET requests cannot be scheduled, so will continue working normally for convenience
                 if (requestMethod.equals("GET")) {
-                    return super.doNetwork(address, requestMethod, body);
+                    return realClient.doNetwork(address, requestMethod, body);
                 } else {
                     String extractedAddress = Util.quickMatch("^http://[^/]+(.+)$", address);
                     JsonElement commandBody = new JsonParser().parse(body);
@@ -835,17 +891,19 @@ public class HueBridge {
         // Run command
         try {
             scheduleCommand = null;
+            recordingScheduleCommand = true;
             callback.onScheduleCommand(this);
         } catch (IOException | RuntimeException e) {
             // Command will automatically fail to return a result because of deferred execution
+        } finally {
+            recordingScheduleCommand = false;
+            // Restore HTTP client
+            http = realClient;
         }
         if (scheduleCommand != null && Util.stringSize(scheduleCommand.getBody()) > 90) {
             throw new InvalidCommandException("Commmand body is larger than 90 bytes");
         }
 
-        // Restore HTTP client
-        http = realClient;
-
         return scheduleCommand;
     }
 
@@ -1019,6 +1077,72 @@ public class HueBridge {
         return gson.fromJson(result.getBody(), FullConfig.class);
     }
 
+    /**
+     * Returns the lights, groups and sensors of the bridge, using a single request for the full state.
+     * The all lights group is included, although it is not part of the full state.
+     *
+     * @return snapshot of the lights, groups and sensors
+     * @throws UnauthorizedException thrown if the user no longer exists
+     */
+    public StateSnapshot getFullState() throws IOException, ApiException {
+        requireAuthentication();
+
+        Result result = http.get(getRelativeURL(""));
+
+        handleErrors(result);
+
+        StateSnapshot state = StateSnapshot.parseFullState(gson, result.getBody());
+        if (!state.getGroups().containsKey("0")) {
+            // Group 0 is not returned, it is only requested again when the set of lights changes
+            state = state.withGroup("0", getAllLightsGroup(state.getLights().keySet()));
+        }
+        return state;
+    }
+
+    private JsonElement getAllLightsGroup(Set<String> lightIds) throws IOException, ApiException {
+        JsonElement group = cachedAllLightsGroup;
+        if (group == null || !lightIds.equals(getLightIds(group))) {
+            Result result = http.get(getRelativeURL("groups/0"));
+
+            handleErrors(result);
+
+            try {
+                group = new JsonParser().parse(result.getBody());
+            } catch (JsonParseException e) {
+                throw new ApiException("API returned unexpected result: " + e.getMessage());
+            }
+            cachedAllLightsGroup = group;
+        }
+        return group;
+    }
+
+    private Set<String> getLightIds(JsonElement group) {
+        Set<String> lightIds = new HashSet<>();
+        if (group.isJsonObject() && group.getAsJsonObject().has("lights")
+                && group.getAsJsonObject().get("lights").isJsonArray()) {
+            for (JsonElement lightId : group.getAsJsonObject().getAsJsonArray("lights")) {
+                lightIds.add(lightId.getAsString());
+            }
+        }
+        return lightIds;
+    }
+
+    /**
+     * Returns the sensors of the bridge as a snapshot without lights and groups.
+     *
+     * @return snapshot of the sensors
+     * @throws UnauthorizedException thrown if the user no longer exists
+     */
+    public StateSnapshot getSensorState() throws IOException, ApiException {
+        requireAuthentication();
+
+        Result result = http.get(getRelativeURL("sensors"));
+
+        handleErrors(result);
+
+        return StateSnapshot.parseSensors(gson, result.getBody());
+    }
+
     // Used as assert in requests that require authentication
     private void requireAuthentication() {
         if (this.username == null) {
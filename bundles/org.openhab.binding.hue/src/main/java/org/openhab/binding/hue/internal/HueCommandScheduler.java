@@ -0,0 +1,351 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.hue.internal.HttpClient.Result;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+/**
+ * Sends the state changing PUT requests of a bridge, respecting the command rates recommended by Philips.
+ *
+ * Regarding to this article: https://developers.meethue.com/documentation/hue-system-performance, the bridge should
+ * receive roughly 10 light commands per second, and 1 group command per second. Both rates are enforced as token
+ * buckets, allowing short bursts up to the rate.
+ *
+ * A request to an address that has a request queued already is merged into the last queued one: attributes of the
+ * newer request replace the same attributes of the older one, so e.g. dragging a brightness slider results in a single
+ * request with the latest brightness instead of a backlog of outdated ones. Setting any of the color mode attributes
+ * drops the other color mode attributes of the older request, since the bridge would otherwise pick the mode by its own
+ * priority instead of the latest command. Alerts are never merged. The futures of all merged requests are completed
+ * with the result of the merged request. Requests to the same address are always sent in the order they were
+ * submitted.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class HueCommandScheduler {
+
+    /**
+     * Command budgets of the bridge
+     */
+    public enum Budget {
+        LIGHTS,
+        GROUPS
+    }
+
+    static final double LIGHT_COMMANDS_PER_SECOND = 10;
+    static final double GROUP_COMMANDS_PER_SECOND = 1;
+
+    /**
+     * Attributes selecting the color mode of the light
+     */
+    private static final Set<String> COLOR_MODE_ATTRIBUTES = Collections
+            .unmodifiableSet(new HashSet<>(Arrays.asList("xy", "ct", "hue", "sat", "effect")));
+    private static final String ALERT_ATTRIBUTE = "alert";
+
+    private final Logger logger = LoggerFactory.getLogger(HueCommandScheduler.class);
+
+    private final HttpClient http;
+    private final ScheduledExecutorService scheduler;
+    private final Map<Budget, TokenBucket> buckets = new LinkedHashMap<>();
+
+    private final Object lock = new Object();
+    private final List<PendingCommand> pending = new LinkedList<>();
+    /**
+     * Last queued request of each address, the only one new requests may be merged into
+     */
+    private final Map<String, PendingCommand> lastPending = new HashMap<>();
+    private boolean draining;
+    private @Nullable ScheduledFuture<?> wakeup;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder totalLatencyMillis = new LongAdder();
+    private final AtomicLong maxLatencyMillis = new AtomicLong();
+
+    /**
+     * Token bucket refilled continuously at the given rate, holding at most one second worth of tokens
+     */
+    static class TokenBucket {
+        private final double tokensPerNano;
+        private final double capacity;
+        private double tokens;
+        private long lastRefillNanos;
+
+        TokenBucket(double tokensPerSecond, long nowNanos) {
+            this.tokensPerNano = tokensPerSecond / TimeUnit.SECONDS.toNanos(1);
+            this.capacity = Math.max(1, tokensPerSecond);
+            this.tokens = capacity;
+            this.lastRefillNanos = nowNanos;
+        }
+
+        private void refill(long nowNanos) {
+            tokens = Math.min(capacity, tokens + (nowNanos - lastRefillNanos) * tokensPerNano);
+            lastRefillNanos = nowNanos;
+        }
+
+        /**
+         * Take a token if available
+         *
+         * @return true if a token was taken
+         */
+        boolean tryAcquire(long nowNanos) {
+            refill(nowNanos);
+            if (tokens >= 1) {
+                tokens -= 1;
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * @return time until the next token is available, in nanoseconds
+         */
+        long nanosUntilAvailable(long nowNanos) {
+            refill(nowNanos);
+            return tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) / tokensPerNano);
+        }
+    }
+
+    private static class PendingCommand {
+        private final Budget budget;
+        private final String address;
+        private String body;
+        private final long firstSubmittedMillis;
+        private final List<Long> submittedMillis = new ArrayList<>(1);
+        private final List<CompletableFuture<Result>> futures = new ArrayList<>(1);
+
+        PendingCommand(Budget budget, String address, String body, long nowMillis) {
+            this.budget = budget;
+            this.address = address;
+            this.body = body;
+            this.firstSubmittedMillis = nowMillis;
+        }
+    }
+
+    public HueCommandScheduler(HttpClient http, ScheduledExecutorService scheduler) {
+        this(http, scheduler, LIGHT_COMMANDS_PER_SECOND, GROUP_COMMANDS_PER_SECOND);
+    }
+
+    HueCommandScheduler(HttpClient http, ScheduledExecutorService scheduler, double lightCommandsPerSecond,
+            double groupCommandsPerSecond) {
+        this.http = http;
+        this.scheduler = scheduler;
+        long now = System.nanoTime();
+        buckets.put(Budget.LIGHTS, new TokenBucket(lightCommandsPerSecond, now));
+        buckets.put(Budget.GROUPS, new TokenBucket(groupCommandsPerSecond, now));
+    }
+
+    /**
+     * Queue PUT request
+     *
+     * @param budget the budget the request counts against
+     * @param address address of the request
+     * @param body JSON body of the request
+     * @return future completed with the result of the request
+     */
+    public CompletableFuture<Result> submit(Budget budget, String address, String body) {
+        CompletableFuture<Result> future = new CompletableFuture<>();
+        long now = System.currentTimeMillis();
+        submitted.increment();
+        synchronized (lock) {
+            PendingCommand command = lastPending.get(address);
+            String merged = command == null ? null : merge(command.body, body);
+            if (command != null && merged != null) {
+                logger.trace("Merging request {} to {} into queued request {}", body, address, command.body);
+                command.body = merged;
+                coalesced.increment();
+            } else {
+                // Requests that cannot be merged are queued separately, after the existing one
+                command = new PendingCommand(budget, address, body, now);
+                pending.add(command);
+                lastPending.put(address, command);
+            }
+            command.submittedMillis.add(now);
+            command.futures.add(future);
+            scheduleDrain();
+        }
+        return future;
+    }
+
+    private @Nullable String merge(String queuedBody, String newBody) {
+        try {
+            JsonElement queued = new JsonParser().parse(queuedBody);
+            JsonElement update = new JsonParser().parse(newBody);
+            if (!queued.isJsonObject() || !update.isJsonObject()) {
+                return null;
+            }
+            JsonObject result = queued.getAsJsonObject();
+            JsonObject updateObject = update.getAsJsonObject();
+            if (result.has(ALERT_ATTRIBUTE) || updateObject.has(ALERT_ATTRIBUTE)) {
+                // Each alert is a visible action of its own
+                return null;
+            }
+            if (updateObject.entrySet().stream().anyMatch(entry -> COLOR_MODE_ATTRIBUTES.contains(entry.getKey()))) {
+                COLOR_MODE_ATTRIBUTES.forEach(result::remove);
+            }
+            for (Map.Entry<String, JsonElement> entry : updateObject.entrySet()) {
+                result.add(entry.getKey(), entry.getValue());
+            }
+            return result.toString();
+        } catch (JsonParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Start draining, unless already running or waiting for tokens. Called holding the lock.
+     */
+    private void scheduleDrain() {
+        if (!draining && wakeup == null && !pending.isEmpty()) {
+            draining = true;
+            scheduler.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            PendingCommand command;
+            synchronized (lock) {
+                command = takeNext();
+                if (command == null) {
+                    draining = false;
+                    return;
+                }
+            }
+            send(command);
+        }
+    }
+
+    /**
+     * Take the first queued request with tokens available. If there is none, arrange wakeup once tokens are
+     * available. Called holding the lock.
+     *
+     * Requests to an address for which an earlier request is still waiting are skipped, to keep the order of requests
+     * per address.
+     */
+    private @Nullable PendingCommand takeNext() {
+        long now = System.nanoTime();
+        long waitNanos = Long.MAX_VALUE;
+        Set<String> waitingAddresses = new HashSet<>();
+        for (Iterator<PendingCommand> iterator = pending.iterator(); iterator.hasNext();) {
+            PendingCommand command = iterator.next();
+            if (waitingAddresses.contains(command.address)) {
+                continue;
+            }
+            TokenBucket bucket = buckets.get(command.budget);
+            if (bucket.tryAcquire(now)) {
+                iterator.remove();
+                lastPending.remove(command.address, command);
+                return command;
+            }
+            waitingAddresses.add(command.address);
+            waitNanos = Math.min(waitNanos, bucket.nanosUntilAvailable(now));
+        }
+        if (waitNanos != Long.MAX_VALUE) {
+            wakeup = scheduler.schedule(() -> {
+                synchronized (lock) {
+                    wakeup = null;
+                    scheduleDrain();
+                }
+            }, waitNanos, TimeUnit.NANOSECONDS);
+        }
+        return null;
+    }
+
+    private void send(PendingCommand command) {
+        logger.debug("Async sending put to address: {} body: {}", command.address, command.body);
+        Result result = null;
+        IOException error = new IOException("No result");
+        try {
+            result = http.put(command.address, command.body);
+        } catch (IOException e) {
+            error = e;
+        }
+        long now = System.currentTimeMillis();
+        sent.increment();
+        for (long submittedMillis : command.submittedMillis) {
+            long latency = now - submittedMillis;
+            completed.increment();
+            totalLatencyMillis.add(latency);
+            maxLatencyMillis.accumulateAndGet(latency, Math::max);
+        }
+        logger.trace("Request to {} completed {} ms after the first submission", command.address,
+                now - command.firstSubmittedMillis);
+        for (CompletableFuture<Result> future : command.futures) {
+            if (result != null) {
+                future.complete(result);
+            } else {
+                future.completeExceptionally(error);
+            }
+        }
+    }
+
+    /**
+     * Get number of requests waiting to be sent, after merging
+     *
+     * @return number of queued requests
+     */
+    public int getQueueDepth() {
+        synchronized (lock) {
+            return pending.size();
+        }
+    }
+
+    /**
+     * Get statistics of the requests
+     *
+     * @return human readable statistics
+     */
+    public List<String> getStatistics() {
+        List<String> statistics = new ArrayList<>();
+        long completedCount = completed.sum();
+        statistics.add("Queued requests: " + getQueueDepth());
+        statistics.add("Submitted requests: " + submitted.sum());
+        statistics.add("Merged requests: " + coalesced.sum());
+        statistics.add("Sent requests: " + sent.sum());
+        statistics.add(
+                "Average latency: " + (completedCount == 0 ? 0 : totalLatencyMillis.sum() / completedCount) + " ms");
+        statistics.add("Maximum latency: " + maxLatencyMillis.get() + " ms");
+        return statistics;
+    }
+}
@@ -33,6 +33,7 @@ import org.eclipse.smarthome.core.thing.ThingUID;
 import org.eclipse.smarthome.core.thing.binding.BaseThingHandlerFactory;
 import org.eclipse.smarthome.core.thing.binding.ThingHandler;
 import org.eclipse.smarthome.core.thing.binding.ThingHandlerFactory;
+import org.eclipse.smarthome.io.net.http.HttpClientFactory;
 import org.openhab.binding.hue.internal.discovery.HueLightDiscoveryService;
 import org.openhab.binding.hue.internal.handler.HueBridgeHandler;
 import org.openhab.binding.hue.internal.handler.HueGroupHandler;
@@ -71,12 +72,15 @@ public class HueThingHandlerFactory extends BaseThingHandlerFactory {
                     HueGroupHandler.SUPPORTED_THING_TYPES.stream()).flatMap(i -> i).collect(Collectors.toSet()));
 
     private final HueStateDescriptionOptionProvider stateOptionProvider;
+    private final HttpClientFactory httpClientFactory;
 
     private final Map<ThingUID, @Nullable ServiceRegistration<?>> discoveryServiceRegs = new HashMap<>();
 
     @Activate
-    public HueThingHandlerFactory(final @Reference HueStateDescriptionOptionProvider stateOptionProvider) {
+    public HueThingHandlerFactory(final @Reference HueStateDescriptionOptionProvider stateOptionProvider,
+            final @Reference HttpClientFactory httpClientFactory) {
         this.stateOptionProvider = stateOptionProvider;
+        this.httpClientFactory = httpClientFactory;
     }
 
     @Override
@@ -146,7 +150,8 @@ public class HueThingHandlerFactory extends BaseThingHandlerFactory {
     @Override
     protected @Nullable ThingHandler createHandler(Thing thing) {
         if (HueBridgeHandler.SUPPORTED_THING_TYPES.contains(thing.getThingTypeUID())) {
-            HueBridgeHandler handler = new HueBridgeHandler((Bridge) thing, stateOptionProvider);
+            HueBridgeHandler handler = new HueBridgeHandler((Bridge) thing, stateOptionProvider,
+                    httpClientFactory.getCommonHttpClient());
             registerLightDiscoveryService(handler);
             return handler;
         } else if (HueLightHandler.SUPPORTED_THING_TYPES.contains(thing.getThingTypeUID())) {
@@ -0,0 +1,222 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.hue.internal.exceptions.ApiException;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+/**
+ * Raw state of the lights, groups and sensors of a bridge, as returned by a single request.
+ *
+ * The response is streamed: only the lights, groups and sensors are kept, as one JSON tree per id, while other parts
+ * of the full state like rules, schedules and scenes are skipped. The JSON trees can be compared with those of an
+ * earlier snapshot, so that only the objects that changed have to be deserialized.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class StateSnapshot {
+
+    private static final String LIGHTS = "lights";
+    private static final String GROUPS = "groups";
+    private static final String SENSORS = "sensors";
+
+    private final Gson gson;
+    private final Map<String, JsonElement> lights;
+    private final Map<String, JsonElement> groups;
+    private final @Nullable Map<String, JsonElement> sensors;
+
+    StateSnapshot(Gson gson, Map<String, JsonElement> lights, Map<String, JsonElement> groups,
+            @Nullable Map<String, JsonElement> sensors) {
+        this.gson = gson;
+        this.lights = lights;
+        this.groups = groups;
+        this.sensors = sensors;
+    }
+
+    /**
+     * Parse full state of a bridge
+     *
+     * @param gson gson used to deserialize the objects
+     * @param json full state as returned by the bridge
+     * @return snapshot of the lights, groups and sensors
+     * @throws ApiException if the JSON is not a full state
+     */
+    static StateSnapshot parseFullState(Gson gson, String json) throws ApiException {
+        Map<String, JsonElement> lights = Collections.emptyMap();
+        Map<String, JsonElement> groups = Collections.emptyMap();
+        Map<String, JsonElement> sensors = null;
+        try (JsonReader reader = new JsonReader(new StringReader(json))) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case LIGHTS:
+                        lights = readObjects(reader);
+                        break;
+                    case GROUPS:
+                        groups = readObjects(reader);
+                        break;
+                    case SENSORS:
+                        sensors = readObjects(reader);
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            }
+            reader.endObject();
+        } catch (IOException | IllegalStateException | JsonParseException e) {
+            throw new ApiException("API returned unexpected result: " + e.getMessage());
+        }
+        return new StateSnapshot(gson, lights, groups, sensors);
+    }
+
+    /**
+     * Parse the sensors of a bridge
+     *
+     * @param gson gson used to deserialize the objects
+     * @param json sensors as returned by the bridge
+     * @return snapshot of the sensors, without lights and groups
+     * @throws ApiException if the JSON is not a map of sensors
+     */
+    static StateSnapshot parseSensors(Gson gson, String json) throws ApiException {
+        try (JsonReader reader = new JsonReader(new StringReader(json))) {
+            Map<String, JsonElement> sensors = readObjects(reader);
+            return new StateSnapshot(gson, Collections.emptyMap(), Collections.emptyMap(), sensors);
+        } catch (IOException | IllegalStateException | JsonParseException e) {
+            throw new ApiException("API returned unexpected result: " + e.getMessage());
+        }
+    }
+
+    private static Map<String, JsonElement> readObjects(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return Collections.emptyMap();
+        }
+        Map<String, JsonElement> objects = new LinkedHashMap<>();
+        JsonParser parser = new JsonParser();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            objects.put(reader.nextName(), parser.parse(reader));
+        }
+        reader.endObject();
+        return objects;
+    }
+
+    /**
+     * Returns a copy of this snapshot with an additional group. Used to add the all lights group, which is not part
+     * of the full state.
+     *
+     * @param id id of the group
+     * @param group JSON of the group
+     * @return snapshot including the group
+     */
+    StateSnapshot withGroup(String id, JsonElement group) {
+        Map<String, JsonElement> newGroups = new LinkedHashMap<>();
+        newGroups.put(id, group);
+        newGroups.putAll(groups);
+        return new StateSnapshot(gson, lights, newGroups, sensors);
+    }
+
+    /**
+     * Returns the JSON of the lights, by light id.
+     *
+     * @return JSON of the lights
+     */
+    public Map<String, JsonElement> getLights() {
+        return Collections.unmodifiableMap(lights);
+    }
+
+    /**
+     * Returns the JSON of the groups, by group id.
+     *
+     * @return JSON of the groups
+     */
+    public Map<String, JsonElement> getGroups() {
+        return Collections.unmodifiableMap(groups);
+    }
+
+    /**
+     * Returns the JSON of the sensors, by sensor id.
+     *
+     * @return JSON of the sensors, or null if the snapshot does not contain sensors
+     */
+    public @Nullable Map<String, JsonElement> getSensors() {
+        Map<String, JsonElement> sensors = this.sensors;
+        return sensors == null ? null : Collections.unmodifiableMap(sensors);
+    }
+
+    /**
+     * Deserializes a light of the snapshot.
+     *
+     * @param id id of the light
+     * @return light
+     * @throws ApiException if the light is missing or cannot be deserialized
+     */
+    public FullLight getLight(String id) throws ApiException {
+        FullLight light = deserialize(lights.get(id), FullLight.class);
+        light.setId(id);
+        return light;
+    }
+
+    /**
+     * Deserializes a group of the snapshot.
+     *
+     * @param id id of the group
+     * @return group, without state
+     * @throws ApiException if the group is missing or cannot be deserialized
+     */
+    public FullGroup getGroup(String id) throws ApiException {
+        FullGroup group = deserialize(groups.get(id), FullGroup.class);
+        group.setId(id);
+        return group;
+    }
+
+    /**
+     * Deserializes a sensor of the snapshot.
+     *
+     * @param id id of the sensor
+     * @return sensor
+     * @throws ApiException if the sensor is missing or cannot be deserialized
+     */
+    public FullSensor getSensor(String id) throws ApiException {
+        Map<String, JsonElement> sensors = this.sensors;
+        FullSensor sensor = deserialize(sensors == null ? null : sensors.get(id), FullSensor.class);
+        sensor.setId(id);
+        return sensor;
+    }
+
+    private <T> T deserialize(@Nullable JsonElement json, Class<T> classOfT) throws ApiException {
+        if (json == null || !json.isJsonObject()) {
+            throw new ApiException("API returned unexpected result: " + json);
+        }
+        try {
+            return gson.fromJson(json, classOfT);
+        } catch (JsonParseException e) {
+            throw new ApiException("API returned unexpected result: " + e.getMessage());
+        }
+    }
+}
@@ -20,6 +20,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -33,6 +34,7 @@ import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.jetty.client.HttpClient;
 import org.eclipse.smarthome.config.core.Configuration;
 import org.eclipse.smarthome.config.core.status.ConfigStatusMessage;
 import org.eclipse.smarthome.core.library.types.HSBType;
@@ -46,7 +48,6 @@ import org.eclipse.smarthome.core.thing.ThingTypeUID;
 import org.eclipse.smarthome.core.thing.binding.ConfigStatusBridgeHandler;
 import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.core.types.StateOption;
-import org.openhab.binding.hue.internal.ApiVersionUtils;
 import org.openhab.binding.hue.internal.Config;
 import org.openhab.binding.hue.internal.ConfigUpdate;
 import org.openhab.binding.hue.internal.FullConfig;
@@ -57,6 +58,7 @@ import org.openhab.binding.hue.internal.HueBridge;
 import org.openhab.binding.hue.internal.HueConfigStatusMessage;
 import org.openhab.binding.hue.internal.Scene;
 import org.openhab.binding.hue.internal.State;
+import org.openhab.binding.hue.internal.StateSnapshot;
 import org.openhab.binding.hue.internal.StateUpdate;
 import org.openhab.binding.hue.internal.config.HueBridgeConfig;
 import org.openhab.binding.hue.internal.discovery.HueLightDiscoveryService;
@@ -68,6 +70,8 @@ import org.openhab.binding.hue.internal.exceptions.UnauthorizedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.gson.JsonElement;
+
 /**
  * {@link HueBridgeHandler} is the handler for a hue bridge and connects it to
  * the framework. All {@link HueLightHandler}s use the {@link HueBridgeHandler} to execute the actual commands.
@@ -97,11 +101,17 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
 
     private final Logger logger = LoggerFactory.getLogger(HueBridgeHandler.class);
     private final HueStateDescriptionOptionProvider stateDescriptionOptionProvider;
+    private final HttpClient httpClient;
 
     private final Map<String, @Nullable FullLight> lastLightStates = new ConcurrentHashMap<>();
     private final Map<String, @Nullable FullSensor> lastSensorStates = new ConcurrentHashMap<>();
     private final Map<String, @Nullable FullGroup> lastGroupStates = new ConcurrentHashMap<>();
 
+    // JSON of the last states delivered, to skip the objects which did not change since
+    private final Map<String, JsonElement> lastLightJson = new ConcurrentHashMap<>();
+    private final Map<String, JsonElement> lastSensorJson = new ConcurrentHashMap<>();
+    private final Map<String, JsonElement> lastGroupJson = new ConcurrentHashMap<>();
+
     private @Nullable HueLightDiscoveryService discoveryService;
     private final Map<String, @Nullable LightStatusListener> lightStatusListeners = new ConcurrentHashMap<>();
     private final Map<String, @Nullable SensorStatusListener> sensorStatusListeners = new ConcurrentHashMap<>();
@@ -120,6 +130,12 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                         hueBridge.getFullConfig();
                     }
                     lastBridgeConnectionState = tryResumeBridgeConnection();
+                    if (lastBridgeConnectionState) {
+                        // Deliver all states again after the connection was lost
+                        lastLightJson.clear();
+                        lastSensorJson.clear();
+                        lastGroupJson.clear();
+                    }
                 }
                 if (lastBridgeConnectionState) {
                     doConnectedRun();
@@ -181,90 +197,61 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
     private final Runnable sensorPollingRunnable = new PollingRunnable() {
         @Override
         protected void doConnectedRun() throws IOException, ApiException {
-            Map<String, @Nullable FullSensor> lastSensorStateCopy = new HashMap<>(lastSensorStates);
-
-            final HueLightDiscoveryService discovery = discoveryService;
-
-            for (final FullSensor sensor : hueBridge.getSensors()) {
-                String sensorId = sensor.getId();
-
-                final SensorStatusListener sensorStatusListener = sensorStatusListeners.get(sensorId);
-                if (sensorStatusListener == null) {
-                    logger.trace("Hue sensor '{}' added.", sensorId);
-
-                    if (discovery != null && !lastSensorStateCopy.containsKey(sensorId)) {
-                        discovery.addSensorDiscovery(sensor);
-                    }
-
-                    lastSensorStates.put(sensorId, sensor);
-                } else {
-                    if (sensorStatusListener.onSensorStateChanged(sensor)) {
-                        lastSensorStates.put(sensorId, sensor);
-                    }
-                }
-                lastSensorStateCopy.remove(sensorId);
-            }
-
-            // Check for removed sensors
-            lastSensorStateCopy.forEach((sensorId, sensor) -> {
-                logger.trace("Hue sensor '{}' removed.", sensorId);
-                lastSensorStates.remove(sensorId);
-
-                final SensorStatusListener sensorStatusListener = sensorStatusListeners.get(sensorId);
-                if (sensorStatusListener != null) {
-                    sensorStatusListener.onSensorRemoved();
-                }
-
-                if (discovery != null && sensor != null) {
-                    discovery.removeSensorDiscovery(sensor);
-                }
-            });
+            updateSensors(hueBridge.getSensorState());
         }
     };
 
     private final Runnable lightPollingRunnable = new PollingRunnable() {
         @Override
         protected void doConnectedRun() throws IOException, ApiException {
-            updateLights();
-            updateGroups();
+            StateSnapshot state = hueBridge.getFullState();
+            Set<String> changedLightIds = updateLights(state);
+            updateGroups(state, changedLightIds);
+            if (sensorsPolledWithLights && state.getSensors() != null) {
+                updateSensors(state);
+            }
         }
 
-        private void updateLights() throws IOException, ApiException {
+        private Set<String> updateLights(StateSnapshot state) throws ApiException {
             Map<String, @Nullable FullLight> lastLightStateCopy = new HashMap<>(lastLightStates);
-
-            List<FullLight> lights;
-            if (ApiVersionUtils.supportsFullLights(hueBridge.getVersion())) {
-                lights = hueBridge.getFullLights();
-            } else {
-                lights = hueBridge.getFullConfig().getLights();
-            }
+            Set<String> changedLightIds = new HashSet<>();
 
             final HueLightDiscoveryService discovery = discoveryService;
 
-            for (final FullLight fullLight : lights) {
-                final String lightId = fullLight.getId();
+            for (Map.Entry<String, JsonElement> entry : state.getLights().entrySet()) {
+                final String lightId = entry.getKey();
+                lastLightStateCopy.remove(lightId);
+                if (entry.getValue().equals(lastLightJson.get(lightId)) && lastLightStates.containsKey(lightId)) {
+                    continue;
+                }
+                final FullLight fullLight = state.getLight(lightId);
 
                 final LightStatusListener lightStatusListener = lightStatusListeners.get(lightId);
                 if (lightStatusListener == null) {
                     logger.trace("Hue light '{}' added.", lightId);
 
-                    if (discovery != null && !lastLightStateCopy.containsKey(lightId)) {
+                    if (discovery != null && !lastLightStates.containsKey(lightId)) {
                         discovery.addLightDiscovery(fullLight);
                     }
 
                     lastLightStates.put(lightId, fullLight);
+                    lastLightJson.put(lightId, entry.getValue());
+                    changedLightIds.add(lightId);
                 } else {
                     if (lightStatusListener.onLightStateChanged(fullLight)) {
                         lastLightStates.put(lightId, fullLight);
+                        lastLightJson.put(lightId, entry.getValue());
+                        changedLightIds.add(lightId);
                     }
                 }
-                lastLightStateCopy.remove(lightId);
             }
 
             // Check for removed lights
             lastLightStateCopy.forEach((lightId, light) -> {
                 logger.trace("Hue light '{}' removed.", lightId);
                 lastLightStates.remove(lightId);
+                lastLightJson.remove(lightId);
+                changedLightIds.add(lightId);
 
                 final LightStatusListener lightStatusListener = lightStatusListeners.get(lightId);
                 if (lightStatusListener != null) {
@@ -275,16 +262,26 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                     discovery.removeLightDiscovery(light);
                 }
             });
+
+            return changedLightIds;
         }
 
-        private void updateGroups() throws IOException, ApiException {
+        private void updateGroups(StateSnapshot state, Set<String> changedLightIds) throws ApiException {
             Map<String, @Nullable FullGroup> lastGroupStateCopy = new HashMap<>(lastGroupStates);
 
-            List<FullGroup> groups = hueBridge.getGroups();
-
             final HueLightDiscoveryService discovery = discoveryService;
 
-            for (final FullGroup fullGroup : groups) {
+            for (Map.Entry<String, JsonElement> entry : state.getGroups().entrySet()) {
+                final String groupId = entry.getKey();
+                lastGroupStateCopy.remove(groupId);
+                // The state of a group is computed from the state of its lights
+                final FullGroup lastGroupState = lastGroupStates.get(groupId);
+                if (entry.getValue().equals(lastGroupJson.get(groupId)) && lastGroupState != null
+                        && Collections.disjoint(lastGroupState.getLightIds(), changedLightIds)) {
+                    continue;
+                }
+                final FullGroup fullGroup = state.getGroup(groupId);
+
                 State groupState = new State();
                 boolean on = false;
                 int sumBri = 0;
@@ -331,30 +328,30 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                         groupState.getSaturation(), groupState.getColorTemperature(), groupState.getColorMode(),
                         groupState.getXY());
 
-                String groupId = fullGroup.getId();
-
                 final GroupStatusListener groupStatusListener = groupStatusListeners.get(groupId);
                 if (groupStatusListener == null) {
                     logger.trace("Hue group '{}' ({}) added (nb lights {}).", groupId, fullGroup.getName(),
                             fullGroup.getLightIds().size());
 
-                    if (discovery != null && !lastGroupStateCopy.containsKey(groupId)) {
+                    if (discovery != null && lastGroupState == null) {
                         discovery.addGroupDiscovery(fullGroup);
                     }
 
                     lastGroupStates.put(groupId, fullGroup);
+                    lastGroupJson.put(groupId, entry.getValue());
                 } else {
                     if (groupStatusListener.onGroupStateChanged(fullGroup)) {
                         lastGroupStates.put(groupId, fullGroup);
+                        lastGroupJson.put(groupId, entry.getValue());
                     }
                 }
-                lastGroupStateCopy.remove(groupId);
             }
 
             // Check for removed groups
             lastGroupStateCopy.forEach((groupId, group) -> {
                 logger.trace("Hue group '{}' removed.", groupId);
                 lastGroupStates.remove(groupId);
+                lastGroupJson.remove(groupId);
 
                 final GroupStatusListener groupStatusListener = groupStatusListeners.get(groupId);
                 if (groupStatusListener != null) {
@@ -368,6 +365,58 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
         }
     };
 
+    private void updateSensors(StateSnapshot state) throws ApiException {
+        Map<String, JsonElement> sensors = state.getSensors();
+        if (sensors == null) {
+            return;
+        }
+        Map<String, @Nullable FullSensor> lastSensorStateCopy = new HashMap<>(lastSensorStates);
+
+        final HueLightDiscoveryService discovery = discoveryService;
+
+        for (Map.Entry<String, JsonElement> entry : sensors.entrySet()) {
+            final String sensorId = entry.getKey();
+            lastSensorStateCopy.remove(sensorId);
+            if (entry.getValue().equals(lastSensorJson.get(sensorId)) && lastSensorStates.containsKey(sensorId)) {
+                continue;
+            }
+            final FullSensor sensor = state.getSensor(sensorId);
+
+            final SensorStatusListener sensorStatusListener = sensorStatusListeners.get(sensorId);
+            if (sensorStatusListener == null) {
+                logger.trace("Hue sensor '{}' added.", sensorId);
+
+                if (discovery != null && !lastSensorStates.containsKey(sensorId)) {
+                    discovery.addSensorDiscovery(sensor);
+                }
+
+                lastSensorStates.put(sensorId, sensor);
+                lastSensorJson.put(sensorId, entry.getValue());
+            } else {
+                if (sensorStatusListener.onSensorStateChanged(sensor)) {
+                    lastSensorStates.put(sensorId, sensor);
+                    lastSensorJson.put(sensorId, entry.getValue());
+                }
+            }
+        }
+
+        // Check for removed sensors
+        lastSensorStateCopy.forEach((sensorId, sensor) -> {
+            logger.trace("Hue sensor '{}' removed.", sensorId);
+            lastSensorStates.remove(sensorId);
+            lastSensorJson.remove(sensorId);
+
+            final SensorStatusListener sensorStatusListener = sensorStatusListeners.get(sensorId);
+            if (sensorStatusListener != null) {
+                sensorStatusListener.onSensorRemoved();
+            }
+
+            if (discovery != null && sensor != null) {
+                discovery.removeSensorDiscovery(sensor);
+            }
+        });
+    }
+
     private final Runnable scenePollingRunnable = new PollingRunnable() {
         @Override
         protected void doConnectedRun() throws IOException, ApiException {
@@ -398,15 +447,18 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
     private @Nullable ScheduledFuture<?> lightPollingJob;
     private @Nullable ScheduledFuture<?> sensorPollingJob;
     private @Nullable ScheduledFuture<?> scenePollingJob;
+    private volatile boolean sensorsPolledWithLights;
 
     private @NonNullByDefault({}) HueBridge hueBridge = null;
     private @NonNullByDefault({}) HueBridgeConfig hueBridgeConfig = null;
 
     private List<String> consoleScenesList = new ArrayList<>();
 
-    public HueBridgeHandler(Bridge bridge, HueStateDescriptionOptionProvider stateDescriptionOptionProvider) {
+    public HueBridgeHandler(Bridge bridge, HueStateDescriptionOptionProvider stateDescriptionOptionProvider,
+            HttpClient httpClient) {
         super(bridge);
         this.stateDescriptionOptionProvider = stateDescriptionOptionProvider;
+        this.httpClient = httpClient;
     }
 
     @Override
@@ -581,18 +633,23 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
         }
     }
 
+    private long getLightPollingInterval() {
+        long lightPollingInterval;
+        int configPollingInterval = hueBridgeConfig.getPollingInterval();
+        if (configPollingInterval < 1) {
+            lightPollingInterval = TimeUnit.SECONDS.toSeconds(10);
+            logger.info("Wrong configuration value for polling interval. Using default value: {}s",
+                    lightPollingInterval);
+        } else {
+            lightPollingInterval = configPollingInterval;
+        }
+        return lightPollingInterval;
+    }
+
     private void startLightPolling() {
         ScheduledFuture<?> job = lightPollingJob;
         if (job == null || job.isCancelled()) {
-            long lightPollingInterval;
-            int configPollingInterval = hueBridgeConfig.getPollingInterval();
-            if (configPollingInterval < 1) {
-                lightPollingInterval = TimeUnit.SECONDS.toSeconds(10);
-                logger.info("Wrong configuration value for polling interval. Using default value: {}s",
-                        lightPollingInterval);
-            } else {
-                lightPollingInterval = configPollingInterval;
-            }
+            long lightPollingInterval = getLightPollingInterval();
             // Delay the first execution to give a chance to have all light and group things registered
             lightPollingJob = scheduler.scheduleWithFixedDelay(lightPollingRunnable, 3, lightPollingInterval,
                     TimeUnit.SECONDS);
@@ -620,9 +677,17 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                 } else {
                     sensorPollingInterval = configSensorPollingInterval;
                 }
-                // Delay the first execution to give a chance to have all sensor things registered
-                sensorPollingJob = scheduler.scheduleWithFixedDelay(sensorPollingRunnable, 4000, sensorPollingInterval,
-                        TimeUnit.MILLISECONDS);
+                // The full state polled for the lights contains the sensors, a separate request is only needed to
+                // poll the sensors more often than the lights
+                sensorsPolledWithLights = sensorPollingInterval >= TimeUnit.SECONDS
+                        .toMillis(getLightPollingInterval());
+                if (!sensorsPolledWithLights) {
+                    // Delay the first execution to give a chance to have all sensor things registered
+                    sensorPollingJob = scheduler.scheduleWithFixedDelay(sensorPollingRunnable, 4000,
+                            sensorPollingInterval, TimeUnit.MILLISECONDS);
+                }
+            } else {
+                sensorsPolledWithLights = false;
             }
         }
     }
@@ -633,6 +698,7 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
             job.cancel(true);
         }
         sensorPollingJob = null;
+        sensorsPolledWithLights = false;
     }
 
     private void startScenePolling() {
@@ -678,7 +744,8 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                     "@text/offline.conf-error-no-ip-address");
         } else {
             if (hueBridge == null) {
-                hueBridge = new HueBridge(ip, hueBridgeConfig.getPort(), hueBridgeConfig.getProtocol(), scheduler);
+                hueBridge = new HueBridge(httpClient, ip, hueBridgeConfig.getPort(),
+                        hueBridgeConfig.getProtocol(), scheduler);
                 hueBridge.setTimeout(5000);
 
                 // Try a first connection that will fail, then try to authenticate,
@@ -867,6 +934,7 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
         final String lightId = lightStatusListener.getLightId();
         if (!lightStatusListeners.containsKey(lightId)) {
             lightStatusListeners.put(lightId, lightStatusListener);
+            lastLightJson.remove(lightId);
             final FullLight lastLightState = lastLightStates.get(lightId);
             if (lastLightState != null) {
                 lightStatusListener.onLightAdded(lastLightState);
@@ -887,6 +955,7 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
         final String sensorId = sensorStatusListener.getSensorId();
         if (!sensorStatusListeners.containsKey(sensorId)) {
             sensorStatusListeners.put(sensorId, sensorStatusListener);
+            lastSensorJson.remove(sensorId);
             final FullSensor lastSensorState = lastSensorStates.get(sensorId);
             if (lastSensorState != null) {
                 sensorStatusListener.onSensorAdded(lastSensorState);
@@ -907,6 +976,7 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
         final String groupId = groupStatusListener.getGroupId();
         if (!groupStatusListeners.containsKey(groupId)) {
             groupStatusListeners.put(groupId, groupStatusListener);
+            lastGroupJson.remove(groupId);
             final FullGroup lastGroupState = lastGroupStates.get(groupId);
             if (lastGroupState != null) {
                 groupStatusListener.onGroupAdded(lastGroupState);
@@ -1021,6 +1091,16 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
         return consoleScenesList;
     }
 
+    public List<String> listCommandStatisticsForConsole() {
+        HueBridge localBridge = hueBridge;
+        if (localBridge == null) {
+            return Collections.emptyList();
+        }
+        List<String> statistics = new ArrayList<>(localBridge.getCommandScheduler().getStatistics());
+        statistics.addAll(localBridge.getHttpStatistics());
+        return statistics;
+    }
+
     @Override
     public Collection<ConfigStatusMessage> getConfigStatus() {
         // The bridge IP address to be used for checks
@@ -12,17 +12,22 @@
  */
 package org.openhab.binding.hue.internal;
 
-import static org.hamcrest.CoreMatchers.is;
-import static org.junit.Assert.assertThat;
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Date;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+import org.eclipse.jdt.annotation.Nullable;
 import org.junit.Test;
 import org.mockito.Mockito;
 import org.openhab.binding.hue.internal.HttpClient.Result;
@@ -68,6 +73,31 @@ public class HueBridgeTest {
         assertThat(scenes.get(2).getId(), is("id2"));
     }
 
+    @Test
+    public void testScheduleCommandIsRecordedAndNotSent() throws Exception {
+        List<String> requests = new CopyOnWriteArrayList<>();
+        HttpClient recordingHttpClient = new HttpClient() {
+            @Override
+            protected Result doNetwork(String address, String requestMethod, @Nullable String body)
+                    throws IOException {
+                requests.add(requestMethod + " " + address + " " + body);
+                return new Result("[]", 200);
+            }
+        };
+        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
+        HueBridge hueBridge = new HueBridge("ip", "http://ip/api", "username", scheduler, recordingHttpClient);
+
+        hueBridge.createSchedule("name", "description", new Date(),
+                bridge -> bridge.setGroupState(bridge.getAllGroup(), new StateUpdate().turnOn()));
+        // the command scheduler would send a state change from its thread
+        scheduler.shutdown();
+        assertTrue(scheduler.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertThat(requests.size(), is(1));
+        assertThat(requests.get(0), startsWith("POST http://ip/api/username/schedules "));
+        assertThat(requests.get(0), containsString("/api/username/groups/0/action"));
+    }
+
     private static String createMockResponse(List<Scene> scenes) {
         StringBuilder stringBuilder = new StringBuilder();
         stringBuilder.append("{");
@@ -0,0 +1,160 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+import org.openhab.binding.hue.internal.HttpClient.Result;
+import org.openhab.binding.hue.internal.HueCommandScheduler.Budget;
+
+/**
+ * @author agent - Initial contribution
+ */
+public class HueCommandSchedulerTest {
+
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2);
+    private final List<String> sent = new CopyOnWriteArrayList<>();
+    private final CountDownLatch firstRequestStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseFirstRequest = new CountDownLatch(1);
+
+    private final HttpClient http = new HttpClient() {
+        @Override
+        public Result put(String address, String body) throws IOException {
+            sent.add(address + " " + body);
+            if (sent.size() == 1) {
+                firstRequestStarted.countDown();
+                try {
+                    releaseFirstRequest.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+            }
+            return new Result("[]", 200);
+        }
+    };
+
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void testQueuedRequestsAreMerged() throws Exception {
+        HueCommandScheduler commandScheduler = new HueCommandScheduler(http, scheduler, 100, 100);
+
+        CompletableFuture<Result> first = commandScheduler.submit(Budget.LIGHTS, "light1", "{\"on\":true}");
+        assertTrue(firstRequestStarted.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Result> second = commandScheduler.submit(Budget.LIGHTS, "light1", "{\"bri\":10}");
+        CompletableFuture<Result> third = commandScheduler.submit(Budget.LIGHTS, "light1",
+                "{\"bri\":20,\"transitiontime\":0}");
+        CompletableFuture<Result> other = commandScheduler.submit(Budget.LIGHTS, "light2", "{\"on\":false}");
+        assertThat(commandScheduler.getQueueDepth(), is(2));
+        releaseFirstRequest.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS).getResponseCode(), is(200));
+        assertThat(second.get(5, TimeUnit.SECONDS), is(sameInstance(third.get(5, TimeUnit.SECONDS))));
+        other.get(5, TimeUnit.SECONDS);
+        assertThat(sent.size(), is(3));
+        assertThat(sent.get(0), is("light1 {\"on\":true}"));
+        assertThat(sent.get(1), is("light1 {\"bri\":20,\"transitiontime\":0}"));
+        assertThat(sent.get(2), is("light2 {\"on\":false}"));
+        assertThat(commandScheduler.getQueueDepth(), is(0));
+    }
+
+    @Test
+    public void testColorModeAttributesReplaceEachOther() throws Exception {
+        HueCommandScheduler commandScheduler = new HueCommandScheduler(http, scheduler, 100, 100);
+
+        commandScheduler.submit(Budget.LIGHTS, "light1", "{\"on\":true}");
+        assertTrue(firstRequestStarted.await(5, TimeUnit.SECONDS));
+        commandScheduler.submit(Budget.LIGHTS, "light1", "{\"bri\":10,\"hue\":100,\"sat\":50}");
+        CompletableFuture<Result> last = commandScheduler.submit(Budget.LIGHTS, "light1", "{\"ct\":200}");
+        commandScheduler.submit(Budget.LIGHTS, "light2", "{\"effect\":\"colorloop\"}");
+        CompletableFuture<Result> other = commandScheduler.submit(Budget.LIGHTS, "light2", "{\"xy\":[0.1,0.2]}");
+        releaseFirstRequest.countDown();
+
+        last.get(5, TimeUnit.SECONDS);
+        other.get(5, TimeUnit.SECONDS);
+        assertThat(sent.size(), is(3));
+        assertThat(sent.get(1), is("light1 {\"bri\":10,\"ct\":200}"));
+        assertThat(sent.get(2), is("light2 {\"xy\":[0.1,0.2]}"));
+    }
+
+    @Test
+    public void testAlertsAreNotMerged() throws Exception {
+        HueCommandScheduler commandScheduler = new HueCommandScheduler(http, scheduler, 100, 100);
+
+        commandScheduler.submit(Budget.LIGHTS, "light1", "{\"on\":true}");
+        assertTrue(firstRequestStarted.await(5, TimeUnit.SECONDS));
+        commandScheduler.submit(Budget.LIGHTS, "light1", "{\"alert\":\"select\"}");
+        CompletableFuture<Result> last = commandScheduler.submit(Budget.LIGHTS, "light1", "{\"alert\":\"select\"}");
+        assertThat(commandScheduler.getQueueDepth(), is(2));
+        releaseFirstRequest.countDown();
+
+        last.get(5, TimeUnit.SECONDS);
+        assertThat(sent.size(), is(3));
+        assertThat(sent.get(1), is("light1 {\"alert\":\"select\"}"));
+        assertThat(sent.get(2), is("light1 {\"alert\":\"select\"}"));
+    }
+
+    @Test
+    public void testOrderIsKeptPerAddress() throws Exception {
+        HueCommandScheduler commandScheduler = new HueCommandScheduler(http, scheduler, 100, 100);
+
+        commandScheduler.submit(Budget.LIGHTS, "light1", "{\"on\":true}");
+        assertTrue(firstRequestStarted.await(5, TimeUnit.SECONDS));
+        commandScheduler.submit(Budget.LIGHTS, "light1", "{\"bri\":10}");
+        commandScheduler.submit(Budget.LIGHTS, "light1", "{\"alert\":\"select\"}");
+        // Must not be merged into the brightness request queued before the alert
+        commandScheduler.submit(Budget.LIGHTS, "light1", "{\"bri\":20}");
+        CompletableFuture<Result> last = commandScheduler.submit(Budget.LIGHTS, "light1", "{\"on\":false}");
+        assertThat(commandScheduler.getQueueDepth(), is(3));
+        releaseFirstRequest.countDown();
+
+        last.get(5, TimeUnit.SECONDS);
+        assertThat(sent.size(), is(4));
+        assertThat(sent.get(1), is("light1 {\"bri\":10}"));
+        assertThat(sent.get(2), is("light1 {\"alert\":\"select\"}"));
+        assertThat(sent.get(3), is("light1 {\"bri\":20,\"on\":false}"));
+    }
+
+    @Test
+    public void testGroupBudgetIsEnforced() throws Exception {
+        releaseFirstRequest.countDown();
+        HueCommandScheduler commandScheduler = new HueCommandScheduler(http, scheduler, 100, 5);
+
+        long start = System.nanoTime();
+        CompletableFuture<?> last = null;
+        for (int i = 0; i < 8; i++) {
+            last = commandScheduler.submit(Budget.GROUPS, "group" + i, "{\"on\":true}");
+        }
+        last.get(5, TimeUnit.SECONDS);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Burst of 5, then 3 more at 5 per second
+        assertThat(sent.size(), is(8));
+        assertTrue("Elapsed " + elapsedMillis + " ms", elapsedMillis >= 500);
+    }
+}
@@ -0,0 +1,100 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.Test;
+import org.openhab.binding.hue.internal.exceptions.ApiException;
+
+import com.google.gson.Gson;
+
+/**
+ * @author agent - Initial contribution
+ */
+public class StateSnapshotTest {
+
+    private static final String FULL_STATE = "{" //
+            + "\"lights\":{" //
+            + "\"1\":{\"state\":{\"on\":true,\"bri\":100},\"type\":\"Dimmable light\",\"name\":\"Lamp 1\"}," //
+            + "\"2\":{\"state\":{\"on\":false,\"bri\":1},\"type\":\"Dimmable light\",\"name\":\"Lamp 2\"}}," //
+            + "\"groups\":{\"1\":{\"name\":\"Room\",\"lights\":[\"1\",\"2\"],\"type\":\"Room\"}}," //
+            + "\"config\":{\"name\":\"Bridge\",\"whitelist\":{\"user\":{\"name\":\"openHAB\"}}}," //
+            + "\"schedules\":{},\"scenes\":{\"abc\":{\"name\":\"Scene\",\"lights\":[\"1\"]}}," //
+            + "\"rules\":{\"1\":{\"conditions\":[{\"address\":\"/sensors/2/state/buttonevent\"}]}}," //
+            + "\"sensors\":{\"2\":{\"state\":{\"buttonevent\":1002},\"config\":{\"on\":true},\"type\":\"ZLLSwitch\"}}" //
+            + "}";
+
+    private final Gson gson = new Gson();
+
+    @Test
+    public void testFullStateIsParsed() throws ApiException {
+        StateSnapshot state = StateSnapshot.parseFullState(gson, FULL_STATE);
+
+        assertThat(new ArrayList<>(state.getLights().keySet()), is(Arrays.asList("1", "2")));
+        assertThat(state.getGroups().keySet().size(), is(1));
+        assertThat(state.getSensors().keySet().size(), is(1));
+
+        FullLight light = state.getLight("2");
+        assertThat(light.getId(), is("2"));
+        assertThat(light.getName(), is("Lamp 2"));
+        assertThat(light.getState().isOn(), is(false));
+
+        FullGroup group = state.getGroup("1");
+        assertThat(group.getId(), is("1"));
+        assertThat(group.getLightIds(), is(Arrays.asList("1", "2")));
+
+        FullSensor sensor = state.getSensor("2");
+        assertThat(sensor.getId(), is("2"));
+        assertThat(((Number) sensor.getState().get("buttonevent")).intValue(), is(1002));
+    }
+
+    @Test
+    public void testUnchangedObjectsAreEqual() throws ApiException {
+        StateSnapshot previous = StateSnapshot.parseFullState(gson, FULL_STATE);
+        StateSnapshot current = StateSnapshot
+                .parseFullState(gson, FULL_STATE.replace("\"on\":false,\"bri\":1", "\"on\":true,\"bri\":1")
+                        .replace("\"name\":\"Bridge\"", "\"name\":\"Renamed\""));
+
+        assertThat(current.getLights().get("1"), is(previous.getLights().get("1")));
+        assertThat(current.getLights().get("2"), is(not(previous.getLights().get("2"))));
+        assertThat(current.getGroups().get("1"), is(previous.getGroups().get("1")));
+        assertThat(current.getSensors().get("2"), is(previous.getSensors().get("2")));
+    }
+
+    @Test
+    public void testSensorsOnly() throws ApiException {
+        StateSnapshot state = StateSnapshot.parseSensors(gson,
+                "{\"4\":{\"state\":{\"presence\":true},\"type\":\"ZLLPresence\"}}");
+
+        assertTrue(state.getLights().isEmpty());
+        assertTrue(state.getGroups().isEmpty());
+        assertThat(state.getSensor("4").getState().get("presence"), is(true));
+    }
+
+    @Test
+    public void testMissingSensors() throws ApiException {
+        StateSnapshot state = StateSnapshot.parseFullState(gson, "{\"lights\":{},\"groups\":{}}");
+
+        assertNull(state.getSensors());
+    }
+
+    @Test(expected = ApiException.class)
+    public void testUnexpectedResult() throws ApiException {
+        StateSnapshot.parseFullState(gson, "[{\"success\":true}]");
+    }
+}
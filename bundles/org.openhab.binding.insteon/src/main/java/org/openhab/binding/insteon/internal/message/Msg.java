@@ -25,7 +25,6 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.insteon.internal.device.InsteonAddress;
 import org.openhab.binding.insteon.internal.utils.Utils;
 import org.openhab.binding.insteon.internal.utils.Utils.ParsingException;
-import org.osgi.framework.FrameworkUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -75,10 +74,14 @@ public class Msg {
 
     // has the structure of all known messages
     private static final Map<String, @Nullable Msg> MSG_MAP = new HashMap<>();
-    // maps between command number and the length of the header
-    private static final Map<Integer, @Nullable Integer> HEADER_MAP = new HashMap<>();
-    // has templates for all message from modem to host
-    private static final Map<Integer, @Nullable Msg> REPLY_MAP = new HashMap<>();
+    // maps between command number and the length of the header, -1 for unknown commands
+    private static final int[] HEADER_LENGTHS = new int[256];
+    // has templates for all message from modem to host, indexed by command number and extended flag
+    private static final @Nullable Msg[] REPLY_TEMPLATES = new @Nullable Msg[512];
+    // ids of the fields that classify every message
+    private static final int MESSAGE_FLAGS = MsgDefinition.fieldId("messageFlags");
+    private static final int CMD = MsgDefinition.fieldId("Cmd");
+    private static final int ACK_NACK = MsgDefinition.fieldId("ACK/NACK");
 
     private int headerLength = -1;
     private byte @Nullable [] data = null;
@@ -95,9 +98,22 @@ public class Msg {
      * @param dir direction of the message (from/to modem)
      */
     public Msg(int headerLength, byte[] data, int dataLength, Direction dir) {
+        this(headerLength, data, 0, dataLength, dir);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param headerLength length of message header (in bytes)
+     * @param data byte array containing the message
+     * @param offset offset of the message in the byte array
+     * @param dataLength length of the message (in bytes)
+     * @param dir direction of the message (from/to modem)
+     */
+    public Msg(int headerLength, byte[] data, int offset, int dataLength, Direction dir) {
         this.headerLength = headerLength;
         this.direction = dir;
-        initialize(data, 0, dataLength);
+        initialize(data, offset, dataLength);
     }
 
     /**
@@ -109,15 +125,15 @@ public class Msg {
     public Msg(Msg m) {
         headerLength = m.headerLength;
         data = m.data.clone();
-        // the message definition usually doesn't change, but just to be sure...
-        definition = new MsgDefinition(m.definition);
+        // the message definitions are not changed after they have been loaded, so they can be shared
+        definition = m.definition;
         direction = m.direction;
     }
 
     static {
         // Use xml msg loader to load configs
         try {
-            InputStream stream = FrameworkUtil.getBundle(Msg.class).getResource("/msg_definitions.xml").openStream();
+            InputStream stream = Msg.class.getResourceAsStream("/msg_definitions.xml");
             if (stream != null) {
                 HashMap<String, Msg> msgs = XMLMessageReader.readMessageDefinitions(stream);
                 MSG_MAP.putAll(msgs);
@@ -182,39 +198,37 @@ public class Msg {
         if (data == null || getLength() < 2) {
             return false;
         }
-        if (!definition.containsField("messageFlags")) {
-            return (false);
-        }
-        try {
-            byte flags = getByte("messageFlags");
-            return ((flags & 0x10) == 0x10);
-        } catch (FieldException e) {
-            // do nothing
-        }
-        return false;
+        int flags = getFieldByte(MESSAGE_FLAGS);
+        return (flags >= 0 && (flags & 0x10) == 0x10);
     }
 
     public boolean isUnsolicited() {
         // if the message has an ACK/NACK, it is in response to our message,
         // otherwise it is out-of-band, i.e. unsolicited
-        return !definition.containsField("ACK/NACK");
+        return definition.getField(ACK_NACK) == null;
     }
 
     public boolean isEcho() {
         return isPureNack() || !isUnsolicited();
     }
 
+    /**
+     * Reads the message type from the message flags
+     *
+     * @return the message type, or null if the message has no message flags
+     */
+    private @Nullable MsgType getMsgType() {
+        int flags = getFieldByte(MESSAGE_FLAGS);
+        return flags < 0 ? null : MsgType.fromValue((byte) flags);
+    }
+
     public boolean isOfType(MsgType mt) {
-        try {
-            MsgType t = MsgType.fromValue(getByte("messageFlags"));
-            return (t == mt);
-        } catch (FieldException e) {
-            return false;
-        }
+        return getMsgType() == mt;
     }
 
     public boolean isBroadcast() {
-        return isOfType(MsgType.ALL_LINK_BROADCAST) || isOfType(MsgType.BROADCAST);
+        MsgType t = getMsgType();
+        return t == MsgType.ALL_LINK_BROADCAST || t == MsgType.BROADCAST;
     }
 
     public boolean isCleanup() {
@@ -222,7 +236,8 @@ public class Msg {
     }
 
     public boolean isAllLink() {
-        return isOfType(MsgType.ALL_LINK_BROADCAST) || isOfType(MsgType.ALL_LINK_CLEANUP);
+        MsgType t = getMsgType();
+        return t == MsgType.ALL_LINK_BROADCAST || t == MsgType.ALL_LINK_CLEANUP;
     }
 
     public boolean isAckOfDirect() {
@@ -230,18 +245,13 @@ public class Msg {
     }
 
     public boolean isAllLinkCleanupAckOrNack() {
-        return isOfType(MsgType.ALL_LINK_CLEANUP_ACK) || isOfType(MsgType.ALL_LINK_CLEANUP_NACK);
+        MsgType t = getMsgType();
+        return t == MsgType.ALL_LINK_CLEANUP_ACK || t == MsgType.ALL_LINK_CLEANUP_NACK;
     }
 
     public boolean isX10() {
-        try {
-            int cmd = getByte("Cmd") & 0xff;
-            if (cmd == 0x63 || cmd == 0x52) {
-                return true;
-            }
-        } catch (FieldException e) {
-        }
-        return false;
+        int cmd = getFieldByte(CMD);
+        return (cmd == 0x63 || cmd == 0x52);
     }
 
     public void setDefinition(MsgDefinition d) {
@@ -268,10 +278,30 @@ public class Msg {
     }
 
     public int getHopsLeft() throws FieldException {
-        int hops = (getByte("messageFlags") & 0x0c) >> 2;
+        int flags = getFieldByte(MESSAGE_FLAGS);
+        if (flags < 0) {
+            throw new FieldException("field messageFlags not found");
+        }
+        int hops = (flags & 0x0c) >> 2;
         return hops;
     }
 
+    /**
+     * Reads the value of a byte field without a lookup by name
+     *
+     * @param fieldId id of the field
+     * @return the unsigned value of the field, or -1 if the message doesn't have the field
+     */
+    private int getFieldByte(int fieldId) {
+        @Nullable
+        Field f = definition.getField(fieldId);
+        byte @Nullable [] d = data;
+        if (f == null || f.getType() != DataType.BYTE || d == null || f.getOffset() >= d.length) {
+            return -1;
+        }
+        return d[f.getOffset()] & 0xff;
+    }
+
     /**
      * Will initialize the message with a byte[], an offset, and a length
      *
@@ -513,10 +543,24 @@ public class Msg {
      * @return message, or null if the Msg cannot be created
      */
     public static @Nullable Msg createMessage(byte[] buf, int msgLen, boolean isExtended) {
-        if (buf == null || buf.length < 2) {
+        return createMessage(buf, 0, msgLen, isExtended);
+    }
+
+    /**
+     * Factory method to create Msg from a frame within the raw byte stream received
+     * from the serial port. Only the bytes of the frame are copied into the message.
+     *
+     * @param buf the raw received bytes
+     * @param offset offset of the frame in the buffer
+     * @param msgLen length of the frame
+     * @param isExtended whether it is an extended message or not
+     * @return message, or null if the Msg cannot be created
+     */
+    public static @Nullable Msg createMessage(byte[] buf, int offset, int msgLen, boolean isExtended) {
+        if (buf == null || offset < 0 || buf.length < offset + 2) {
             return null;
         }
-        Msg template = REPLY_MAP.get(cmdToKey(buf[1], isExtended));
+        Msg template = REPLY_TEMPLATES[cmdToKey(buf[offset + 1], isExtended)];
         if (template == null) {
             return null; // cannot find lookup map
         }
@@ -524,7 +568,7 @@ public class Msg {
             logger.warn("expected msg {} len {}, got {}", template.getCommandNumber(), template.getLength(), msgLen);
             return null;
         }
-        Msg msg = new Msg(template.getHeaderLength(), buf, msgLen, Direction.FROM_MODEM);
+        Msg msg = new Msg(template.getHeaderLength(), buf, offset, msgLen, Direction.FROM_MODEM);
         msg.setDefinition(template.getDefinition());
         return (msg);
     }
@@ -536,11 +580,7 @@ public class Msg {
      * @return the length of the header to expect
      */
     public static int getHeaderLength(byte cmd) {
-        Integer len = HEADER_MAP.get((int) cmd);
-        if (len == null) {
-            return (-1); // not found
-        }
-        return len;
+        return HEADER_LENGTHS[cmd & 0xff];
     }
 
     /**
@@ -551,8 +591,7 @@ public class Msg {
      * @return message length, or -1 if length cannot be determined
      */
     public static int getMessageLength(byte b, boolean isExtended) {
-        int key = cmdToKey(b, isExtended);
-        Msg msg = REPLY_MAP.get(key);
+        Msg msg = REPLY_TEMPLATES[cmdToKey(b, isExtended)];
         if (msg == null) {
             return -1;
         }
@@ -570,13 +609,28 @@ public class Msg {
      *         determined or if it is a standard message
      */
     public static boolean isExtended(byte[] buf, int len, int headerLength) {
+        return isExtended(buf, 0, len, headerLength);
+    }
+
+    /**
+     * From bytes received thus far, tries to determine if an Insteon
+     * message is extended or standard.
+     *
+     * @param buf the buffer with the received bytes
+     * @param offset offset of the message in the buffer
+     * @param len the number of bytes of the message received so far
+     * @param headerLength the known length of the header
+     * @return true if it is definitely extended, false if cannot be
+     *         determined or if it is a standard message
+     */
+    public static boolean isExtended(byte[] buf, int offset, int len, int headerLength) {
         if (headerLength <= 2) {
             return false;
         } // extended messages are longer
         if (len < headerLength) {
             return false;
         } // not enough data to tell if extended
-        byte flags = buf[headerLength - 1]; // last byte says flags
+        byte flags = buf[offset + headerLength - 1]; // last byte says flags
         boolean isExtended = (flags & 0x10) == 0x10; // bit 4 is the message
         return (isExtended);
     }
@@ -597,13 +651,14 @@ public class Msg {
     }
 
     private static int cmdToKey(byte cmd, boolean isExtended) {
-        return (cmd + (isExtended ? 256 : 0));
+        return ((cmd & 0xff) + (isExtended ? 256 : 0));
     }
 
     private static void buildHeaderMap() {
+        Arrays.fill(HEADER_LENGTHS, -1);
         for (Msg m : MSG_MAP.values()) {
             if (m.getDirection() == Direction.FROM_MODEM) {
-                HEADER_MAP.put((int) m.getCommandNumber(), m.getHeaderLength());
+                HEADER_LENGTHS[m.getCommandNumber() & 0xff] = m.getHeaderLength();
             }
         }
     }
@@ -611,8 +666,7 @@ public class Msg {
     private static void buildLengthMap() {
         for (Msg m : MSG_MAP.values()) {
             if (m.getDirection() == Direction.FROM_MODEM) {
-                int key = cmdToKey(m.getCommandNumber(), m.isExtended());
-                REPLY_MAP.put(key, m);
+                REPLY_TEMPLATES[cmdToKey(m.getCommandNumber(), m.isExtended())] = m;
             }
         }
     }
@@ -12,7 +12,10 @@
  */
 package org.openhab.binding.insteon.internal.message;
 
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -22,13 +25,21 @@ import org.eclipse.jdt.annotation.Nullable;
  * For more info, see the public Insteon Developer's Guide, 2nd edition,
  * and the Insteon Modem Developer's Guide.
  *
+ * Every field name gets an id when the definitions are loaded, and each definition
+ * keeps its fields in an array indexed by that id.
+ *
  * @author Daniel Pfrommer - Initial contribution
  * @author Rob Nielsen - Port to openHAB 2 insteon binding
  */
 @NonNullByDefault
 @SuppressWarnings("null")
 public class MsgDefinition {
+    // ids of the field names of all definitions
+    private static final Map<String, Integer> FIELD_IDS = new ConcurrentHashMap<>();
+
     private HashMap<String, @Nullable Field> fields = new HashMap<>();
+    // the fields indexed by field id, null if the message doesn't have the field
+    private @Nullable Field[] fieldsById = new @Nullable Field[0];
 
     MsgDefinition() {
     }
@@ -40,6 +51,22 @@ public class MsgDefinition {
      */
     MsgDefinition(@Nullable MsgDefinition m) {
         fields = new HashMap<>(m.fields);
+        fieldsById = m.fieldsById.clone();
+    }
+
+    /**
+     * Returns the id of a field name, and assigns a new id if the name is not known yet
+     *
+     * @param name name of the field
+     * @return id of the field
+     */
+    static synchronized int fieldId(String name) {
+        Integer id = FIELD_IDS.get(name);
+        if (id == null) {
+            id = FIELD_IDS.size();
+            FIELD_IDS.put(name, id);
+        }
+        return id;
     }
 
     public HashMap<String, @Nullable Field> getFields() {
@@ -52,6 +79,22 @@ public class MsgDefinition {
 
     public void addField(Field field) {
         fields.put(field.getName(), field);
+        int id = fieldId(field.getName());
+        if (id >= fieldsById.length) {
+            fieldsById = Arrays.copyOf(fieldsById, id + 1);
+        }
+        fieldsById[id] = field;
+    }
+
+    /**
+     * Finds field with a given id
+     *
+     * @param id id of the field, see {@link #fieldId(String)}
+     * @return the field, or null if the message doesn't have the field
+     */
+    @Nullable
+    Field getField(int id) {
+        return id < fieldsById.length ? fieldsById[id] : null;
     }
 
     /**
@@ -63,7 +106,9 @@ public class MsgDefinition {
      */
     public Field getField(@Nullable String name) throws FieldException {
         @Nullable
-        Field f = fields.get(name);
+        Integer id = name != null ? FIELD_IDS.get(name) : null;
+        @Nullable
+        Field f = id != null ? getField(id) : null;
         if (f == null) {
             throw new FieldException("field " + name + " not found");
         }
@@ -36,11 +36,15 @@ public class Utils {
     }
 
     public static String getHexString(byte[] b, int len) {
-        String result = "";
-        for (int i = 0; i < b.length && i < len; i++) {
-            result += String.format("%02X ", b[i] & 0xFF);
+        return getHexString(b, 0, len);
+    }
+
+    public static String getHexString(byte[] b, int offset, int len) {
+        StringBuilder result = new StringBuilder(3 * Math.max(len, 0));
+        for (int i = offset; i < b.length && i < offset + len; i++) {
+            result.append(String.format("%02X ", b[i] & 0xFF));
         }
-        return result;
+        return result.toString();
     }
 
     public static int strToInt(String s) throws NumberFormatException {
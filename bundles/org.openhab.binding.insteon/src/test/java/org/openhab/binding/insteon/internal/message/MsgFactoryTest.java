@@ -0,0 +1,186 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.insteon.internal.message;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.Test;
+import org.openhab.binding.insteon.internal.device.InsteonAddress;
+
+/**
+ * Tests of the framing of the data received from the modem by {@link MsgFactory}
+ *
+ * @author agent - Initial contribution
+ */
+public class MsgFactoryTest {
+
+    // StandardMessageReceived from 11.22.33 to 44.55.66, command1 0x11, command2 0xFF
+    private static final byte[] STANDARD_RECEIVED = bytes(0x02, 0x50, 0x11, 0x22, 0x33, 0x44, 0x55, 0x66, 0x2B, 0x11,
+            0xFF);
+
+    // SendStandardMessageReply to 44.55.66, command1 0x19, ACK
+    private static final byte[] STANDARD_REPLY = bytes(0x02, 0x62, 0x44, 0x55, 0x66, 0x0F, 0x19, 0x00, 0x06);
+
+    // SendExtendedMessageReply to 44.55.66, command1 0x2E, user data 1 to 14, ACK
+    private static final byte[] EXTENDED_REPLY = bytes(0x02, 0x62, 0x44, 0x55, 0x66, 0x1F, 0x2E, 0x00, 0x01, 0x02,
+            0x03, 0x04, 0x05, 0x06, 0x07, 0x08, 0x09, 0x0A, 0x0B, 0x0C, 0x0D, 0x0E, 0x06);
+
+    private final MsgFactory factory = new MsgFactory();
+
+    private static byte[] bytes(int... values) {
+        byte[] bytes = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            bytes[i] = (byte) values[i];
+        }
+        return bytes;
+    }
+
+    private static byte[] concat(byte[]... arrays) {
+        byte[] result = new byte[0];
+        for (byte[] array : arrays) {
+            int length = result.length;
+            result = Arrays.copyOf(result, length + array.length);
+            System.arraycopy(array, 0, result, length, array.length);
+        }
+        return result;
+    }
+
+    private void addData(byte[] data, int from, int to) {
+        byte[] chunk = Arrays.copyOfRange(data, from, to);
+        factory.addData(chunk, chunk.length);
+    }
+
+    @Test
+    public void testFrameSplitAcrossAddData() throws Exception {
+        addData(STANDARD_RECEIVED, 0, 4);
+        assertNull(factory.processData());
+        assertThat(factory.isDone(), is(true));
+        // the header is not complete yet
+        addData(STANDARD_RECEIVED, 4, 8);
+        assertNull(factory.processData());
+        addData(STANDARD_RECEIVED, 8, 10);
+        assertNull(factory.processData());
+
+        addData(STANDARD_RECEIVED, 10, STANDARD_RECEIVED.length);
+        Msg msg = factory.processData();
+        assertNotNull(msg);
+        assertThat(msg.getCommandNumber(), is((byte) 0x50));
+        assertThat(msg.isExtended(), is(false));
+        assertThat(msg.getLength(), is(STANDARD_RECEIVED.length));
+        assertThat(msg.getByte("command1"), is((byte) 0x11));
+        assertThat(msg.getByte("command2"), is((byte) 0xFF));
+        assertThat(factory.isDone(), is(true));
+    }
+
+    @Test
+    public void testPureNack() throws Exception {
+        byte[] data = concat(bytes(0x15), STANDARD_REPLY);
+        factory.addData(data, data.length);
+
+        Msg nack = factory.processData();
+        assertNotNull(nack);
+        assertThat(nack.isPureNack(), is(true));
+        assertThat(factory.isDone(), is(false));
+
+        Msg msg = factory.processData();
+        assertNotNull(msg);
+        assertThat(msg.isPureNack(), is(false));
+        assertThat(msg.getByte("ACK/NACK"), is((byte) 0x06));
+        assertThat(factory.isDone(), is(true));
+    }
+
+    @Test
+    public void testUnknownCommandIsDrained() throws Exception {
+        byte[] data = concat(bytes(0x02, 0xFF, 0x01), STANDARD_RECEIVED);
+        factory.addData(data, data.length);
+
+        try {
+            factory.processData();
+            fail("unknown command must not be accepted");
+        } catch (IOException e) {
+            assertThat(e.getMessage(), containsString("unknown command code"));
+        }
+
+        // the data up to the next 0x02 is dropped
+        Msg msg = factory.processData();
+        assertNotNull(msg);
+        assertThat(msg.getCommandNumber(), is((byte) 0x50));
+        assertThat(msg.getByte("command1"), is((byte) 0x11));
+    }
+
+    @Test
+    public void testFramesAtOffsetAfterCompaction() throws Exception {
+        // a standard frame and the first part of an extended frame
+        byte[] data = concat(STANDARD_REPLY, EXTENDED_REPLY);
+        addData(data, 0, STANDARD_REPLY.length + 10);
+
+        Msg standard = factory.processData();
+        assertNotNull(standard);
+        assertThat(standard.isExtended(), is(false));
+        assertThat(standard.getLength(), is(STANDARD_REPLY.length));
+        assertThat(standard.getByte("command1"), is((byte) 0x19));
+        // the extended frame is not complete yet and is kept at its offset
+        assertNull(factory.processData());
+
+        // the rest of the extended frame and a standard frame, which follows it in the buffer
+        byte[] rest = concat(Arrays.copyOfRange(data, STANDARD_REPLY.length + 10, data.length), STANDARD_RECEIVED);
+        factory.addData(rest, rest.length);
+
+        Msg extended = factory.processData();
+        assertNotNull(extended);
+        assertThat(extended.isExtended(), is(true));
+        assertThat(extended.getLength(), is(EXTENDED_REPLY.length));
+        assertThat(extended.getByte("command1"), is((byte) 0x2E));
+        assertThat(extended.getByte("userData1"), is((byte) 0x01));
+        assertThat(extended.getByte("userData14"), is((byte) 0x0E));
+        assertThat(extended.getByte("ACK/NACK"), is((byte) 0x06));
+        assertThat(factory.isDone(), is(false));
+
+        Msg received = factory.processData();
+        assertNotNull(received);
+        assertThat(received.isExtended(), is(false));
+        assertThat(received.getByte("command1"), is((byte) 0x11));
+        assertNull(factory.processData());
+        assertThat(factory.isDone(), is(true));
+    }
+
+    @Test
+    public void testFieldsOfDifferentDefinitions() throws Exception {
+        byte[] data = concat(STANDARD_RECEIVED, STANDARD_REPLY);
+        factory.addData(data, data.length);
+
+        Msg received = factory.processData();
+        assertNotNull(received);
+        assertThat(received.isUnsolicited(), is(true));
+        assertThat(received.isX10(), is(false));
+        assertThat(received.getHopsLeft(), is(2));
+        assertThat(received.getAddress("fromAddress"), is(new InsteonAddress("11.22.33")));
+        assertThat(received.getAddress("toAddress"), is(new InsteonAddress("44.55.66")));
+
+        Msg reply = factory.processData();
+        assertNotNull(reply);
+        assertThat(reply.isUnsolicited(), is(false));
+        assertThat(reply.getAddress("toAddress"), is(new InsteonAddress("44.55.66")));
+        assertThat(reply.getByte("ACK/NACK"), is((byte) 0x06));
+        try {
+            reply.getAddress("fromAddress");
+            fail("the reply has no fromAddress field");
+        } catch (FieldException e) {
+            assertThat(e.getMessage(), containsString("fromAddress"));
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.binding.knx.internal.handler.GroupAddressListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import tuwien.auto.calimero.GroupAddress;
+
+/**
+ * Dispatches received telegrams to the {@link GroupAddressListener}s interested in the destination group address.
+ *
+ * Listeners are looked up from an index keyed by group address, built from
+ * {@link GroupAddressListener#getGroupAddresses()} when the listener is registered. Each listener has its own queue of
+ * pending notifications, drained by a single task at a time on the executor. Thus the notifications of a listener are
+ * delivered in the order the telegrams were received, different listeners are notified in parallel, and a burst of
+ * telegrams for a listener is handled by one task instead of one task per telegram.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class GroupAddressDispatcher {
+
+    /**
+     * Maximum number of notifications delivered by one task before yielding the thread to other listeners
+     */
+    static final int MAX_BATCH_SIZE = 64;
+
+    private final Logger logger = LoggerFactory.getLogger(GroupAddressDispatcher.class);
+
+    private final Executor executor;
+    private final Map<GroupAddressListener, ListenerQueue> queues = new HashMap<>();
+    private volatile Map<GroupAddress, List<ListenerQueue>> index = Collections.emptyMap();
+
+    private class ListenerQueue implements Runnable {
+        private final GroupAddressListener listener;
+        private final Queue<Consumer<GroupAddressListener>> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile Set<GroupAddress> addresses;
+        private volatile boolean closed;
+
+        ListenerQueue(GroupAddressListener listener) {
+            this.listener = listener;
+            this.addresses = listener.getGroupAddresses();
+        }
+
+        void offer(GroupAddress destination, Consumer<GroupAddressListener> notification) {
+            // The addresses of the listener might have been reduced since it was indexed
+            if (closed || !listener.listensTo(destination)) {
+                return;
+            }
+            pending.add(notification);
+            if (scheduled.compareAndSet(false, true)) {
+                executor.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            int delivered = 0;
+            Consumer<GroupAddressListener> notification;
+            while (delivered < MAX_BATCH_SIZE && (notification = pending.poll()) != null) {
+                if (closed) {
+                    pending.clear();
+                    break;
+                }
+                delivered++;
+                try {
+                    notification.accept(listener);
+                } catch (RuntimeException e) {
+                    logger.warn("Listener {} failed to handle a telegram: {}", listener, e.getMessage(), e);
+                }
+            }
+            scheduled.set(false);
+            // Telegrams might have been queued after the last poll, or the batch was cut short
+            if (!pending.isEmpty() && !closed && scheduled.compareAndSet(false, true)) {
+                executor.execute(this);
+            }
+        }
+
+        void close() {
+            closed = true;
+            pending.clear();
+        }
+    }
+
+    /**
+     * Construct dispatcher
+     *
+     * @param executor executor used to notify the listeners
+     */
+    public GroupAddressDispatcher(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Register listener, or refresh the group addresses of a registered listener
+     *
+     * @param listener listener to register
+     * @return true if the listener was not registered before
+     */
+    public synchronized boolean register(GroupAddressListener listener) {
+        ListenerQueue queue = queues.get(listener);
+        boolean added = queue == null;
+        if (queue == null) {
+            queues.put(listener, new ListenerQueue(listener));
+        } else {
+            queue.addresses = listener.getGroupAddresses();
+        }
+        rebuildIndex();
+        return added;
+    }
+
+    /**
+     * Unregister listener. Notifications not delivered yet are discarded.
+     *
+     * @param listener listener to unregister
+     * @return true if the listener was registered
+     */
+    public synchronized boolean unregister(GroupAddressListener listener) {
+        ListenerQueue queue = queues.remove(listener);
+        if (queue == null) {
+            return false;
+        }
+        queue.close();
+        rebuildIndex();
+        return true;
+    }
+
+    private void rebuildIndex() {
+        Map<GroupAddress, List<ListenerQueue>> newIndex = new HashMap<>();
+        for (ListenerQueue queue : queues.values()) {
+            for (GroupAddress address : queue.addresses) {
+                newIndex.computeIfAbsent(address, a -> new ArrayList<>(1)).add(queue);
+            }
+        }
+        index = newIndex;
+    }
+
+    /**
+     * Queue notification for all listeners of the destination group address
+     *
+     * @param destination destination of the telegram
+     * @param notification notification to deliver to each listener
+     */
+    public void dispatch(GroupAddress destination, Consumer<GroupAddressListener> notification) {
+        List<ListenerQueue> listeners = index.get(destination);
+        if (listeners == null) {
+            logger.trace("No listeners for '{}'", destination);
+            return;
+        }
+        for (ListenerQueue queue : listeners) {
+            queue.offer(destination, notification);
+        }
+    }
+}
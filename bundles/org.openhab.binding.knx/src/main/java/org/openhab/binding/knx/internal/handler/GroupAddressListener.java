@@ -12,6 +12,8 @@
  */
 package org.openhab.binding.knx.internal.handler;
 
+import java.util.Set;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.openhab.binding.knx.internal.client.BusMessageListener;
 
@@ -33,4 +35,12 @@ public interface GroupAddressListener extends BusMessageListener {
      * @param destination
      */
     public boolean listensTo(GroupAddress destination);
+
+    /**
+     * Returns all the GroupAddresses the GroupAddressListener has an interest in. Used to index the listeners when they
+     * are registered, so the result should be complete by then.
+     *
+     * @return the group addresses
+     */
+    public Set<GroupAddress> getGroupAddresses();
 }
@@ -0,0 +1,144 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.Test;
+import org.openhab.binding.knx.internal.handler.GroupAddressListener;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.IndividualAddress;
+
+/**
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@NonNullByDefault
+public class GroupAddressDispatcherTest {
+
+    private static final GroupAddress GA1 = new GroupAddress(1, 2, 3);
+    private static final GroupAddress GA2 = new GroupAddress(1, 2, 4);
+
+    private static class RecordingListener implements GroupAddressListener {
+        private final Set<GroupAddress> addresses;
+        private final List<String> received = Collections.synchronizedList(new ArrayList<>());
+
+        RecordingListener(GroupAddress... addresses) {
+            this.addresses = new HashSet<>(Arrays.asList(addresses));
+        }
+
+        @Override
+        public boolean listensTo(GroupAddress destination) {
+            return addresses.contains(destination);
+        }
+
+        @Override
+        public Set<GroupAddress> getGroupAddresses() {
+            return new HashSet<>(addresses);
+        }
+
+        @Override
+        public void onGroupWrite(AbstractKNXClient client, IndividualAddress source, GroupAddress destination,
+                byte[] asdu) {
+        }
+
+        @Override
+        public void onGroupRead(AbstractKNXClient client, IndividualAddress source, GroupAddress destination,
+                byte[] asdu) {
+        }
+
+        @Override
+        public void onGroupReadResponse(AbstractKNXClient client, IndividualAddress source, GroupAddress destination,
+                byte[] asdu) {
+        }
+    }
+
+    @Test
+    public void testDispatchToListenersOfAddress() {
+        GroupAddressDispatcher dispatcher = new GroupAddressDispatcher(Runnable::run);
+        RecordingListener first = new RecordingListener(GA1);
+        RecordingListener second = new RecordingListener(GA1, GA2);
+        assertTrue(dispatcher.register(first));
+        assertTrue(dispatcher.register(second));
+        assertFalse(dispatcher.register(second));
+
+        dispatcher.dispatch(GA1, listener -> ((RecordingListener) listener).received.add("a"));
+        dispatcher.dispatch(GA2, listener -> ((RecordingListener) listener).received.add("b"));
+        dispatcher.dispatch(new GroupAddress(0, 0, 1), listener -> fail());
+
+        assertEquals(Arrays.asList("a"), first.received);
+        assertEquals(Arrays.asList("a", "b"), second.received);
+    }
+
+    @Test
+    public void testUnregisteredAndRemovedAddressesNotNotified() {
+        GroupAddressDispatcher dispatcher = new GroupAddressDispatcher(Runnable::run);
+        RecordingListener first = new RecordingListener(GA1, GA2);
+        RecordingListener second = new RecordingListener(GA1);
+        dispatcher.register(first);
+        dispatcher.register(second);
+
+        first.addresses.remove(GA2);
+        assertTrue(dispatcher.unregister(second));
+        assertFalse(dispatcher.unregister(second));
+        dispatcher.dispatch(GA1, listener -> ((RecordingListener) listener).received.add("a"));
+        dispatcher.dispatch(GA2, listener -> ((RecordingListener) listener).received.add("b"));
+
+        assertEquals(Arrays.asList("a"), first.received);
+        assertTrue(second.received.isEmpty());
+    }
+
+    @Test
+    public void testOrderPreservedPerListener() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            GroupAddressDispatcher dispatcher = new GroupAddressDispatcher(executor);
+            RecordingListener first = new RecordingListener(GA1, GA2);
+            RecordingListener second = new RecordingListener(GA2);
+            dispatcher.register(first);
+            dispatcher.register(second);
+            int telegrams = 1000;
+            CountDownLatch done = new CountDownLatch(telegrams * 2);
+
+            for (int i = 0; i < telegrams; i++) {
+                String value = String.valueOf(i);
+                dispatcher.dispatch(GA2, listener -> {
+                    ((RecordingListener) listener).received.add(value);
+                    done.countDown();
+                });
+            }
+
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+            for (int i = 0; i < telegrams; i++) {
+                assertEquals(String.valueOf(i), first.received.get(i));
+                assertEquals(String.valueOf(i), second.received.get(i));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
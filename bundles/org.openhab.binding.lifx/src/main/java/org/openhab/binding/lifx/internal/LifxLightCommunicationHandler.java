@@ -12,22 +12,15 @@
  */
 package org.openhab.binding.lifx.internal;
 
-import static org.openhab.binding.lifx.internal.LifxBindingConstants.PACKET_INTERVAL;
 import static org.openhab.binding.lifx.internal.fields.MACAddress.BROADCAST_ADDRESS;
 import static org.openhab.binding.lifx.internal.util.LifxMessageUtil.randomSourceId;
-import static org.openhab.binding.lifx.internal.util.LifxSelectorUtil.*;
 
-import java.io.IOException;
 import java.net.InetSocketAddress;
-import java.nio.channels.SelectionKey;
-import java.nio.channels.Selector;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
-import java.util.function.BiFunction;
 import java.util.function.Supplier;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -39,13 +32,15 @@ import org.openhab.binding.lifx.internal.protocol.GetServiceRequest;
 import org.openhab.binding.lifx.internal.protocol.Packet;
 import org.openhab.binding.lifx.internal.protocol.StateServiceResponse;
 import org.openhab.binding.lifx.internal.util.LifxNetworkUtil;
-import org.openhab.binding.lifx.internal.util.LifxSelectorUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * The {@link LifxLightCommunicationHandler} is responsible for the communications with a light.
  *
+ * The packets are sent and received with the {@link LifxNetworkReactor} shared by all lights, which passes the
+ * packets with the source identifier of this handler to it.
+ *
  * @author Wouter Born - Extracted class from LifxLightHandler
  */
 @NonNullByDefault
@@ -56,6 +51,7 @@ public class LifxLightCommunicationHandler {
     private final String logId;
     private final CurrentLightState currentLightState;
     private final ScheduledExecutorService scheduler;
+    private final LifxNetworkReactor reactor = LifxNetworkReactor.getInstance();
 
     private final ReentrantLock lock = new ReentrantLock();
     private final long sourceId = randomSourceId();
@@ -63,19 +59,11 @@ public class LifxLightCommunicationHandler {
 
     private int service;
     private int unicastPort;
-    private final int broadcastPort = LifxNetworkUtil.getNewBroadcastPort();
-
-    private @Nullable ScheduledFuture<?> networkJob;
 
-    private @Nullable MACAddress macAddress;
-    private @Nullable InetSocketAddress host;
+    private volatile @Nullable MACAddress macAddress;
+    private volatile @Nullable InetSocketAddress host;
     private boolean broadcastEnabled;
 
-    private @Nullable Selector selector;
-    private @Nullable SelectionKey broadcastKey;
-    private @Nullable SelectionKey unicastKey;
-    private @Nullable LifxSelectorContext selectorContext;
-
     public LifxLightCommunicationHandler(LifxLightContext context) {
         this.logId = context.getLogId();
         this.macAddress = context.getConfiguration().getMACAddress();
@@ -102,31 +90,15 @@ public class LifxLightCommunicationHandler {
             logger.debug("{} : Starting communication handler", logId);
             logger.debug("{} : Using '{}' as source identifier", logId, Long.toString(sourceId, 16));
 
-            ScheduledFuture<?> localNetworkJob = networkJob;
-            if (localNetworkJob == null || localNetworkJob.isCancelled()) {
-                networkJob = scheduler.scheduleWithFixedDelay(this::receiveAndHandlePackets, 0, PACKET_INTERVAL,
-                        TimeUnit.MILLISECONDS);
-            }
-
             currentLightState.setOffline();
 
-            Selector localSelector = Selector.open();
-            selector = localSelector;
+            reactor.addReceiver(sourceId, this::receivePacket);
 
             if (isBroadcastEnabled()) {
-                broadcastKey = openBroadcastChannel(selector, logId, broadcastPort);
-                selectorContext = new LifxSelectorContext(localSelector, sourceId, sequenceNumberSupplier, logId, host,
-                        macAddress, broadcastKey, unicastKey);
                 broadcastPacket(new GetServiceRequest());
             } else {
-                unicastKey = openUnicastChannel(selector, logId, host);
-                selectorContext = new LifxSelectorContext(localSelector, sourceId, sequenceNumberSupplier, logId, host,
-                        macAddress, broadcastKey, unicastKey);
                 sendPacket(new GetServiceRequest());
             }
-        } catch (IOException e) {
-            logger.error("{} while starting LIFX communication handler for light '{}' : {}",
-                    e.getClass().getSimpleName(), logId, e.getMessage(), e);
         } finally {
             lock.unlock();
         }
@@ -135,18 +107,7 @@ public class LifxLightCommunicationHandler {
     public void stop() {
         try {
             lock.lock();
-
-            ScheduledFuture<?> localNetworkJob = networkJob;
-            if (localNetworkJob != null && !localNetworkJob.isCancelled()) {
-                localNetworkJob.cancel(true);
-                networkJob = null;
-            }
-
-            closeSelector(selector, logId);
-            selector = null;
-            broadcastKey = null;
-            unicastKey = null;
-            selectorContext = null;
+            reactor.removeReceiver(sourceId);
         } finally {
             lock.unlock();
         }
@@ -160,27 +121,41 @@ public class LifxLightCommunicationHandler {
         return macAddress;
     }
 
-    public void receiveAndHandlePackets() {
+    /**
+     * Receives a packet from the {@link LifxNetworkReactor}, is called on the reactor thread.
+     */
+    private void receivePacket(Packet packet, InetSocketAddress address) {
+        // The light state and the listeners may send packets, which blocks while the light is throttled
+        try {
+            scheduler.execute(() -> handlePacket(packet, address));
+        } catch (RejectedExecutionException e) {
+            logger.debug("{} : Packet is not handled, the handler is disposed: {}", logId, e.getMessage());
+        }
+    }
+
+    private void handlePacket(Packet packet, InetSocketAddress address) {
+        boolean notifyListeners;
         try {
             lock.lock();
-            Selector localSelector = selector;
-            if (localSelector == null || !localSelector.isOpen()) {
-                logger.debug("{} : Unable to receive and handle packets with null or closed selector", logId);
-            } else {
-                LifxSelectorUtil.receiveAndHandlePackets(localSelector, logId,
-                        (packet, address) -> handlePacket(packet, address));
-            }
-        } catch (Exception e) {
-            logger.error("{} while receiving a packet from the light ({}): {}", e.getClass().getSimpleName(), logId,
-                    e.getMessage());
+            notifyListeners = updateConnectionState(packet, address);
         } finally {
             lock.unlock();
         }
+        if (notifyListeners) {
+            responsePacketListeners.forEach(listener -> listener.handleResponsePacket(packet));
+        }
     }
 
-    private void handlePacket(Packet packet, InetSocketAddress address) {
-        boolean packetFromConfiguredMAC = macAddress != null && (packet.getTarget().equals(macAddress));
-        boolean packetFromConfiguredHost = host != null && (address.equals(host));
+    /**
+     * Updates the connection state with a received packet.
+     *
+     * @return true if the packet is from the light of this handler and is passed to the response listeners
+     */
+    private boolean updateConnectionState(Packet packet, InetSocketAddress address) {
+        MACAddress localMacAddress = macAddress;
+        InetSocketAddress localHost = host;
+        boolean packetFromConfiguredMAC = localMacAddress != null && (packet.getTarget().equals(localMacAddress));
+        boolean packetFromConfiguredHost = localHost != null && (address.equals(localHost));
         boolean broadcastPacket = packet.getTarget().equals(BROADCAST_ADDRESS);
         boolean packetSourceIsHandler = (packet.getSource() == sourceId || packet.getSource() == 0);
 
@@ -192,17 +167,12 @@ public class LifxLightCommunicationHandler {
             if (packet instanceof StateServiceResponse) {
                 StateServiceResponse response = (StateServiceResponse) packet;
                 MACAddress discoveredAddress = response.getTarget();
-                if (packetFromConfiguredHost && macAddress == null) {
+                if (packetFromConfiguredHost && localMacAddress == null) {
                     macAddress = discoveredAddress;
                     currentLightState.setOnline(discoveredAddress);
-
-                    LifxSelectorContext context = selectorContext;
-                    if (context != null) {
-                        context.setMACAddress(macAddress);
-                    }
-                    return;
-                } else if (macAddress != null && macAddress.equals(discoveredAddress)) {
-                    boolean newHost = host == null || !address.equals(host);
+                    return false;
+                } else if (localMacAddress != null && localMacAddress.equals(discoveredAddress)) {
+                    boolean newHost = localHost == null || !address.equals(localHost);
                     boolean newPort = unicastPort != (int) response.getPort();
                     boolean newService = service != response.getService();
 
@@ -215,34 +185,15 @@ public class LifxLightCommunicationHandler {
                             currentLightState.setOfflineByCommunicationError();
                         } else {
                             this.host = new InetSocketAddress(address.getAddress(), unicastPort);
-
-                            try {
-                                cancelKey(unicastKey, logId);
-                                unicastKey = openUnicastChannel(selector, logId, host);
-
-                                LifxSelectorContext context = selectorContext;
-                                if (context != null) {
-                                    context.setHost(host);
-                                    context.setUnicastKey(unicastKey);
-                                }
-                            } catch (IOException e) {
-                                logger.warn("{} while opening the unicast channel of the light ({}): {}",
-                                        e.getClass().getSimpleName(), logId, e.getMessage());
-                                currentLightState.setOfflineByCommunicationError();
-                                return;
-                            }
-
                             currentLightState.setOnline();
                         }
                     }
                 }
             }
 
-            // Listeners are notified in a separate thread for better concurrency and to prevent deadlock.
-            scheduler.schedule(() -> {
-                responsePacketListeners.forEach(listener -> listener.handleResponsePacket(packet));
-            }, 0, TimeUnit.MILLISECONDS);
+            return true;
         }
+        return false;
     }
 
     public boolean isBroadcastEnabled() {
@@ -250,34 +201,38 @@ public class LifxLightCommunicationHandler {
     }
 
     public void broadcastPacket(Packet packet) {
-        wrappedPacketSend((s, p) -> LifxSelectorUtil.broadcastPacket(s, p), packet);
+        packet.setSource(sourceId);
+        packet.setSequence(sequenceNumberSupplier.get());
+
+        boolean success = true;
+        for (InetSocketAddress address : LifxNetworkUtil.getBroadcastAddresses()) {
+            success = success && reactor.send(packet, address, true, logId);
+        }
+        if (!success) {
+            currentLightState.setOfflineByCommunicationError();
+        }
     }
 
     public void sendPacket(Packet packet) {
-        if (host != null) {
-            wrappedPacketSend((s, p) -> LifxSelectorUtil.sendPacket(s, p), packet);
+        InetSocketAddress localHost = host;
+        if (localHost != null) {
+            packet.setSequence(sequenceNumberSupplier.get());
+            unicastPacket(packet, localHost);
         }
     }
 
     public void resendPacket(Packet packet) {
-        if (host != null) {
-            wrappedPacketSend((s, p) -> LifxSelectorUtil.resendPacket(s, p), packet);
+        InetSocketAddress localHost = host;
+        if (localHost != null) {
+            unicastPacket(packet, localHost);
         }
     }
 
-    private void wrappedPacketSend(BiFunction<LifxSelectorContext, Packet, Boolean> function, Packet packet) {
-        LifxSelectorContext localSelectorContext = selectorContext;
-        if (localSelectorContext != null) {
-            boolean result = false;
-            try {
-                lock.lock();
-                result = function.apply(localSelectorContext, packet);
-            } finally {
-                lock.unlock();
-                if (!result) {
-                    currentLightState.setOfflineByCommunicationError();
-                }
-            }
+    private void unicastPacket(Packet packet, InetSocketAddress localHost) {
+        packet.setSource(sourceId);
+        packet.setTarget(macAddress);
+        if (!reactor.send(packet, localHost, false, logId)) {
+            currentLightState.setOfflineByCommunicationError();
         }
     }
 }
@@ -17,13 +17,13 @@ import static org.openhab.binding.lifx.internal.protocol.Product.Feature.*;
 import static org.openhab.binding.lifx.internal.util.LifxMessageUtil.infraredToPercentType;
 
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.library.types.PercentType;
+import org.openhab.binding.lifx.internal.LifxNetworkReactor.Timer;
 import org.openhab.binding.lifx.internal.fields.HSBK;
 import org.openhab.binding.lifx.internal.handler.LifxLightHandler.CurrentLightState;
 import org.openhab.binding.lifx.internal.protocol.GetColorZonesRequest;
@@ -60,6 +60,7 @@ public class LifxLightCurrentStateUpdater {
     private final Product product;
     private final CurrentLightState currentLightState;
     private final ScheduledExecutorService scheduler;
+    private final LifxNetworkReactor reactor = LifxNetworkReactor.getInstance();
     private final LifxLightCommunicationHandler communicationHandler;
 
     private final ReentrantLock lock = new ReentrantLock();
@@ -67,7 +68,7 @@ public class LifxLightCurrentStateUpdater {
     private boolean wasOnline;
     private boolean updateSignalStrength;
 
-    private @Nullable ScheduledFuture<?> statePollingJob;
+    private @Nullable Timer statePollingJob;
 
     public LifxLightCurrentStateUpdater(LifxLightContext context, LifxLightCommunicationHandler communicationHandler) {
         this.logId = context.getLogId();
@@ -102,9 +103,9 @@ public class LifxLightCurrentStateUpdater {
         try {
             lock.lock();
             communicationHandler.addResponsePacketListener(this::handleResponsePacket);
-            ScheduledFuture<?> localStatePollingJob = statePollingJob;
+            Timer localStatePollingJob = statePollingJob;
             if (localStatePollingJob == null || localStatePollingJob.isCancelled()) {
-                statePollingJob = scheduler.scheduleWithFixedDelay(this::pollLightState, 0, STATE_POLLING_INTERVAL,
+                statePollingJob = reactor.schedule(this::pollLightState, scheduler, 0, STATE_POLLING_INTERVAL,
                         TimeUnit.SECONDS);
             }
         } catch (Exception e) {
@@ -118,9 +119,9 @@ public class LifxLightCurrentStateUpdater {
         try {
             lock.lock();
             communicationHandler.removeResponsePacketListener(this::handleResponsePacket);
-            ScheduledFuture<?> localStatePollingJob = statePollingJob;
+            Timer localStatePollingJob = statePollingJob;
             if (localStatePollingJob != null && !localStatePollingJob.isCancelled()) {
-                localStatePollingJob.cancel(true);
+                localStatePollingJob.cancel();
                 statePollingJob = null;
             }
         } catch (Exception e) {
@@ -15,12 +15,12 @@ package org.openhab.binding.lifx.internal;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.lifx.internal.LifxNetworkReactor.Timer;
 import org.openhab.binding.lifx.internal.handler.LifxLightHandler.CurrentLightState;
 import org.openhab.binding.lifx.internal.protocol.GetEchoRequest;
 import org.openhab.binding.lifx.internal.protocol.GetServiceRequest;
@@ -44,11 +44,12 @@ public class LifxLightOnlineStateUpdater {
     private final String logId;
     private final CurrentLightState currentLightState;
     private final ScheduledExecutorService scheduler;
+    private final LifxNetworkReactor reactor = LifxNetworkReactor.getInstance();
     private final LifxLightCommunicationHandler communicationHandler;
 
     private final ReentrantLock lock = new ReentrantLock();
 
-    private @Nullable ScheduledFuture<?> echoJob;
+    private @Nullable Timer echoJob;
     private LocalDateTime lastSeen = LocalDateTime.MIN;
     private int unansweredEchoPackets;
 
@@ -93,9 +94,9 @@ public class LifxLightOnlineStateUpdater {
         try {
             lock.lock();
             communicationHandler.addResponsePacketListener(this::handleResponsePacket);
-            ScheduledFuture<?> localEchoJob = echoJob;
+            Timer localEchoJob = echoJob;
             if (localEchoJob == null || localEchoJob.isCancelled()) {
-                echoJob = scheduler.scheduleWithFixedDelay(this::sendEchoPackets, 0, ECHO_POLLING_INTERVAL,
+                echoJob = reactor.schedule(this::sendEchoPackets, scheduler, 0, ECHO_POLLING_INTERVAL,
                         TimeUnit.SECONDS);
             }
         } catch (Exception e) {
@@ -109,9 +110,9 @@ public class LifxLightOnlineStateUpdater {
         try {
             lock.lock();
             communicationHandler.removeResponsePacketListener(this::handleResponsePacket);
-            ScheduledFuture<?> localEchoJob = echoJob;
+            Timer localEchoJob = echoJob;
             if (localEchoJob != null && !localEchoJob.isCancelled()) {
-                localEchoJob.cancel(true);
+                localEchoJob.cancel();
                 echoJob = null;
             }
         } catch (Exception e) {
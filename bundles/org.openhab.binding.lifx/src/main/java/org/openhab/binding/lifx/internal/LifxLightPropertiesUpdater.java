@@ -21,12 +21,12 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.lifx.internal.LifxNetworkReactor.Timer;
 import org.openhab.binding.lifx.internal.fields.MACAddress;
 import org.openhab.binding.lifx.internal.handler.LifxLightHandler.CurrentLightState;
 import org.openhab.binding.lifx.internal.listener.LifxPropertiesUpdateListener;
@@ -68,7 +68,8 @@ public class LifxLightPropertiesUpdater {
 
     private final ReentrantLock lock = new ReentrantLock();
     private final ScheduledExecutorService scheduler;
-    private @Nullable ScheduledFuture<?> updateJob;
+    private final LifxNetworkReactor reactor = LifxNetworkReactor.getInstance();
+    private @Nullable Timer updateJob;
 
     private final Map<String, String> properties = new HashMap<>();
     private boolean updating;
@@ -193,9 +194,9 @@ public class LifxLightPropertiesUpdater {
         try {
             lock.lock();
             communicationHandler.addResponsePacketListener(this::handleResponsePacket);
-            ScheduledFuture<?> localUpdateJob = updateJob;
+            Timer localUpdateJob = updateJob;
             if (localUpdateJob == null || localUpdateJob.isCancelled()) {
-                updateJob = scheduler.scheduleWithFixedDelay(this::updateProperties, 0, UPDATE_INTERVAL,
+                updateJob = reactor.schedule(this::updateProperties, scheduler, 0, UPDATE_INTERVAL,
                         TimeUnit.SECONDS);
             }
         } catch (Exception e) {
@@ -209,9 +210,9 @@ public class LifxLightPropertiesUpdater {
         try {
             lock.lock();
             communicationHandler.removeResponsePacketListener(this::handleResponsePacket);
-            ScheduledFuture<?> localUpdateJob = updateJob;
+            Timer localUpdateJob = updateJob;
             if (localUpdateJob != null && !localUpdateJob.isCancelled()) {
-                localUpdateJob.cancel(true);
+                localUpdateJob.cancel();
                 updateJob = null;
             }
         } catch (Exception e) {
@@ -23,13 +23,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.library.types.PercentType;
+import org.openhab.binding.lifx.internal.LifxNetworkReactor.Timer;
 import org.openhab.binding.lifx.internal.fields.HSBK;
 import org.openhab.binding.lifx.internal.listener.LifxLightStateListener;
 import org.openhab.binding.lifx.internal.protocol.AcknowledgementResponse;
@@ -79,11 +79,12 @@ public class LifxLightStateChanger implements LifxLightStateListener {
     private final Duration fadeTime;
     private final LifxLightState pendingLightState;
     private final ScheduledExecutorService scheduler;
+    private final LifxNetworkReactor reactor = LifxNetworkReactor.getInstance();
     private final LifxLightCommunicationHandler communicationHandler;
 
     private final ReentrantLock lock = new ReentrantLock();
 
-    private @Nullable ScheduledFuture<?> sendJob;
+    private @Nullable Timer sendJob;
 
     private Map<Integer, @Nullable List<PendingPacket>> pendingPacketsMap = new ConcurrentHashMap<>();
 
@@ -146,9 +147,9 @@ public class LifxLightStateChanger implements LifxLightStateListener {
             lock.lock();
             communicationHandler.addResponsePacketListener(this::handleResponsePacket);
             pendingLightState.addListener(this);
-            ScheduledFuture<?> localSendJob = sendJob;
+            Timer localSendJob = sendJob;
             if (localSendJob == null || localSendJob.isCancelled()) {
-                sendJob = scheduler.scheduleWithFixedDelay(this::sendPendingPackets, 0, PACKET_INTERVAL,
+                sendJob = reactor.schedule(this::sendPendingPackets, scheduler, 0, PACKET_INTERVAL,
                         TimeUnit.MILLISECONDS);
             }
         } catch (Exception e) {
@@ -163,9 +164,9 @@ public class LifxLightStateChanger implements LifxLightStateListener {
             lock.lock();
             communicationHandler.removeResponsePacketListener(this::handleResponsePacket);
             pendingLightState.removeListener(this);
-            ScheduledFuture<?> localSendJob = sendJob;
+            Timer localSendJob = sendJob;
             if (localSendJob != null && !localSendJob.isCancelled()) {
-                localSendJob.cancel(true);
+                localSendJob.cancel();
                 sendJob = null;
             }
             pendingPacketsMap.clear();
@@ -0,0 +1,506 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.lifx.internal;
+
+import static org.openhab.binding.lifx.internal.LifxBindingConstants.PACKET_INTERVAL;
+import static org.openhab.binding.lifx.internal.util.LifxNetworkUtil.isRemoteAddress;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.lifx.internal.protocol.Packet;
+import org.openhab.binding.lifx.internal.util.LifxNetworkUtil;
+import org.openhab.binding.lifx.internal.util.LifxSelectorUtil;
+import org.openhab.binding.lifx.internal.util.LifxThrottlingUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link LifxNetworkReactor} does the network communication of all lights with a single UDP socket, which is
+ * served by a single thread with a {@link Selector}.
+ *
+ * Received packets are passed to the receiver registered for the source identifier of the packet. Every
+ * {@link LifxLightCommunicationHandler} uses its own source identifier, so the responses of a light are received by
+ * the handler of the light.
+ *
+ * The thread also drives a timing wheel with a tick of {@link LifxBindingConstants#PACKET_INTERVAL}, which replaces
+ * the periodic jobs the lights would otherwise schedule. The thread is started with the first receiver or timer and
+ * ends when the last one is removed. If the channel cannot be opened, the thread retries to open it and packets are
+ * not sent until then.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class LifxNetworkReactor {
+
+    private static final long CHANNEL_RETRY_INTERVAL_MS = 10_000;
+    private static final LifxNetworkReactor INSTANCE = new LifxNetworkReactor(LifxNetworkReactor::openBroadcastChannel,
+            CHANNEL_RETRY_INTERVAL_MS);
+
+    private static final String LOG_ID = "LIFX network";
+    private static final int WHEEL_SIZE = 64;
+
+    private final Logger logger = LoggerFactory.getLogger(LifxNetworkReactor.class);
+
+    private final ChannelOpener channelOpener;
+    private final long channelRetryIntervalNanos;
+
+    private final Object lock = new Object();
+    private final Map<Long, BiConsumer<Packet, InetSocketAddress>> receivers = new ConcurrentHashMap<>();
+    private final Queue<Timer> newTimers = new ConcurrentLinkedQueue<>();
+    private int timerCount;
+
+    private @Nullable Thread thread;
+    private @Nullable Selector selector;
+    private volatile @Nullable DatagramChannel channel;
+    private boolean channelFailed;
+    private long nextChannelRetry;
+
+    /** The timers of the wheel, only accessed by the thread */
+    private final List<List<Timer>> wheel = new ArrayList<>(WHEEL_SIZE);
+    private long tick;
+    private long nextTick;
+
+    /**
+     * A periodic task on the timing wheel.
+     */
+    public class Timer {
+        private final Runnable task;
+        private final Executor executor;
+        private final long periodTicks;
+        private final AtomicBoolean running = new AtomicBoolean();
+        private volatile boolean cancelled;
+        private long deadline;
+
+        private Timer(Runnable task, Executor executor, long delayTicks, long periodTicks) {
+            this.task = task;
+            this.executor = executor;
+            this.periodTicks = periodTicks;
+            this.deadline = delayTicks;
+        }
+
+        /**
+         * Cancels the timer, a running task is not interrupted.
+         */
+        public void cancel() {
+            synchronized (lock) {
+                if (!cancelled) {
+                    cancelled = true;
+                    timerCount--;
+                    lock.notifyAll();
+                }
+            }
+            wakeup();
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * Runs the task with the executor, unless the previous run is not finished yet.
+         */
+        private void run() {
+            if (!running.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                executor.execute(() -> {
+                    try {
+                        task.run();
+                    } catch (RuntimeException e) {
+                        logger.warn("{} while running a LIFX timer: {}", e.getClass().getSimpleName(), e.getMessage(),
+                                e);
+                    } finally {
+                        running.set(false);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                running.set(false);
+                logger.debug("LIFX timer task was rejected: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Opens the channel used for the communication with the lights.
+     */
+    @FunctionalInterface
+    interface ChannelOpener {
+        DatagramChannel open() throws IOException;
+    }
+
+    LifxNetworkReactor(ChannelOpener channelOpener, long channelRetryIntervalMs) {
+        this.channelOpener = channelOpener;
+        this.channelRetryIntervalNanos = TimeUnit.MILLISECONDS.toNanos(channelRetryIntervalMs);
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * get the reactor shared by all lights
+     *
+     * @return the network reactor
+     */
+    public static LifxNetworkReactor getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Registers the receiver of the packets with the given source identifier.
+     *
+     * @param sourceId the source identifier the receiver uses for its packets
+     * @param receiver receives the packets and the addresses they were received from on the reactor thread, must not
+     *            block
+     */
+    public void addReceiver(long sourceId, BiConsumer<Packet, InetSocketAddress> receiver) {
+        synchronized (lock) {
+            receivers.put(sourceId, receiver);
+            startThread();
+        }
+    }
+
+    public void removeReceiver(long sourceId) {
+        synchronized (lock) {
+            receivers.remove(sourceId);
+        }
+        wakeup();
+    }
+
+    /**
+     * Schedules a task on the timing wheel. The task runs with the given executor and never overlaps with its
+     * previous run.
+     *
+     * @param task the task
+     * @param executor the executor running the task
+     * @param initialDelay the delay of the first run
+     * @param period the period between the starts of the runs, rounded to a multiple of
+     *            {@link LifxBindingConstants#PACKET_INTERVAL}
+     * @param unit the unit of the delay and period
+     * @return the timer to cancel the task
+     */
+    public Timer schedule(Runnable task, Executor executor, long initialDelay, long period, TimeUnit unit) {
+        long delayTicks = Math.max(unit.toMillis(initialDelay) / PACKET_INTERVAL, 0);
+        long periodTicks = Math.max(unit.toMillis(period) / PACKET_INTERVAL, 1);
+        Timer timer = new Timer(task, executor, delayTicks, periodTicks);
+        synchronized (lock) {
+            timerCount++;
+            newTimers.add(timer);
+            startThread();
+        }
+        wakeup();
+        return timer;
+    }
+
+    /**
+     * Sends a packet to the given address. Packets to the same light are throttled by {@link LifxThrottlingUtil}.
+     *
+     * @param packet the packet
+     * @param address the address of the light or a broadcast address
+     * @param broadcast whether the packet is broadcasted to all lights
+     * @param logId the log id of the sender
+     * @return true if the packet was sent
+     */
+    public boolean send(Packet packet, InetSocketAddress address, boolean broadcast, String logId) {
+        DatagramChannel localChannel = channel;
+        if (localChannel == null) {
+            return false;
+        }
+
+        try {
+            if (broadcast) {
+                LifxThrottlingUtil.lock();
+            } else {
+                LifxThrottlingUtil.lock(packet.getTarget());
+            }
+
+            if (logger.isTraceEnabled()) {
+                logger.trace("{} : Sending packet type '{}' to '{}' for '{}' with sequence '{}' and source '{}'",
+                        new Object[] { logId, packet.getClass().getSimpleName(), address.toString(),
+                                packet.getTarget().getHex(), packet.getSequence(),
+                                Long.toString(packet.getSource(), 16) });
+            }
+            if (localChannel.send(packet.bytes(), address) > 0) {
+                return true;
+            }
+            logger.debug("{} : The send buffer is full, packet is not sent", logId);
+        } catch (IOException e) {
+            logger.debug("{} while sending a packet to the light ({}): {}", e.getClass().getSimpleName(), logId,
+                    e.getMessage());
+        } finally {
+            if (broadcast) {
+                LifxThrottlingUtil.unlock();
+            } else {
+                LifxThrottlingUtil.unlock(packet.getTarget());
+            }
+        }
+        return false;
+    }
+
+    private static DatagramChannel openBroadcastChannel() throws IOException {
+        DatagramChannel channel = DatagramChannel.open(StandardProtocolFamily.INET);
+        try {
+            channel.setOption(StandardSocketOptions.SO_REUSEADDR, true).setOption(StandardSocketOptions.SO_BROADCAST,
+                    true);
+            channel.bind(new InetSocketAddress(0));
+            return channel;
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens the channel and selector, must be called with the lock held.
+     */
+    private void openChannel() {
+        DatagramChannel localChannel = null;
+        try {
+            localChannel = channelOpener.open();
+            localChannel.configureBlocking(false);
+            Selector localSelector = Selector.open();
+            selector = localSelector;
+            localChannel.register(localSelector, SelectionKey.OP_READ);
+            logger.debug("{} : Bound the channel on {}", LOG_ID, localChannel.getLocalAddress());
+            channel = localChannel;
+            channelFailed = false;
+        } catch (IOException e) {
+            if (!channelFailed) {
+                logger.error("{} while opening the LIFX network channel, retrying every {}s: {}",
+                        e.getClass().getSimpleName(), TimeUnit.NANOSECONDS.toSeconds(channelRetryIntervalNanos),
+                        e.getMessage(), e);
+            } else {
+                logger.debug("{} while opening the LIFX network channel: {}", e.getClass().getSimpleName(),
+                        e.getMessage());
+            }
+            channelFailed = true;
+            nextChannelRetry = System.nanoTime() + channelRetryIntervalNanos;
+            if (localChannel != null) {
+                try {
+                    localChannel.close();
+                } catch (IOException ce) {
+                    logger.debug("{} while closing the LIFX network channel: {}", ce.getClass().getSimpleName(),
+                            ce.getMessage());
+                }
+            }
+            closeChannel();
+        }
+    }
+
+    /**
+     * Starts the thread, must be called with the lock held.
+     */
+    private void startThread() {
+        if (thread != null) {
+            return;
+        }
+        channelFailed = false;
+        openChannel();
+
+        Thread localThread = new Thread(this::run, "OH-binding-lifx-network");
+        localThread.setDaemon(true);
+        thread = localThread;
+        localThread.start();
+    }
+
+    private void wakeup() {
+        Selector localSelector = selector;
+        if (localSelector != null) {
+            localSelector.wakeup();
+        }
+    }
+
+    private void run() {
+        synchronized (lock) {
+            tick = 0;
+            nextTick = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(PACKET_INTERVAL);
+        }
+        ByteBuffer readBuffer = ByteBuffer.allocate(LifxNetworkUtil.getBufferSize());
+        try {
+            while (true) {
+                Selector localSelector;
+                synchronized (lock) {
+                    if (receivers.isEmpty() && timerCount == 0) {
+                        closeChannel();
+                        thread = null;
+                        return;
+                    }
+                    if (selector == null && System.nanoTime() - nextChannelRetry >= 0) {
+                        openChannel();
+                    }
+                    localSelector = selector;
+                }
+
+                long timeout = TimeUnit.NANOSECONDS.toMillis(nextTick - System.nanoTime());
+                if (localSelector == null) {
+                    // the channel could not be opened, only the timers are run until it is opened again
+                    if (timeout > 0) {
+                        synchronized (lock) {
+                            lock.wait(timeout);
+                        }
+                    }
+                } else if (timeout > 0) {
+                    localSelector.select(timeout);
+                    receivePackets(localSelector, readBuffer);
+                } else {
+                    localSelector.selectNow();
+                    receivePackets(localSelector, readBuffer);
+                }
+
+                addNewTimers();
+                long now = System.nanoTime();
+                while (now - nextTick >= 0) {
+                    expireTimers();
+                    nextTick += TimeUnit.MILLISECONDS.toNanos(PACKET_INTERVAL);
+                }
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            logger.error("{} in the LIFX network thread: {}", e.getClass().getSimpleName(), e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (lock) {
+            closeChannel();
+            thread = null;
+        }
+    }
+
+    private void receivePackets(Selector localSelector, ByteBuffer readBuffer) {
+        Iterator<SelectionKey> keys = localSelector.selectedKeys().iterator();
+        while (keys.hasNext()) {
+            SelectionKey key = keys.next();
+            keys.remove();
+            if (!key.isValid() || !key.isReadable()) {
+                continue;
+            }
+            DatagramChannel localChannel = (DatagramChannel) key.channel();
+            try {
+                InetSocketAddress address;
+                while ((address = (InetSocketAddress) localChannel.receive(readBuffer)) != null) {
+                    if (isRemoteAddress(address.getAddress())) {
+                        Packet packet = LifxSelectorUtil.parsePacket(readBuffer, address, LOG_ID);
+                        if (packet != null) {
+                            dispatch(packet, address);
+                        }
+                    }
+                    readBuffer.clear();
+                }
+            } catch (IOException e) {
+                logger.debug("{} while receiving a LIFX packet: {}", e.getClass().getSimpleName(), e.getMessage());
+                readBuffer.clear();
+            }
+        }
+    }
+
+    void dispatch(Packet packet, InetSocketAddress address) {
+        if (packet.getSource() != 0) {
+            BiConsumer<Packet, InetSocketAddress> receiver = receivers.get(packet.getSource());
+            if (receiver != null) {
+                receiver.accept(packet, address);
+            }
+        } else {
+            // the packet is not a response to a request, every receiver checks if it is from its light
+            receivers.values().forEach(receiver -> receiver.accept(packet, address));
+        }
+    }
+
+    private void addNewTimers() {
+        Timer timer;
+        while ((timer = newTimers.poll()) != null) {
+            timer.deadline += tick;
+            wheel.get((int) (timer.deadline % WHEEL_SIZE)).add(timer);
+        }
+    }
+
+    /**
+     * Runs the timers of the current tick and advances the wheel by one tick.
+     */
+    private void expireTimers() {
+        List<Timer> slot = wheel.get((int) (tick % WHEEL_SIZE));
+        List<Timer> rescheduled = new ArrayList<>();
+        Iterator<Timer> timers = slot.iterator();
+        while (timers.hasNext()) {
+            Timer timer = timers.next();
+            if (timer.cancelled) {
+                timers.remove();
+            } else if (timer.deadline <= tick) {
+                timers.remove();
+                timer.run();
+                timer.deadline = tick + timer.periodTicks;
+                rescheduled.add(timer);
+            }
+        }
+        tick++;
+        for (Timer timer : rescheduled) {
+            wheel.get((int) (timer.deadline % WHEEL_SIZE)).add(timer);
+        }
+    }
+
+    boolean isRunning() {
+        synchronized (lock) {
+            return thread != null;
+        }
+    }
+
+    boolean isChannelOpen() {
+        return channel != null;
+    }
+
+    /**
+     * Closes the channel and selector, must be called with the lock held.
+     */
+    private void closeChannel() {
+        DatagramChannel localChannel = channel;
+        channel = null;
+        if (localChannel != null) {
+            try {
+                localChannel.close();
+            } catch (IOException e) {
+                logger.debug("{} while closing the LIFX network channel: {}", e.getClass().getSimpleName(),
+                        e.getMessage());
+            }
+        }
+        Selector localSelector = selector;
+        selector = null;
+        if (localSelector != null) {
+            try {
+                localSelector.close();
+            } catch (IOException e) {
+                logger.debug("{} while closing the LIFX network selector: {}", e.getClass().getSimpleName(),
+                        e.getMessage());
+            }
+        }
+    }
+}
@@ -178,6 +178,21 @@ public class LifxSelectorUtil {
 
     private static void supplyParsedPacketToConsumer(ByteBuffer readBuffer, InetSocketAddress address,
             BiConsumer<Packet, InetSocketAddress> packetConsumer, String logId) {
+        Packet packet = parsePacket(readBuffer, address, logId);
+        if (packet != null) {
+            packetConsumer.accept(packet, address);
+        }
+    }
+
+    /**
+     * Parses a received packet.
+     *
+     * @param readBuffer the buffer the packet was received into, positioned after the received data
+     * @param address the address the packet was received from
+     * @param logId the log id used when logging unknown packets
+     * @return the packet or null if it is incomplete or of an unknown type
+     */
+    public static @Nullable Packet parsePacket(ByteBuffer readBuffer, InetSocketAddress address, String logId) {
         int messageLength = readBuffer.position();
         readBuffer.rewind();
 
@@ -198,10 +213,10 @@ public class LifxSelectorUtil {
                 LOGGER.trace("{} : Unknown packet type: {} (source: {})", logId, String.format("0x%02X", type),
                         address.toString());
             } else {
-                Packet packet = handler.handle(readBuffer);
-                packetConsumer.accept(packet, address);
+                return handler.handle(readBuffer);
             }
         }
+        return null;
     }
 
     public static boolean broadcastPacket(@Nullable LifxSelectorContext context, Packet packet) {
@@ -0,0 +1,183 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.lifx.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.lifx.internal.LifxNetworkReactor.Timer;
+import org.openhab.binding.lifx.internal.protocol.GetServiceRequest;
+import org.openhab.binding.lifx.internal.protocol.Packet;
+
+/**
+ * Tests of the {@link LifxNetworkReactor}
+ *
+ * @author agent - Initial contribution
+ */
+public class LifxNetworkReactorTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final AtomicInteger openAttempts = new AtomicInteger();
+    private int failingOpenAttempts;
+    private LifxNetworkReactor reactor;
+    private DatagramChannel light;
+
+    @Before
+    public void setUp() throws IOException {
+        reactor = new LifxNetworkReactor(() -> {
+            if (openAttempts.incrementAndGet() <= failingOpenAttempts) {
+                throw new IOException("no network");
+            }
+            return DatagramChannel.open().bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        }, 100);
+        light = DatagramChannel.open().bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        executor.shutdownNow();
+        light.close();
+    }
+
+    private void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long end = System.currentTimeMillis() + 2000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < end) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
+    private Packet packet(long source) {
+        Packet packet = new GetServiceRequest();
+        packet.setSource(source);
+        return packet;
+    }
+
+    @Test
+    public void testTimerRunsPeriodicallyUntilCancelled() throws InterruptedException {
+        CountDownLatch runs = new CountDownLatch(3);
+        Timer timer = reactor.schedule(runs::countDown, executor, 0, 2 * LifxBindingConstants.PACKET_INTERVAL,
+                TimeUnit.MILLISECONDS);
+        assertTrue(runs.await(2, TimeUnit.SECONDS));
+
+        timer.cancel();
+        assertThat(timer.isCancelled(), is(true));
+        waitFor(() -> !reactor.isRunning());
+        assertThat(reactor.isChannelOpen(), is(false));
+    }
+
+    @Test
+    public void testTimerRunsDoNotOverlap() throws InterruptedException {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch runs = new CountDownLatch(3);
+        Timer timer = reactor.schedule(() -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(3 * LifxBindingConstants.PACKET_INTERVAL);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            running.decrementAndGet();
+            runs.countDown();
+        }, executor, 0, LifxBindingConstants.PACKET_INTERVAL, TimeUnit.MILLISECONDS);
+        assertTrue(runs.await(2, TimeUnit.SECONDS));
+        timer.cancel();
+
+        assertThat(maxRunning.get(), is(1));
+    }
+
+    @Test
+    public void testPacketsAreDispatchedBySource() {
+        List<String> received = new CopyOnWriteArrayList<>();
+        reactor.addReceiver(1, (packet, address) -> received.add("1:" + packet.getSource()));
+        reactor.addReceiver(2, (packet, address) -> received.add("2:" + packet.getSource()));
+        InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), 56700);
+
+        reactor.dispatch(packet(2), address);
+        reactor.dispatch(packet(3), address);
+        assertThat(received.size(), is(1));
+        assertThat(received.get(0), is("2:2"));
+
+        // packets which are no responses are offered to every receiver
+        received.clear();
+        reactor.dispatch(packet(0), address);
+        assertThat(received.size(), is(2));
+        assertThat(received.contains("1:0"), is(true));
+        assertThat(received.contains("2:0"), is(true));
+
+        reactor.removeReceiver(1);
+        reactor.removeReceiver(2);
+    }
+
+    @Test
+    public void testThreadStopsWithLastReceiver() throws Exception {
+        reactor.addReceiver(1, (packet, address) -> {
+        });
+        reactor.addReceiver(2, (packet, address) -> {
+        });
+        assertThat(reactor.isRunning(), is(true));
+        assertThat(reactor.isChannelOpen(), is(true));
+
+        reactor.removeReceiver(1);
+        Thread.sleep(2 * LifxBindingConstants.PACKET_INTERVAL);
+        assertThat(reactor.isRunning(), is(true));
+
+        reactor.removeReceiver(2);
+        waitFor(() -> !reactor.isRunning());
+        assertThat(reactor.isChannelOpen(), is(false));
+        assertThat(reactor.send(packet(1), (InetSocketAddress) light.getLocalAddress(), false, "test"), is(false));
+    }
+
+    @Test
+    public void testChannelIsOpenedAgainAfterFailure() throws Exception {
+        failingOpenAttempts = 2;
+        reactor.addReceiver(1, (packet, address) -> {
+        });
+        assertThat(reactor.isRunning(), is(true));
+        assertThat(reactor.isChannelOpen(), is(false));
+        InetSocketAddress lightAddress = (InetSocketAddress) light.getLocalAddress();
+        assertThat(reactor.send(packet(1), lightAddress, false, "test"), is(false));
+
+        waitFor(reactor::isChannelOpen);
+        assertThat(openAttempts.get(), is(3));
+        assertThat(reactor.send(packet(1), lightAddress, false, "test"), is(true));
+        ByteBuffer buffer = ByteBuffer.allocate(128);
+        light.configureBlocking(false);
+        long end = System.currentTimeMillis() + 2000;
+        while (light.receive(buffer) == null && System.currentTimeMillis() < end) {
+            Thread.sleep(10);
+        }
+        assertThat(buffer.position(), is(packet(1).bytes().limit()));
+
+        reactor.removeReceiver(1);
+        waitFor(() -> !reactor.isRunning());
+    }
+}
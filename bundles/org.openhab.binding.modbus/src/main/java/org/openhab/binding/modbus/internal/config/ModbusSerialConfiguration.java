@@ -37,6 +37,8 @@ public class ModbusSerialConfiguration {
     private int timeBetweenTransactionsMillis;
     private int connectMaxTries;
     private int connectTimeoutMillis;
+    private boolean coalescePolls;
+    private boolean deadlineScheduling;
     private boolean enableDiscovery;
 
     public @Nullable String getPort() {
@@ -151,6 +153,22 @@ public class ModbusSerialConfiguration {
         this.connectTimeoutMillis = connectTimeoutMillis;
     }
 
+    public boolean isCoalescePolls() {
+        return coalescePolls;
+    }
+
+    public void setCoalescePolls(boolean coalescePolls) {
+        this.coalescePolls = coalescePolls;
+    }
+
+    public boolean isDeadlineScheduling() {
+        return deadlineScheduling;
+    }
+
+    public void setDeadlineScheduling(boolean deadlineScheduling) {
+        this.deadlineScheduling = deadlineScheduling;
+    }
+
     public boolean isDiscoveryEnabled() {
         return enableDiscovery;
     }
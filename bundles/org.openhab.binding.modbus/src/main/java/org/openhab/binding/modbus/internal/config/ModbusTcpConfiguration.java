@@ -31,6 +31,9 @@ public class ModbusTcpConfiguration {
     private int connectMaxTries;
     private int reconnectAfterMillis;
     private int connectTimeoutMillis;
+    private boolean coalescePolls;
+    private int maxInFlightTransactions;
+    private boolean deadlineScheduling;
     private boolean enableDiscovery;
 
     public @Nullable String getHost() {
@@ -97,6 +100,30 @@ public class ModbusTcpConfiguration {
         this.connectTimeoutMillis = connectTimeoutMillis;
     }
 
+    public boolean isCoalescePolls() {
+        return coalescePolls;
+    }
+
+    public void setCoalescePolls(boolean coalescePolls) {
+        this.coalescePolls = coalescePolls;
+    }
+
+    public int getMaxInFlightTransactions() {
+        return maxInFlightTransactions;
+    }
+
+    public void setMaxInFlightTransactions(int maxInFlightTransactions) {
+        this.maxInFlightTransactions = maxInFlightTransactions;
+    }
+
+    public boolean isDeadlineScheduling() {
+        return deadlineScheduling;
+    }
+
+    public void setDeadlineScheduling(boolean deadlineScheduling) {
+        this.deadlineScheduling = deadlineScheduling;
+    }
+
     public boolean isDiscoveryEnabled() {
         return enableDiscovery;
     }
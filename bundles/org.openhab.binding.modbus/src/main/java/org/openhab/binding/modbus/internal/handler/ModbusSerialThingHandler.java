@@ -63,6 +63,8 @@ public class ModbusSerialThingHandler
         this.poolConfiguration = poolConfiguration;
         poolConfiguration.setConnectMaxTries(config.getConnectMaxTries());
         poolConfiguration.setConnectTimeoutMillis(config.getConnectTimeoutMillis());
+        poolConfiguration.setCoalesceRegularPolls(config.isCoalescePolls());
+        poolConfiguration.setDeadlineScheduling(config.isDeadlineScheduling());
         poolConfiguration.setInterTransactionDelayMillis(config.getTimeBetweenTransactionsMillis());
 
         // Never reconnect serial connections "automatically"
@@ -57,6 +57,9 @@ public class ModbusTcpThingHandler
         this.poolConfiguration = poolConfiguration;
         poolConfiguration.setConnectMaxTries(config.getConnectMaxTries());
         poolConfiguration.setConnectTimeoutMillis(config.getConnectTimeoutMillis());
+        poolConfiguration.setCoalesceRegularPolls(config.isCoalescePolls());
+        poolConfiguration.setDeadlineScheduling(config.isDeadlineScheduling());
+        poolConfiguration.setMaxInFlightTransactions(Math.max(1, config.getMaxInFlightTransactions()));
         poolConfiguration.setInterConnectDelayMillis(config.getTimeBetweenReconnectMillis());
         poolConfiguration.setInterTransactionDelayMillis(config.getTimeBetweenTransactionsMillis());
         poolConfiguration.setReconnectAfterMillis(config.getReconnectAfterMillis());
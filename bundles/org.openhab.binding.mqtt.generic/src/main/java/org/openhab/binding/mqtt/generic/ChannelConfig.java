@@ -41,6 +41,10 @@ public class ChannelConfig {
     public boolean retained = false;
     /** If true, the state topic will not update a state, but trigger a channel instead. */
     public boolean trigger = false;
+    /** If true, a received payload that is identical to the previous one is dropped. */
+    public boolean suppressDuplicates = false;
+    /** Milliseconds to collect received payloads, only the latest one is processed. 0 to process every payload. */
+    public int coalescePeriod = 0;
     public String unit = "";
 
     public String transformationPattern = "";
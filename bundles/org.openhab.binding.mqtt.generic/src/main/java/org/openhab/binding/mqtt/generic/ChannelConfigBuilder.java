@@ -69,6 +69,16 @@ public class ChannelConfigBuilder {
         return this;
     }
 
+    public ChannelConfigBuilder withSuppressDuplicates(boolean suppressDuplicates) {
+        config.suppressDuplicates = suppressDuplicates;
+        return this;
+    }
+
+    public ChannelConfigBuilder withCoalescePeriod(int coalescePeriod) {
+        config.coalescePeriod = coalescePeriod;
+        return this;
+    }
+
     public ChannelConfigBuilder makeTrigger(boolean trigger) {
         config.trigger = trigger;
         return this;
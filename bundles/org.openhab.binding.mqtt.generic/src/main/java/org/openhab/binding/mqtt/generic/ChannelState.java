@@ -14,12 +14,14 @@ package org.openhab.binding.mqtt.generic;
 
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.IllegalFormatException;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.lang.StringUtils;
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -28,10 +30,13 @@ import org.eclipse.smarthome.core.library.types.StringType;
 import org.eclipse.smarthome.core.thing.ChannelUID;
 import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.core.types.TypeParser;
+import org.eclipse.smarthome.core.types.UnDefType;
 import org.eclipse.smarthome.io.transport.mqtt.MqttBrokerConnection;
 import org.eclipse.smarthome.io.transport.mqtt.MqttMessageSubscriber;
+import org.openhab.binding.mqtt.generic.tools.DelayedBatchProcessing;
 import org.openhab.binding.mqtt.generic.values.TextValue;
 import org.openhab.binding.mqtt.generic.values.Value;
+import org.openhab.binding.mqtt.handler.MqttTopicRouter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -55,12 +60,17 @@ public class ChannelState implements MqttMessageSubscriber {
 
     // Runtime variables
     private @Nullable MqttBrokerConnection connection;
+    private @Nullable MqttTopicRouter topicRouter;
     protected final List<ChannelStateTransformation> transformationsIn = new ArrayList<>();
     protected final List<ChannelStateTransformation> transformationsOut = new ArrayList<>();
     private @Nullable ChannelStateUpdateListener channelStateUpdateListener;
     protected boolean hasSubscribed = false;
     private @Nullable ScheduledFuture<?> scheduledFuture;
     private CompletableFuture<@Nullable Void> future = new CompletableFuture<>();
+    private @Nullable DelayedBatchProcessing<byte[]> coalescer;
+    private volatile byte @Nullable [] lastPayload;
+    private final AtomicLong receivedMessages = new AtomicLong();
+    private final AtomicLong suppressedMessages = new AtomicLong();
 
     /**
      * Creates a new channel state.
@@ -133,6 +143,10 @@ public class ChannelState implements MqttMessageSubscriber {
 
     /**
      * Incoming message from the MqttBrokerConnection
+     * <p>
+     * Depending on the channel configuration, a payload identical to the previous one is dropped before it is
+     * decoded, and the payloads received within the coalesce period are collected to only process the latest one.
+     * Both do not apply to trigger channels.
      *
      * @param topic The topic. Is the same as the field stateTopic.
      * @param payload The byte payload. Must be UTF8 encoded text or binary data.
@@ -144,7 +158,41 @@ public class ChannelState implements MqttMessageSubscriber {
             logger.warn("MQTT message received for topic {}, but MessageSubscriber object hasn't been started!", topic);
             return;
         }
+        receivedMessages.incrementAndGet();
+
+        if (!config.trigger) {
+            if (config.suppressDuplicates) {
+                // A reset cache needs the next payload, even if it is the same
+                if (Arrays.equals(payload, lastPayload) && cachedValue.getChannelState() != UnDefType.UNDEF) {
+                    suppressedMessages.incrementAndGet();
+                    receivedOrTimeout();
+                    return;
+                }
+                lastPayload = payload;
+            }
+            final DelayedBatchProcessing<byte[]> coalescer = this.coalescer;
+            if (coalescer != null) {
+                coalescer.accept(payload);
+                return;
+            }
+        }
+
+        processPayload(channelStateUpdateListener, payload);
+    }
+
+    /**
+     * Processes the latest payload received within the coalesce period.
+     */
+    private void processCoalescedPayloads(List<byte[]> payloads) {
+        final ChannelStateUpdateListener channelStateUpdateListener = this.channelStateUpdateListener;
+        if (channelStateUpdateListener == null || payloads.isEmpty()) {
+            return;
+        }
+        suppressedMessages.addAndGet(payloads.size() - 1);
+        processPayload(channelStateUpdateListener, payloads.get(payloads.size() - 1));
+    }
 
+    private void processPayload(ChannelStateUpdateListener channelStateUpdateListener, byte[] payload) {
         if (cachedValue.isBinary()) {
             cachedValue.update(payload);
             channelStateUpdateListener.updateChannelState(channelUID, cachedValue.getChannelState());
@@ -205,6 +253,21 @@ public class ChannelState implements MqttMessageSubscriber {
         receivedOrTimeout();
     }
 
+    /**
+     * Returns the number of messages received on the state topic.
+     */
+    public long getReceivedMessageCount() {
+        return receivedMessages.get();
+    }
+
+    /**
+     * Returns the number of received messages that were not processed, because they were duplicates or superseded
+     * by a later message within the coalesce period.
+     */
+    public long getSuppressedMessageCount() {
+        return suppressedMessages.get();
+    }
+
     /**
      * Returns the state topic. Might be an empty string if this is a stateless channel (TRIGGER kind channel).
      */
@@ -241,7 +304,10 @@ public class ChannelState implements MqttMessageSubscriber {
      */
     public CompletableFuture<@Nullable Void> stop() {
         final MqttBrokerConnection connection = this.connection;
-        if (connection != null && StringUtils.isNotBlank(config.stateTopic)) {
+        final MqttTopicRouter topicRouter = this.topicRouter;
+        if (topicRouter != null && StringUtils.isNotBlank(config.stateTopic)) {
+            return topicRouter.unsubscribe(config.stateTopic, this).thenRun(this::internalStop);
+        } else if (connection != null && StringUtils.isNotBlank(config.stateTopic)) {
             return connection.unsubscribe(config.stateTopic, this).thenRun(this::internalStop);
         } else {
             internalStop();
@@ -251,7 +317,18 @@ public class ChannelState implements MqttMessageSubscriber {
 
     private void internalStop() {
         logger.debug("Unsubscribed channel {} form topic: {}", this.channelUID, config.stateTopic);
+        final DelayedBatchProcessing<byte[]> coalescer = this.coalescer;
+        if (coalescer != null) {
+            coalescer.join();
+            this.coalescer = null;
+        }
+        if (suppressedMessages.get() > 0) {
+            logger.debug("Channel {} suppressed {} of {} received messages", this.channelUID, suppressedMessages.get(),
+                    receivedMessages.get());
+        }
+        lastPayload = null;
         this.connection = null;
+        this.topicRouter = null;
         this.channelStateUpdateListener = null;
         hasSubscribed = false;
         cachedValue.resetState();
@@ -301,7 +378,19 @@ public class ChannelState implements MqttMessageSubscriber {
         }
 
         this.future = new CompletableFuture<>();
-        connection.subscribe(config.stateTopic, this).thenRun(() -> {
+
+        if (config.coalescePeriod > 0 && !config.trigger && coalescer == null) {
+            coalescer = new DelayedBatchProcessing<>(config.coalescePeriod, true, this::processCoalescedPayloads,
+                    scheduler);
+        }
+
+        // Subscribe via the router of the broker handler if there is one, it dispatches the messages of all channels
+        final MqttTopicRouter topicRouter = MqttTopicRouter.getRouter(connection);
+        this.topicRouter = topicRouter;
+        CompletableFuture<Boolean> subscribeFuture = topicRouter != null
+                ? topicRouter.subscribe(config.stateTopic, this)
+                : connection.subscribe(config.stateTopic, this);
+        subscribeFuture.thenRun(() -> {
             hasSubscribed = true;
             logger.debug("Subscribed channel {} to topic: {}", this.channelUID, config.stateTopic);
             if (timeout > 0 && !future.isDone()) {
@@ -331,6 +420,8 @@ public class ChannelState implements MqttMessageSubscriber {
      */
     public CompletableFuture<Boolean> publishValue(Command command) {
         cachedValue.update(command);
+        // The state was changed locally, a received payload is not a duplicate anymore
+        lastPayload = null;
 
         Value mqttCommandValue = cachedValue;
 
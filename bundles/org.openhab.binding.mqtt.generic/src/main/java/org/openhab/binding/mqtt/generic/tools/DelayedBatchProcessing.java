@@ -27,6 +27,10 @@ import org.eclipse.jdt.annotation.Nullable;
 /**
  * Collects objects over time until a specified delay passed by.
  * Then call the user back with a list of accumulated objects and start over again.
+ * <p>
+ * By default every new object restarts the delay, so the objects are delivered after a quiet period. If the delay is
+ * fixed instead, the objects are delivered when the delay passed by since the first object of a batch, so a steady
+ * stream of objects is still delivered regularly.
  *
  * @author David Graeff - Initial contribution
  *
@@ -35,6 +39,7 @@ import org.eclipse.jdt.annotation.Nullable;
 @NonNullByDefault
 public class DelayedBatchProcessing<T> implements Consumer<T> {
     private final int delay;
+    private final boolean fixedDelay;
     private final Consumer<List<T>> consumer;
     private final List<T> queue = Collections.synchronizedList(new ArrayList<>());
     private final ScheduledExecutorService executor;
@@ -48,7 +53,22 @@ public class DelayedBatchProcessing<T> implements Consumer<T> {
      * @param executor A scheduled executor service
      */
     public DelayedBatchProcessing(int delay, Consumer<List<T>> consumer, ScheduledExecutorService executor) {
+        this(delay, false, consumer, executor);
+    }
+
+    /**
+     * Creates a {@link DelayedBatchProcessing}.
+     *
+     * @param delay A delay in milliseconds
+     * @param fixedDelay If true, the delay starts with the first object of a batch and is not restarted by further
+     *            objects
+     * @param consumer A consumer of the list of collected objects
+     * @param executor A scheduled executor service
+     */
+    public DelayedBatchProcessing(int delay, boolean fixedDelay, Consumer<List<T>> consumer,
+            ScheduledExecutorService executor) {
         this.delay = delay;
+        this.fixedDelay = fixedDelay;
         this.consumer = consumer;
         this.executor = executor;
         if (delay <= 0) {
@@ -58,12 +78,21 @@ public class DelayedBatchProcessing<T> implements Consumer<T> {
 
     /**
      * Add new object to the batch process list. Every time a new object is received,
-     * the delay timer is rescheduled.
+     * the delay timer is rescheduled, unless the delay is fixed.
      *
      * @param t An object
      */
     @Override
     public void accept(T t) {
+        if (fixedDelay) {
+            synchronized (queue) {
+                queue.add(t);
+                if (queue.size() == 1) {
+                    futureRef.set(executor.schedule(this::run, delay, TimeUnit.MILLISECONDS));
+                }
+            }
+            return;
+        }
         queue.add(t);
         cancel(futureRef.getAndSet(executor.schedule(this::run, delay, TimeUnit.MILLISECONDS)));
     }
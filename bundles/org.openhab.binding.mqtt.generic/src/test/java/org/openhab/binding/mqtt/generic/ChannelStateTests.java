@@ -31,6 +31,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.library.types.DecimalType;
 import org.eclipse.smarthome.core.library.types.HSBType;
 import org.eclipse.smarthome.core.library.types.RawType;
 import org.eclipse.smarthome.core.library.types.StringType;
@@ -174,6 +175,52 @@ public class ChannelStateTests {
         verify(channelStateUpdateListener, times(3)).updateChannelState(eq(channelUID), any());
     }
 
+    @Test
+    public void receiveSuppressDuplicatesTest() {
+        NumberValue value = new NumberValue(null, null, new BigDecimal(10), null);
+        ChannelConfig config = ChannelConfigBuilder.create("state", "command").withSuppressDuplicates(true).build();
+        ChannelState c = spy(new ChannelState(config, channelUID, value, channelStateUpdateListener));
+        c.start(connection, mock(ScheduledExecutorService.class), 100);
+
+        c.processMessage("state", "15".getBytes());
+        c.processMessage("state", "15".getBytes());
+        c.processMessage("state", "16".getBytes());
+        c.processMessage("state", "16".getBytes());
+        assertThat(value.getChannelState().toString(), is("16"));
+        verify(channelStateUpdateListener, times(2)).updateChannelState(eq(channelUID), any());
+
+        // A locally changed state is updated by the next received value, even if it is the same as before
+        c.publishValue(new DecimalType(20));
+        c.processMessage("state", "16".getBytes());
+        assertThat(value.getChannelState().toString(), is("16"));
+
+        // A reset value is updated by the next received value as well
+        value.resetState();
+        c.processMessage("state", "16".getBytes());
+        assertThat(value.getChannelState().toString(), is("16"));
+
+        verify(channelStateUpdateListener, times(4)).updateChannelState(eq(channelUID), any());
+        assertThat(c.getReceivedMessageCount(), is(6L));
+        assertThat(c.getSuppressedMessageCount(), is(2L));
+    }
+
+    @Test
+    public void receiveCoalescedTest() throws InterruptedException {
+        NumberValue value = new NumberValue(null, null, new BigDecimal(10), null);
+        ChannelConfig config = ChannelConfigBuilder.create("state", "command").withCoalescePeriod(50).build();
+        ChannelState c = spy(new ChannelState(config, channelUID, value, channelStateUpdateListener));
+        c.start(connection, scheduler, 0);
+
+        c.processMessage("state", "15".getBytes());
+        c.processMessage("state", "16".getBytes());
+        c.processMessage("state", "17".getBytes());
+        verify(channelStateUpdateListener, never()).updateChannelState(eq(channelUID), any());
+
+        verify(channelStateUpdateListener, timeout(500)).updateChannelState(eq(channelUID), any());
+        assertThat(value.getChannelState().toString(), is("17"));
+        assertThat(c.getSuppressedMessageCount(), is(2L));
+    }
+
     @Test
     public void receiveDecimalFractionalTest() {
         NumberValue value = new NumberValue(null, null, new BigDecimal(10.5), null);
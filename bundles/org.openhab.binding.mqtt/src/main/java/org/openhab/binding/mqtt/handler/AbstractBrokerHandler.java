@@ -17,6 +17,8 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -45,12 +47,15 @@ import org.slf4j.LoggerFactory;
 @NonNullByDefault
 public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements MqttConnectionObserver {
     public static final int TIMEOUT_DEFAULT = 1200; /* timeout in milliseconds */
+    private static final int MESSAGE_RATE_LOG_INTERVAL = 60; /* interval in seconds */
     private final Logger logger = LoggerFactory.getLogger(AbstractBrokerHandler.class);
 
     final Map<ChannelUID, PublishTriggerChannel> channelStateByChannelUID = new HashMap<>();
     private final Map<String, @Nullable Map<MQTTTopicDiscoveryParticipant, @Nullable TopicSubscribe>> discoveryTopics = new HashMap<>();
 
     protected @Nullable MqttBrokerConnection connection;
+    protected @Nullable MqttTopicRouter topicRouter;
+    private @Nullable ScheduledFuture<?> messageRateLogJob;
     protected CompletableFuture<MqttBrokerConnection> connectionFuture = new CompletableFuture<>();
 
     public AbstractBrokerHandler(Bridge thing) {
@@ -77,6 +82,21 @@ public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements
         return connection;
     }
 
+    /**
+     * Returns the {@link MqttTopicRouter} of the underlying connection, if the handler is initialized.
+     */
+    public @Nullable MqttTopicRouter getTopicRouter() {
+        return topicRouter;
+    }
+
+    /**
+     * Returns the topic filters with wildcards, which are subscribed once instead of subscribing all the topics they
+     * cover. None in the base implementation.
+     */
+    protected Collection<String> getWildcardSubscriptions() {
+        return Collections.emptyList();
+    }
+
     /**
      * Does nothing in the base implementation.
      */
@@ -102,6 +122,12 @@ public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements
             channelStateByChannelUID.put(channel.getUID(), c);
         }
 
+        final MqttTopicRouter topicRouter = new MqttTopicRouter(connection, getWildcardSubscriptions());
+        MqttTopicRouter.register(topicRouter);
+        this.topicRouter = topicRouter;
+        messageRateLogJob = scheduler.scheduleWithFixedDelay(this::logMessageRates, MESSAGE_RATE_LOG_INTERVAL,
+                MESSAGE_RATE_LOG_INTERVAL, TimeUnit.SECONDS);
+
         connection.addConnectionObserver(this);
 
         connection.start().exceptionally(e -> {
@@ -142,6 +168,10 @@ public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements
 
     @Override
     public void connectionStateChanged(MqttConnectionState state, @Nullable Throwable error) {
+        final MqttTopicRouter topicRouter = this.topicRouter;
+        if (topicRouter != null) {
+            topicRouter.connectionStateChanged(state);
+        }
         if (state == MqttConnectionState.CONNECTED) {
             updateStatus(ThingStatus.ONLINE);
             channelStateByChannelUID.values().forEach(PublishTriggerChannel::start);
@@ -155,6 +185,18 @@ public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements
         }
     }
 
+    /**
+     * Logs the messages per second of every subscription of the {@link MqttTopicRouter}, if debug logging is
+     * enabled.
+     */
+    private void logMessageRates() {
+        final MqttTopicRouter topicRouter = this.topicRouter;
+        if (topicRouter != null && logger.isDebugEnabled()) {
+            logger.debug("Messages per second of the subscriptions on broker {}: {}", thing.getUID(),
+                    topicRouter.getMessageRates());
+        }
+    }
+
     @Override
     protected void triggerChannel(ChannelUID channelUID, String event) {
         super.triggerChannel(channelUID, event);
@@ -175,6 +217,18 @@ public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements
             });
         });
 
+        final ScheduledFuture<?> messageRateLogJob = this.messageRateLogJob;
+        if (messageRateLogJob != null) {
+            messageRateLogJob.cancel(false);
+            this.messageRateLogJob = null;
+        }
+
+        final MqttTopicRouter topicRouter = this.topicRouter;
+        if (topicRouter != null) {
+            MqttTopicRouter.unregister(topicRouter);
+            this.topicRouter = null;
+        }
+
         if (connection != null) {
             connection.removeConnectionObserver(this);
         } else {
@@ -13,9 +13,12 @@
 package org.openhab.binding.mqtt.handler;
 
 import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.net.ssl.TrustManager;
 
@@ -128,6 +131,12 @@ public class BrokerHandler extends AbstractBrokerHandler implements PinnedCallba
         return config.enableDiscovery;
     }
 
+    @Override
+    protected Collection<String> getWildcardSubscriptions() {
+        return Stream.of(config.wildcardSubscriptions.split(",")).map(String::trim).filter(StringUtils::isNotEmpty)
+                .collect(Collectors.toList());
+    }
+
     /**
      * Reads the thing configuration related to public key or certificate pinning, creates an appropriate a
      * {@link PinningSSLContextProvider} and assigns it to the {@link MqttBrokerConnection} instance.
@@ -36,4 +36,7 @@ public class BrokerHandlerConfig extends MqttBrokerConnectionConfig {
     public String publickey = "";
 
     public boolean enableDiscovery = true;
+
+    // Comma separated topic filters, which are subscribed once for all the topics they cover
+    public String wildcardSubscriptions = "";
 }
@@ -0,0 +1,388 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.handler;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.io.transport.mqtt.MqttBrokerConnection;
+import org.eclipse.smarthome.io.transport.mqtt.MqttConnectionState;
+import org.eclipse.smarthome.io.transport.mqtt.MqttMessageSubscriber;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Routes the messages of a {@link MqttBrokerConnection} to many {@link MqttMessageSubscriber}s.
+ * <p>
+ * All topic filters are stored in a trie with one node per topic level, so the subscribers of an incoming topic are
+ * found in O(topic depth) instead of matching the topic against every subscribed filter. Every topic filter is only
+ * subscribed once on the broker connection, no matter how many subscribers it has.
+ * <p>
+ * Additionally wildcard subscriptions can be configured, like "zigbee2mqtt/#". Topic filters covered by one of them
+ * are not subscribed on their own while the wildcard subscription is being made, the connection only subscribes to
+ * the wildcard once. The broker sends its retained messages right after a subscription is made. So topic filters that
+ * are subscribed after the wildcard subscription is established are subscribed on their own, in order to receive the
+ * retained messages from the broker. The router does not keep any payloads.
+ * <p>
+ * The messages per second are counted for every subscription on the broker connection.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class MqttTopicRouter {
+    private static final Map<MqttBrokerConnection, MqttTopicRouter> ROUTERS = new ConcurrentHashMap<>();
+    private static final long RATE_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final Logger logger = LoggerFactory.getLogger(MqttTopicRouter.class);
+
+    private final MqttBrokerConnection connection;
+    private final List<Route> wildcardRoutes = new ArrayList<>();
+    private final Map<String, Route> routes = new HashMap<>();
+    private final Node root = new Node();
+
+    /**
+     * Creates a router for the given connection.
+     *
+     * @param connection The broker connection
+     * @param wildcardSubscriptions Topic filters with wildcards. Topic filters covered by one of them are not
+     *            subscribed on their own, unless they are subscribed after the wildcard subscription is established.
+     */
+    public MqttTopicRouter(MqttBrokerConnection connection, Collection<String> wildcardSubscriptions) {
+        this.connection = connection;
+        for (String filter : wildcardSubscriptions) {
+            wildcardRoutes.add(new Route(filter, true));
+        }
+    }
+
+    /**
+     * Returns the router registered for the given connection.
+     *
+     * @param connection A broker connection
+     * @return The router or null if messages of this connection are not routed.
+     */
+    public static @Nullable MqttTopicRouter getRouter(MqttBrokerConnection connection) {
+        return ROUTERS.get(connection);
+    }
+
+    static void register(MqttTopicRouter router) {
+        ROUTERS.put(router.connection, router);
+    }
+
+    static void unregister(MqttTopicRouter router) {
+        ROUTERS.remove(router.connection, router);
+    }
+
+    /**
+     * Subscribes to the given topic filter.
+     *
+     * @param topic The topic filter. Can contain wildcards.
+     * @param subscriber The subscriber
+     * @return Completes with true if successful. Completes with false if not connected yet. Exceptionally otherwise.
+     */
+    public synchronized CompletableFuture<Boolean> subscribe(String topic, MqttMessageSubscriber subscriber) {
+        Route wildcardRoute = getWildcardRoute(topic);
+        if (wildcardRoute != null && wildcardRoute.established) {
+            // The retained messages of the wildcard subscription have been sent already
+            wildcardRoute = null;
+        }
+        Route route = wildcardRoute != null ? wildcardRoute
+                : routes.computeIfAbsent(topic, filter -> new Route(filter, false));
+        Subscription subscription = new Subscription(topic, subscriber, route);
+        getOrCreateNode(topic).subscriptions.add(subscription);
+        route.subscriptions++;
+
+        CompletableFuture<Boolean> future = route.future;
+        if (future == null || future.isCompletedExceptionally()) {
+            CompletableFuture<Boolean> newFuture = connection.subscribe(route.filter, route);
+            route.future = newFuture;
+            route.established = false;
+            logger.trace("Subscribed to topic {}", route.filter);
+            newFuture.thenAccept(result -> subscriptionCompleted(route, newFuture, result));
+            future = newFuture;
+        }
+        return future;
+    }
+
+    /**
+     * Removes the subscription of the given subscriber to the given topic filter.
+     *
+     * @param topic The topic filter the subscriber has subscribed to
+     * @param subscriber The subscriber
+     * @return Completes with true if successful. Exceptionally otherwise.
+     */
+    public synchronized CompletableFuture<Boolean> unsubscribe(String topic, MqttMessageSubscriber subscriber) {
+        Node node = findNode(topic);
+        if (node == null) {
+            return CompletableFuture.completedFuture(true);
+        }
+        Subscription subscription = null;
+        for (Subscription s : node.subscriptions) {
+            if (s.subscriber == subscriber) {
+                subscription = s;
+                break;
+            }
+        }
+        if (subscription == null) {
+            return CompletableFuture.completedFuture(true);
+        }
+        node.subscriptions.remove(subscription);
+        removeEmptyNodes(root, topic.split("/", -1), 0);
+
+        Route route = subscription.route;
+        if (--route.subscriptions > 0) {
+            return CompletableFuture.completedFuture(true);
+        }
+        if (!route.wildcard) {
+            routes.remove(route.filter);
+        }
+        route.future = null;
+        route.established = false;
+        logger.trace("Unsubscribed from topic {}", route.filter);
+        return connection.unsubscribe(route.filter, route);
+    }
+
+    /**
+     * Has to be called when the state of the broker connection changes. The connection subscribes again to all
+     * topic filters when it is connected, including those subscribed while it was disconnected. The broker sends its
+     * retained messages for them again.
+     *
+     * @param state The new connection state
+     */
+    public synchronized void connectionStateChanged(MqttConnectionState state) {
+        boolean connected = state == MqttConnectionState.CONNECTED;
+        for (Route route : wildcardRoutes) {
+            CompletableFuture<Boolean> future = route.future;
+            route.established = connected && future != null && future.isDone() && !future.isCompletedExceptionally();
+        }
+    }
+
+    /**
+     * Returns the messages per second of every subscription on the broker connection, averaged over the last ten
+     * seconds.
+     *
+     * @return A map of the subscribed topic filters to their message rates
+     */
+    public synchronized Map<String, Double> getMessageRates() {
+        Map<String, Double> rates = new HashMap<>();
+        for (Route route : wildcardRoutes) {
+            if (route.subscriptions > 0) {
+                rates.put(route.filter, route.getMessageRate());
+            }
+        }
+        for (Route route : routes.values()) {
+            rates.put(route.filter, route.getMessageRate());
+        }
+        return Collections.unmodifiableMap(rates);
+    }
+
+    /**
+     * A subscription is established once the broker has acknowledged it, i.e. it has sent its retained messages
+     * already. If the connection was not connected, it subscribes when it is connected.
+     */
+    private synchronized void subscriptionCompleted(Route route, CompletableFuture<Boolean> future, boolean result) {
+        if (route.future == future && result) {
+            route.established = true;
+        }
+    }
+
+    private @Nullable Route getWildcardRoute(String topic) {
+        for (Route route : wildcardRoutes) {
+            if (covers(route.filter, topic)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private Node getOrCreateNode(String topic) {
+        Node node = root;
+        for (String level : topic.split("/", -1)) {
+            node = node.children.computeIfAbsent(level, l -> new Node());
+        }
+        return node;
+    }
+
+    private @Nullable Node findNode(String topic) {
+        Node node = root;
+        for (String level : topic.split("/", -1)) {
+            Node child = node.children.get(level);
+            if (child == null) {
+                return null;
+            }
+            node = child;
+        }
+        return node;
+    }
+
+    private boolean removeEmptyNodes(Node node, String[] levels, int index) {
+        if (index < levels.length) {
+            Node child = node.children.get(levels[index]);
+            if (child != null && removeEmptyNodes(child, levels, index + 1)) {
+                node.children.remove(levels[index]);
+            }
+        }
+        return node.children.isEmpty() && node.subscriptions.isEmpty();
+    }
+
+    /**
+     * Passes a message received by a subscription on the broker connection to all subscribers of that subscription
+     * with a matching topic filter.
+     */
+    private void dispatch(Route route, String topic, byte[] payload) {
+        String[] levels = topic.split("/", -1);
+        dispatch(root, levels, 0, topic.startsWith("$"), route, topic, payload);
+    }
+
+    private void dispatch(Node node, String[] levels, int index, boolean systemTopic, Route route, String topic,
+            byte[] payload) {
+        // Wildcards do not match the first level of system topics, starting with '$'
+        boolean wildcards = !(systemTopic && index == 0);
+        Node multiLevel = wildcards ? node.children.get("#") : null;
+        if (multiLevel != null) {
+            deliver(multiLevel, route, topic, payload);
+        }
+        if (index == levels.length) {
+            deliver(node, route, topic, payload);
+            return;
+        }
+        Node child = node.children.get(levels[index]);
+        if (child != null) {
+            dispatch(child, levels, index + 1, systemTopic, route, topic, payload);
+        }
+        Node singleLevel = wildcards ? node.children.get("+") : null;
+        if (singleLevel != null) {
+            dispatch(singleLevel, levels, index + 1, systemTopic, route, topic, payload);
+        }
+    }
+
+    private void deliver(Node node, Route route, String topic, byte[] payload) {
+        for (Subscription subscription : node.subscriptions) {
+            if (subscription.route == route) {
+                subscription.processMessage(topic, payload);
+            }
+        }
+    }
+
+    /**
+     * Returns true if every topic matched by the given topic filter is also matched by the given wildcard filter.
+     */
+    static boolean covers(String wildcardFilter, String filter) {
+        String[] wildcardLevels = wildcardFilter.split("/", -1);
+        String[] levels = filter.split("/", -1);
+        for (int i = 0; i < wildcardLevels.length; i++) {
+            if ("#".equals(wildcardLevels[i])) {
+                return !(i == 0 && filter.startsWith("$"));
+            }
+            if (i == levels.length) {
+                return false;
+            }
+            if ("+".equals(wildcardLevels[i])) {
+                if ("#".equals(levels[i]) || (i == 0 && filter.startsWith("$"))) {
+                    return false;
+                }
+            } else if (!wildcardLevels[i].equals(levels[i])) {
+                return false;
+            }
+        }
+        return wildcardLevels.length == levels.length;
+    }
+
+    /**
+     * A node of the topic trie. It contains the subscriptions of the topic filter ending at this level.
+     */
+    private static class Node {
+        final Map<String, Node> children = new ConcurrentHashMap<>();
+        final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    }
+
+    /**
+     * A subscriber to a topic filter
+     */
+    private class Subscription {
+        final String filter;
+        final MqttMessageSubscriber subscriber;
+        final Route route;
+
+        Subscription(String filter, MqttMessageSubscriber subscriber, Route route) {
+            this.filter = filter;
+            this.subscriber = subscriber;
+            this.route = route;
+        }
+
+        void processMessage(String topic, byte[] payload) {
+            try {
+                subscriber.processMessage(topic, payload);
+            } catch (RuntimeException e) {
+                logger.warn("A subscriber of topic {} failed to process a message on topic {}", filter, topic, e);
+            }
+        }
+    }
+
+    /**
+     * A subscription on the broker connection, serving all subscribers of the topic filters it covers.
+     */
+    private class Route implements MqttMessageSubscriber {
+        final String filter;
+        final boolean wildcard;
+        // Guarded by the router
+        int subscriptions;
+        @Nullable CompletableFuture<Boolean> future;
+        boolean established;
+
+        private long messages;
+        private long windowStart = System.nanoTime();
+        private long windowMessages;
+        private double lastRate;
+
+        Route(String filter, boolean wildcard) {
+            this.filter = filter;
+            this.wildcard = wildcard;
+        }
+
+        @Override
+        public void processMessage(String topic, byte[] payload) {
+            count();
+            dispatch(this, topic, payload);
+        }
+
+        private synchronized void count() {
+            messages++;
+            windowMessages++;
+            long now = System.nanoTime();
+            if (now - windowStart >= RATE_WINDOW_NANOS) {
+                lastRate = windowMessages * (double) TimeUnit.SECONDS.toNanos(1) / (now - windowStart);
+                windowStart = now;
+                windowMessages = 0;
+            }
+        }
+
+        synchronized double getMessageRate() {
+            long elapsed = System.nanoTime() - windowStart;
+            if (elapsed >= RATE_WINDOW_NANOS || messages == windowMessages) {
+                // No full window since the last message or since the subscription started
+                return elapsed > 0 ? windowMessages * (double) TimeUnit.SECONDS.toNanos(1) / elapsed : 0;
+            }
+            return lastRate;
+        }
+    }
+}
@@ -0,0 +1,247 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.handler;
+
+import static org.junit.Assert.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.smarthome.io.transport.mqtt.MqttBrokerConnection;
+import org.eclipse.smarthome.io.transport.mqtt.MqttConnectionState;
+import org.eclipse.smarthome.io.transport.mqtt.MqttMessageSubscriber;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests cases for {@link MqttTopicRouter}.
+ *
+ * @author agent - Initial contribution
+ */
+public class MqttTopicRouterTest {
+    private BrokerConnectionEx connection;
+    private List<String> received;
+
+    /**
+     * Keeps the subscriptions instead of subscribing on a broker. Subscriptions are acknowledged at once, unless
+     * the acknowledgement is deferred or the connection is disconnected.
+     */
+    @NonNullByDefault
+    private static class BrokerConnectionEx extends MqttBrokerConnection {
+        final Map<String, MqttMessageSubscriber> brokerSubscriptions = new HashMap<>();
+        final List<CompletableFuture<Boolean>> pendingAcks = new ArrayList<>();
+        boolean deferAcks;
+        boolean disconnected;
+
+        BrokerConnectionEx() {
+            super("127.0.0.1", null, false, "MqttTopicRouterTest");
+        }
+
+        @Override
+        public CompletableFuture<Boolean> subscribe(String topic, MqttMessageSubscriber subscriber) {
+            brokerSubscriptions.put(topic, subscriber);
+            if (disconnected) {
+                // Subscribed when connected
+                return CompletableFuture.completedFuture(false);
+            }
+            if (!deferAcks) {
+                return CompletableFuture.completedFuture(true);
+            }
+            CompletableFuture<Boolean> ack = new CompletableFuture<>();
+            pendingAcks.add(ack);
+            return ack;
+        }
+
+        void acknowledge() {
+            pendingAcks.forEach(ack -> ack.complete(true));
+            pendingAcks.clear();
+        }
+
+        @Override
+        public CompletableFuture<Boolean> unsubscribe(String topic, MqttMessageSubscriber subscriber) {
+            brokerSubscriptions.remove(topic, subscriber);
+            return CompletableFuture.completedFuture(true);
+        }
+
+        void publish(String filter, String topic, String payload) {
+            brokerSubscriptions.get(filter).processMessage(topic, payload.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Before
+    public void setUp() {
+        connection = new BrokerConnectionEx();
+        received = new ArrayList<>();
+    }
+
+    private MqttMessageSubscriber subscriber(String name) {
+        return (topic, payload) -> received.add(name + " " + topic + " " + new String(payload, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void coversTopicFilters() {
+        assertTrue(MqttTopicRouter.covers("home/#", "home/kitchen/light"));
+        assertTrue(MqttTopicRouter.covers("home/#", "home"));
+        assertTrue(MqttTopicRouter.covers("home/+/light", "home/+/light"));
+        assertTrue(MqttTopicRouter.covers("home/+/light", "home/kitchen/light"));
+        assertTrue(MqttTopicRouter.covers("#", "home/+/#"));
+        assertFalse(MqttTopicRouter.covers("home/+/light", "home/#"));
+        assertFalse(MqttTopicRouter.covers("home/+", "home/kitchen/light"));
+        assertFalse(MqttTopicRouter.covers("home/kitchen", "home"));
+        assertFalse(MqttTopicRouter.covers("#", "$SYS/broker/load"));
+        assertFalse(MqttTopicRouter.covers("home/", "home"));
+    }
+
+    @Test
+    public void subscribesEachTopicFilterOnce() {
+        MqttTopicRouter router = new MqttTopicRouter(connection, Collections.emptyList());
+        MqttMessageSubscriber a = subscriber("a");
+        MqttMessageSubscriber b = subscriber("b");
+        router.subscribe("home/kitchen/light", a);
+        router.subscribe("home/kitchen/light", b);
+        router.subscribe("home/+/light", a);
+
+        assertEquals(2, connection.brokerSubscriptions.size());
+
+        connection.publish("home/kitchen/light", "home/kitchen/light", "ON");
+        connection.publish("home/+/light", "home/kitchen/light", "ON");
+        assertEquals(Arrays.asList("a home/kitchen/light ON", "b home/kitchen/light ON", "a home/kitchen/light ON"),
+                received);
+
+        router.unsubscribe("home/kitchen/light", a);
+        assertEquals(2, connection.brokerSubscriptions.size());
+        router.unsubscribe("home/kitchen/light", b);
+        assertEquals(1, connection.brokerSubscriptions.size());
+        router.unsubscribe("home/+/light", a);
+        assertTrue(connection.brokerSubscriptions.isEmpty());
+    }
+
+    @Test
+    public void dispatchesWildcardSubscription() {
+        MqttTopicRouter router = new MqttTopicRouter(connection, Collections.singletonList("home/#"));
+        connection.deferAcks = true;
+        router.subscribe("home/kitchen/light", subscriber("light"));
+        router.subscribe("home/kitchen/+", subscriber("kitchen"));
+        router.subscribe("home/#", subscriber("all"));
+        router.subscribe("home/hall/light", subscriber("hall"));
+        router.subscribe("garden/light", subscriber("garden"));
+        connection.acknowledge();
+
+        assertEquals(2, connection.brokerSubscriptions.size());
+        assertTrue(connection.brokerSubscriptions.containsKey("home/#"));
+        assertTrue(connection.brokerSubscriptions.containsKey("garden/light"));
+
+        connection.publish("home/#", "home/kitchen/light", "ON");
+        assertEquals(3, received.size());
+        assertTrue(received.contains("light home/kitchen/light ON"));
+        assertTrue(received.contains("kitchen home/kitchen/light ON"));
+        assertTrue(received.contains("all home/kitchen/light ON"));
+
+        received.clear();
+        connection.publish("home/#", "home/kitchen/light/brightness", "50");
+        assertEquals(Arrays.asList("all home/kitchen/light/brightness 50"), received);
+
+        received.clear();
+        connection.publish("garden/light", "garden/light", "OFF");
+        assertEquals(Arrays.asList("garden garden/light OFF"), received);
+    }
+
+    @Test
+    public void subscribesOnItsOwnAfterWildcardSubscriptionIsEstablished() {
+        MqttTopicRouter router = new MqttTopicRouter(connection, Collections.singletonList("home/#"));
+        router.subscribe("home/kitchen/light", subscriber("light"));
+        connection.publish("home/#", "home/hall/light", "OFF");
+        assertTrue(received.isEmpty());
+
+        // The broker would send the retained messages for the new subscription, no payloads are replayed
+        MqttMessageSubscriber hall = subscriber("hall");
+        router.subscribe("home/hall/light", hall);
+        assertTrue(received.isEmpty());
+        assertEquals(2, connection.brokerSubscriptions.size());
+        assertTrue(connection.brokerSubscriptions.containsKey("home/hall/light"));
+
+        // Each subscriber receives a message only once, from its own subscription
+        connection.publish("home/hall/light", "home/hall/light", "ON");
+        connection.publish("home/#", "home/hall/light", "ON");
+        assertEquals(Arrays.asList("hall home/hall/light ON"), received);
+
+        router.unsubscribe("home/hall/light", hall);
+        assertEquals(1, connection.brokerSubscriptions.size());
+        assertTrue(connection.brokerSubscriptions.containsKey("home/#"));
+    }
+
+    @Test
+    public void unsubscribeKeepsOtherSubscribers() {
+        MqttTopicRouter router = new MqttTopicRouter(connection, Collections.singletonList("home/#"));
+        MqttMessageSubscriber light = subscriber("light");
+        connection.deferAcks = true;
+        router.subscribe("home/kitchen/light", light);
+        router.subscribe("home/kitchen/light/state", subscriber("state"));
+        connection.acknowledge();
+
+        router.unsubscribe("home/kitchen/light", light);
+        assertEquals(1, connection.brokerSubscriptions.size());
+
+        connection.publish("home/#", "home/kitchen/light", "ON");
+        connection.publish("home/#", "home/kitchen/light/state", "ON");
+        assertEquals(Arrays.asList("state home/kitchen/light/state ON"), received);
+    }
+
+    @Test
+    public void reevaluatesWildcardSubscriptionOnConnectionStateChange() {
+        MqttTopicRouter router = new MqttTopicRouter(connection, Collections.singletonList("home/#"));
+        connection.disconnected = true;
+        router.subscribe("home/kitchen/light", subscriber("light"));
+        router.subscribe("home/hall/light", subscriber("hall"));
+        assertEquals(1, connection.brokerSubscriptions.size());
+
+        // The connection subscribes to the wildcard when connected, the broker sends its retained messages then
+        connection.disconnected = false;
+        router.connectionStateChanged(MqttConnectionState.CONNECTED);
+        router.subscribe("home/garage/light", subscriber("garage"));
+        assertEquals(2, connection.brokerSubscriptions.size());
+        assertTrue(connection.brokerSubscriptions.containsKey("home/garage/light"));
+
+        // While disconnected, the retained messages of the wildcard subscription are sent again on reconnect
+        router.connectionStateChanged(MqttConnectionState.DISCONNECTED);
+        router.subscribe("home/attic/light", subscriber("attic"));
+        assertEquals(2, connection.brokerSubscriptions.size());
+
+        connection.publish("home/#", "home/attic/light", "ON");
+        assertEquals(Arrays.asList("attic home/attic/light ON"), received);
+    }
+
+    @Test
+    public void countsMessagesPerSubscription() {
+        MqttTopicRouter router = new MqttTopicRouter(connection, Arrays.asList("home/#", "garden/#"));
+        connection.deferAcks = true;
+        router.subscribe("home/kitchen/light", subscriber("light"));
+        router.subscribe("cellar/light", subscriber("cellar"));
+        connection.acknowledge();
+        for (int i = 0; i < 5; i++) {
+            connection.publish("home/#", "home/kitchen/light", "ON");
+        }
+
+        Map<String, Double> rates = router.getMessageRates();
+        assertEquals(2, rates.size());
+        assertTrue(rates.get("home/#") > 0);
+        assertEquals(0, rates.get("cellar/light"), 0);
+    }
+}
@@ -60,6 +60,7 @@ public class NetworkHandlerFactory extends BaseThingHandlerFactory {
     @Override
     @Deactivate
     protected void deactivate(ComponentContext componentContext) {
+        PresenceDetectionEngine.stop();
         super.deactivate(componentContext);
     }
 
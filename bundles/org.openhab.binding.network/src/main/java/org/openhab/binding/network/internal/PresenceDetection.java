@@ -19,8 +19,8 @@ import java.net.SocketException;
 import java.net.UnknownHostException;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -36,6 +36,7 @@ import org.openhab.binding.network.internal.utils.NetworkUtils;
 import org.openhab.binding.network.internal.utils.NetworkUtils.ArpPingUtilEnum;
 import org.openhab.binding.network.internal.utils.NetworkUtils.IpPingMethodEnum;
 import org.openhab.binding.network.internal.utils.PingResult;
+import org.openhab.binding.network.internal.utils.ServicePingMultiplexer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -83,6 +84,10 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     private String dhcpState = "off";
     Integer currentCheck = 0;
     int detectionChecks;
+    private int detectionSequence;
+    private long detectionStartInMS;
+    private CountDownLatch detectionFinished = new CountDownLatch(0);
+    private @Nullable ScheduledFuture<?> detectionTimeout;
 
     public PresenceDetection(final PresenceDetectionListener updateListener, int cacheDeviceStateTimeInMS)
             throws IllegalArgumentException {
@@ -279,14 +284,21 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         cache.getValue(callback);
     }
 
+    /**
+     * Return the executor for the checks of a presence detection. This is the thread pool shared
+     * by the presence detections of all devices, see {@link PresenceDetectionEngine}.
+     *
+     * @param threadCount The amount of checks that will be executed
+     */
     public ExecutorService getThreadsFor(int threadCount) {
-        return Executors.newFixedThreadPool(threadCount);
+        return PresenceDetectionEngine.getExecutor();
     }
 
     /**
      * Perform a presence detection with ICMP-, ARP ping and
-     * TCP connection attempts simultaneously. A fixed thread pool will be created with as many
-     * thread as necessary to perform all tests at once.
+     * TCP connection attempts simultaneously. The pings are executed on the shared thread pool,
+     * the TCP connection attempts are multiplexed without blocking a thread.
+     * The detection is finished after all checks are done or after the timeout, which starts with the first check.
      *
      * This is a NO-OP, if there is already an ongoing detection or if the cached value
      * is not expired yet.
@@ -300,74 +312,83 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      * @return Return true if a presence detection is performed and false otherwise.
      */
     public boolean performPresenceDetection(boolean waitForDetectionToFinish) {
-        if (executorService != null) {
-            logger.debug(
-                    "There is already an ongoing presence discovery for {} and a new one was issued by the scheduler! TCP Port {}",
-                    hostname, tcpPorts);
-            return false;
-        }
+        synchronized (this) {
+            if (executorService != null) {
+                logger.debug(
+                        "There is already an ongoing presence discovery for {} and a new one was issued by the scheduler! TCP Port {}",
+                        hostname, tcpPorts);
+                return false;
+            }
 
-        if (!cache.isExpired()) {
-            return false;
-        }
+            if (!cache.isExpired()) {
+                return false;
+            }
 
-        Set<String> interfaceNames = null;
+            Set<String> interfaceNames = null;
 
-        currentCheck = 0;
-        detectionChecks = tcpPorts.size();
-        if (pingMethod != null) {
-            detectionChecks += 1;
-        }
-        if (arpPingMethod != ArpPingUtilEnum.UNKNOWN_TOOL) {
-            interfaceNames = networkUtils.getInterfaceNames();
-            detectionChecks += interfaceNames.size();
-        }
-
-        if (detectionChecks == 0) {
-            return false;
-        }
+            currentCheck = 0;
+            detectionChecks = tcpPorts.size();
+            if (pingMethod != null) {
+                detectionChecks += 1;
+            }
+            if (arpPingMethod != ArpPingUtilEnum.UNKNOWN_TOOL) {
+                interfaceNames = networkUtils.getInterfaceNames();
+                detectionChecks += interfaceNames.size();
+            }
 
-        final ExecutorService executorService = getThreadsFor(detectionChecks);
-        this.executorService = executorService;
+            if (detectionChecks == 0) {
+                return false;
+            }
 
-        for (Integer tcpPort : tcpPorts) {
-            executorService.execute(() -> {
-                Thread.currentThread().setName("presenceDetectionTCP_" + hostname + " " + String.valueOf(tcpPort));
-                performServicePing(tcpPort);
-                checkIfFinished();
-            });
-        }
+            final ExecutorService executorService = getThreadsFor(detectionChecks);
+            final int detection = ++detectionSequence;
+            this.executorService = executorService;
+            detectionStartInMS = System.currentTimeMillis();
+            detectionFinished = new CountDownLatch(1);
 
-        // ARP ping for IPv4 addresses. Use single executor for Windows tool and
-        // each own executor for each network interface for other tools
-        if (arpPingMethod == ArpPingUtilEnum.ELI_FULKERSON_ARP_PING_FOR_WINDOWS) {
-            executorService.execute(() -> {
-                Thread.currentThread().setName("presenceDetectionARP_" + hostname + " ");
-                // arp-ping.exe tool capable of handling multiple interfaces by itself
-                performARPping("");
-                checkIfFinished();
-            });
-        } else if (interfaceNames != null) {
-            for (final String interfaceName : interfaceNames) {
+            // The TCP connection attempt itself does not block, performServicePing() finishes the check
+            for (Integer tcpPort : tcpPorts) {
                 executorService.execute(() -> {
-                    Thread.currentThread().setName("presenceDetectionARP_" + hostname + " " + interfaceName);
-                    performARPping(interfaceName);
-                    checkIfFinished();
+                    if (startCheck(detection)) {
+                        performServicePing(tcpPort);
+                    }
                 });
             }
-        }
 
-        // ICMP ping
-        if (pingMethod != null) {
-            executorService.execute(() -> {
-                if (pingMethod != IpPingMethodEnum.JAVA_PING) {
-                    Thread.currentThread().setName("presenceDetectionICMP_" + hostname);
-                    performSystemPing();
-                } else {
-                    performJavaPing();
+            // ARP ping for IPv4 addresses. Use single executor for Windows tool and
+            // each own executor for each network interface for other tools
+            if (arpPingMethod == ArpPingUtilEnum.ELI_FULKERSON_ARP_PING_FOR_WINDOWS) {
+                executorService.execute(() -> {
+                    if (startCheck(detection)) {
+                        // arp-ping.exe tool capable of handling multiple interfaces by itself
+                        performARPping("");
+                    }
+                    checkIfFinished(detection);
+                });
+            } else if (interfaceNames != null) {
+                for (final String interfaceName : interfaceNames) {
+                    executorService.execute(() -> {
+                        if (startCheck(detection)) {
+                            performARPping(interfaceName);
+                        }
+                        checkIfFinished(detection);
+                    });
                 }
-                checkIfFinished();
-            });
+            }
+
+            // ICMP ping
+            if (pingMethod != null) {
+                executorService.execute(() -> {
+                    if (startCheck(detection)) {
+                        if (pingMethod != IpPingMethodEnum.JAVA_PING) {
+                            performSystemPing();
+                        } else {
+                            performJavaPing();
+                        }
+                    }
+                    checkIfFinished(detection);
+                });
+            }
         }
 
         if (waitForDetectionToFinish) {
@@ -377,28 +398,71 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         return true;
     }
 
+    private synchronized boolean isOngoing(int detection) {
+        return executorService != null && detection == detectionSequence;
+    }
+
+    /**
+     * Called when a check of the detection starts to run. The timeout of the detection starts with its first
+     * check, as the checks may be queued behind the checks of other devices. Checks still running after the
+     * timeout do not count for this detection anymore.
+     *
+     * @param detection The sequence number of the detection the check belongs to
+     * @return Return true if the detection is still ongoing and the check should be performed
+     */
+    private synchronized boolean startCheck(int detection) {
+        if (!isOngoing(detection)) {
+            return false;
+        }
+        if (detectionTimeout == null) {
+            detectionTimeout = PresenceDetectionEngine.getScheduler().schedule(() -> submitFinalResult(detection),
+                    timeoutInMS + 100, TimeUnit.MILLISECONDS);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the time in ms until the timeout of the detection. The full timeout is returned as long as no check
+     * of the detection has started yet.
+     *
+     * @param detection The sequence number of the detection
+     */
+    private synchronized long getRemainingTimeInMS(int detection) {
+        if (!isOngoing(detection)) {
+            return 0;
+        }
+        ScheduledFuture<?> timeout = detectionTimeout;
+        return timeout == null ? timeoutInMS + 100 : timeout.getDelay(TimeUnit.MILLISECONDS);
+    }
+
     /**
      * Calls updateListener.finalDetectionResult() with a final result value.
      * Safe to be called from different threads. After a call to this method,
-     * the presence detection process is finished and all threads are forcefully
-     * shut down.
+     * the presence detection process is finished and the results of checks that
+     * are still running are ignored.
+     *
+     * @param detection The sequence number of the detection to finish
      */
-    private synchronized void submitFinalResult() {
-        // Do nothing if we are not in a detection process
-        ExecutorService service = executorService;
-        if (service == null) {
+    private synchronized void submitFinalResult(int detection) {
+        // Do nothing if we are not in this detection process anymore
+        if (!isOngoing(detection)) {
             return;
         }
         // Finish the detection process
-        service.shutdownNow();
         executorService = null;
         detectionChecks = 0;
+        ScheduledFuture<?> timeout = detectionTimeout;
+        if (timeout != null) {
+            timeout.cancel(false);
+            detectionTimeout = null;
+        }
+        detectionFinished.countDown();
 
         PresenceDetectionValue v;
 
         // The cache will be expired by now if cache_time < timeoutInMS. But the device might be actually reachable.
         // Therefore use lastSeenInMS here and not cache.isExpired() to determine if we got a ping response.
-        if (lastSeenInMS + timeoutInMS + 100 < System.currentTimeMillis()) {
+        if (lastSeenInMS < detectionStartInMS && lastSeenInMS + timeoutInMS + 100 < System.currentTimeMillis()) {
             // We haven't seen the device in the detection process
             v = new PresenceDetectionValue(hostname, -1);
         } else {
@@ -419,32 +483,47 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      * If the counter equals the total checks,the final result is submitted. This will
      * happen way before the "timeoutInMS", if all checks were successful.
      * Thread safe.
+     *
+     * @param detection The sequence number of the detection the check belongs to
      */
-    private synchronized void checkIfFinished() {
+    private synchronized void checkIfFinished(int detection) {
+        if (!isOngoing(detection)) {
+            return;
+        }
         currentCheck += 1;
         if (currentCheck < detectionChecks) {
             return;
         }
-        submitFinalResult();
+        submitFinalResult(detection);
     }
 
     /**
-     * Waits for the presence detection threads to finish. Returns immediately
+     * Waits for the presence detection to finish. Returns immediately
      * if no presence detection is performed right now.
      */
     public void waitForPresenceDetection() {
-        ExecutorService service = executorService;
-        if (service == null) {
-            return;
+        final CountDownLatch finished;
+        final int detection;
+        synchronized (this) {
+            if (executorService == null) {
+                return;
+            }
+            finished = detectionFinished;
+            detection = detectionSequence;
         }
         try {
-            // We may get interrupted here by cancelRefreshJob().
-            service.awaitTermination(timeoutInMS + 100, TimeUnit.MILLISECONDS);
-            submitFinalResult();
+            // We may get interrupted here by cancelRefreshJob(). The timeout starts with the first check, wait
+            // longer while the checks are still queued.
+            long remainingInMS = timeoutInMS + 100;
+            while (!finished.await(remainingInMS, TimeUnit.MILLISECONDS)) {
+                remainingInMS = getRemainingTimeInMS(detection);
+                if (remainingInMS <= 0) {
+                    break;
+                }
+            }
+            submitFinalResult(detection);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt(); // Reset interrupt flag
-            service.shutdownNow();
-            executorService = null;
         }
     }
 
@@ -473,24 +552,40 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         return v;
     }
 
+    /**
+     * Performs a TCP connection attempt to the given port. The connection attempt does not block the calling
+     * thread. The check of the ongoing presence detection is finished as soon as the attempt completes.
+     *
+     * @param tcpPort The tcp port
+     */
     protected void performServicePing(int tcpPort) {
         logger.trace("Perform TCP presence detection for {} on port: {}", hostname, tcpPort);
-        try {
-            InetAddress destinationAddress = destination.getValue();
-            if (destinationAddress != null) {
-                networkUtils.servicePing(destinationAddress.getHostAddress(), tcpPort, timeoutInMS).ifPresent(o -> {
-                    if (o.isSuccess()) {
+        final int detection;
+        final ExecutorService executor;
+        synchronized (this) {
+            detection = detectionSequence;
+            executor = executorService;
+        }
+        InetAddress destinationAddress = destination.getValue();
+        if (destinationAddress == null || executor == null) {
+            checkIfFinished(detection);
+            return;
+        }
+        ServicePingMultiplexer multiplexer = PresenceDetectionEngine.getServicePingMultiplexer();
+        networkUtils.servicePing(multiplexer, destinationAddress.getHostAddress(), tcpPort, timeoutInMS, executor)
+                .whenComplete((o, e) -> {
+                    if (e != null) {
+                        // This should not happen and might be a user configuration issue, we log a warning message
+                        // therefore.
+                        logger.warn("Could not create a socket connection", e);
+                    } else if (o.isSuccess()) {
                         PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.TCP_CONNECTION,
                                 getLatency(o, preferResponseTimeAsLatency));
                         v.addReachableTcpService(tcpPort);
                         updateListener.partialDetectionResult(v);
                     }
+                    checkIfFinished(detection);
                 });
-            }
-        } catch (IOException e) {
-            // This should not happen and might be a user configuration issue, we log a warning message therefore.
-            logger.warn("Could not create a socket connection", e);
-        }
     }
 
     /**
@@ -594,6 +689,8 @@ public class PresenceDetection implements IPRequestReceivedCallback {
 
     /**
      * Start/Restart a fixed scheduled runner to update the devices reach-ability state.
+     * The first refresh is delayed by an offset specific to this device, to spread the
+     * detections of all devices over time. The runner does not wait for the detection to finish.
      *
      * @param scheduledExecutorService A scheduler to run pings periodically.
      */
@@ -602,8 +699,9 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         if (future != null && !future.isDone()) {
             future.cancel(true);
         }
-        refreshJob = scheduledExecutorService.scheduleWithFixedDelay(() -> performPresenceDetection(true), 0,
-                refreshIntervalInMS, TimeUnit.MILLISECONDS);
+        long initialDelay = PresenceDetectionEngine.getInitialDelay(hostname + tcpPorts, refreshIntervalInMS);
+        refreshJob = scheduledExecutorService.scheduleWithFixedDelay(() -> performPresenceDetection(false),
+                initialDelay, refreshIntervalInMS, TimeUnit.MILLISECONDS);
     }
 
     /**
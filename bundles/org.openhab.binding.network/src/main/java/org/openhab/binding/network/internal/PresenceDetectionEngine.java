@@ -0,0 +1,98 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
+import org.openhab.binding.network.internal.utils.ServicePingMultiplexer;
+
+/**
+ * The threads shared by the presence detections of all network things.
+ *
+ * The ARP and ICMP pings of all devices are run on the bounded "network.presenceDetection" thread pool of the
+ * {@link ThreadPoolManager}, instead of creating threads per device and detection. Further pings are queued, the size
+ * of the pool can be changed in the thread pool configuration. TCP service pings are multiplexed by the single thread
+ * of the {@link ServicePingMultiplexer}. The periodic refreshes of all devices are triggered by the "network" scheduled
+ * pool. A detection does not block that pool, and every device starts with its own offset, so that the detections of
+ * many devices are spread over time instead of running all at once.
+ *
+ * The pools are managed by the {@link ThreadPoolManager}. The service ping thread is stopped by {@link #stop()} when
+ * the binding is deactivated.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class PresenceDetectionEngine {
+    /** The maximum offset in ms of the first refresh of a device */
+    public static final long MAX_JITTER_IN_MS = 10000;
+
+    private static final String DETECTION_POOL_NAME = NetworkBindingConstants.BINDING_ID + ".presenceDetection";
+    private static final String REFRESH_POOL_NAME = NetworkBindingConstants.BINDING_ID;
+
+    private static final ServicePingMultiplexer SERVICE_PING_MULTIPLEXER = new ServicePingMultiplexer();
+
+    private PresenceDetectionEngine() {
+        // Only static members
+    }
+
+    /**
+     * Returns the thread pool the checks of all presence detections are run on.
+     */
+    public static ExecutorService getExecutor() {
+        return ThreadPoolManager.getPool(DETECTION_POOL_NAME);
+    }
+
+    /**
+     * Returns the scheduler for the periodic refreshes and the timeouts of all presence detections. Scheduled tasks
+     * must not block.
+     */
+    public static ScheduledExecutorService getScheduler() {
+        return ThreadPoolManager.getScheduledPool(REFRESH_POOL_NAME);
+    }
+
+    /**
+     * Returns the multiplexer of the TCP service pings of all presence detections.
+     */
+    public static ServicePingMultiplexer getServicePingMultiplexer() {
+        return SERVICE_PING_MULTIPLEXER;
+    }
+
+    /**
+     * Stops the service ping thread and fails the pending service pings. The thread is started again by the next
+     * service ping.
+     */
+    public static void stop() {
+        SERVICE_PING_MULTIPLEXER.close();
+    }
+
+    /**
+     * Returns the delay of the first refresh of a device. The delay is derived from the device, so that it is stable
+     * for a device but differs between devices.
+     *
+     * @param deviceKey A key identifying the device, like the host name and ports
+     * @param refreshIntervalInMS The refresh interval of the device
+     * @return A delay between 0 and the smaller one of the refresh interval and {@link #MAX_JITTER_IN_MS}
+     */
+    public static long getInitialDelay(String deviceKey, long refreshIntervalInMS) {
+        long range = Math.min(refreshIntervalInMS, MAX_JITTER_IN_MS);
+        if (range <= 1) {
+            return 0;
+        }
+        // Spread the hash bits, as host names often only differ in their last characters
+        long hash = deviceKey.hashCode() * 0x9E3779B97F4A7C15L;
+        return Math.floorMod(hash ^ (hash >>> 32), range);
+    }
+}
@@ -42,6 +42,7 @@ import org.openhab.binding.network.internal.NetworkBindingConfigurationListener;
 import org.openhab.binding.network.internal.NetworkBindingConstants;
 import org.openhab.binding.network.internal.NetworkHandlerConfiguration;
 import org.openhab.binding.network.internal.PresenceDetection;
+import org.openhab.binding.network.internal.PresenceDetectionEngine;
 import org.openhab.binding.network.internal.PresenceDetectionListener;
 import org.openhab.binding.network.internal.PresenceDetectionValue;
 import org.openhab.binding.network.internal.WakeOnLanPacketSender;
@@ -202,7 +203,7 @@ public class NetworkHandler extends BaseThingHandler
         wakeOnLanPacketSender = new WakeOnLanPacketSender(handlerConfiguration.macAddress);
 
         updateStatus(ThingStatus.ONLINE);
-        presenceDetection.startAutomaticRefresh(scheduler);
+        presenceDetection.startAutomaticRefresh(PresenceDetectionEngine.getScheduler());
 
         updateNetworkProperties();
     }
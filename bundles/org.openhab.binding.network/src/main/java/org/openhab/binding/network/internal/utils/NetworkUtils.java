@@ -17,6 +17,9 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.net.*;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang.StringUtils;
@@ -37,6 +40,9 @@ import org.slf4j.LoggerFactory;
  */
 @NonNullByDefault
 public class NetworkUtils {
+    // Grace time for a native ping process beyond its timeout, as the timeout is in seconds for some tools
+    private static final int PROCESS_GRACE_TIME_IN_MS = 1500;
+
     private final Logger logger = LoggerFactory.getLogger(NetworkUtils.class);
 
     private LatencyParser latencyParser = new LatencyParser();
@@ -131,25 +137,22 @@ public class NetworkUtils {
     }
 
     /**
-     * Try to establish a tcp connection to the given port. Returns false if a timeout occurred
+     * Try to establish a tcp connection to the given port. The result is a failed ping if a timeout occurred
      * or the connection was denied.
      *
+     * The connection attempt does not block a thread, all attempts are multiplexed by the single thread
+     * of the given {@link ServicePingMultiplexer}.
+     *
+     * @param multiplexer The multiplexer the connection attempt is made by
      * @param host The IP or hostname
      * @param port The tcp port. Must be not 0.
      * @param timeout Timeout in ms
-     * @return Ping result information. Optional is empty if ping command was not executed.
-     * @throws IOException
+     * @param executor The executor the returned future is completed on
+     * @return Ping result information. Completes exceptionally if the connection attempt could not be made.
      */
-    public Optional<PingResult> servicePing(String host, int port, int timeout) throws IOException {
-        double execStartTimeInMS = System.currentTimeMillis();
-
-        SocketAddress socketAddress = new InetSocketAddress(host, port);
-        try (Socket socket = new Socket()) {
-            socket.connect(socketAddress, timeout);
-            return Optional.of(new PingResult(true, System.currentTimeMillis() - execStartTimeInMS));
-        } catch (ConnectException | SocketTimeoutException | NoRouteToHostException ignored) {
-            return Optional.of(new PingResult(false, System.currentTimeMillis() - execStartTimeInMS));
-        }
+    public CompletableFuture<PingResult> servicePing(ServicePingMultiplexer multiplexer, String host, int port,
+            int timeout, Executor executor) {
+        return multiplexer.servicePing(new InetSocketAddress(host, port), timeout, executor);
     }
 
     /**
@@ -250,8 +253,7 @@ public class NetworkUtils {
         // Exception: return code is also 0 in Windows for all requests on the local subnet.
         // see https://superuser.com/questions/403905/ping-from-windows-7-get-no-reply-but-sets-errorlevel-to-0
 
-        int result = proc.waitFor();
-        if (result != 0) {
+        if (!waitFor(proc, timeoutInMS) || proc.exitValue() != 0) {
             return Optional.of(new PingResult(false, System.currentTimeMillis() - execStartTimeInMS));
         }
 
@@ -319,7 +321,22 @@ public class NetworkUtils {
 
         // The return code is 0 for a successful ping. 1 if device didn't respond and 2 if there is another error like
         // network interface not ready.
-        return Optional.of(new PingResult(proc.waitFor() == 0, System.currentTimeMillis() - execStartTimeInMS));
+        return Optional.of(new PingResult(waitFor(proc, timeoutInMS) && proc.exitValue() == 0,
+                System.currentTimeMillis() - execStartTimeInMS));
+    }
+
+    /**
+     * Waits for a ping process to end. The process is killed if it is still running after its timeout. The ping
+     * processes are run on a shared thread pool, so a hanging process must not block a thread forever.
+     *
+     * @return true if the process ended by itself
+     */
+    private boolean waitFor(Process proc, int timeoutInMS) throws InterruptedException {
+        if (proc.waitFor(timeoutInMS + PROCESS_GRACE_TIME_IN_MS, TimeUnit.MILLISECONDS)) {
+            return true;
+        }
+        proc.destroyForcibly();
+        return false;
     }
 
     /**
@@ -0,0 +1,290 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Performs the tcp connection attempts of service pings with a single thread. The connections are
+ * established non-blocking and multiplexed with a {@link Selector}, so that an attempt does not
+ * occupy a thread while waiting for the device to answer or for the timeout.
+ *
+ * The thread is taken from the "network.servicePing" pool of the {@link ThreadPoolManager}. It is started with the
+ * first attempt and ends after it has been idle for a minute, or when the multiplexer is closed.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ServicePingMultiplexer {
+    private static final long IDLE_TIMEOUT_IN_NS = TimeUnit.MINUTES.toNanos(1);
+    private static final String POOL_NAME = "network.servicePing";
+
+    private final Logger logger = LoggerFactory.getLogger(ServicePingMultiplexer.class);
+
+    private final Object lock = new Object();
+    private final Queue<PendingConnect> newConnects = new ArrayDeque<>();
+    private @Nullable Selector selector;
+
+    private static class PendingConnect {
+        private final SocketChannel channel;
+        private final long startInNS;
+        private final long deadlineInNS;
+        private final Executor executor;
+        private final CompletableFuture<PingResult> future = new CompletableFuture<>();
+        private boolean done;
+
+        PendingConnect(SocketChannel channel, long startInNS, int timeoutInMS, Executor executor) {
+            this.channel = channel;
+            this.startInNS = startInNS;
+            this.deadlineInNS = startInNS + TimeUnit.MILLISECONDS.toNanos(timeoutInMS);
+            this.executor = executor;
+        }
+
+        void complete(boolean success) {
+            PingResult result = new PingResult(success, (System.nanoTime() - startInNS) / 1000000.0);
+            close();
+            execute(() -> future.complete(result));
+        }
+
+        void fail(IOException e) {
+            close();
+            execute(() -> future.completeExceptionally(e));
+        }
+
+        private void close() {
+            done = true;
+            closeQuietly(channel);
+        }
+
+        private void execute(Runnable completion) {
+            try {
+                executor.execute(completion);
+            } catch (RejectedExecutionException e) {
+                completion.run();
+            }
+        }
+    }
+
+    /**
+     * Try to establish a tcp connection to the given port. The result is a failed ping if a timeout
+     * occurred or the connection was denied.
+     *
+     * @param address The address and tcp port. The port must be not 0.
+     * @param timeoutInMS Timeout in ms
+     * @param executor The executor the returned future is completed on
+     * @return Ping result information. The future completes exceptionally if the connection attempt
+     *         could not be made at all.
+     */
+    public CompletableFuture<PingResult> servicePing(InetSocketAddress address, int timeoutInMS, Executor executor) {
+        long startInNS = System.nanoTime();
+        SocketChannel channel = null;
+        boolean connected;
+        try {
+            if (address.isUnresolved()) {
+                throw new UnknownHostException(address.getHostString());
+            }
+            channel = SocketChannel.open();
+            channel.configureBlocking(false);
+            connected = channel.connect(address);
+        } catch (ConnectException | NoRouteToHostException e) {
+            closeQuietly(channel);
+            double executionTimeInMS = (System.nanoTime() - startInNS) / 1000000.0;
+            return CompletableFuture.completedFuture(new PingResult(false, executionTimeInMS));
+        } catch (IOException e) {
+            closeQuietly(channel);
+            CompletableFuture<PingResult> future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+            return future;
+        }
+
+        PendingConnect connect = new PendingConnect(channel, startInNS, timeoutInMS, executor);
+        if (connected) {
+            connect.complete(true);
+            return connect.future;
+        }
+
+        synchronized (lock) {
+            newConnects.add(connect);
+            Selector selector = this.selector;
+            if (selector != null) {
+                selector.wakeup();
+                return connect.future;
+            }
+            try {
+                selector = Selector.open();
+            } catch (IOException e) {
+                newConnects.remove(connect);
+                connect.fail(e);
+                return connect.future;
+            }
+            this.selector = selector;
+            Selector threadSelector = selector;
+            ThreadPoolManager.getPool(POOL_NAME).execute(() -> run(threadSelector));
+        }
+        return connect.future;
+    }
+
+    /**
+     * Stops the thread and fails all pending connection attempts. A later attempt starts the thread again.
+     */
+    public void close() {
+        List<PendingConnect> pending;
+        synchronized (lock) {
+            Selector selector = this.selector;
+            if (selector == null) {
+                return;
+            }
+            // The thread notices that its selector has been replaced, and fails the registered attempts
+            this.selector = null;
+            pending = new ArrayList<>(newConnects);
+            newConnects.clear();
+            selector.wakeup();
+        }
+        IOException failure = new IOException("Service pings stopped");
+        for (PendingConnect connect : pending) {
+            connect.fail(failure);
+        }
+    }
+
+    private void run(Selector selector) {
+        PriorityQueue<PendingConnect> deadlines = new PriorityQueue<>(
+                Comparator.comparingLong((PendingConnect connect) -> connect.deadlineInNS));
+        long idleSinceInNS = System.nanoTime();
+        try {
+            while (true) {
+                synchronized (lock) {
+                    if (this.selector != selector) {
+                        break;
+                    }
+                    PendingConnect connect;
+                    while ((connect = newConnects.poll()) != null) {
+                        try {
+                            connect.channel.register(selector, SelectionKey.OP_CONNECT, connect);
+                            deadlines.add(connect);
+                        } catch (IOException e) {
+                            connect.fail(e);
+                        }
+                    }
+                }
+
+                long now = System.nanoTime();
+                while (!deadlines.isEmpty() && deadlines.peek().deadlineInNS - now <= 0) {
+                    PendingConnect connect = deadlines.poll();
+                    if (!connect.done) {
+                        connect.complete(false);
+                    }
+                }
+
+                long waitInNS;
+                if (deadlines.isEmpty()) {
+                    waitInNS = IDLE_TIMEOUT_IN_NS - (now - idleSinceInNS);
+                    if (waitInNS <= 0) {
+                        synchronized (lock) {
+                            if (this.selector != selector) {
+                                break;
+                            }
+                            if (newConnects.isEmpty()) {
+                                this.selector = null;
+                                return;
+                            }
+                        }
+                        continue;
+                    }
+                } else {
+                    idleSinceInNS = now;
+                    waitInNS = deadlines.peek().deadlineInNS - now;
+                }
+
+                selector.select(Math.max(1, TimeUnit.NANOSECONDS.toMillis(waitInNS)));
+
+                for (Iterator<SelectionKey> iterator = selector.selectedKeys().iterator(); iterator.hasNext();) {
+                    SelectionKey key = iterator.next();
+                    iterator.remove();
+                    PendingConnect connect = (PendingConnect) key.attachment();
+                    if (connect.done) {
+                        continue;
+                    }
+                    try {
+                        if (connect.channel.finishConnect()) {
+                            connect.complete(true);
+                        }
+                    } catch (ConnectException | NoRouteToHostException e) {
+                        connect.complete(false);
+                    } catch (IOException e) {
+                        connect.fail(e);
+                    }
+                }
+            }
+            failAll(deadlines, new IOException("Service pings stopped"));
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Service ping selector failed", e);
+            synchronized (lock) {
+                if (this.selector == selector) {
+                    this.selector = null;
+                    deadlines.addAll(newConnects);
+                    newConnects.clear();
+                }
+            }
+            failAll(deadlines, e instanceof IOException ? (IOException) e : new IOException(e));
+        } finally {
+            try {
+                selector.close();
+            } catch (IOException ignored) {
+                // Nothing to do
+            }
+        }
+    }
+
+    private static void failAll(Collection<PendingConnect> connects, IOException failure) {
+        for (PendingConnect connect : connects) {
+            if (!connect.done) {
+                connect.fail(failure);
+            }
+        }
+    }
+
+    private static void closeQuietly(@Nullable SocketChannel channel) {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // The result is known already
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import static org.junit.Assert.*;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Test;
+
+/**
+ * Tests the non-blocking tcp connection attempts of the service ping.
+ *
+ * @author agent - Initial contribution
+ */
+public class ServicePingMultiplexerTest {
+    private final ServicePingMultiplexer multiplexer = new ServicePingMultiplexer();
+    private final AtomicInteger completions = new AtomicInteger();
+    private final Executor executor = command -> {
+        completions.incrementAndGet();
+        command.run();
+    };
+
+    @After
+    public void tearDown() {
+        multiplexer.close();
+    }
+
+    @Test
+    public void openPortsAreReachable() throws Exception {
+        try (ServerSocket server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getLocalPort());
+
+            List<CompletableFuture<PingResult>> results = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                results.add(multiplexer.servicePing(address, 2000, executor));
+            }
+            for (CompletableFuture<PingResult> result : results) {
+                assertTrue(result.get(5, TimeUnit.SECONDS).isSuccess());
+            }
+            // All results are handed over to the executor
+            assertEquals(20, completions.get());
+        }
+    }
+
+    @Test
+    public void closedPortIsNotReachable() throws Exception {
+        int port;
+        try (ServerSocket server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            port = server.getLocalPort();
+        }
+
+        PingResult result = multiplexer
+                .servicePing(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 2000, executor)
+                .get(5, TimeUnit.SECONDS);
+        assertFalse(result.isSuccess());
+    }
+
+    @Test
+    public void unresolvedAddressFails() throws Exception {
+        CompletableFuture<PingResult> result = multiplexer
+                .servicePing(InetSocketAddress.createUnresolved("unknown.invalid", 80), 2000, executor);
+        assertTrue(result.isCompletedExceptionally());
+    }
+
+    @Test
+    public void closeFailsPendingAttempts() throws Exception {
+        // A non routable address, the attempt stays pending until its timeout
+        CompletableFuture<PingResult> pending = multiplexer
+                .servicePing(new InetSocketAddress(InetAddress.getByName("10.255.255.1"), 80), 60000, executor);
+        Assume.assumeFalse("The network refuses the address immediately", pending.isDone());
+
+        multiplexer.close();
+        try {
+            pending.get(5, TimeUnit.SECONDS);
+            fail("Pending attempt not failed");
+        } catch (ExecutionException e) {
+            // expected
+        }
+
+        // The thread is started again by the next attempt
+        try (ServerSocket server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getLocalPort());
+            assertTrue(multiplexer.servicePing(address, 2000, executor).get(5, TimeUnit.SECONDS).isSuccess());
+        }
+    }
+}
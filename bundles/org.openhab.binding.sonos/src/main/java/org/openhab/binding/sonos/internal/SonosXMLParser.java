@@ -13,12 +13,13 @@
 package org.openhab.binding.sonos.internal;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.StringReader;
 import java.net.URL;
 import java.text.MessageFormat;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -83,6 +84,31 @@ public class SonosXMLParser {
         desc
     }
 
+    /**
+     * SAX readers are expensive to create, so each thread keeps one for reuse. A reader is taken from the thread while
+     * it is parsing, so a parse started by a handler gets a new reader instead of corrupting the running one.
+     */
+    private static final ThreadLocal<@Nullable XMLReader> READERS = new ThreadLocal<>();
+    private static final DefaultHandler NO_HANDLER = new DefaultHandler();
+
+    private static void parse(String xml, DefaultHandler handler) throws IOException, SAXException {
+        parse(new InputSource(new StringReader(xml)), handler);
+    }
+
+    private static void parse(InputSource source, DefaultHandler handler) throws IOException, SAXException {
+        XMLReader reader = READERS.get();
+        if (reader == null) {
+            reader = XMLReaderFactory.createXMLReader();
+        } else {
+            READERS.remove();
+        }
+        reader.setContentHandler(handler);
+        reader.parse(source);
+        // Readers which failed are not reused, they might be left in an inconsistent state
+        reader.setContentHandler(NO_HANDLER);
+        READERS.set(reader);
+    }
+
     /**
      * @param xml
      * @return a list of alarms from the given xml string.
@@ -92,9 +118,7 @@ public class SonosXMLParser {
     public static List<SonosAlarm> getAlarmsFromStringResult(String xml) {
         AlarmHandler handler = new AlarmHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(xml, handler);
         } catch (IOException e) {
             LOGGER.error("Could not parse Alarms from string '{}'", xml);
         } catch (SAXException s) {
@@ -112,9 +136,7 @@ public class SonosXMLParser {
     public static List<SonosEntry> getEntriesFromString(String xml) {
         EntryHandler handler = new EntryHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(xml, handler);
         } catch (IOException e) {
             LOGGER.error("Could not parse Entries from string '{}'", xml);
         } catch (SAXException s) {
@@ -133,11 +155,9 @@ public class SonosXMLParser {
      * @throws SAXException
      */
     public static @Nullable SonosResourceMetaData getResourceMetaData(String xml) throws SAXException {
-        XMLReader reader = XMLReaderFactory.createXMLReader();
         ResourceMetaDataHandler handler = new ResourceMetaDataHandler();
-        reader.setContentHandler(handler);
         try {
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(xml, handler);
         } catch (IOException e) {
             LOGGER.error("Could not parse Resource MetaData from String '{}'", xml);
         } catch (SAXException s) {
@@ -156,9 +176,7 @@ public class SonosXMLParser {
     public static List<SonosZoneGroup> getZoneGroupFromXML(String xml) {
         ZoneGroupHandler handler = new ZoneGroupHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(xml, handler);
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse ZoneGroup from string '{}'", xml);
@@ -172,9 +190,7 @@ public class SonosXMLParser {
     public static List<String> getRadioTimeFromXML(String xml) {
         OpmlHandler handler = new OpmlHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(xml, handler);
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse RadioTime from string '{}'", xml);
@@ -188,9 +204,7 @@ public class SonosXMLParser {
     public static Map<String, @Nullable String> getRenderingControlFromXML(String xml) {
         RenderingControlEventHandler handler = new RenderingControlEventHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(xml, handler);
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse Rendering Control from string '{}'", xml);
@@ -203,9 +217,7 @@ public class SonosXMLParser {
     public static Map<String, @Nullable String> getAVTransportFromXML(String xml) {
         AVTransportEventHandler handler = new AVTransportEventHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(xml, handler);
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse AV Transport from string '{}'", xml);
@@ -218,9 +230,7 @@ public class SonosXMLParser {
     public static SonosMetaData getMetaDataFromXML(String xml) {
         MetaDataHandler handler = new MetaDataHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(xml, handler);
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse MetaData from string '{}'", xml);
@@ -234,9 +244,7 @@ public class SonosXMLParser {
     public static List<SonosMusicService> getMusicServicesFromXML(String xml) {
         MusicServiceHandler handler = new MusicServiceHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(xml, handler);
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse music services from string '{}'", xml);
@@ -265,6 +273,10 @@ public class SonosXMLParser {
         private @Nullable Element element;
 
         private List<SonosEntry> artists = new ArrayList<>();
+        /**
+         * Embedded resource meta data of each entry, empty if none. Parsed only once the entries are complete.
+         */
+        private List<String> resourceMetaData = new ArrayList<>();
 
         EntryHandler() {
             // shouldn't be used outside of this package.
@@ -373,19 +385,9 @@ public class SonosXMLParser {
                 } catch (Exception e) {
                 }
 
-                SonosResourceMetaData md = null;
-
-                // The resource description is needed for playing favorites on pandora
-                if (!desc.toString().isEmpty()) {
-                    try {
-                        md = getResourceMetaData(desc.toString());
-                    } catch (SAXException ignore) {
-                        LOGGER.debug("Failed to parse embeded", ignore);
-                    }
-                }
-
                 artists.add(new SonosEntry(id, title.toString(), parentId, album.toString(), albumArtUri.toString(),
-                        creator.toString(), upnpClass.toString(), res.toString(), trackNumberVal, md));
+                        creator.toString(), upnpClass.toString(), res.toString(), trackNumberVal, null));
+                resourceMetaData.add(desc.toString());
                 title = new StringBuilder();
                 upnpClass = new StringBuilder();
                 res = new StringBuilder();
@@ -397,8 +399,32 @@ public class SonosXMLParser {
             }
         }
 
+        /**
+         * Get the entries. The embedded resource meta data is parsed here, after the entries have been parsed, so the
+         * embedded documents are parsed one after another with the same reader instead of nested in the running
+         * parse.
+         */
         public List<SonosEntry> getArtists() {
-            return artists;
+            List<SonosEntry> entries = new ArrayList<>(artists.size());
+            for (int i = 0; i < artists.size(); i++) {
+                SonosEntry entry = artists.get(i);
+                String metaData = resourceMetaData.get(i);
+                if (metaData.isEmpty()) {
+                    entries.add(entry);
+                    continue;
+                }
+                // The resource description is needed for playing favorites on pandora
+                SonosResourceMetaData md = null;
+                try {
+                    md = getResourceMetaData(metaData);
+                } catch (SAXException ignore) {
+                    LOGGER.debug("Failed to parse embeded", ignore);
+                }
+                entries.add(new SonosEntry(entry.getId(), entry.getTitle(), entry.getParentId(), entry.getAlbum(),
+                        entry.getAlbumArtUri(), entry.getCreator(), entry.getUpnpClass(), entry.getRes(),
+                        entry.getOriginalTrackNumber(), md));
+            }
+            return entries;
         }
     }
 
@@ -704,7 +730,7 @@ public class SonosXMLParser {
          * </Event>
          */
 
-        private final Map<String, @Nullable String> changes = new HashMap<>();
+        private final Map<String, @Nullable String> changes = new LinkedHashMap<>();
 
         @Override
         public void startElement(@Nullable String uri, @Nullable String localName, @Nullable String qName,
@@ -834,7 +860,7 @@ public class SonosXMLParser {
 
     private static class RenderingControlEventHandler extends DefaultHandler {
 
-        private final Map<String, @Nullable String> changes = new HashMap<>();
+        private final Map<String, @Nullable String> changes = new LinkedHashMap<>();
 
         private boolean getPresetName = false;
         private @Nullable String presetName;
@@ -919,10 +945,10 @@ public class SonosXMLParser {
     public static @Nullable String getRoomName(String descriptorXML) {
         RoomNameHandler roomNameHandler = new RoomNameHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(roomNameHandler);
             URL url = new URL(descriptorXML);
-            reader.parse(new InputSource(url.openStream()));
+            try (InputStream in = url.openStream()) {
+                parse(new InputSource(in), roomNameHandler);
+            }
         } catch (IOException | SAXException e) {
             LOGGER.error("Could not parse Sonos room name from string '{}'", descriptorXML);
         }
@@ -958,10 +984,10 @@ public class SonosXMLParser {
     public static @Nullable String parseModelDescription(URL descriptorURL) {
         ModelNameHandler modelNameHandler = new ModelNameHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(modelNameHandler);
             URL url = new URL(descriptorURL.toString());
-            reader.parse(new InputSource(url.openStream()));
+            try (InputStream in = url.openStream()) {
+                parse(new InputSource(in), modelNameHandler);
+            }
         } catch (IOException | SAXException e) {
             LOGGER.error("Could not parse Sonos model name from string '{}'", descriptorURL.toString());
         }
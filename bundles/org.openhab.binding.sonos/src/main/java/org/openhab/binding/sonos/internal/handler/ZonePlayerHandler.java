@@ -405,7 +405,11 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
 
             // pre-process some variables, eg XML processing
             if (service.equals("AVTransport") && variable.equals("LastChange")) {
-                Map<String, @Nullable String> parsedValues = SonosXMLParser.getAVTransportFromXML(value);
+                Map<String, @Nullable String> parsedValues = getChangedValues(
+                        SonosXMLParser.getAVTransportFromXML(value), stateMap);
+                if (parsedValues.isEmpty()) {
+                    return;
+                }
                 for (String parsedValue : parsedValues.keySet()) {
                     // Update the transport state after the update of the media information
                     // to not break the notification mechanism
@@ -427,7 +431,8 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
             }
 
             if (service.equals("RenderingControl") && variable.equals("LastChange")) {
-                Map<String, @Nullable String> parsedValues = SonosXMLParser.getRenderingControlFromXML(value);
+                Map<String, @Nullable String> parsedValues = getChangedValues(
+                        SonosXMLParser.getRenderingControlFromXML(value), stateMap);
                 for (String parsedValue : parsedValues.keySet()) {
                     onValueReceived(parsedValue, parsedValues.get(parsedValue), "RenderingControl");
                 }
@@ -840,10 +845,37 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
         return !hasValueChanged(value, oldValue) && !isQueueEvent(variable);
     }
 
-    private boolean hasValueChanged(@Nullable String value, @Nullable String oldValue) {
+    private static boolean hasValueChanged(@Nullable String value, @Nullable String oldValue) {
         return oldValue != null ? !oldValue.equals(value) : value != null;
     }
 
+    /**
+     * Remove the variables of a LastChange event which have the value known already, so that an event only triggers
+     * the updates of the variables it actually changed.
+     *
+     * @param parsedValues variables of the event, modified in place
+     * @param knownValues known values of the variables
+     * @return the changed variables
+     */
+    static Map<String, @Nullable String> getChangedValues(Map<String, @Nullable String> parsedValues,
+            Map<String, @Nullable String> knownValues) {
+        parsedValues.entrySet().removeIf(entry -> {
+            String variable = entry.getKey();
+            String value = entry.getValue();
+            if (hasValueChanged(value, knownValues.get(variable))) {
+                return false;
+            }
+            // AVTransportURI and AVTransportURIMetaData are also received as CurrentURI and CurrentURIMetaData
+            if ("AVTransportURI".equals(variable)) {
+                return !hasValueChanged(value, knownValues.get("CurrentURI"));
+            } else if ("AVTransportURIMetaData".equals(variable)) {
+                return !hasValueChanged(value, knownValues.get("CurrentURIMetaData"));
+            }
+            return true;
+        });
+        return parsedValues;
+    }
+
     /**
      * Similar to the AVTransport eventing, the Queue events its state variables
      * as sub values within a synthesized LastChange state variable.
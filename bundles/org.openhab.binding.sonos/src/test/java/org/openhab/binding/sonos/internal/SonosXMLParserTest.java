@@ -0,0 +1,119 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.sonos.internal;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * Tests of {@link SonosXMLParser} with payloads captured from Zone Players
+ *
+ * @author agent - Initial contribution
+ */
+public class SonosXMLParserTest {
+
+    private static final String AV_TRANSPORT_LAST_CHANGE = "<Event xmlns=\"urn:schemas-upnp-org:metadata-1-0/AVT/\" "
+            + "xmlns:r=\"urn:schemas-rinconnetworks-com:metadata-1-0/\"><InstanceID val=\"0\">"
+            + "<TransportState val=\"PLAYING\"/><CurrentPlayMode val=\"NORMAL\"/><CurrentPlayMode val=\"SHUFFLE\"/>"
+            + "<NumberOfTracks val=\"29\"/><CurrentTrack val=\"12\"/>"
+            + "<CurrentTrackURI val=\"x-file-cifs://192.168.1.1/Storage4/Broken%20Box.wma\"/>"
+            + "<CurrentTrackDuration val=\"0:03:02\"/>"
+            + "<r:NextTrackURI val=\"x-file-cifs://192.168.1.1/Storage4/Killer%20Scene.wma\"/>"
+            + "<AVTransportURI val=\"x-rincon-queue:RINCON_000E5812BC1801400#0\"/><AVTransportURIMetaData val=\"\"/>"
+            + "<r:SleepTimerGeneration val=\"0\"/><r:AlarmRunning val=\"0\"/></InstanceID></Event>";
+
+    private static final String RENDERING_CONTROL_LAST_CHANGE = "<Event "
+            + "xmlns=\"urn:schemas-upnp-org:metadata-1-0/RCS/\"><InstanceID val=\"0\">"
+            + "<Volume channel=\"Master\" val=\"12\"/><Volume channel=\"LF\" val=\"100\"/>"
+            + "<Mute channel=\"Master\" val=\"0\"/><Bass val=\"2\"/><Treble val=\"-1\"/>"
+            + "<PresetNameList>FactoryDefaults</PresetNameList></InstanceID></Event>";
+
+    private static final String FAVORITES = "<DIDL-Lite xmlns:dc=\"http://purl.org/dc/elements/1.1/\" "
+            + "xmlns:upnp=\"urn:schemas-upnp-org:metadata-1-0/upnp/\" "
+            + "xmlns:r=\"urn:schemas-rinconnetworks-com:metadata-1-0/\" "
+            + "xmlns=\"urn:schemas-upnp-org:metadata-1-0/DIDL-Lite/\">"
+            + "<item id=\"FV:2/1\" parentID=\"FV:2\" restricted=\"false\"><dc:title>Radio 1</dc:title>"
+            + "<upnp:class>object.itemobject.item.sonos-favorite</upnp:class>"
+            + "<res protocolInfo=\"x-sonosapi-stream:*:*:*\">x-sonosapi-stream:s1234?sid=254</res>"
+            + "<r:resMD>&lt;DIDL-Lite xmlns:dc=&quot;http://purl.org/dc/elements/1.1/&quot; "
+            + "xmlns:upnp=&quot;urn:schemas-upnp-org:metadata-1-0/upnp/&quot; "
+            + "xmlns:r=&quot;urn:schemas-rinconnetworks-com:metadata-1-0/&quot; "
+            + "xmlns=&quot;urn:schemas-upnp-org:metadata-1-0/DIDL-Lite/&quot;&gt;"
+            + "&lt;item id=&quot;F00092020s1234&quot; parentID=&quot;L&quot; restricted=&quot;true&quot;&gt;"
+            + "&lt;dc:title&gt;Radio One&lt;/dc:title&gt;"
+            + "&lt;upnp:class&gt;object.item.audioItem.audioBroadcast&lt;/upnp:class&gt;"
+            + "&lt;desc id=&quot;cdudn&quot; nameSpace=&quot;urn:schemas-rinconnetworks-com:metadata-1-0/&quot;&gt;"
+            + "SA_RINCON65031_&lt;/desc&gt;&lt;/item&gt;&lt;/DIDL-Lite&gt;</r:resMD></item>"
+            + "<item id=\"FV:2/2\" parentID=\"FV:2\" restricted=\"false\"><dc:title>Radio 2</dc:title>"
+            + "<upnp:class>object.itemobject.item.sonos-favorite</upnp:class>"
+            + "<res protocolInfo=\"x-sonosapi-stream:*:*:*\">x-sonosapi-stream:s5678?sid=254</res></item>"
+            + "</DIDL-Lite>";
+
+    @Test
+    public void testAVTransportLastChange() {
+        for (int i = 0; i < 3; i++) {
+            Map<String, String> changes = SonosXMLParser.getAVTransportFromXML(AV_TRANSPORT_LAST_CHANGE);
+
+            assertEquals("PLAYING", changes.get("TransportState"));
+            assertEquals("SHUFFLE", changes.get("CurrentPlayMode"));
+            assertEquals("x-rincon-queue:RINCON_000E5812BC1801400#0", changes.get("AVTransportURI"));
+            assertEquals("", changes.get("AVTransportURIMetaData"));
+            assertEquals("0", changes.get("AlarmRunning"));
+            // Variables in the order of the event
+            List<String> variables = new ArrayList<>(changes.keySet());
+            assertEquals(Arrays.asList("InstanceID", "TransportState", "CurrentPlayMode"), variables.subList(0, 3));
+        }
+    }
+
+    @Test
+    public void testRenderingControlLastChange() {
+        Map<String, String> changes = SonosXMLParser.getRenderingControlFromXML(RENDERING_CONTROL_LAST_CHANGE);
+
+        assertEquals("12", changes.get("VolumeMaster"));
+        assertEquals("100", changes.get("VolumeLF"));
+        assertEquals("0", changes.get("MuteMaster"));
+        assertEquals("2", changes.get("Bass"));
+        assertEquals("-1", changes.get("Treble"));
+        assertEquals("FactoryDefaults", changes.get("PresetNameList"));
+    }
+
+    @Test
+    public void testEntriesWithEmbeddedMetaData() {
+        for (int i = 0; i < 3; i++) {
+            List<SonosEntry> entries = SonosXMLParser.getEntriesFromString(FAVORITES);
+
+            assertEquals(2, entries.size());
+            assertEquals("Radio 1", entries.get(0).getTitle());
+            SonosResourceMetaData metaData = entries.get(0).getResourceMetaData();
+            assertNotNull(metaData);
+            assertEquals("Radio One", metaData.getTitle());
+            assertEquals("SA_RINCON65031_", metaData.getDesc());
+            assertEquals("Radio 2", entries.get(1).getTitle());
+            assertEquals("x-sonosapi-stream:s5678?sid=254", entries.get(1).getRes());
+            assertNull(entries.get(1).getResourceMetaData());
+        }
+    }
+
+    @Test
+    public void testParsingContinuesAfterInvalidXml() {
+        assertTrue(SonosXMLParser.getAVTransportFromXML("<Event><InstanceID val=\"0\">").size() <= 1);
+
+        assertEquals("PLAYING", SonosXMLParser.getAVTransportFromXML(AV_TRANSPORT_LAST_CHANGE).get("TransportState"));
+    }
+}
@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.sonos.internal.handler;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.Test;
+
+/**
+ * Tests of the LastChange event filtering of {@link ZonePlayerHandler}
+ *
+ * @author agent - Initial contribution
+ */
+public class ZonePlayerHandlerTest {
+
+    private Map<String, @Nullable String> event(String... variablesAndValues) {
+        Map<String, @Nullable String> event = new LinkedHashMap<>();
+        for (int i = 0; i < variablesAndValues.length; i += 2) {
+            event.put(variablesAndValues[i], variablesAndValues[i + 1]);
+        }
+        return event;
+    }
+
+    @Test
+    public void testUnchangedValuesAreRemoved() {
+        Map<String, @Nullable String> known = new HashMap<>();
+        known.put("TransportState", "PLAYING");
+        known.put("CurrentTrack", "12");
+
+        Map<String, @Nullable String> changed = ZonePlayerHandler.getChangedValues(
+                event("TransportState", "PLAYING", "NumberOfTracks", "29", "CurrentTrack", "13"), known);
+
+        // Changed and new variables remain, in the order of the event
+        assertEquals(Arrays.asList("NumberOfTracks", "CurrentTrack"), new ArrayList<>(changed.keySet()));
+        assertEquals("13", changed.get("CurrentTrack"));
+    }
+
+    @Test
+    public void testNullValues() {
+        Map<String, @Nullable String> known = new HashMap<>();
+        known.put("CurrentTrackMetaData", null);
+        known.put("NextTrackMetaData", "meta");
+
+        Map<String, @Nullable String> changed = ZonePlayerHandler
+                .getChangedValues(event("CurrentTrackMetaData", null, "NextTrackMetaData", null), known);
+
+        assertEquals(Arrays.asList("NextTrackMetaData"), new ArrayList<>(changed.keySet()));
+        assertNull(changed.get("NextTrackMetaData"));
+    }
+
+    @Test
+    public void testTransportUriIsComparedToCurrentUri() {
+        String queue = "x-rincon-queue:RINCON_000E5812BC1801400#0";
+        Map<String, @Nullable String> known = new HashMap<>();
+        known.put("AVTransportURI", queue);
+        known.put("AVTransportURIMetaData", "");
+        known.put("CurrentURI", queue);
+        known.put("CurrentURIMetaData", "");
+
+        Map<String, @Nullable String> changed = ZonePlayerHandler
+                .getChangedValues(event("AVTransportURI", queue, "AVTransportURIMetaData", ""), known);
+        assertTrue(changed.isEmpty());
+
+        // CurrentURI was changed meanwhile by other means, the translated value must be updated again
+        known.put("CurrentURI", "x-sonosapi-stream:s1234?sid=254");
+        changed = ZonePlayerHandler.getChangedValues(event("AVTransportURI", queue, "AVTransportURIMetaData", ""),
+                known);
+        assertEquals(Arrays.asList("AVTransportURI"), new ArrayList<>(changed.keySet()));
+    }
+}
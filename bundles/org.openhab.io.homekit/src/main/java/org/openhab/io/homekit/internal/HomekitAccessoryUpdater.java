@@ -12,14 +12,20 @@
  */
 package org.openhab.io.homekit.internal;
 
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-import org.eclipse.jdt.annotation.NonNullByDefault;
-import org.eclipse.smarthome.core.items.GenericItem;
-import org.eclipse.smarthome.core.items.Item;
-import org.eclipse.smarthome.core.items.StateChangeListener;
-import org.eclipse.smarthome.core.types.State;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.events.Event;
+import org.eclipse.smarthome.core.events.EventFilter;
+import org.eclipse.smarthome.core.events.EventSubscriber;
+import org.eclipse.smarthome.core.items.events.GroupItemStateChangedEvent;
+import org.eclipse.smarthome.core.items.events.ItemStateChangedEvent;
+import org.osgi.service.component.annotations.Component;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -31,111 +37,110 @@ import io.github.hapjava.characteristics.HomekitCharacteristicChangeCallback;
  * HomeKit library takes care of insuring only a single subscription exists for
  * each accessory.
  *
+ * Instead of registering a listener at each item, a single subscriber for item state changed events looks up the
+ * subscriptions of the changed item in an index by item name. A subscription belongs to the proxy of the accessory
+ * that made it, so that it also works for later instances of the item.
+ *
  * @author Andy Lintner - Initial contribution
  */
-public class HomekitAccessoryUpdater {
+@Component(service = { HomekitAccessoryUpdater.class, EventSubscriber.class })
+public class HomekitAccessoryUpdater implements EventSubscriber {
+    private static final String NO_KEY = "";
+    private static final Set<String> SUBSCRIBED_EVENT_TYPES = Stream
+            .of(ItemStateChangedEvent.TYPE, GroupItemStateChangedEvent.TYPE).collect(Collectors.toSet());
+
     private final Logger logger = LoggerFactory.getLogger(HomekitAccessoryUpdater.class);
-    private final ConcurrentMap<ItemKey, Subscription> subscriptionsByName = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Map<String, Subscription>> subscriptionsByName = new ConcurrentHashMap<>();
 
-    public void subscribe(GenericItem item, HomekitCharacteristicChangeCallback callback) {
-        subscribe(item, null, callback);
+    public void subscribe(HomekitOHItemProxy proxyItem, HomekitCharacteristicChangeCallback callback) {
+        subscribe(proxyItem, null, callback);
     }
 
-    public void subscribe(GenericItem item, String key, HomekitCharacteristicChangeCallback callback) {
-        logger.trace("Received subscription request for {} / {}", item, key);
-        if (item == null) {
+    public void subscribe(HomekitOHItemProxy proxyItem, String key, HomekitCharacteristicChangeCallback callback) {
+        logger.trace("Received subscription request for {} / {}", proxyItem, key);
+        if (proxyItem == null) {
             return;
         }
         if (callback == null) {
             logger.trace("The received subscription contains a null callback, skipping");
             return;
         }
-        ItemKey itemKey = new ItemKey(item, key);
-        subscriptionsByName.compute(itemKey, (k, v) -> {
-            if (v != null) {
-                logger.debug("Received duplicate subscription for {} / {}", item, key);
-                unsubscribe(item, key);
+        subscriptionsByName.compute(proxyItem.getItem().getName(), (name, subscriptions) -> {
+            Map<String, Subscription> newSubscriptions = subscriptions != null ? subscriptions
+                    : new ConcurrentHashMap<>();
+            if (newSubscriptions.put(key != null ? key : NO_KEY, new Subscription(proxyItem, callback)) != null) {
+                logger.debug("Received duplicate subscription for {} / {}", name, key);
             }
-            logger.trace("Adding subscription for {} / {}", item, key);
-            Subscription subscription = (changedItem, oldState, newState) -> callback.changed();
-            item.addStateChangeListener(subscription);
-            return subscription;
+            logger.trace("Adding subscription for {} / {}", name, key);
+            return newSubscriptions;
         });
     }
 
-    public void unsubscribe(GenericItem item) {
-        unsubscribe(item, null);
+    public void unsubscribe(HomekitOHItemProxy proxyItem) {
+        unsubscribe(proxyItem, null);
     }
 
-    public void unsubscribe(GenericItem item, String key) {
-        if (item == null) {
+    public void unsubscribe(HomekitOHItemProxy proxyItem, String key) {
+        if (proxyItem == null) {
             return;
         }
-        subscriptionsByName.computeIfPresent(new ItemKey(item, key), (k, v) -> {
-            logger.trace("Removing existing subscription for {} / {}", item, key);
-            item.removeStateChangeListener(v);
-            return null;
+        subscriptionsByName.computeIfPresent(proxyItem.getItem().getName(), (name, subscriptions) -> {
+            // a rebuilt accessory may have subscribed for the item already
+            subscriptions.computeIfPresent(key != null ? key : NO_KEY, (k, subscription) -> {
+                if (subscription.proxyItem != proxyItem) {
+                    return subscription;
+                }
+                logger.trace("Removing existing subscription for {} / {}", name, key);
+                return null;
+            });
+            return subscriptions.isEmpty() ? null : subscriptions;
         });
     }
 
-    @FunctionalInterface
-    @NonNullByDefault
-    private interface Subscription extends StateChangeListener {
-
-        @Override
-        void stateChanged(Item item, State oldState, State newState);
+    /**
+     * Removes all subscriptions made through a proxy, e.g. after the accessory of the proxy was replaced by an
+     * accessory with another topology. Subscriptions of other accessories for the same item are kept.
+     *
+     * @param proxyItem proxy whose subscriptions are removed
+     */
+    public void unsubscribeAll(HomekitOHItemProxy proxyItem) {
+        subscriptionsByName.computeIfPresent(proxyItem.getItem().getName(), (name, subscriptions) -> {
+            if (subscriptions.values().removeIf(subscription -> subscription.proxyItem == proxyItem)) {
+                logger.trace("Removed existing subscriptions for {}", name);
+            }
+            return subscriptions.isEmpty() ? null : subscriptions;
+        });
+    }
 
-        @Override
-        default void stateUpdated(Item item, State state) {
-            // Do nothing on non-change update
-        }
+    @Override
+    public Set<String> getSubscribedEventTypes() {
+        return SUBSCRIBED_EVENT_TYPES;
     }
 
-    private static class ItemKey {
-        public final GenericItem item;
-        public final String key;
+    @Override
+    public @Nullable EventFilter getEventFilter() {
+        return null;
+    }
 
-        public ItemKey(GenericItem item, String key) {
-            this.item = item;
-            this.key = key;
+    @Override
+    public void receive(Event event) {
+        if (!(event instanceof ItemStateChangedEvent)) {
+            return;
         }
-
-        @Override
-        public int hashCode() {
-            final int prime = 31;
-            int result = 1;
-            result = prime * result + ((item == null) ? 0 : item.hashCode());
-            result = prime * result + ((key == null) ? 0 : key.hashCode());
-            return result;
+        Map<String, Subscription> subscriptions = subscriptionsByName
+                .get(((ItemStateChangedEvent) event).getItemName());
+        if (subscriptions != null) {
+            subscriptions.values().forEach(subscription -> subscription.callback.changed());
         }
+    }
 
-        @Override
-        public boolean equals(Object obj) {
-            if (this == obj) {
-                return true;
-            }
-            if (obj == null) {
-                return false;
-            }
-            if (getClass() != obj.getClass()) {
-                return false;
-            }
-            ItemKey other = (ItemKey) obj;
-            if (item == null) {
-                if (other.item != null) {
-                    return false;
-                }
-            } else if (!item.equals(other.item)) {
-                return false;
-            }
-            if (key == null) {
-                if (other.key != null) {
-                    return false;
-                }
-            } else if (!key.equals(other.key)) {
-                return false;
-            }
-            return true;
+    private static class Subscription {
+        public final HomekitOHItemProxy proxyItem;
+        public final HomekitCharacteristicChangeCallback callback;
+
+        public Subscription(HomekitOHItemProxy proxyItem, HomekitCharacteristicChangeCallback callback) {
+            this.proxyItem = proxyItem;
+            this.callback = callback;
         }
     }
 }
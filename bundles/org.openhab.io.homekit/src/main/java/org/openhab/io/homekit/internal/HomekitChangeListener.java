@@ -15,15 +15,18 @@ package org.openhab.io.homekit.internal;
 import java.time.Clock;
 import java.time.Duration;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ScheduledExecutorService;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.eclipse.smarthome.core.items.GroupItem;
 import org.eclipse.smarthome.core.items.Item;
@@ -55,11 +58,13 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
     private final HomekitAccessoryRegistry accessoryRegistry = new HomekitAccessoryRegistry();
     private final MetadataRegistry metadataRegistry;
     private final Storage<String> storage;
-    private HomekitAccessoryUpdater updater = new HomekitAccessoryUpdater();
+    private HomekitAccessoryUpdater updater;
     private HomekitSettings settings;
     private int lastAccessoryCount;
 
     private final Set<String> pendingUpdates = new HashSet<>();
+    // topology of the accessories at the time they were created, the items of the accessories may have changed since
+    private final Map<String, String> topologies = new HashMap<>();
 
     private final ScheduledExecutorService scheduler = ThreadPoolManager
             .getScheduledPool(ThreadPoolManager.THREAD_POOL_NAME_COMMON);
@@ -75,8 +80,9 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
     private final Debouncer applyUpdatesDebouncer;
 
     HomekitChangeListener(ItemRegistry itemRegistry, HomekitSettings settings, MetadataRegistry metadataRegistry,
-            StorageService storageService) {
+            StorageService storageService, HomekitAccessoryUpdater updater) {
         this.itemRegistry = itemRegistry;
+        this.updater = updater;
         this.settings = settings;
         this.metadataRegistry = metadataRegistry;
         storage = storageService.getStorage(HomekitAuthInfoImpl.STORAGE_KEY);
@@ -84,7 +90,12 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
                 Clock.systemUTC(), this::applyUpdates);
 
         itemRegistry.addRegistryChangeListener(this);
-        itemRegistry.getItems().forEach(this::createRootAccessories);
+        itemRegistry.getItems().forEach(item -> {
+            final @Nullable HomekitAccessory accessory = createRootAccessories(item);
+            if (accessory != null) {
+                addRootAccessory(item.getName(), accessory);
+            }
+        });
         initialiseRevision();
         logger.info("Created {} HomeKit items.", accessoryRegistry.getAllAccessories().size());
     }
@@ -157,17 +168,44 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
         storage.put(ACCESSORY_COUNT, "" + lastAccessoryCount);
     }
 
+    /**
+     * Rebuilds the accessories of the dirty items. A new configuration revision is only made if the topology of an
+     * accessory changed, e.g. an accessory was added or removed, or got other characteristics, item types or labels.
+     * HomeKit clients keep the characteristics they subscribed to until the revision changes. The characteristics
+     * resolve their items by name, so an accessory whose topology is unchanged is kept and works with the new instances
+     * of its items.
+     */
     private synchronized void applyUpdates() {
         logger.trace("apply updates");
+        boolean accessoryChanged = false;
         for (final String name : pendingUpdates) {
-            accessoryRegistry.remove(name);
             logger.trace(" add items {}", name);
-            getItemOptional(name).ifPresent(this::createRootAccessories);
+            final @Nullable HomekitAccessory newAccessory = getItemOptional(name).map(this::createRootAccessories)
+                    .orElse(null);
+            final @Nullable String newTopology = newAccessory != null
+                    ? HomekitAccessoryFactory.getTopology(newAccessory)
+                    : null;
+            if (Objects.equals(topologies.get(name), newTopology)) {
+                logger.trace(" accessory {} unchanged", name);
+                continue;
+            }
+            logger.trace(" accessory {} changed", name);
+            accessoryChanged = true;
+            final @Nullable HomekitAccessory oldAccessory = accessoryRegistry.getAllAccessories().get(name);
+            accessoryRegistry.remove(name);
+            topologies.remove(name);
+            if (oldAccessory != null) {
+                // the subscriptions of a replaced accessory are not removed by the HomeKit clients
+                HomekitAccessoryFactory.getProxyItems(oldAccessory).forEach(updater::unsubscribeAll);
+            }
+            if (newAccessory != null) {
+                addRootAccessory(name, newAccessory);
+            }
         }
-        if (!pendingUpdates.isEmpty()) {
+        if (accessoryChanged) {
             makeNewConfigurationRevision();
-            pendingUpdates.clear();
         }
+        pendingUpdates.clear();
     }
 
     @Override
@@ -237,26 +275,43 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
      * Switch light "Light" (gLight) {homekit="Lighting.OnState"}
      *
      * @param item openHAB item
+     * @return the accessory to register for the item, or null if the item is no root accessory
      */
-    private void createRootAccessories(Item item) {
+    private @Nullable HomekitAccessory createRootAccessories(Item item) {
         final List<Entry<HomekitAccessoryType, HomekitCharacteristicType>> accessoryTypes = HomekitAccessoryFactory
                 .getAccessoryTypes(item, metadataRegistry);
+        if (accessoryTypes.isEmpty()) {
+            // most items are no HomeKit accessory, do not look up their groups
+            return null;
+        }
+        @Nullable
+        HomekitAccessory accessory = null;
         final List<GroupItem> groups = HomekitAccessoryFactory.getAccessoryGroups(item, itemRegistry, metadataRegistry);
-        if (!accessoryTypes.isEmpty()
-                && (groups.isEmpty() || groups.stream().noneMatch(g -> g.getBaseItem() == null))) {
+        if (groups.isEmpty() || groups.stream().noneMatch(g -> g.getBaseItem() == null)) {
             logger.trace("Item {} is a HomeKit accessory of types {}", item.getName(), accessoryTypes);
-            final HomekitOHItemProxy itemProxy = new HomekitOHItemProxy(item);
-            accessoryTypes.forEach(rootAccessory -> createRootAccessory(new HomekitTaggedItem(itemProxy,
-                    rootAccessory.getKey(), HomekitAccessoryFactory.getItemConfiguration(item, metadataRegistry))));
+            final HomekitOHItemProxy itemProxy = new HomekitOHItemProxy(item, itemRegistry);
+            for (Entry<HomekitAccessoryType, HomekitCharacteristicType> rootAccessory : accessoryTypes) {
+                final @Nullable HomekitAccessory createdAccessory = createRootAccessory(new HomekitTaggedItem(itemProxy,
+                        rootAccessory.getKey(), HomekitAccessoryFactory.getItemConfiguration(item, metadataRegistry)));
+                if (createdAccessory != null) {
+                    accessory = createdAccessory;
+                }
+            }
         }
+        return accessory;
     }
 
-    private void createRootAccessory(HomekitTaggedItem taggedItem) {
+    private @Nullable HomekitAccessory createRootAccessory(HomekitTaggedItem taggedItem) {
         try {
-            accessoryRegistry.addRootAccessory(taggedItem.getName(),
-                    HomekitAccessoryFactory.create(taggedItem, metadataRegistry, updater, settings));
+            return HomekitAccessoryFactory.create(taggedItem, metadataRegistry, updater, settings);
         } catch (HomekitException e) {
             logger.warn("Could not add device {}: {}", taggedItem.getItem().getUID(), e.getMessage());
+            return null;
         }
     }
+
+    private void addRootAccessory(String name, HomekitAccessory accessory) {
+        accessoryRegistry.addRootAccessory(name, accessory);
+        topologies.put(name, HomekitAccessoryFactory.getTopology(accessory));
+    }
 }
@@ -73,10 +73,12 @@ public class HomekitImpl implements Homekit {
     @Activate
     public HomekitImpl(@Reference StorageService storageService, @Reference ItemRegistry itemRegistry,
             @Reference NetworkAddressService networkAddressService, Map<String, Object> config,
-            @Reference MetadataRegistry metadataRegistry) throws IOException, InvalidAlgorithmParameterException {
+            @Reference MetadataRegistry metadataRegistry, @Reference HomekitAccessoryUpdater updater)
+            throws IOException, InvalidAlgorithmParameterException {
         this.networkAddressService = networkAddressService;
         this.settings = processConfig(config);
-        this.changeListener = new HomekitChangeListener(itemRegistry, settings, metadataRegistry, storageService);
+        this.changeListener = new HomekitChangeListener(itemRegistry, settings, metadataRegistry, storageService,
+                updater);
         authInfo = new HomekitAuthInfoImpl(storageService.getStorage(HomekitAuthInfoImpl.STORAGE_KEY), settings.pin);
         startHomekitServer();
     }
@@ -26,6 +26,7 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.eclipse.smarthome.core.items.Item;
+import org.eclipse.smarthome.core.items.ItemRegistry;
 import org.eclipse.smarthome.core.library.items.ColorItem;
 import org.eclipse.smarthome.core.library.items.DimmerItem;
 import org.eclipse.smarthome.core.library.types.DecimalType;
@@ -49,7 +50,9 @@ import org.slf4j.LoggerFactory;
 public class HomekitOHItemProxy {
     private final Logger logger = LoggerFactory.getLogger(HomekitOHItemProxy.class);
     private static final int DEFAULT_DELAY = 50; // in ms
-    private final Item item;
+    // instance of the item the proxy was created for
+    private final Item initialItem;
+    private final @Nullable ItemRegistry itemRegistry;
     private final Map<HomekitCommandType, State> commandCache = new ConcurrentHashMap<>();
     private final ScheduledExecutorService scheduler = ThreadPoolManager
             .getScheduledPool(ThreadPoolManager.THREAD_POOL_NAME_COMMON);
@@ -59,11 +62,35 @@ public class HomekitOHItemProxy {
     private int delay = DEFAULT_DELAY;
 
     public HomekitOHItemProxy(Item item) {
-        this.item = item;
+        this(item, null);
+    }
+
+    /**
+     * create a proxy that resolves the item by its name, so that the proxy keeps working with the current instance of
+     * the item after the item was updated in the registry.
+     *
+     * @param item item the proxy is created for
+     * @param itemRegistry registry to look up the current instance of the item
+     */
+    public HomekitOHItemProxy(Item item, @Nullable ItemRegistry itemRegistry) {
+        this.initialItem = item;
+        this.itemRegistry = itemRegistry;
     }
 
     public Item getItem() {
-        return item;
+        final ItemRegistry itemRegistry = this.itemRegistry;
+        if (itemRegistry != null) {
+            @Nullable
+            final Item currentItem = itemRegistry.get(initialItem.getName());
+            if (currentItem != null) {
+                return currentItem;
+            }
+        }
+        return initialItem;
+    }
+
+    public @Nullable ItemRegistry getItemRegistry() {
+        return itemRegistry;
     }
 
     public void setDimmerMode(HomekitDimmerMode mode) {
@@ -76,6 +103,7 @@ public class HomekitOHItemProxy {
 
     @SuppressWarnings("null")
     private void sendCommand() {
+        final Item item = getItem();
         if (!(item instanceof DimmerItem)) {
             // currently supports only DimmerItem and ColorItem (which extends DimmerItem)
             logger.debug("unexpected item type {}. Only DimmerItem and ColorItem are supported.", item);
@@ -133,7 +161,7 @@ public class HomekitOHItemProxy {
         logger.trace("add command to command cache: item {}, command type {}, command state {}. cache state after: {}",
                 this, commandType, state, commandCache);
         // if cache has already HUE+SATURATION or BRIGHTNESS+ON then we don't expect any further relevant command
-        if (((item instanceof ColorItem) && commandCache.containsKey(HUE_COMMAND)
+        if (((getItem() instanceof ColorItem) && commandCache.containsKey(HUE_COMMAND)
                 && commandCache.containsKey(SATURATION_COMMAND))
                 || (commandCache.containsKey(BRIGHTNESS_COMMAND) && commandCache.containsKey(ON_COMMAND))) {
             if (future != null) {
@@ -113,6 +113,10 @@ abstract class AbstractHomekitAccessoryImpl implements HomekitAccessory {
         return accessory;
     }
 
+    public List<HomekitTaggedItem> getCharacteristics() {
+        return characteristics;
+    }
+
     public Collection<Service> getServices() {
         return this.services;
     }
@@ -130,7 +134,7 @@ abstract class AbstractHomekitAccessoryImpl implements HomekitAccessory {
             HomekitCharacteristicChangeCallback callback) {
         final Optional<HomekitTaggedItem> characteristic = getCharacteristic(characteristicType);
         if (characteristic.isPresent()) {
-            getUpdater().subscribe((GenericItem) characteristic.get().getItem(), characteristicType.getTag(), callback);
+            getUpdater().subscribe(characteristic.get().getProxyItem(), characteristicType.getTag(), callback);
         } else {
             logger.warn("Missing mandatory characteristic {}", characteristicType);
         }
@@ -140,7 +144,7 @@ abstract class AbstractHomekitAccessoryImpl implements HomekitAccessory {
     protected void unsubscribe(HomekitCharacteristicType characteristicType) {
         final Optional<HomekitTaggedItem> characteristic = getCharacteristic(characteristicType);
         if (characteristic.isPresent()) {
-            getUpdater().unsubscribe((GenericItem) characteristic.get().getItem(), characteristicType.getTag());
+            getUpdater().unsubscribe(characteristic.get().getProxyItem(), characteristicType.getTag());
         } else {
             logger.warn("Missing mandatory characteristic {}", characteristicType);
         }
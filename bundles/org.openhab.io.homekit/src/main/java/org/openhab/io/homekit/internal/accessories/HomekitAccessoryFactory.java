@@ -21,10 +21,13 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -208,6 +211,56 @@ public class HomekitAccessoryFactory {
         }
     }
 
+    /**
+     * return the topology of a HomeKit accessory, i.e. everything HomeKit clients keep until the configuration
+     * revision changes: the accessory id, its services and characteristics and the names, types, labels and
+     * configuration of the items they are created from. Item states are not part of the topology.
+     * 
+     * @param accessory HomeKit accessory
+     * @return topology to compare with the topology of a rebuilt accessory
+     */
+    public static String getTopology(HomekitAccessory accessory) {
+        final StringBuilder topology = new StringBuilder().append(accessory.getId());
+        if (accessory instanceof AbstractHomekitAccessoryImpl) {
+            final AbstractHomekitAccessoryImpl accessoryImpl = (AbstractHomekitAccessoryImpl) accessory;
+            appendTopology(topology, accessoryImpl.getRootAccessory());
+            accessoryImpl.getCharacteristics().forEach(characteristic -> appendTopology(topology, characteristic));
+        }
+        for (Service service : accessory.getServices()) {
+            topology.append('|').append(service.getType());
+            for (Characteristic characteristic : service.getCharacteristics()) {
+                topology.append(',').append(characteristic.getClass().getName());
+            }
+        }
+        return topology.toString();
+    }
+
+    private static void appendTopology(StringBuilder topology, HomekitTaggedItem taggedItem) {
+        final @Nullable Map<String, Object> configuration = taggedItem.getConfiguration();
+        topology.append('|').append(taggedItem.getAccessoryType().getTag()).append('.')
+                .append(taggedItem.getCharacteristicType().getTag()).append('=').append(taggedItem.getName())
+                .append(':').append(taggedItem.getItem().getType()).append('"')
+                .append(taggedItem.getItem().getLabel()).append('"')
+                .append(configuration != null ? new TreeMap<>(configuration) : "");
+    }
+
+    /**
+     * return the proxies of the items a HomeKit accessory was created from, i.e. the proxies the characteristics of the
+     * accessory subscribe with.
+     *
+     * @param accessory HomeKit accessory
+     * @return proxies of the items of the accessory
+     */
+    public static Set<HomekitOHItemProxy> getProxyItems(HomekitAccessory accessory) {
+        final Set<HomekitOHItemProxy> proxyItems = Collections.newSetFromMap(new IdentityHashMap<>());
+        if (accessory instanceof AbstractHomekitAccessoryImpl) {
+            final AbstractHomekitAccessoryImpl accessoryImpl = (AbstractHomekitAccessoryImpl) accessory;
+            proxyItems.add(accessoryImpl.getRootAccessory().getProxyItem());
+            accessoryImpl.getCharacteristics().forEach(characteristic -> proxyItems.add(characteristic.getProxyItem()));
+        }
+        return proxyItems;
+    }
+
     /**
      * return HomeKit accessory types for a OH item based on meta data
      * 
@@ -322,7 +375,7 @@ public class HomekitAccessoryFactory {
         // check whether we adding characteristic to the main item, and if yes, use existing item proxy.
         // if we adding no to the main item (typical for groups), create new proxy item.
         final HomekitOHItemProxy itemProxy = mainItem.getItem().equals(item) ? mainItem.getProxyItem()
-                : new HomekitOHItemProxy(item);
+                : new HomekitOHItemProxy(item, mainItem.getProxyItem().getItemRegistry());
         // an item can have several tags, e.g. "ActiveStatus, InUse". we iterate here over all his tags
         for (Entry<HomekitAccessoryType, HomekitCharacteristicType> accessory : getAccessoryTypes(item,
                 metadataRegistry)) {
@@ -369,7 +422,7 @@ public class HomekitAccessoryFactory {
             try {
                 // check whether a proxyItem already exists, if not create one.
                 final HomekitOHItemProxy proxyItem = proxyItems.computeIfAbsent(item.getUID(),
-                        k -> new HomekitOHItemProxy(item));
+                        k -> new HomekitOHItemProxy(item, taggedItem.getProxyItem().getItemRegistry()));
                 final HomekitTaggedItem optionalItem = new HomekitTaggedItem(proxyItem,
                         accessory.getRootAccessory().getAccessoryType(), type,
                         accessory.getRootAccessory().getRootDeviceGroupItem(),
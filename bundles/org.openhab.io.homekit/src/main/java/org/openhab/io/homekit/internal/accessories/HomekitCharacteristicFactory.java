@@ -24,7 +24,6 @@ import java.util.function.Supplier;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
-import org.eclipse.smarthome.core.items.GenericItem;
 import org.eclipse.smarthome.core.items.Item;
 import org.eclipse.smarthome.core.library.items.ColorItem;
 import org.eclipse.smarthome.core.library.items.DimmerItem;
@@ -265,12 +264,12 @@ public class HomekitCharacteristicFactory {
 
     protected static Consumer<HomekitCharacteristicChangeCallback> getSubscriber(HomekitTaggedItem taggedItem,
             HomekitCharacteristicType key, HomekitAccessoryUpdater updater) {
-        return (callback) -> updater.subscribe((GenericItem) taggedItem.getItem(), key.getTag(), callback);
+        return (callback) -> updater.subscribe(taggedItem.getProxyItem(), key.getTag(), callback);
     }
 
     protected static Runnable getUnsubscriber(HomekitTaggedItem taggedItem, HomekitCharacteristicType key,
             HomekitAccessoryUpdater updater) {
-        return () -> updater.unsubscribe((GenericItem) taggedItem.getItem(), key.getTag());
+        return () -> updater.unsubscribe(taggedItem.getProxyItem(), key.getTag());
     }
 
     // create method for characteristic
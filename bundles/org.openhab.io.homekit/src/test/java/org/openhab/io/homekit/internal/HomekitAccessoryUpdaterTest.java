@@ -0,0 +1,99 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.homekit.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.eclipse.smarthome.core.items.events.ItemEventFactory;
+import org.eclipse.smarthome.core.library.items.SwitchItem;
+import org.eclipse.smarthome.core.library.types.OnOffType;
+import org.junit.Test;
+
+/**
+ * Tests of the subscription index of {@link HomekitAccessoryUpdater}
+ *
+ * @author agent - Initial contribution
+ */
+public class HomekitAccessoryUpdaterTest {
+
+    private final HomekitAccessoryUpdater updater = new HomekitAccessoryUpdater();
+    private final Set<String> notified = new HashSet<>();
+
+    private Set<String> set(String... names) {
+        return new HashSet<>(Arrays.asList(names));
+    }
+
+    private HomekitOHItemProxy proxy(String itemName) {
+        return new HomekitOHItemProxy(new SwitchItem(itemName));
+    }
+
+    private void changed(String itemName) {
+        updater.receive(ItemEventFactory.createStateChangedEvent(itemName, OnOffType.ON, OnOffType.OFF));
+    }
+
+    @Test
+    public void testSubscriptionsAreNotifiedByItemName() {
+        updater.subscribe(proxy("light"), () -> notified.add("light"));
+        updater.subscribe(proxy("light"), "brightness", () -> notified.add("light.brightness"));
+        updater.subscribe(proxy("fan"), () -> notified.add("fan"));
+
+        changed("light");
+        assertThat(notified, is(equalTo(set("light", "light.brightness"))));
+        notified.clear();
+        changed("other");
+        assertThat(notified.isEmpty(), is(true));
+        updater.receive(ItemEventFactory.createGroupStateChangedEvent("fan", "member", OnOffType.ON, OnOffType.OFF));
+        assertThat(notified, is(equalTo(set("fan"))));
+    }
+
+    @Test
+    public void testUnsubscribeKeepsSubscriptionOfNewAccessory() {
+        HomekitOHItemProxy oldProxy = proxy("light");
+        HomekitOHItemProxy newProxy = proxy("light");
+        updater.subscribe(oldProxy, "on", () -> notified.add("old"));
+        updater.subscribe(newProxy, "on", () -> notified.add("new"));
+
+        // the old accessory unsubscribes after the rebuilt accessory subscribed for the same item
+        updater.unsubscribe(oldProxy, "on");
+        changed("light");
+        assertThat(notified, is(equalTo(set("new"))));
+
+        notified.clear();
+        updater.unsubscribe(newProxy, "on");
+        changed("light");
+        assertThat(notified.isEmpty(), is(true));
+    }
+
+    @Test
+    public void testUnsubscribeAllRemovesStaleSubscriptions() {
+        HomekitOHItemProxy oldProxy = proxy("light");
+        HomekitOHItemProxy newProxy = proxy("light");
+        updater.subscribe(oldProxy, () -> notified.add("old"));
+        updater.subscribe(oldProxy, "brightness", () -> notified.add("old.brightness"));
+        updater.subscribe(newProxy, "hue", () -> notified.add("new.hue"));
+
+        updater.unsubscribeAll(oldProxy);
+        changed("light");
+        assertThat(notified, is(equalTo(set("new.hue"))));
+
+        notified.clear();
+        updater.unsubscribeAll(newProxy);
+        changed("light");
+        assertThat(notified.isEmpty(), is(true));
+    }
+}
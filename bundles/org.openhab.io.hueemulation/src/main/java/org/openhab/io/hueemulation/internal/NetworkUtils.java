@@ -20,6 +20,8 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.ResponseBuilder;
 import javax.ws.rs.core.UriInfo;
@@ -114,6 +116,23 @@ public class NetworkUtils {
         return Response.status(httpCode).entity(str).build();
     }
 
+    /**
+     * Creates a json response with an ETag of the given json. Answers with "304 Not Modified" instead, if the
+     * request has a matching If-None-Match header.
+     *
+     * @param request The original request
+     * @param json The json to respond with
+     * @return
+     */
+    public static Response okWithETag(Request request, String json) {
+        EntityTag etag = new EntityTag(Integer.toHexString(json.hashCode()) + "-" + Integer.toHexString(json.length()));
+        ResponseBuilder response = request.evaluatePreconditions(etag);
+        if (response == null) {
+            response = Response.ok(json);
+        }
+        return response.tag(etag).build();
+    }
+
     public static Response singleSuccess(Gson gson, String message, String uriPart) {
         List<HueResponse> responses = new ArrayList<>();
         responses.add(new HueResponse(new HueSuccessGeneric(message, uriPart)));
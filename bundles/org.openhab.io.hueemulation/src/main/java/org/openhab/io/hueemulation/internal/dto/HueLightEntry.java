@@ -13,16 +13,19 @@
 package org.openhab.io.hueemulation.internal.dto;
 
 import java.lang.reflect.Type;
+import java.util.Objects;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.items.GenericItem;
 import org.eclipse.smarthome.core.library.items.StringItem;
 import org.eclipse.smarthome.core.types.Command;
+import org.eclipse.smarthome.core.types.State;
 import org.openhab.io.hueemulation.internal.DeviceType;
 import org.openhab.io.hueemulation.internal.StateUtils;
 import org.openhab.io.hueemulation.internal.dto.changerequest.HueStateChange;
 
+import com.google.gson.Gson;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonSerializationContext;
 import com.google.gson.JsonSerializer;
@@ -57,6 +60,14 @@ public class HueLightEntry {
     public transient @Nullable Command lastCommand = null;
     public transient @Nullable HueStateChange lastHueChange = null;
 
+    /** The serialized light and what it was serialized from, see {@link #toJson(Gson)} */
+    private transient @Nullable String json;
+    private transient @Nullable GenericItem jsonItem;
+    private transient @Nullable State jsonItemState;
+    private transient @Nullable String jsonLabel;
+    private transient @Nullable Command jsonLastCommand;
+    private transient @Nullable HueStateChange jsonLastHueChange;
+
     public static class Config {
         public final String archetype = "classicbulb";
         public final String function = "functional";
@@ -181,6 +192,33 @@ public class HueLightEntry {
         }
     }
 
+    /**
+     * Returns the JSON representation of this light.
+     * <p>
+     * The JSON is kept and only serialized again if the item, its state or label or the last command
+     * changed since. Hue clients poll all lights every few seconds, while most lights do not change in between.
+     *
+     * @param gson The Gson instance with the {@link Serializer} registered
+     * @return The serialized light
+     */
+    public synchronized String toJson(Gson gson) {
+        GenericItem item = this.item;
+        State itemState = item.getState();
+        String label = item.getLabel();
+        String json = this.json;
+        if (json == null || jsonItem != item || !itemState.equals(jsonItemState) || !Objects.equals(label, jsonLabel)
+                || jsonLastCommand != lastCommand || jsonLastHueChange != lastHueChange) {
+            json = gson.toJson(this);
+            this.json = json;
+            jsonItem = item;
+            jsonItemState = itemState;
+            jsonLabel = label;
+            jsonLastCommand = lastCommand;
+            jsonLastHueChange = lastHueChange;
+        }
+        return json;
+    }
+
     /**
      * Replaces the associated openHAB item of this hue device with the given once
      * and also synchronizes/updates the color information of this hue device with the item.
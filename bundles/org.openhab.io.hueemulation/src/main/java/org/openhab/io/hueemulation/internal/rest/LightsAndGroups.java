@@ -14,6 +14,7 @@ package org.openhab.io.hueemulation.internal.rest;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -27,6 +28,7 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
 
@@ -113,6 +115,36 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
     @Reference(policy = ReferencePolicy.DYNAMIC, cardinality = ReferenceCardinality.OPTIONAL)
     protected volatile @Nullable EventPublisher eventPublisher;
 
+    /** The last response of all lights, reused as long as no light changed */
+    private volatile @Nullable AllLightsResponse allLightsResponse;
+
+    private static class AllLightsResponse {
+        final List<String> ids;
+        final List<String> lights;
+        final String json;
+
+        AllLightsResponse(List<String> ids, List<String> lights, String json) {
+            this.ids = ids;
+            this.lights = lights;
+            this.json = json;
+        }
+
+        /**
+         * The JSON of each light is kept by the light itself, so an unchanged light returns the same instance.
+         */
+        boolean isValidFor(List<String> ids, List<String> lights) {
+            if (!this.ids.equals(ids)) {
+                return false;
+            }
+            for (int i = 0; i < lights.size(); ++i) {
+                if (this.lights.get(i) != lights.get(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
     /**
      * Registers to the {@link ItemRegistry} and enumerates currently existing items.
      */
@@ -239,16 +271,47 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
         hueDevice.updateItem(element);
     }
 
+    /**
+     * Assembles the JSON of all lights from the JSON of each light, see {@link HueLightEntry#toJson}.
+     */
+    private String allLightsJson() {
+        List<String> ids = new ArrayList<>(cs.ds.lights.size());
+        List<String> lights = new ArrayList<>(cs.ds.lights.size());
+        for (Map.Entry<String, HueLightEntry> entry : cs.ds.lights.entrySet()) {
+            ids.add(entry.getKey());
+            lights.add(entry.getValue().toJson(cs.gson));
+        }
+
+        AllLightsResponse response = allLightsResponse;
+        if (response != null && response.isValidFor(ids, lights)) {
+            return response.json;
+        }
+
+        StringBuilder json = new StringBuilder("{");
+        for (int i = 0; i < ids.size(); ++i) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append(cs.gson.toJson(ids.get(i))).append(':').append(lights.get(i));
+        }
+        json.append('}');
+
+        response = new AllLightsResponse(ids, lights, json.toString());
+        allLightsResponse = response;
+        return response.json;
+    }
+
     @GET
     @Path("{username}/lights")
     @ApiOperation(value = "Return all lights")
-    @ApiResponses(value = { @ApiResponse(code = 200, message = "OK") })
-    public Response getAllLightsApi(@Context UriInfo uri,
+    @ApiResponses(value = { @ApiResponse(code = 200, message = "OK"),
+            @ApiResponse(code = 304, message = "Not modified") })
+    public Response getAllLightsApi(@Context UriInfo uri, @Context Request request,
             @PathParam("username") @ApiParam(value = "username") String username) {
         if (!userManagement.authorizeUser(username)) {
             return NetworkUtils.singleError(cs.gson, uri, HueResponse.UNAUTHORIZED, "Not Authorized");
         }
-        return Response.ok(cs.gson.toJson(cs.ds.lights)).build();
+        return NetworkUtils.okWithETag(request, allLightsJson());
     }
 
     @GET
@@ -278,14 +341,16 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
     @GET
     @Path("{username}/lights/{id}")
     @ApiOperation(value = "Return a light")
-    @ApiResponses(value = { @ApiResponse(code = 200, message = "OK") })
-    public Response getLightApi(@Context UriInfo uri, //
+    @ApiResponses(value = { @ApiResponse(code = 200, message = "OK"),
+            @ApiResponse(code = 304, message = "Not modified") })
+    public Response getLightApi(@Context UriInfo uri, @Context Request request, //
             @PathParam("username") @ApiParam(value = "username") String username,
             @PathParam("id") @ApiParam(value = "light id") String id) {
         if (!userManagement.authorizeUser(username)) {
             return NetworkUtils.singleError(cs.gson, uri, HueResponse.UNAUTHORIZED, "Not Authorized");
         }
-        return Response.ok(cs.gson.toJson(cs.ds.lights.get(id))).build();
+        HueLightEntry hueDevice = cs.ds.lights.get(id);
+        return NetworkUtils.okWithETag(request, hueDevice != null ? hueDevice.toJson(cs.gson) : cs.gson.toJson(null));
     }
 
     @SuppressWarnings({ "null", "unused" })
@@ -437,26 +502,28 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
     @GET
     @Path("{username}/groups")
     @ApiOperation(value = "Return all groups")
-    @ApiResponses(value = { @ApiResponse(code = 200, message = "OK") })
-    public Response getAllGroupsApi(@Context UriInfo uri,
+    @ApiResponses(value = { @ApiResponse(code = 200, message = "OK"),
+            @ApiResponse(code = 304, message = "Not modified") })
+    public Response getAllGroupsApi(@Context UriInfo uri, @Context Request request,
             @PathParam("username") @ApiParam(value = "username") String username) {
         if (!userManagement.authorizeUser(username)) {
             return NetworkUtils.singleError(cs.gson, uri, HueResponse.UNAUTHORIZED, "Not Authorized");
         }
-        return Response.ok(cs.gson.toJson(cs.ds.groups)).build();
+        return NetworkUtils.okWithETag(request, cs.gson.toJson(cs.ds.groups));
     }
 
     @GET
     @Path("{username}/groups/{id}")
     @ApiOperation(value = "Return a group")
-    @ApiResponses(value = { @ApiResponse(code = 200, message = "OK") })
-    public Response getGroupApi(@Context UriInfo uri, //
+    @ApiResponses(value = { @ApiResponse(code = 200, message = "OK"),
+            @ApiResponse(code = 304, message = "Not modified") })
+    public Response getGroupApi(@Context UriInfo uri, @Context Request request, //
             @PathParam("username") @ApiParam(value = "username") String username,
             @PathParam("id") @ApiParam(value = "group id") String id) {
         if (!userManagement.authorizeUser(username)) {
             return NetworkUtils.singleError(cs.gson, uri, HueResponse.UNAUTHORIZED, "Not Authorized");
         }
-        return Response.ok(cs.gson.toJson(cs.ds.groups.get(id))).build();
+        return NetworkUtils.okWithETag(request, cs.gson.toJson(cs.ds.groups.get(id)));
     }
 
     @SuppressWarnings({ "null", "unused" })
@@ -20,18 +20,20 @@ import java.net.URL;
 import java.net.URLEncoder;
 import java.nio.ByteBuffer;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.jetty.client.HttpClient;
 import org.eclipse.jetty.client.api.Request;
 import org.eclipse.jetty.client.api.Request.FailureListener;
 import org.eclipse.jetty.client.api.Response;
-import org.eclipse.jetty.client.api.Response.ContentListener;
+import org.eclipse.jetty.client.api.Response.AsyncContentListener;
 import org.eclipse.jetty.client.api.Response.HeadersListener;
 import org.eclipse.jetty.client.api.Result;
 import org.eclipse.jetty.client.util.BytesContentProvider;
@@ -40,6 +42,7 @@ import org.eclipse.jetty.http.HttpFields;
 import org.eclipse.jetty.http.HttpMethod;
 import org.eclipse.jetty.http.HttpStatus;
 import org.eclipse.jetty.util.BufferUtil;
+import org.eclipse.jetty.util.Callback;
 import org.eclipse.jetty.util.URIUtil;
 import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.json.JSONException;
@@ -53,6 +56,8 @@ import io.socket.client.Manager;
 import io.socket.client.Socket;
 import io.socket.emitter.Emitter;
 import io.socket.engineio.client.Transport;
+import okhttp3.OkHttpClient;
+import okhttp3.WebSocket;
 
 /**
  * This class provides communication between openHAB and the openHAB Cloud service.
@@ -67,6 +72,19 @@ import io.socket.engineio.client.Transport;
  */
 
 public class CloudClient {
+    private static final String THREADPOOL_OPENHABCLOUD = "openhabcloud";
+
+    /*
+     * Item updates are collected for this period and only the last update of each item is sent
+     */
+    private static final int ITEM_UPDATE_INTERVAL_MS = 100;
+
+    /*
+     * Proxied response content is not read from openHAB while more than this was emitted to the openHAB Cloud, but
+     * is not written to the network yet
+     */
+    private static final int MAX_UNFLUSHED_PROXY_BYTES = 256 * 1024;
+
     /*
      * Logger for this class
      */
@@ -98,9 +116,33 @@ public class CloudClient {
     private final HttpClient jettyClient;
 
     /*
-     * This hashmap holds HTTP requests to local openHAB which are currently running
+     * This map holds HTTP requests to local openHAB which are currently running
      */
-    private Map<Integer, Request> runningRequests;
+    private final Map<Integer, Request> runningRequests = new ConcurrentHashMap<>();
+
+    /*
+     * This variable holds the number of response content bytes proxied to the openHAB Cloud
+     */
+    private final AtomicLong proxiedBytes = new AtomicLong();
+
+    private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool(THREADPOOL_OPENHABCLOUD);
+
+    /*
+     * This variable holds the OkHttp client which creates the WebSocket of the Socket.IO connection
+     */
+    private final OkHttpClient okHttpClient = new OkHttpClient();
+
+    /*
+     * This variable holds back proxied response content while the openHAB Cloud connection is busy
+     */
+    private final ProxyContentFlowControl proxyFlowControl = new ProxyContentFlowControl(MAX_UNFLUSHED_PROXY_BYTES,
+            scheduler);
+
+    /*
+     * This variable collects the item updates, which are not sent yet
+     */
+    private final ItemUpdateBatcher itemUpdates = new ItemUpdateBatcher(scheduler, ITEM_UPDATE_INTERVAL_MS,
+            this::sendItemUpdates);
 
     /*
      * This variable indicates if connection to the openHAB Cloud is currently in an established state
@@ -147,7 +189,6 @@ public class CloudClient {
         this.localBaseUrl = localBaseUrl;
         this.remoteAccessEnabled = remoteAccessEnabled;
         this.exposedItems = exposedItems;
-        runningRequests = new HashMap<>();
         this.jettyClient = httpClient;
     }
 
@@ -157,7 +198,14 @@ public class CloudClient {
 
     public void connect() {
         try {
-            socket = IO.socket(baseURL);
+            IO.Options options = new IO.Options();
+            // The WebSocket is needed to know how much of the emitted content is not written yet
+            options.webSocketFactory = (request, webSocketListener) -> {
+                WebSocket webSocket = okHttpClient.newWebSocket(request, webSocketListener);
+                proxyFlowControl.setWebSocket(webSocket);
+                return webSocket;
+            };
+            socket = IO.socket(baseURL, options);
             URL parsed = new URL(baseURL);
             protocol = parsed.getProtocol();
         } catch (URISyntaxException e) {
@@ -183,6 +231,13 @@ public class CloudClient {
                         headers.put("remoteaccess", Arrays.asList(((Boolean) remoteAccessEnabled).toString()));
                     }
                 });
+                transport.on(Transport.EVENT_DRAIN, new Emitter.Listener() {
+                    @Override
+                    public void call(Object... args) {
+                        logger.trace("Transport.EVENT_DRAIN");
+                        proxyFlowControl.transportDrained();
+                    }
+                });
             }
         });
         socket.on(Socket.EVENT_CONNECT, new Emitter.Listener() {
@@ -242,9 +297,10 @@ public class CloudClient {
                 this.localBaseUrl);
         isConnected = false;
         // And clean up the list of running requests
-        if (runningRequests != null) {
-            runningRequests.clear();
-        }
+        runningRequests.clear();
+        // The content will not be written anymore, abort the responses waiting for the transport
+        proxyFlowControl.fail(new IOException("Disconnected from the openHAB Cloud service"));
+        itemUpdates.clear();
     }
 
     /**
@@ -335,10 +391,11 @@ public class CloudClient {
                 return;
             }
             ResponseListener listener = new ResponseListener(requestId);
-            request.onResponseHeaders(listener).onResponseContent(listener).onRequestFailure(listener).send(listener);
-            // If successfully submitted request to http client, add it to the list of currently
-            // running requests to be able to cancel it if needed
+            // Add the request to the list of currently running requests before it is sent, to be able to cancel it if
+            // needed. It is removed again when it is complete.
             runningRequests.put(requestId, request);
+            request.onResponseHeaders(listener).onResponseContentAsync(listener).onRequestFailure(listener)
+                    .send(listener);
         } catch (JSONException | IOException | URISyntaxException e) {
             logger.debug("{}", e.getMessage());
         }
@@ -368,10 +425,9 @@ public class CloudClient {
             int requestId = data.getInt("id");
             logger.debug("Received cancel for request {}", requestId);
             // Find and abort running request
-            if (runningRequests.containsKey(requestId)) {
-                Request request = runningRequests.get(requestId);
+            Request request = runningRequests.remove(requestId);
+            if (request != null) {
                 request.abort(new InterruptedException());
-                runningRequests.remove(requestId);
             }
         } catch (JSONException e) {
             logger.debug("{}", e.getMessage());
@@ -469,7 +525,8 @@ public class CloudClient {
     }
 
     /**
-     * Send item update to openHAB Cloud
+     * Send item update to openHAB Cloud. The updates are collected and sent in batches, an update replaces a
+     * pending update of the same item.
      *
      * @param itemName the name of the item
      * @param itemState updated item state
@@ -477,17 +534,27 @@ public class CloudClient {
      */
     public void sendItemUpdate(String itemName, String itemState) {
         if (isConnected()) {
-            logger.debug("Sending update '{}' for item '{}'", itemState, itemName);
+            itemUpdates.add(itemName, itemState);
+        } else {
+            logger.debug("No connection, Item update is not sent");
+        }
+    }
+
+    private void sendItemUpdates(Map<String, String> updates) {
+        if (!isConnected()) {
+            logger.debug("No connection, {} Item updates are not sent", updates.size());
+            return;
+        }
+        for (Map.Entry<String, String> itemUpdate : updates.entrySet()) {
+            logger.debug("Sending update '{}' for item '{}'", itemUpdate.getValue(), itemUpdate.getKey());
             JSONObject itemUpdateMessage = new JSONObject();
             try {
-                itemUpdateMessage.put("itemName", itemName);
-                itemUpdateMessage.put("itemStatus", itemState);
+                itemUpdateMessage.put("itemName", itemUpdate.getKey());
+                itemUpdateMessage.put("itemStatus", itemUpdate.getValue());
                 socket.emit("itemupdate", itemUpdateMessage);
             } catch (JSONException e) {
                 logger.debug("{}", e.getMessage());
             }
-        } else {
-            logger.debug("No connection, Item update is not sent");
         }
     }
 
@@ -506,6 +573,20 @@ public class CloudClient {
         socket.disconnect();
     }
 
+    /**
+     * Returns the number of requests from the openHAB Cloud, which are currently proxied to openHAB
+     */
+    public int getRunningRequestCount() {
+        return runningRequests.size();
+    }
+
+    /**
+     * Returns the number of response content bytes, which were proxied to the openHAB Cloud
+     */
+    public long getProxiedBytes() {
+        return proxiedBytes.get();
+    }
+
     public String getOpenHABVersion() {
         return openHABVersion;
     }
@@ -522,9 +603,8 @@ public class CloudClient {
      * An internal class which forwards response headers and data back to the openHAB Cloud
      */
     private class ResponseListener
-            implements Response.CompleteListener, HeadersListener, ContentListener, FailureListener {
+            implements Response.CompleteListener, HeadersListener, AsyncContentListener, FailureListener {
 
-        private static final String THREADPOOL_OPENHABCLOUD = "openhabcloud";
         private int mRequestId;
         private boolean mHeadersSent = false;
 
@@ -566,12 +646,13 @@ public class CloudClient {
              * can receive responseFinished before the headers or content are received and I
              * cannot find another workaround to prevent it.
              */
-            ThreadPoolManager.getScheduledPool(THREADPOOL_OPENHABCLOUD).schedule(() -> {
+            scheduler.schedule(() -> {
                 JSONObject responseJson = new JSONObject();
                 try {
                     responseJson.put("id", mRequestId);
                     socket.emit("responseFinished", responseJson);
-                    logger.debug("Finished responding to request {}", mRequestId);
+                    logger.debug("Finished responding to request {} ({} requests running, {} bytes proxied)",
+                            mRequestId, runningRequests.size(), proxiedBytes.get());
                 } catch (JSONException e) {
                     logger.debug("{}", e.getMessage());
                 }
@@ -591,8 +672,10 @@ public class CloudClient {
         }
 
         @Override
-        public void onContent(Response response, ByteBuffer content) {
-            logger.debug("Jetty received response content of size {}", String.valueOf(content.remaining()));
+        public void onContent(Response response, ByteBuffer content, Callback callback) {
+            int size = content.remaining();
+            logger.debug("Jetty received response content of size {}", size);
+            proxiedBytes.addAndGet(size);
             JSONObject responseJson = new JSONObject();
             try {
                 responseJson.put("id", mRequestId);
@@ -602,6 +685,7 @@ public class CloudClient {
             } catch (JSONException e) {
                 logger.debug("{}", e.getMessage());
             }
+            proxyFlowControl.contentEmitted(size, callback);
         }
 
         @Override
@@ -176,7 +176,8 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
 
     @Deactivate
     protected void deactivate() {
-        logger.debug("openHAB Cloud connector deactivated");
+        logger.debug("openHAB Cloud connector deactivated ({} requests running, {} bytes proxied)",
+                cloudClient.getRunningRequestCount(), cloudClient.getProxiedBytes());
         cloudClient.shutdown();
         try {
             httpClient.stop();
@@ -0,0 +1,80 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class collects item updates for a period and then passes the last state of each updated item on, in the
+ * order the items were first updated.
+ *
+ * @author agent - Initial contribution
+ */
+class ItemUpdateBatcher {
+    private final Logger logger = LoggerFactory.getLogger(ItemUpdateBatcher.class);
+
+    private final ScheduledExecutorService scheduler;
+    private final int intervalMs;
+    private final Consumer<Map<String, String>> sender;
+
+    /*
+     * This map holds the item updates, which are not sent yet, by item name
+     */
+    private final Map<String, String> pendingItemUpdates = new LinkedHashMap<>();
+    private ScheduledFuture<?> itemUpdateJob;
+
+    ItemUpdateBatcher(ScheduledExecutorService scheduler, int intervalMs, Consumer<Map<String, String>> sender) {
+        this.scheduler = scheduler;
+        this.intervalMs = intervalMs;
+        this.sender = sender;
+    }
+
+    /**
+     * Adds an item update, which replaces a pending update of the same item
+     */
+    synchronized void add(String itemName, String itemState) {
+        if (pendingItemUpdates.put(itemName, itemState) != null) {
+            logger.trace("Replacing pending update for item '{}'", itemName);
+        }
+        if (itemUpdateJob == null) {
+            itemUpdateJob = scheduler.schedule(this::sendPendingItemUpdates, intervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Drops the pending item updates
+     */
+    synchronized void clear() {
+        pendingItemUpdates.clear();
+    }
+
+    private void sendPendingItemUpdates() {
+        Map<String, String> itemUpdates;
+        synchronized (this) {
+            itemUpdates = new LinkedHashMap<>(pendingItemUpdates);
+            pendingItemUpdates.clear();
+            itemUpdateJob = null;
+        }
+        if (!itemUpdates.isEmpty()) {
+            sender.accept(itemUpdates);
+        }
+    }
+}
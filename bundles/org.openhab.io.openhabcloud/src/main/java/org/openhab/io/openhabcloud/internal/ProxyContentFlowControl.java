@@ -0,0 +1,152 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jetty.util.Callback;
+
+import okhttp3.WebSocket;
+
+/**
+ * This class holds back the acknowledgement of proxied response content to Jetty while too much content was emitted
+ * to the openHAB Cloud, but is not written to the network yet.
+ *
+ * With the WebSocket transport, the content which is not written yet is the queue of the OkHttp WebSocket. The
+ * Socket.IO transport emits its drain event as soon as the packets are handed to OkHttp, so the queue size is
+ * checked periodically instead. With the polling transport, the content emitted since the last drain event is
+ * counted. That event is emitted when the HTTP request with the packets completed.
+ *
+ * @author agent - Initial contribution
+ */
+class ProxyContentFlowControl {
+    private static final int QUEUE_CHECK_INTERVAL_MS = 10;
+
+    private final int maxUnflushedBytes;
+    private final ScheduledExecutorService scheduler;
+
+    private final List<Callback> waitingContent = new ArrayList<>();
+    private WebSocket webSocket;
+    private long emittedBytes;
+    private ScheduledFuture<?> queueCheckJob;
+
+    ProxyContentFlowControl(int maxUnflushedBytes, ScheduledExecutorService scheduler) {
+        this.maxUnflushedBytes = maxUnflushedBytes;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Sets the WebSocket which writes the packets of the Socket.IO connection
+     */
+    synchronized void setWebSocket(WebSocket webSocket) {
+        this.webSocket = webSocket;
+        emittedBytes = 0;
+        if (!waitingContent.isEmpty()) {
+            scheduleQueueCheck();
+        }
+    }
+
+    /**
+     * Acknowledges emitted content to Jetty, which then reads the next content. If too much content is not written
+     * yet, the content is acknowledged when enough content was written.
+     */
+    void contentEmitted(int size, Callback callback) {
+        synchronized (this) {
+            emittedBytes += size;
+            if (getUnflushedBytes() > maxUnflushedBytes) {
+                waitingContent.add(callback);
+                scheduleQueueCheck();
+                return;
+            }
+        }
+        callback.succeeded();
+    }
+
+    /**
+     * Called when the Socket.IO transport emitted its drain event
+     */
+    void transportDrained() {
+        synchronized (this) {
+            if (webSocket != null) {
+                // the drain event of the WebSocket transport does not mean that anything was written
+                return;
+            }
+            emittedBytes = 0;
+        }
+        release();
+    }
+
+    /**
+     * Fails the content waiting to be acknowledged, e.g. on disconnect
+     */
+    void fail(Throwable failure) {
+        List<Callback> callbacks;
+        synchronized (this) {
+            callbacks = new ArrayList<>(waitingContent);
+            waitingContent.clear();
+            cancelQueueCheck();
+            webSocket = null;
+            emittedBytes = 0;
+        }
+        callbacks.forEach(callback -> callback.failed(failure));
+    }
+
+    synchronized int getWaitingContentCount() {
+        return waitingContent.size();
+    }
+
+    private long getUnflushedBytes() {
+        return webSocket != null ? webSocket.queueSize() : emittedBytes;
+    }
+
+    private void scheduleQueueCheck() {
+        if (webSocket != null && queueCheckJob == null) {
+            queueCheckJob = scheduler.scheduleWithFixedDelay(this::checkQueue, QUEUE_CHECK_INTERVAL_MS,
+                    QUEUE_CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void cancelQueueCheck() {
+        if (queueCheckJob != null) {
+            queueCheckJob.cancel(false);
+            queueCheckJob = null;
+        }
+    }
+
+    private void checkQueue() {
+        synchronized (this) {
+            if (getUnflushedBytes() > maxUnflushedBytes) {
+                return;
+            }
+        }
+        release();
+    }
+
+    private void release() {
+        List<Callback> callbacks;
+        synchronized (this) {
+            cancelQueueCheck();
+            if (waitingContent.isEmpty()) {
+                return;
+            }
+            callbacks = new ArrayList<>(waitingContent);
+            waitingContent.clear();
+        }
+        // Jetty may deliver the next content right away, which must not happen on the Socket.IO event thread
+        scheduler.execute(() -> callbacks.forEach(Callback::succeeded));
+    }
+}
@@ -0,0 +1,120 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.client.api.Request;
+import org.json.JSONObject;
+import org.junit.Test;
+
+/**
+ * Tests of the registry of the requests proxied by {@link CloudClient}
+ *
+ * @author agent - Initial contribution
+ */
+public class CloudClientTest {
+
+    private final List<String> invocations = new ArrayList<>();
+    private final List<Integer> runningRequestsWhenSent = new ArrayList<>();
+    private CloudClient client;
+
+    private final HttpClient httpClient = new HttpClient() {
+        @Override
+        public Request newRequest(URI uri) {
+            return (Request) Proxy.newProxyInstance(Request.class.getClassLoader(), new Class<?>[] { Request.class },
+                    (proxy, method, args) -> {
+                        invocations.add(method.getName());
+                        if ("send".equals(method.getName())) {
+                            runningRequestsWhenSent.add(client.getRunningRequestCount());
+                        }
+                        if (method.getReturnType() == Request.class) {
+                            return proxy;
+                        }
+                        return method.getReturnType() == boolean.class ? Boolean.TRUE : null;
+                    });
+        }
+    };
+
+    private CloudClient createClient(boolean remoteAccessEnabled) {
+        client = new CloudClient(httpClient, "uuid", "secret", "https://myopenhab.org", "http://localhost:8080",
+                remoteAccessEnabled, Collections.emptySet());
+        return client;
+    }
+
+    private JSONObject request(int id, String method) {
+        return new JSONObject().put("id", id).put("path", "/rest/items").put("method", method).put("body", "")
+                .put("headers", new JSONObject()).put("query", new JSONObject());
+    }
+
+    @Test
+    public void testRequestIsRegisteredBeforeItIsSent() {
+        createClient(true);
+        client.onEvent("request", request(1, "GET"));
+        client.onEvent("request", request(2, "POST"));
+
+        assertThat(runningRequestsWhenSent, is(equalTo(Arrays.asList(1, 2))));
+        assertThat(client.getRunningRequestCount(), is(2));
+    }
+
+    @Test
+    public void testCancelAbortsRunningRequest() {
+        createClient(true);
+        client.onEvent("request", request(1, "GET"));
+        client.onEvent("cancel", new JSONObject().put("id", 1));
+
+        assertThat(invocations.contains("abort"), is(true));
+        assertThat(client.getRunningRequestCount(), is(0));
+
+        // unknown requests are ignored
+        invocations.clear();
+        client.onEvent("cancel", new JSONObject().put("id", 1));
+        assertThat(invocations.contains("abort"), is(false));
+    }
+
+    @Test
+    public void testUnsupportedRequestIsNotRegistered() {
+        createClient(true);
+        client.onEvent("request", request(1, "DELETE"));
+
+        assertThat(invocations.contains("send"), is(false));
+        assertThat(client.getRunningRequestCount(), is(0));
+    }
+
+    @Test
+    public void testRequestIsIgnoredWithoutRemoteAccess() {
+        createClient(false);
+        client.onEvent("request", request(1, "GET"));
+
+        assertThat(invocations.isEmpty(), is(true));
+        assertThat(client.getRunningRequestCount(), is(0));
+    }
+
+    @Test
+    public void testDisconnectClearsRunningRequests() {
+        createClient(true);
+        client.onEvent("request", request(1, "GET"));
+        client.onDisconnect();
+
+        assertThat(client.getRunningRequestCount(), is(0));
+    }
+}
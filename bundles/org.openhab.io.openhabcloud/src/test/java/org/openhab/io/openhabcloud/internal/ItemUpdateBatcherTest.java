@@ -0,0 +1,99 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+
+import org.junit.Test;
+
+/**
+ * Tests of {@link ItemUpdateBatcher}
+ *
+ * @author agent - Initial contribution
+ */
+public class ItemUpdateBatcherTest {
+
+    private final List<Runnable> scheduledJobs = new ArrayList<>();
+    private final List<Map<String, String>> sent = new ArrayList<>();
+
+    /*
+     * Keeps the scheduled jobs, which are run by the test instead of after the interval
+     */
+    private final ScheduledExecutorService scheduler = (ScheduledExecutorService) Proxy.newProxyInstance(
+            ScheduledExecutorService.class.getClassLoader(), new Class<?>[] { ScheduledExecutorService.class },
+            (proxy, method, args) -> {
+                if (!"schedule".equals(method.getName()) || !(args[0] instanceof Runnable)) {
+                    throw new UnsupportedOperationException(method.getName());
+                }
+                scheduledJobs.add((Runnable) args[0]);
+                return Proxy.newProxyInstance(ScheduledFuture.class.getClassLoader(),
+                        new Class<?>[] { ScheduledFuture.class }, (future, futureMethod, futureArgs) -> {
+                            throw new UnsupportedOperationException(futureMethod.getName());
+                        });
+            });
+
+    private final ItemUpdateBatcher batcher = new ItemUpdateBatcher(scheduler, 1000, sent::add);
+
+    private void runScheduledJobs() {
+        List<Runnable> jobs = new ArrayList<>(scheduledJobs);
+        scheduledJobs.clear();
+        jobs.forEach(Runnable::run);
+    }
+
+    @Test
+    public void testLastStateOfEachItemIsSent() {
+        batcher.add("light", "ON");
+        batcher.add("temperature", "21.5");
+        batcher.add("light", "OFF");
+        assertThat(scheduledJobs.size(), is(1));
+        assertThat(sent.isEmpty(), is(true));
+
+        runScheduledJobs();
+        assertThat(sent.size(), is(1));
+        Map<String, String> updates = sent.get(0);
+        assertThat(new ArrayList<>(updates.keySet()), is(equalTo(Arrays.asList("light", "temperature"))));
+        assertThat(updates.get("light"), is("OFF"));
+        assertThat(updates.get("temperature"), is("21.5"));
+
+        // the next update starts a new batch
+        batcher.add("light", "ON");
+        assertThat(scheduledJobs.size(), is(1));
+        runScheduledJobs();
+        assertThat(sent.size(), is(2));
+        updates = sent.get(1);
+        assertThat(updates.size(), is(1));
+        assertThat(updates.get("light"), is("ON"));
+    }
+
+    @Test
+    public void testClearDropsPendingUpdates() {
+        batcher.add("light", "ON");
+        batcher.clear();
+        runScheduledJobs();
+        assertThat(sent.isEmpty(), is(true));
+
+        batcher.add("light", "OFF");
+        runScheduledJobs();
+        assertThat(sent.size(), is(1));
+        assertThat(sent.get(0).get("light"), is("OFF"));
+    }
+}
@@ -0,0 +1,173 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.eclipse.jetty.util.Callback;
+import org.junit.After;
+import org.junit.Test;
+
+import okhttp3.Request;
+import okhttp3.WebSocket;
+import okio.ByteString;
+
+/**
+ * Tests of {@link ProxyContentFlowControl}
+ *
+ * @author agent - Initial contribution
+ */
+public class ProxyContentFlowControlTest {
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final ProxyContentFlowControl flowControl = new ProxyContentFlowControl(100, scheduler);
+
+    private static class TestCallback implements Callback {
+        private final CountDownLatch succeeded = new CountDownLatch(1);
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        @Override
+        public void succeeded() {
+            succeeded.countDown();
+        }
+
+        @Override
+        public void failed(Throwable x) {
+            failure.set(x);
+        }
+
+        boolean isSucceeded() {
+            return succeeded.getCount() == 0;
+        }
+
+        boolean awaitSucceeded() throws InterruptedException {
+            return succeeded.await(1, TimeUnit.SECONDS);
+        }
+    }
+
+    private static class TestWebSocket implements WebSocket {
+        private volatile long queueSize;
+
+        @Override
+        public Request request() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long queueSize() {
+            return queueSize;
+        }
+
+        @Override
+        public boolean send(String text) {
+            return false;
+        }
+
+        @Override
+        public boolean send(ByteString bytes) {
+            return false;
+        }
+
+        @Override
+        public boolean close(int code, String reason) {
+            return false;
+        }
+
+        @Override
+        public void cancel() {
+        }
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void testPollingTransportWaitsForDrain() throws InterruptedException {
+        TestCallback first = new TestCallback();
+        TestCallback second = new TestCallback();
+
+        flowControl.contentEmitted(60, first);
+        assertThat(first.isSucceeded(), is(true));
+        flowControl.contentEmitted(60, second);
+        assertThat(second.isSucceeded(), is(false));
+        assertThat(flowControl.getWaitingContentCount(), is(1));
+
+        flowControl.transportDrained();
+        assertTrue(second.awaitSucceeded());
+        assertThat(flowControl.getWaitingContentCount(), is(0));
+
+        // the emitted content is counted again from the drain event on
+        TestCallback third = new TestCallback();
+        flowControl.contentEmitted(60, third);
+        assertThat(third.isSucceeded(), is(true));
+    }
+
+    @Test
+    public void testWebSocketQueueIsChecked() throws InterruptedException {
+        TestWebSocket webSocket = new TestWebSocket();
+        flowControl.setWebSocket(webSocket);
+        TestCallback small = new TestCallback();
+        TestCallback large = new TestCallback();
+
+        // the content is counted by the queue of the WebSocket only
+        flowControl.contentEmitted(60, small);
+        flowControl.contentEmitted(60, large);
+        assertThat(small.isSucceeded(), is(true));
+        assertThat(large.isSucceeded(), is(true));
+
+        webSocket.queueSize = 200;
+        TestCallback waiting = new TestCallback();
+        flowControl.contentEmitted(60, waiting);
+        // the drain event of the WebSocket transport is emitted before anything is written
+        flowControl.transportDrained();
+        Thread.sleep(50);
+        assertThat(waiting.isSucceeded(), is(false));
+
+        webSocket.queueSize = 50;
+        assertTrue(waiting.awaitSucceeded());
+        assertThat(flowControl.getWaitingContentCount(), is(0));
+    }
+
+    @Test
+    public void testDisconnectFailsWaitingContent() {
+        flowControl.setWebSocket(new TestWebSocket() {
+            @Override
+            public long queueSize() {
+                return 1000;
+            }
+        });
+        TestCallback waiting = new TestCallback();
+        flowControl.contentEmitted(10, waiting);
+
+        IOException disconnected = new IOException("disconnected");
+        flowControl.fail(disconnected);
+        assertThat(waiting.failure.get(), is(sameInstance(disconnected)));
+        assertThat(waiting.isSucceeded(), is(false));
+        assertThat(flowControl.getWaitingContentCount(), is(0));
+
+        // after the disconnect, the emitted content is counted until the next WebSocket is created
+        TestCallback next = new TestCallback();
+        flowControl.contentEmitted(10, next);
+        assertThat(next.isSucceeded(), is(true));
+    }
+}
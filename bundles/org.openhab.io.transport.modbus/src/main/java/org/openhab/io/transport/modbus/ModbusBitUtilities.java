@@ -14,8 +14,6 @@ package org.openhab.io.transport.modbus;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
 import java.nio.charset.Charset;
 import java.util.Optional;
 
@@ -26,6 +24,7 @@ import org.eclipse.smarthome.core.library.types.OnOffType;
 import org.eclipse.smarthome.core.library.types.OpenClosedType;
 import org.eclipse.smarthome.core.library.types.StringType;
 import org.eclipse.smarthome.core.types.Command;
+import org.openhab.io.transport.modbus.ModbusConstants.ValueType;
 
 /**
  * Utilities for working with binary data.
@@ -101,117 +100,312 @@ public class ModbusBitUtilities {
      */
     public static Optional<DecimalType> extractStateFromRegisters(ModbusRegisterArray registers, int index,
             ModbusConstants.ValueType type) {
-        int endBitIndex = (type.getBits() >= 16 ? 16 * index : type.getBits() * index) + type.getBits() - 1;
-        // each register has 16 bits
-        int lastValidIndex = registers.size() * 16 - 1;
-        if (endBitIndex > lastValidIndex || index < 0) {
-            throw new IllegalArgumentException(
-                    String.format("Index=%d with type=%s is out-of-bounds given registers of size %d", index, type,
-                            registers.size()));
-        }
+        checkBounds(registers, index, type);
         switch (type) {
             case BIT:
-                return Optional
-                        .of(new DecimalType((registers.getRegister(index / 16).toUnsignedShort() >> (index % 16)) & 1));
+                return Optional.of(new DecimalType(bit(registers, index)));
             case INT8:
-                return Optional.of(new DecimalType(registers.getRegister(index / 2).getBytes()[1 - (index % 2)]));
+                return Optional.of(new DecimalType(sInt8(registers, index)));
             case UINT8:
-                return Optional.of(new DecimalType(
-                        (registers.getRegister(index / 2).toUnsignedShort() >> (8 * (index % 2))) & 0xff));
-            case INT16: {
-                ByteBuffer buff = ByteBuffer.allocate(2);
-                buff.put(registers.getRegister(index).getBytes());
-                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getShort(0)));
-            }
+                return Optional.of(new DecimalType(uInt8(registers, index)));
+            case INT16:
+                return Optional.of(new DecimalType(sInt16(registers, index)));
             case UINT16:
-                return Optional.of(new DecimalType(registers.getRegister(index).toUnsignedShort()));
-            case INT32: {
-                ByteBuffer buff = ByteBuffer.allocate(4);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getInt(0)));
-            }
-            case UINT32: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.position(4);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getLong(0)));
-            }
-            case FLOAT32: {
-                ByteBuffer buff = ByteBuffer.allocate(4);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
+                return Optional.of(new DecimalType(uInt16(registers, index)));
+            case INT32:
+                return Optional.of(new DecimalType(sInt32(registers, index)));
+            case UINT32:
+                return Optional.of(new DecimalType(uInt32(registers, index)));
+            case FLOAT32:
                 try {
-                    return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getFloat(0)));
+                    return Optional.of(new DecimalType(float32(registers, index)));
                 } catch (NumberFormatException e) {
                     // floating point NaN or infinity encountered
                     return Optional.empty();
                 }
-            }
-            case INT64: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index + 2).getBytes());
-                buff.put(registers.getRegister(index + 3).getBytes());
-                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getLong(0)));
-            }
-            case UINT64: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index + 2).getBytes());
-                buff.put(registers.getRegister(index + 3).getBytes());
-                return Optional.of(
-                        new DecimalType(new BigDecimal(new BigInteger(1, buff.order(ByteOrder.BIG_ENDIAN).array()))));
-            }
-            case INT32_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(4);
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getInt(0)));
-            }
-            case UINT32_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.position(4);
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getLong(0)));
-            }
-            case FLOAT32_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(4);
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
+            case INT64:
+                return Optional.of(new DecimalType(sInt64(registers, index)));
+            case UINT64:
+                return Optional.of(unsignedLongToDecimalType(sInt64(registers, index)));
+            case INT32_SWAP:
+                return Optional.of(new DecimalType(sInt32Swap(registers, index)));
+            case UINT32_SWAP:
+                return Optional.of(new DecimalType(uInt32Swap(registers, index)));
+            case FLOAT32_SWAP:
                 try {
-                    return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getFloat(0)));
+                    return Optional.of(new DecimalType(float32Swap(registers, index)));
                 } catch (NumberFormatException e) {
                     // floating point NaN or infinity encountered
                     return Optional.empty();
                 }
-            }
-            case INT64_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.put(registers.getRegister(index + 3).getBytes());
-                buff.put(registers.getRegister(index + 2).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getLong(0)));
-            }
-            case UINT64_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.put(registers.getRegister(index + 3).getBytes());
-                buff.put(registers.getRegister(index + 2).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                return Optional.of(
-                        new DecimalType(new BigDecimal(new BigInteger(1, buff.order(ByteOrder.BIG_ENDIAN).array()))));
-            }
+            case INT64_SWAP:
+                return Optional.of(new DecimalType(sInt64Swap(registers, index)));
+            case UINT64_SWAP:
+                return Optional.of(unsignedLongToDecimalType(sInt64Swap(registers, index)));
             default:
                 throw new IllegalArgumentException(type.getConfigValue());
         }
     }
 
+    /**
+     * Read single bit from registers. See {@link #extractStateFromRegisters(ModbusRegisterArray, int, ValueType)} for
+     * interpretation of the index.
+     *
+     * The primitive extract methods do not allocate and are meant for hot paths where the registers are parsed
+     * repeatedly.
+     *
+     * @param registers registers to read from
+     * @param index zero based bit index
+     * @return 0 or 1
+     * @throws IllegalArgumentException when <tt>index</tt> is out of bounds of registers
+     */
+    public static int extractBit(ModbusRegisterArray registers, int index) {
+        checkBounds(registers, index, ValueType.BIT);
+        return bit(registers, index);
+    }
+
+    /**
+     * Read signed 8 bit integer from registers. Index 0 refers to low byte of the first register.
+     *
+     * @param registers registers to read from
+     * @param index zero based byte index
+     * @return signed integer between -128 and 127 (inclusive)
+     * @throws IllegalArgumentException when <tt>index</tt> is out of bounds of registers
+     */
+    public static int extractSInt8(ModbusRegisterArray registers, int index) {
+        checkBounds(registers, index, ValueType.INT8);
+        return sInt8(registers, index);
+    }
+
+    /**
+     * Read unsigned 8 bit integer from registers. Index 0 refers to low byte of the first register.
+     *
+     * @param registers registers to read from
+     * @param index zero based byte index
+     * @return unsigned integer between 0 and 255 (inclusive)
+     * @throws IllegalArgumentException when <tt>index</tt> is out of bounds of registers
+     */
+    public static int extractUInt8(ModbusRegisterArray registers, int index) {
+        checkBounds(registers, index, ValueType.UINT8);
+        return uInt8(registers, index);
+    }
+
+    /**
+     * Read signed 16 bit integer from the register at <tt>index</tt>
+     *
+     * @param registers registers to read from
+     * @param index zero based register index
+     * @return signed 16 bit integer
+     * @throws IllegalArgumentException when <tt>index</tt> is out of bounds of registers
+     */
+    public static int extractSInt16(ModbusRegisterArray registers, int index) {
+        checkBounds(registers, index, ValueType.INT16);
+        return sInt16(registers, index);
+    }
+
+    /**
+     * Read unsigned 16 bit integer from the register at <tt>index</tt>
+     *
+     * @param registers registers to read from
+     * @param index zero based register index
+     * @return unsigned 16 bit integer
+     * @throws IllegalArgumentException when <tt>index</tt> is out of bounds of registers
+     */
+    public static int extractUInt16(ModbusRegisterArray registers, int index) {
+        checkBounds(registers, index, ValueType.UINT16);
+        return uInt16(registers, index);
+    }
+
+    /**
+     * Read signed 32 bit integer from registers (index) and (index + 1), first register containing the most
+     * significant 16 bits
+     *
+     * @param registers registers to read from
+     * @param index zero based register index
+     * @return signed 32 bit integer
+     * @throws IllegalArgumentException when <tt>index</tt> is out of bounds of registers
+     */
+    public static int extractSInt32(ModbusRegisterArray registers, int index) {
+        checkBounds(registers, index, ValueType.INT32);
+        return sInt32(registers, index);
+    }
+
+    /**
+     * Read unsigned 32 bit integer from registers (index) and (index + 1), first register containing the most
+     * significant 16 bits
+     *
+     * @param registers registers to read from
+     * @param index zero based register index
+     * @return unsigned 32 bit integer
+     * @throws IllegalArgumentException when <tt>index</tt> is out of bounds of registers
+     */
+    public static long extractUInt32(ModbusRegisterArray registers, int index) {
+        checkBounds(registers, index, ValueType.UINT32);
+        return uInt32(registers, index);
+    }
+
+    /**
+     * Same as {@link #extractSInt32(ModbusRegisterArray, int)} but registers swapped
+     *
+     * @param registers registers to read from
+     * @param index zero based register index
+     * @return signed 32 bit integer
+     * @throws IllegalArgumentException when <tt>index</tt> is out of bounds of registers
+     */
+    public static int extractSInt32Swap(ModbusRegisterArray registers, int index) {
+        checkBounds(registers, index, ValueType.INT32_SWAP);
+        return sInt32Swap(registers, index);
+    }
+
+    /**
+     * Same as {@link #extractUInt32(ModbusRegisterArray, int)} but registers swapped
+     *
+     * @param registers registers to read from
+     * @param index zero based register index
+     * @return unsigned 32 bit integer
+     * @throws IllegalArgumentException when <tt>index</tt> is out of bounds of registers
+     */
+    public static long extractUInt32Swap(ModbusRegisterArray registers, int index) {
+        checkBounds(registers, index, ValueType.UINT32_SWAP);
+        return uInt32Swap(registers, index);
+    }
+
+    /**
+     * Read 32 bit floating point number from registers (index) and (index + 1), first register containing the most
+     * significant 16 bits
+     *
+     * @param registers registers to read from
+     * @param index zero based register index
+     * @return floating point number, possibly NaN or infinity
+     * @throws IllegalArgumentException when <tt>index</tt> is out of bounds of registers
+     */
+    public static float extractFloat32(ModbusRegisterArray registers, int index) {
+        checkBounds(registers, index, ValueType.FLOAT32);
+        return float32(registers, index);
+    }
+
+    /**
+     * Same as {@link #extractFloat32(ModbusRegisterArray, int)} but registers swapped
+     *
+     * @param registers registers to read from
+     * @param index zero based register index
+     * @return floating point number, possibly NaN or infinity
+     * @throws IllegalArgumentException when <tt>index</tt> is out of bounds of registers
+     */
+    public static float extractFloat32Swap(ModbusRegisterArray registers, int index) {
+        checkBounds(registers, index, ValueType.FLOAT32_SWAP);
+        return float32Swap(registers, index);
+    }
+
+    /**
+     * Read signed 64 bit integer from registers (index) ... (index + 3), first register containing the most
+     * significant 16 bits
+     *
+     * The same bits interpreted as unsigned 64 bit integer can be obtained with
+     * {@link Long#toUnsignedString(long)} or similar methods.
+     *
+     * @param registers registers to read from
+     * @param index zero based register index
+     * @return signed 64 bit integer
+     * @throws IllegalArgumentException when <tt>index</tt> is out of bounds of registers
+     */
+    public static long extractSInt64(ModbusRegisterArray registers, int index) {
+        checkBounds(registers, index, ValueType.INT64);
+        return sInt64(registers, index);
+    }
+
+    /**
+     * Same as {@link #extractSInt64(ModbusRegisterArray, int)} but registers swapped, that is, registers (index +
+     * 3), (index + 2), (index + 1), (index) are interpreted as signed 64bit integer
+     *
+     * @param registers registers to read from
+     * @param index zero based register index
+     * @return signed 64 bit integer
+     * @throws IllegalArgumentException when <tt>index</tt> is out of bounds of registers
+     */
+    public static long extractSInt64Swap(ModbusRegisterArray registers, int index) {
+        checkBounds(registers, index, ValueType.INT64_SWAP);
+        return sInt64Swap(registers, index);
+    }
+
+    /*
+     * Unchecked variants of the extract methods. The bounds are checked once by the caller.
+     */
+
+    private static int bit(ModbusRegisterArray registers, int index) {
+        return (registers.unsignedRegister(index / 16) >> (index % 16)) & 1;
+    }
+
+    private static int sInt8(ModbusRegisterArray registers, int index) {
+        return (byte) (registers.unsignedRegister(index / 2) >> (8 * (index % 2)));
+    }
+
+    private static int uInt8(ModbusRegisterArray registers, int index) {
+        return (registers.unsignedRegister(index / 2) >> (8 * (index % 2))) & 0xff;
+    }
+
+    private static int sInt16(ModbusRegisterArray registers, int index) {
+        return (short) registers.unsignedRegister(index);
+    }
+
+    private static int uInt16(ModbusRegisterArray registers, int index) {
+        return registers.unsignedRegister(index);
+    }
+
+    private static int sInt32(ModbusRegisterArray registers, int index) {
+        return (registers.unsignedRegister(index) << 16) | registers.unsignedRegister(index + 1);
+    }
+
+    private static long uInt32(ModbusRegisterArray registers, int index) {
+        return sInt32(registers, index) & 0xffffffffL;
+    }
+
+    private static int sInt32Swap(ModbusRegisterArray registers, int index) {
+        return (registers.unsignedRegister(index + 1) << 16) | registers.unsignedRegister(index);
+    }
+
+    private static long uInt32Swap(ModbusRegisterArray registers, int index) {
+        return sInt32Swap(registers, index) & 0xffffffffL;
+    }
+
+    private static float float32(ModbusRegisterArray registers, int index) {
+        return Float.intBitsToFloat(sInt32(registers, index));
+    }
+
+    private static float float32Swap(ModbusRegisterArray registers, int index) {
+        return Float.intBitsToFloat(sInt32Swap(registers, index));
+    }
+
+    private static long sInt64(ModbusRegisterArray registers, int index) {
+        return ((long) registers.unsignedRegister(index) << 48) | ((long) registers.unsignedRegister(index + 1) << 32)
+                | ((long) registers.unsignedRegister(index + 2) << 16) | registers.unsignedRegister(index + 3);
+    }
+
+    private static long sInt64Swap(ModbusRegisterArray registers, int index) {
+        return ((long) registers.unsignedRegister(index + 3) << 48)
+                | ((long) registers.unsignedRegister(index + 2) << 32)
+                | ((long) registers.unsignedRegister(index + 1) << 16) | registers.unsignedRegister(index);
+    }
+
+    private static DecimalType unsignedLongToDecimalType(long value) {
+        if (value >= 0) {
+            return new DecimalType(value);
+        }
+        // Highest bit set, value does not fit into signed long
+        return new DecimalType(new BigDecimal(new BigInteger(Long.toUnsignedString(value))));
+    }
+
+    private static void checkBounds(ModbusRegisterArray registers, int index, ValueType type) {
+        int endBitIndex = (type.getBits() >= 16 ? 16 * index : type.getBits() * index) + type.getBits() - 1;
+        // each register has 16 bits
+        int lastValidIndex = registers.size() * 16 - 1;
+        if (endBitIndex > lastValidIndex || index < 0) {
+            throw new IllegalArgumentException(
+                    String.format("Index=%d with type=%s is out-of-bounds given registers of size %d", index, type,
+                            registers.size()));
+        }
+    }
+
     /**
      * Read data from registers and convert the result to StringType
      * Strings should start the the first byte of a register, but could
@@ -243,17 +437,10 @@ public class ModbusBitUtilities {
         }
         byte[] buff = new byte[length];
 
-        int src = index;
+        int src = index * 2;
         int dest;
         for (dest = 0; dest < length; dest++) {
-
-            byte chr;
-            if (dest % 2 == 0) {
-                chr = (byte) ((registers.getRegister(src).getValue() >> 8));
-            } else {
-                chr = (byte) (registers.getRegister(src).getValue() & 0xff);
-                src++;
-            }
+            byte chr = registers.getByte(src + dest);
             if (chr == 0) {
                 break;
             }
@@ -0,0 +1,115 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+
+/**
+ * Immutable snapshot of the transport metrics of a single endpoint
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusEndpointMetrics {
+
+    private final ModbusSlaveEndpoint endpoint;
+    private final ModbusTimingHistogram queueWait;
+    private final ModbusTimingHistogram connection;
+    private final ModbusTimingHistogram transaction;
+    private final ModbusTimingHistogram callback;
+    private final Map<String, Long> errorCounts;
+    private final long pollPeriodOverruns;
+
+    public ModbusEndpointMetrics(ModbusSlaveEndpoint endpoint, ModbusTimingHistogram queueWait,
+            ModbusTimingHistogram connection, ModbusTimingHistogram transaction, ModbusTimingHistogram callback,
+            Map<String, Long> errorCounts, long pollPeriodOverruns) {
+        this.endpoint = endpoint;
+        this.queueWait = queueWait;
+        this.connection = connection;
+        this.transaction = transaction;
+        this.callback = callback;
+        this.errorCounts = Collections.unmodifiableMap(errorCounts);
+        this.pollPeriodOverruns = pollPeriodOverruns;
+    }
+
+    public ModbusSlaveEndpoint getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * Time operations waited in the thread pool before execution started. With regular polls, this is the delay
+     * compared to the poll schedule.
+     *
+     * @return histogram of waiting times
+     */
+    public ModbusTimingHistogram getQueueWait() {
+        return queueWait;
+    }
+
+    /**
+     * Time spent borrowing, connecting and returning connections, per operation
+     *
+     * @return histogram of connection times
+     */
+    public ModbusTimingHistogram getConnection() {
+        return connection;
+    }
+
+    /**
+     * Time spent in the actual transactions with the slave, per operation
+     *
+     * @return histogram of transaction times
+     */
+    public ModbusTimingHistogram getTransaction() {
+        return transaction;
+    }
+
+    /**
+     * Time spent in callbacks, per operation
+     *
+     * @return histogram of callback times
+     */
+    public ModbusTimingHistogram getCallback() {
+        return callback;
+    }
+
+    /**
+     * Number of failed operations by the simple class name of the error
+     *
+     * @return error counts
+     */
+    public Map<String, Long> getErrorCounts() {
+        return errorCounts;
+    }
+
+    /**
+     * Number of regular poll executions that took longer than the poll period
+     *
+     * @return number of overruns
+     */
+    public long getPollPeriodOverruns() {
+        return pollPeriodOverruns;
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder("ModbusEndpointMetrics(endpoint=").append(endpoint).append(", queueWait=")
+                .append(queueWait).append(", connection=").append(connection).append(", transaction=")
+                .append(transaction).append(", callback=").append(callback).append(", errors=").append(errorCounts)
+                .append(", pollPeriodOverruns=").append(pollPeriodOverruns).append(")").toString();
+    }
+}
@@ -0,0 +1,41 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus;
+
+import java.util.Collection;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Service providing timing and error metrics of the Modbus transport, per endpoint
+ *
+ * Metrics are collected for endpoints with open communication interfaces, and removed when the last communication
+ * interface of the endpoint is closed.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public interface ModbusMetricsService {
+
+    /**
+     * Get snapshot of current metrics
+     *
+     * @return metrics of each endpoint
+     */
+    public Collection<ModbusEndpointMetrics> getEndpointMetrics();
+
+    /**
+     * Reset all collected metrics
+     */
+    public void resetMetrics();
+}
@@ -12,7 +12,9 @@
  */
 package org.openhab.io.transport.modbus;
 
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.function.IntUnaryOperator;
 import java.util.stream.IntStream;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -20,12 +22,16 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 /**
  * Immutable {@link ModbusRegisterArray} implementation
  *
+ * Register data is stored in a single primitive byte array (two bytes per register, high byte first). The
+ * {@link ModbusRegister} based accessors are kept for compatibility; performance sensitive code should prefer
+ * {@link #getSignedRegister(int)} and {@link #getUnsignedRegister(int)} which do not allocate.
+ *
  * @author Sami Salonen - Initial contribution
  */
 @NonNullByDefault
 public class ModbusRegisterArray implements Iterable<ModbusRegister> {
 
-    private final ModbusRegister[] registers;
+    private final byte[] bytes;
 
     /**
      * Construct plain <code>ModbusRegister[]</code> array from register values
@@ -47,17 +53,69 @@ public class ModbusRegisterArray implements Iterable<ModbusRegister> {
      * @param registers
      */
     public ModbusRegisterArray(ModbusRegister[] registers) {
-        this.registers = registers;
+        bytes = new byte[registers.length * 2];
+        for (int i = 0; i < registers.length; i++) {
+            byte[] registerBytes = registers[i].getBytes();
+            bytes[2 * i] = registerBytes[0];
+            bytes[2 * i + 1] = registerBytes[1];
+        }
     }
 
     /**
      * Construct plain <code>ModbusRegisterArrayImpl</code> array from register values
      *
-     * @param registerValues register values, each <code>int</code> corresponding to one register
-     * @return
+     * @param registerValues register values, each <code>int</code> corresponding to one register. Only the lowest
+     *            16 bits of each value are used.
      */
     public ModbusRegisterArray(int... registerValues) {
-        this(registersFromValues(registerValues));
+        bytes = new byte[registerValues.length * 2];
+        for (int i = 0; i < registerValues.length; i++) {
+            bytes[2 * i] = (byte) (registerValues[i] >> 8);
+            bytes[2 * i + 1] = (byte) registerValues[i];
+        }
+    }
+
+    /**
+     * Construct <code>ModbusRegisterArrayImpl</code> from raw register data
+     *
+     * The data is copied, so the instance stays immutable even if the caller modifies the array afterwards.
+     *
+     * @param bytes register data, two bytes per register, high byte first
+     * @throws IllegalArgumentException when the length of the data is odd
+     */
+    public ModbusRegisterArray(byte[] bytes) {
+        if (bytes.length % 2 != 0) {
+            throw new IllegalArgumentException(
+                    String.format("Register data must have even number of bytes, got %d bytes", bytes.length));
+        }
+        this.bytes = bytes.clone();
+    }
+
+    /**
+     * Construct <code>ModbusRegisterArrayImpl</code> from the values of the registers, without an intermediate array
+     *
+     * @param size number of registers
+     * @param registerValue returns the value of the register at the given index. Only the lowest 16 bits of the value
+     *            are used.
+     */
+    public ModbusRegisterArray(int size, IntUnaryOperator registerValue) {
+        bytes = new byte[size * 2];
+        for (int i = 0; i < size; i++) {
+            int value = registerValue.applyAsInt(i);
+            bytes[2 * i] = (byte) (value >> 8);
+            bytes[2 * i + 1] = (byte) value;
+        }
+    }
+
+    /**
+     * Construct <code>ModbusRegisterArrayImpl</code> that takes ownership of the register data, i.e. the data is not
+     * copied and must not be modified afterwards
+     *
+     * @param bytes register data, two bytes per register, high byte first. The length must be even.
+     * @param owned marker to distinguish the constructor from {@link #ModbusRegisterArray(byte[])}
+     */
+    ModbusRegisterArray(byte[] bytes, boolean owned) {
+        this.bytes = bytes;
     }
 
     /**
@@ -65,12 +123,75 @@ public class ModbusRegisterArray implements Iterable<ModbusRegister> {
      *
      * Index 0 matches first register (lowest register index).
      * <p>
+     * A new {@link ModbusRegister} is constructed on every call. Use {@link #getSignedRegister(int)} or
+     * {@link #getUnsignedRegister(int)} to access the data without allocations.
      *
      * @param index the index of the register to be returned.
      * @throws IndexOutOfBoundsException if the index is out of bounds.
      */
     public ModbusRegister getRegister(int index) {
-        return registers[index];
+        checkIndex(index);
+        return new ModbusRegister(bytes[2 * index], bytes[2 * index + 1]);
+    }
+
+    /**
+     * Return register data at the given index, interpreted as signed 16 bit integer
+     *
+     * @param index the index of the register to be returned.
+     * @return register value between -32768 and 32767 (inclusive)
+     * @throws IndexOutOfBoundsException if the index is out of bounds.
+     */
+    public int getSignedRegister(int index) {
+        checkIndex(index);
+        return (short) (((bytes[2 * index] & 0xff) << 8) | (bytes[2 * index + 1] & 0xff));
+    }
+
+    /**
+     * Return register data at the given index, interpreted as unsigned 16 bit integer
+     *
+     * @param index the index of the register to be returned.
+     * @return register value between 0 and 65535 (inclusive)
+     * @throws IndexOutOfBoundsException if the index is out of bounds.
+     */
+    public int getUnsignedRegister(int index) {
+        checkIndex(index);
+        return unsignedRegister(index);
+    }
+
+    /**
+     * Same as {@link #getUnsignedRegister(int)} but without checking the index, for callers that have checked the
+     * bounds already
+     */
+    int unsignedRegister(int index) {
+        return ((bytes[2 * index] & 0xff) << 8) | (bytes[2 * index + 1] & 0xff);
+    }
+
+    /**
+     * Return single byte of the register data
+     *
+     * @param byteIndex zero based index of the byte. Index 0 refers to the high byte of the first register, index 1
+     *            to the low byte of the first register, etc.
+     * @return the byte
+     * @throws IndexOutOfBoundsException if the index is out of bounds.
+     */
+    public byte getByte(int byteIndex) {
+        return bytes[byteIndex];
+    }
+
+    /**
+     * Return the given range of registers
+     *
+     * @param index index of the first register of the range
+     * @param length number of registers in the range
+     * @return registers of the range
+     * @throws IndexOutOfBoundsException if the range is out of bounds.
+     */
+    public ModbusRegisterArray slice(int index, int length) {
+        if (index < 0 || length < 0 || index + length > size()) {
+            throw new IndexOutOfBoundsException(
+                    String.format("Register range %d..%d out of bounds, size is %d", index, index + length, size()));
+        }
+        return new ModbusRegisterArray(Arrays.copyOfRange(bytes, 2 * index, 2 * (index + length)), true);
     }
 
     /**
@@ -79,15 +200,22 @@ public class ModbusRegisterArray implements Iterable<ModbusRegister> {
      * @return
      */
     public int size() {
-        return registers.length;
+        return bytes.length / 2;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException(
+                    String.format("Register index %d out of bounds, size is %d", index, size()));
+        }
     }
 
     @Override
     public String toString() {
-        if (registers.length == 0) {
+        if (size() == 0) {
             return "ModbusRegisterArrayImpl(<empty>)";
         }
-        StringBuffer buffer = new StringBuffer(registers.length * 2).append("ModbusRegisterArrayImpl(");
+        StringBuffer buffer = new StringBuffer(size() * 2).append("ModbusRegisterArrayImpl(");
         return appendHexString(buffer).append(')').toString();
     }
 
@@ -120,12 +248,16 @@ public class ModbusRegisterArray implements Iterable<ModbusRegister> {
      *
      */
     public StringBuffer appendHexString(StringBuffer buffer) {
-        IntStream.range(0, size()).forEachOrdered(index -> {
-            getRegister(index).appendHexString(buffer);
-            if (index < size() - 1) {
+        for (int i = 0; i < bytes.length; i++) {
+            int b = bytes[i] & 0xff;
+            if (b < 0x10) {
+                buffer.append('0');
+            }
+            buffer.append(Integer.toHexString(b));
+            if (i < bytes.length - 1) {
                 buffer.append(' ');
             }
-        });
+        }
         return buffer;
     }
 }
@@ -0,0 +1,153 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus;
+
+import java.util.Arrays;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Immutable snapshot of timing histogram
+ *
+ * Durations are counted in buckets with fixed upper bounds, see {@link #getBucketUpperBoundsMillis()}. The last bucket
+ * counts all durations exceeding the largest bound.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusTimingHistogram {
+
+    /**
+     * Inclusive upper bounds of the buckets, in milliseconds
+     */
+    private static final long[] BUCKET_UPPER_BOUNDS_MILLIS = { 1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000 };
+
+    /**
+     * Number of buckets, including the last bucket without upper bound
+     */
+    public static final int BUCKET_COUNT = BUCKET_UPPER_BOUNDS_MILLIS.length + 1;
+
+    private final long count;
+    private final long totalMillis;
+    private final long maxMillis;
+    private final long[] bucketCounts;
+
+    public ModbusTimingHistogram(long count, long totalMillis, long maxMillis, long[] bucketCounts) {
+        if (bucketCounts.length != BUCKET_COUNT) {
+            throw new IllegalArgumentException(
+                    String.format("Expecting %d buckets, got %d", BUCKET_COUNT, bucketCounts.length));
+        }
+        this.count = count;
+        this.totalMillis = totalMillis;
+        this.maxMillis = maxMillis;
+        this.bucketCounts = bucketCounts.clone();
+    }
+
+    /**
+     * Get inclusive upper bounds of the buckets
+     *
+     * @return upper bounds in milliseconds, one less than there are buckets
+     */
+    public static long[] getBucketUpperBoundsMillis() {
+        return BUCKET_UPPER_BOUNDS_MILLIS.clone();
+    }
+
+    /**
+     * Get index of the bucket for the duration
+     *
+     * @param millis duration in milliseconds
+     * @return bucket index
+     */
+    public static int bucketIndex(long millis) {
+        for (int i = 0; i < BUCKET_UPPER_BOUNDS_MILLIS.length; i++) {
+            if (millis <= BUCKET_UPPER_BOUNDS_MILLIS[i]) {
+                return i;
+            }
+        }
+        return BUCKET_UPPER_BOUNDS_MILLIS.length;
+    }
+
+    /**
+     * Get number of recorded durations
+     *
+     * @return number of recorded durations
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Get sum of recorded durations
+     *
+     * @return sum in milliseconds
+     */
+    public long getTotalMillis() {
+        return totalMillis;
+    }
+
+    /**
+     * Get maximum recorded duration
+     *
+     * @return maximum in milliseconds, or 0 if nothing has been recorded
+     */
+    public long getMaxMillis() {
+        return maxMillis;
+    }
+
+    /**
+     * Get average of recorded durations
+     *
+     * @return average in milliseconds, or 0 if nothing has been recorded
+     */
+    public double getAverageMillis() {
+        return count == 0 ? 0 : (double) totalMillis / count;
+    }
+
+    /**
+     * Get number of recorded durations in each bucket
+     *
+     * @return bucket counts, one more than there are {@link #getBucketUpperBoundsMillis() upper bounds}
+     */
+    public long[] getBucketCounts() {
+        return bucketCounts.clone();
+    }
+
+    /**
+     * Estimate percentile of the recorded durations
+     *
+     * @param percentile percentile between 0 and 100
+     * @return upper bound of the bucket containing the percentile, or maximum recorded duration when it falls to the
+     *         last bucket
+     */
+    public long getPercentileMillis(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(percentile / 100.0 * count);
+        long cumulative = 0;
+        for (int i = 0; i < BUCKET_UPPER_BOUNDS_MILLIS.length; i++) {
+            cumulative += bucketCounts[i];
+            if (cumulative >= rank) {
+                return Math.min(BUCKET_UPPER_BOUNDS_MILLIS[i], maxMillis);
+            }
+        }
+        return maxMillis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("{count=%d, avg=%.1f ms, p50=%d ms, p95=%d ms, max=%d ms, buckets=%s}", count,
+                getAverageMillis(), getPercentileMillis(50), getPercentileMillis(95), maxMillis,
+                Arrays.toString(bucketCounts));
+    }
+}
@@ -61,6 +61,29 @@ public class EndpointPoolConfiguration {
      */
     private int connectTimeoutMillis;
 
+    /**
+     * Whether regular polls with equal poll period should be coalesced to as few reads as possible. Overlapping or
+     * adjacent reads with the same unit id and function code are merged into a single read. Disabled by default.
+     */
+    private boolean coalesceRegularPolls;
+
+    /**
+     * How many transactions can be outstanding at the same time. Value of one (default) means that the next request is
+     * sent only after the response of the previous request has been received.
+     *
+     * Larger values allow regular polls executed together to be pipelined: several requests are sent before reading
+     * the responses, and responses are matched to requests using the transaction id. Only effective with TCP
+     * endpoints.
+     */
+    private int maxInFlightTransactions = 1;
+
+    /**
+     * Whether operations of the endpoint should be executed one at a time, in the order of their deadlines. One-off
+     * writes are executed before polls, and regular polls not keeping up with their poll period are backed off.
+     * Disabled by default, meaning that all operations are scheduled independently in the shared thread pool.
+     */
+    private boolean deadlineScheduling;
+
     private static StandardToStringStyle toStringStyle = new StandardToStringStyle();
 
     static {
@@ -107,10 +130,36 @@ public class EndpointPoolConfiguration {
         this.connectTimeoutMillis = connectTimeoutMillis;
     }
 
+    public boolean isCoalesceRegularPolls() {
+        return coalesceRegularPolls;
+    }
+
+    public void setCoalesceRegularPolls(boolean coalesceRegularPolls) {
+        this.coalesceRegularPolls = coalesceRegularPolls;
+    }
+
+    public int getMaxInFlightTransactions() {
+        return maxInFlightTransactions;
+    }
+
+    public void setMaxInFlightTransactions(int maxInFlightTransactions) {
+        this.maxInFlightTransactions = maxInFlightTransactions;
+    }
+
+    public boolean isDeadlineScheduling() {
+        return deadlineScheduling;
+    }
+
+    public void setDeadlineScheduling(boolean deadlineScheduling) {
+        this.deadlineScheduling = deadlineScheduling;
+    }
+
     @Override
     public int hashCode() {
         return new HashCodeBuilder(2149, 3117).append(interTransactionDelayMillis).append(interConnectDelayMillis)
-                .append(connectMaxTries).append(reconnectAfterMillis).append(connectTimeoutMillis).toHashCode();
+                .append(connectMaxTries).append(reconnectAfterMillis).append(connectTimeoutMillis)
+                .append(coalesceRegularPolls).append(maxInFlightTransactions).append(deadlineScheduling)
+                .toHashCode();
     }
 
     @Override
@@ -119,7 +168,10 @@ public class EndpointPoolConfiguration {
                 .append("interTransactionDelayMillis", interTransactionDelayMillis)
                 .append("interConnectDelayMillis", interConnectDelayMillis).append("connectMaxTries", connectMaxTries)
                 .append("reconnectAfterMillis", reconnectAfterMillis)
-                .append("connectTimeoutMillis", connectTimeoutMillis).toString();
+                .append("connectTimeoutMillis", connectTimeoutMillis)
+                .append("coalesceRegularPolls", coalesceRegularPolls)
+                .append("maxInFlightTransactions", maxInFlightTransactions)
+                .append("deadlineScheduling", deadlineScheduling).toString();
     }
 
     @Override
@@ -137,6 +189,9 @@ public class EndpointPoolConfiguration {
         return new EqualsBuilder().append(interTransactionDelayMillis, rhs.interTransactionDelayMillis)
                 .append(interConnectDelayMillis, rhs.interConnectDelayMillis)
                 .append(connectMaxTries, rhs.connectMaxTries).append(reconnectAfterMillis, rhs.reconnectAfterMillis)
-                .append(connectTimeoutMillis, rhs.connectTimeoutMillis).isEquals();
+                .append(connectTimeoutMillis, rhs.connectTimeoutMillis)
+                .append(coalesceRegularPolls, rhs.coalesceRegularPolls)
+                .append(maxInFlightTransactions, rhs.maxInFlightTransactions)
+                .append(deadlineScheduling, rhs.deadlineScheduling).isEquals();
     }
 }
@@ -0,0 +1,144 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.apache.commons.lang.builder.ToStringBuilder;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.io.transport.modbus.AsyncModbusFailure;
+import org.openhab.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.io.transport.modbus.BitArray;
+import org.openhab.io.transport.modbus.ModbusFailureCallback;
+import org.openhab.io.transport.modbus.ModbusReadCallback;
+import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.io.transport.modbus.PollTask;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link PollTask} representing single wire read covering the requests of several poll tasks
+ *
+ * The task acts as result and failure callback of the merged read. Results are sliced and passed on to the callbacks
+ * of the member tasks, using the original request of each member. Failures are passed on to all members. Members that
+ * are no longer registered when the read completes are skipped.
+ *
+ * Instances are created by {@link PollTaskCoalescer}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class CoalescedPollTask
+        implements PollTask, ModbusReadCallback, ModbusFailureCallback<ModbusReadRequestBlueprint> {
+
+    private final Logger logger = LoggerFactory.getLogger(CoalescedPollTask.class);
+
+    private final ModbusSlaveEndpoint endpoint;
+    private final ModbusReadRequestBlueprint request;
+    private final List<PollTask> members;
+    private final Predicate<PollTask> isRegistered;
+
+    CoalescedPollTask(ModbusSlaveEndpoint endpoint, ModbusReadRequestBlueprint request, List<PollTask> members,
+            Predicate<PollTask> isRegistered) {
+        this.endpoint = endpoint;
+        this.request = request;
+        this.members = Collections.unmodifiableList(members);
+        this.isRegistered = isRegistered;
+    }
+
+    /**
+     * Get the poll tasks covered by this read
+     *
+     * @return member tasks
+     */
+    public List<PollTask> getMembers() {
+        return members;
+    }
+
+    @Override
+    public ModbusSlaveEndpoint getEndpoint() {
+        return endpoint;
+    }
+
+    @Override
+    public ModbusReadRequestBlueprint getRequest() {
+        return request;
+    }
+
+    @Override
+    public ModbusReadCallback getResultCallback() {
+        return this;
+    }
+
+    @Override
+    public ModbusFailureCallback<ModbusReadRequestBlueprint> getFailureCallback() {
+        return this;
+    }
+
+    @Override
+    public void handle(AsyncModbusReadResult result) {
+        for (PollTask member : members) {
+            if (!isRegistered.test(member)) {
+                logger.debug("Poll task {} was unregistered, not passing coalesced read result", member);
+                continue;
+            }
+            ModbusReadRequestBlueprint memberRequest = member.getRequest();
+            int offset = memberRequest.getReference() - request.getReference();
+            int length = memberRequest.getDataLength();
+            try {
+                if (result.getRegisters().isPresent()) {
+                    ModbusRegisterArray registers = result.getRegisters().get().slice(offset, length);
+                    member.getResultCallback().handle(new AsyncModbusReadResult(memberRequest, registers));
+                } else if (result.getBits().isPresent()) {
+                    BitArray bits = result.getBits().get();
+                    BitArray memberBits = new BitArray(length);
+                    for (int i = 0; i < length; i++) {
+                        memberBits.setBit(i, bits.getBit(offset + i));
+                    }
+                    member.getResultCallback().handle(new AsyncModbusReadResult(memberRequest, memberBits));
+                }
+            } catch (RuntimeException e) {
+                // One misbehaving callback should not prevent the others from receiving the data
+                logger.warn("Callback of poll task {} failed when handling coalesced read result: {} {}", member,
+                        e.getClass().getName(), e.getMessage(), e);
+            }
+        }
+    }
+
+    @Override
+    public void handle(AsyncModbusFailure<ModbusReadRequestBlueprint> failure) {
+        for (PollTask member : members) {
+            if (!isRegistered.test(member)) {
+                logger.debug("Poll task {} was unregistered, not passing coalesced read failure", member);
+                continue;
+            }
+            try {
+                member.getFailureCallback()
+                        .handle(new AsyncModbusFailure<>(member.getRequest(), failure.getCause()));
+            } catch (RuntimeException e) {
+                logger.warn("Callback of poll task {} failed when handling coalesced read failure: {} {}", member,
+                        e.getClass().getName(), e.getMessage(), e);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, BasicPollTask.toStringStyle).append("request", request)
+                .append("endpoint", endpoint).append("members", members).toString();
+    }
+}
@@ -0,0 +1,128 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.io.transport.modbus.ModbusEndpointMetrics;
+import org.openhab.io.transport.modbus.ModbusTimingHistogram;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+
+/**
+ * Collects transport metrics of a single endpoint
+ *
+ * Recording is lock-free so that it can be done from the poller threads without affecting the operations. Snapshots
+ * taken while operations are recorded might not be perfectly consistent across the individual figures.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class EndpointMetricsCollector {
+
+    /**
+     * Mutable counterpart of {@link ModbusTimingHistogram}
+     */
+    static class HistogramCollector {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalMillis = new LongAdder();
+        private final AtomicLong maxMillis = new AtomicLong();
+        private final LongAdder[] buckets = new LongAdder[ModbusTimingHistogram.BUCKET_COUNT];
+
+        HistogramCollector() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        void record(long millis) {
+            long value = Math.max(0, millis);
+            count.increment();
+            totalMillis.add(value);
+            maxMillis.accumulateAndGet(value, Math::max);
+            buckets[ModbusTimingHistogram.bucketIndex(value)].increment();
+        }
+
+        ModbusTimingHistogram snapshot() {
+            long[] bucketCounts = new long[buckets.length];
+            for (int i = 0; i < buckets.length; i++) {
+                bucketCounts[i] = buckets[i].sum();
+            }
+            return new ModbusTimingHistogram(count.sum(), totalMillis.sum(), maxMillis.get(), bucketCounts);
+        }
+    }
+
+    private final ModbusSlaveEndpoint endpoint;
+    private final HistogramCollector queueWait = new HistogramCollector();
+    private final HistogramCollector connection = new HistogramCollector();
+    private final HistogramCollector transaction = new HistogramCollector();
+    private final HistogramCollector callback = new HistogramCollector();
+    private final Map<String, LongAdder> errorCounts = new ConcurrentHashMap<>();
+    private final LongAdder pollPeriodOverruns = new LongAdder();
+
+    public EndpointMetricsCollector(ModbusSlaveEndpoint endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * Record time operation waited before it was started
+     *
+     * @param millis waiting time in milliseconds
+     */
+    public void recordQueueWait(long millis) {
+        queueWait.record(millis);
+    }
+
+    /**
+     * Record timings of finished operation
+     *
+     * @param timer stop watches of the operation
+     */
+    public void recordOperation(AggregateStopWatch timer) {
+        connection.record(timer.connection.getTotalTimeMillis());
+        transaction.record(timer.transaction.getTotalTimeMillis());
+        callback.record(timer.callback.getTotalTimeMillis());
+    }
+
+    /**
+     * Record failed operation
+     *
+     * @param error error passed to the failure callback
+     */
+    public void recordError(Exception error) {
+        errorCounts.computeIfAbsent(error.getClass().getSimpleName(), name -> new LongAdder()).increment();
+    }
+
+    /**
+     * Record regular poll that took longer than its poll period
+     */
+    public void recordPollPeriodOverrun() {
+        pollPeriodOverruns.increment();
+    }
+
+    /**
+     * Take immutable snapshot of the collected metrics
+     *
+     * @return snapshot
+     */
+    public ModbusEndpointMetrics snapshot() {
+        Map<String, Long> errors = new TreeMap<>();
+        errorCounts.forEach((name, counter) -> errors.put(name, counter.sum()));
+        return new ModbusEndpointMetrics(endpoint, queueWait.snapshot(), connection.snapshot(),
+                transaction.snapshot(), callback.snapshot(), errors, pollPeriodOverruns.sum());
+    }
+}
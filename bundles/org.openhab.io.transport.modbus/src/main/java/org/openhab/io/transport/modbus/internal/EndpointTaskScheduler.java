@@ -0,0 +1,392 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.io.transport.modbus.endpoint.EndpointPoolConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes the operations of a single endpoint one at a time, in the order of their deadlines
+ *
+ * Only one operation of the endpoint occupies a thread of the shared executor at any time, reflecting the fact that
+ * the endpoint can handle one transaction at a time anyway. Operations are picked as follows:
+ * <ul>
+ * <li>one-off writes first, in submission order</li>
+ * <li>then one-off and regular polls, earliest deadline first. The deadline of one-off poll is the submission time,
+ * and the deadline of regular poll is the time it is next due.</li>
+ * </ul>
+ *
+ * Regular polls are re-scheduled after each execution, similar to
+ * {@link ScheduledExecutorService#scheduleWithFixedDelay(Runnable, long, long, TimeUnit)}. Each regular poll is queued
+ * at most once, so polls that cannot keep up do not pile up. Instead, execution finishing later than one poll period
+ * after the deadline is counted as overrun, and the poll period is doubled (up to {@link #MAX_BACKOFF_FACTOR} times
+ * the configured period). The period is halved back towards the configured value with each poll keeping up again.
+ *
+ * Used with endpoints having {@link EndpointPoolConfiguration#isDeadlineScheduling()} enabled.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class EndpointTaskScheduler {
+
+    /**
+     * Maximum multiplier applied to the poll period of overrunning polls
+     */
+    public static final int MAX_BACKOFF_FACTOR = 8;
+
+    private static final Comparator<Job> EXECUTION_ORDER = Comparator.comparing((Job job) -> !job.write)
+            .thenComparingLong(job -> job.deadlineMillis).thenComparingLong(job -> job.sequence);
+
+    private final Logger logger = LoggerFactory.getLogger(EndpointTaskScheduler.class);
+
+    private abstract static class Job {
+        private final boolean write;
+        protected volatile long deadlineMillis;
+        private long sequence;
+
+        Job(boolean write, long deadlineMillis) {
+            this.write = write;
+            this.deadlineMillis = deadlineMillis;
+        }
+
+        abstract void run();
+    }
+
+    private static class OneOffJob extends Job {
+        private final FutureTask<?> future;
+
+        OneOffJob(boolean write, long deadlineMillis, FutureTask<?> future) {
+            super(write, deadlineMillis);
+            this.future = future;
+        }
+
+        @Override
+        void run() {
+            // FutureTask does nothing if canceled already
+            future.run();
+        }
+
+        @Override
+        public String toString() {
+            return future.toString();
+        }
+    }
+
+    /**
+     * Regular poll, acting also as the future returned to the caller
+     */
+    private class PeriodicJob extends Job implements ScheduledFuture<Object> {
+        private final Object description;
+        private final Runnable task;
+        private final long periodMillis;
+        private final CountDownLatch cancelled = new CountDownLatch(1);
+        private volatile int backoffFactor = 1;
+        /**
+         * Thread running the task. Guarded by runnerLock, so that canceling job never interrupts the thread after it
+         * has moved on to something else.
+         */
+        private @Nullable Thread runner;
+        private final Object runnerLock = new Object();
+
+        PeriodicJob(Object description, Runnable task, long deadlineMillis, long periodMillis) {
+            super(false, deadlineMillis);
+            this.description = description;
+            this.task = task;
+            this.periodMillis = periodMillis;
+        }
+
+        @Override
+        void run() {
+            synchronized (runnerLock) {
+                if (isCancelled()) {
+                    return;
+                }
+                runner = Thread.currentThread();
+            }
+            try {
+                task.run();
+            } finally {
+                synchronized (runnerLock) {
+                    runner = null;
+                    // Clear interruption by cancel() possibly not noticed by the task
+                    Thread.interrupted();
+                }
+            }
+        }
+
+        /**
+         * Update backoff and deadline after execution. Called holding the lock of the scheduler.
+         */
+        void reschedule(long finishedMillis) {
+            if (finishedMillis - deadlineMillis > periodMillis) {
+                EndpointMetricsCollector collector = metrics.get();
+                if (collector != null) {
+                    collector.recordPollPeriodOverrun();
+                }
+                if (backoffFactor < MAX_BACKOFF_FACTOR) {
+                    backoffFactor *= 2;
+                    logger.warn(
+                            "Poll {} did not keep up with its poll period of {} ms (finished {} ms after deadline). Backing off to period of {} ms",
+                            description, periodMillis, finishedMillis - deadlineMillis, periodMillis * backoffFactor);
+                } else {
+                    logger.debug("Poll {} still overrunning, keeping period of {} ms", description,
+                            periodMillis * backoffFactor);
+                }
+            } else if (backoffFactor > 1) {
+                backoffFactor /= 2;
+                logger.debug("Poll {} keeping up again, reducing period to {} ms", description,
+                        periodMillis * backoffFactor);
+            }
+            deadlineMillis = finishedMillis + periodMillis * backoffFactor;
+        }
+
+        @Override
+        public long getDelay(@Nullable TimeUnit unit) {
+            return TimeUnit.MILLISECONDS.convert(deadlineMillis - System.currentTimeMillis(),
+                    unit == null ? TimeUnit.MILLISECONDS : unit);
+        }
+
+        @Override
+        public int compareTo(@Nullable Delayed other) {
+            return other == null ? 1
+                    : Long.compare(getDelay(TimeUnit.MILLISECONDS), other.getDelay(TimeUnit.MILLISECONDS));
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            synchronized (lock) {
+                if (isCancelled()) {
+                    return false;
+                }
+                cancelled.countDown();
+                queue.remove(this);
+            }
+            synchronized (runnerLock) {
+                Thread localRunner = runner;
+                if (mayInterruptIfRunning && localRunner != null) {
+                    localRunner.interrupt();
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled.getCount() == 0;
+        }
+
+        @Override
+        public boolean isDone() {
+            return isCancelled();
+        }
+
+        @Override
+        public Object get() throws InterruptedException {
+            // Like with other periodic futures, completes only via cancellation
+            cancelled.await();
+            throw new CancellationException();
+        }
+
+        @Override
+        public Object get(long timeout, @Nullable TimeUnit unit) throws InterruptedException, TimeoutException {
+            if (!cancelled.await(timeout, unit == null ? TimeUnit.MILLISECONDS : unit)) {
+                throw new TimeoutException();
+            }
+            throw new CancellationException();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("PeriodicJob(%s, period=%d ms, backoff=%d)", description, periodMillis,
+                    backoffFactor);
+        }
+    }
+
+    private final ScheduledExecutorService executor;
+    private final Supplier<@Nullable EndpointMetricsCollector> metrics;
+    private final Object lock = new Object();
+    private final PriorityQueue<Job> queue = new PriorityQueue<>(EXECUTION_ORDER);
+    private long sequence;
+    private boolean running;
+    private boolean closed;
+    private @Nullable ScheduledFuture<?> wakeup;
+    private long wakeupAtMillis;
+
+    /**
+     * Construct new scheduler
+     *
+     * @param executor executor used to run the operations
+     * @param metrics metrics of the endpoint, queried every time something is recorded. Nothing is recorded when the
+     *            supplier returns null.
+     */
+    public EndpointTaskScheduler(ScheduledExecutorService executor,
+            Supplier<@Nullable EndpointMetricsCollector> metrics) {
+        this.executor = executor;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Submit one-off operation for execution
+     *
+     * @param task operation to execute
+     * @param write whether the operation is write, to be executed before any polls
+     * @return future representing the execution
+     * @throws IllegalStateException when the scheduler is closed
+     */
+    public Future<?> submit(Runnable task, boolean write) {
+        FutureTask<?> future = new FutureTask<>(task, null);
+        enqueue(new OneOffJob(write, System.currentTimeMillis(), future));
+        return future;
+    }
+
+    /**
+     * Schedule regular poll
+     *
+     * @param description description of the poll, used in logging
+     * @param task poll to execute
+     * @param initialDelayMillis delay before the first execution
+     * @param periodMillis delay between end of execution and the next execution, before any backoff
+     * @return future for canceling the poll
+     * @throws IllegalStateException when the scheduler is closed
+     */
+    public ScheduledFuture<?> schedulePeriodic(Object description, Runnable task, long initialDelayMillis,
+            long periodMillis) {
+        PeriodicJob job = new PeriodicJob(description, task, System.currentTimeMillis() + initialDelayMillis,
+                periodMillis);
+        enqueue(job);
+        return job;
+    }
+
+    /**
+     * Close the scheduler. Queued one-off operations and regular polls are canceled.
+     */
+    public void close() {
+        List<Job> jobs;
+        synchronized (lock) {
+            closed = true;
+            cancelWakeup();
+            jobs = new ArrayList<>(queue);
+            queue.clear();
+        }
+        for (Job job : jobs) {
+            if (job instanceof OneOffJob) {
+                ((OneOffJob) job).future.cancel(false);
+            } else {
+                ((PeriodicJob) job).cancel(false);
+            }
+        }
+    }
+
+    private void enqueue(Job job) {
+        synchronized (lock) {
+            if (closed) {
+                throw new IllegalStateException("Scheduler is closed already!");
+            }
+            job.sequence = sequence++;
+            queue.add(job);
+            dispatch();
+        }
+    }
+
+    /**
+     * Start execution of the next job if nothing is running at the moment, or arrange wakeup at the next deadline.
+     * Called holding the lock.
+     */
+    private void dispatch() {
+        if (running || closed) {
+            return;
+        }
+        Job next = queue.peek();
+        if (next == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (next.deadlineMillis <= now) {
+            cancelWakeup();
+            running = true;
+            executor.execute(this::runNext);
+        } else if (wakeup == null || next.deadlineMillis < wakeupAtMillis) {
+            cancelWakeup();
+            wakeupAtMillis = next.deadlineMillis;
+            wakeup = executor.schedule(this::wakeUp, next.deadlineMillis - now, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void cancelWakeup() {
+        ScheduledFuture<?> localWakeup = wakeup;
+        if (localWakeup != null) {
+            localWakeup.cancel(false);
+            wakeup = null;
+        }
+    }
+
+    private void wakeUp() {
+        synchronized (lock) {
+            wakeup = null;
+            dispatch();
+        }
+    }
+
+    private void runNext() {
+        Job job;
+        synchronized (lock) {
+            job = queue.peek();
+            if (closed || job == null || job.deadlineMillis > System.currentTimeMillis()) {
+                running = false;
+                dispatch();
+                return;
+            }
+            queue.poll();
+        }
+        long started = System.currentTimeMillis();
+        EndpointMetricsCollector collector = metrics.get();
+        if (collector != null) {
+            collector.recordQueueWait(started - job.deadlineMillis);
+        }
+        try {
+            job.run();
+        } catch (RuntimeException e) {
+            // Keep serving the endpoint, similar to how regular polls continue after unexpected errors
+            logger.warn("Execution of {} failed unexpectedly. Ignoring exception.", job, e);
+        } finally {
+            long finished = System.currentTimeMillis();
+            synchronized (lock) {
+                if (job instanceof PeriodicJob && !closed && !((PeriodicJob) job).isCancelled()) {
+                    ((PeriodicJob) job).reschedule(finished);
+                    job.sequence = sequence++;
+                    queue.add(job);
+                }
+                running = false;
+                dispatch();
+            }
+        }
+    }
+}
@@ -13,18 +13,28 @@
 package org.openhab.io.transport.modbus.internal;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import javax.imageio.IIOException;
 
@@ -39,8 +49,10 @@ import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.openhab.io.transport.modbus.AsyncModbusFailure;
 import org.openhab.io.transport.modbus.AsyncModbusWriteResult;
 import org.openhab.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.io.transport.modbus.ModbusEndpointMetrics;
 import org.openhab.io.transport.modbus.ModbusFailureCallback;
 import org.openhab.io.transport.modbus.ModbusManager;
+import org.openhab.io.transport.modbus.ModbusMetricsService;
 import org.openhab.io.transport.modbus.ModbusReadCallback;
 import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
 import org.openhab.io.transport.modbus.ModbusResultCallback;
@@ -71,9 +83,12 @@ import net.wimpi.modbus.ModbusException;
 import net.wimpi.modbus.ModbusIOException;
 import net.wimpi.modbus.ModbusSlaveException;
 import net.wimpi.modbus.io.ModbusTransaction;
+import net.wimpi.modbus.io.ModbusTransport;
+import net.wimpi.modbus.msg.ExceptionResponse;
 import net.wimpi.modbus.msg.ModbusRequest;
 import net.wimpi.modbus.msg.ModbusResponse;
 import net.wimpi.modbus.net.ModbusSlaveConnection;
+import net.wimpi.modbus.net.TCPMasterConnection;
 
 /**
  * Main implementation of ModbusManager
@@ -84,9 +99,10 @@ import net.wimpi.modbus.net.ModbusSlaveConnection;
  *
  * @author Sami Salonen - Initial contribution
  */
-@Component(service = ModbusManager.class, immediate = true, configurationPid = "transport.modbus")
+@Component(service = { ModbusManager.class,
+        ModbusMetricsService.class }, immediate = true, configurationPid = "transport.modbus")
 @NonNullByDefault
-public class ModbusManagerImpl implements ModbusManager {
+public class ModbusManagerImpl implements ModbusManager, ModbusMetricsService {
 
     static class PollTaskUnregistered extends Exception {
         public PollTaskUnregistered(String msg) {
@@ -96,6 +112,33 @@ public class ModbusManagerImpl implements ModbusManager {
         private static final long serialVersionUID = 6939730579178506885L;
     }
 
+    /**
+     * Regular polls with the same endpoint and poll period, executed together on one schedule
+     *
+     * Used with endpoints having {@link EndpointPoolConfiguration#isCoalesceRegularPolls()} enabled.
+     */
+    private static class CoalescedPollGroup {
+        private final ModbusSlaveEndpoint endpoint;
+        private final long pollPeriodMillis;
+        private final Set<PollTask> tasks = new CopyOnWriteArraySet<>();
+        private volatile @Nullable ScheduledFuture<?> future;
+        /**
+         * Time when the next execution is expected to start, according to the poll schedule
+         */
+        private volatile long expectedStartMillis;
+
+        public CoalescedPollGroup(ModbusSlaveEndpoint endpoint, long pollPeriodMillis) {
+            this.endpoint = endpoint;
+            this.pollPeriodMillis = pollPeriodMillis;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("CoalescedPollGroup(endpoint=%s, pollPeriodMillis=%d, tasks=%d)", endpoint,
+                    pollPeriodMillis, tasks.size());
+        }
+    }
+
     @FunctionalInterface
     private interface ModbusOperation<T> {
 
@@ -299,6 +342,11 @@ public class ModbusManagerImpl implements ModbusManager {
 
     private volatile long lastQueueMonitorLog = -1;
 
+    /**
+     * Transaction id counter for pipelined transactions
+     */
+    private final AtomicInteger pipelinedTransactionId = new AtomicInteger();
+
     /**
      * We use connection pool to ensure that only single transaction is ongoing per each endpoint. This is especially
      * important with serial slaves but practice has shown that even many tcp slaves have limited
@@ -312,12 +360,24 @@ public class ModbusManagerImpl implements ModbusManager {
     private volatile @Nullable KeyedObjectPool<ModbusSlaveEndpoint, ModbusSlaveConnection> connectionPool;
     private volatile @Nullable ModbusSlaveConnectionFactoryImpl connectionFactory;
     private volatile Map<PollTask, ScheduledFuture<?>> scheduledPollTasks = new ConcurrentHashMap<>();
+    /**
+     * Coalesced poll group of each regular poll task registered with coalescing enabled
+     */
+    private volatile Map<PollTask, CoalescedPollGroup> coalescedPollGroups = new ConcurrentHashMap<>();
     /**
      * Executor for requests
      */
     private volatile @Nullable ScheduledExecutorService scheduledThreadPoolExecutor;
     private volatile @Nullable ScheduledFuture<?> monitorFuture;
     private volatile Set<ModbusCommunicationInterfaceImpl> communicationInterfaces = new ConcurrentHashSet<>();
+    /**
+     * Transport metrics of each endpoint with open communication interfaces
+     */
+    private final Map<ModbusSlaveEndpoint, EndpointMetricsCollector> endpointMetrics = new ConcurrentHashMap<>();
+    /**
+     * Schedulers of endpoints having deadline scheduling enabled
+     */
+    private final Map<ModbusSlaveEndpoint, EndpointTaskScheduler> endpointSchedulers = new ConcurrentHashMap<>();
 
     private void constructConnectionPool() {
         ModbusSlaveConnectionFactoryImpl connectionFactory = new ModbusSlaveConnectionFactoryImpl();
@@ -471,8 +531,9 @@ public class ModbusManagerImpl implements ModbusManager {
         if (!connection.isPresent()) {
             logger.warn("Could not connect to endpoint {} -- aborting request {} [operation ID {}]", endpoint, request,
                     operationId);
-            timer.callback.timeRunnable(
-                    () -> invokeCallbackWithError(request, failureCallback, new ModbusConnectionException(endpoint)));
+            ModbusConnectionException error = new ModbusConnectionException(endpoint);
+            recordMetrics(endpoint, metrics -> metrics.recordError(error));
+            timer.callback.timeRunnable(() -> invokeCallbackWithError(request, failureCallback, error));
         }
         return connection;
     }
@@ -501,6 +562,15 @@ public class ModbusManagerImpl implements ModbusManager {
     }
 
     private void verifyTaskIsRegistered(PollTask task) throws PollTaskUnregistered {
+        if (task instanceof CoalescedPollTask) {
+            // Coalesced read is still needed as long as any of the covered tasks is registered
+            if (((CoalescedPollTask) task).getMembers().stream().noneMatch(this.scheduledPollTasks::containsKey)) {
+                String msg = String.format("All poll tasks of %s are unregistered", task);
+                logger.debug(msg);
+                throw new PollTaskUnregistered(msg);
+            }
+            return;
+        }
         if (!this.scheduledPollTasks.containsKey(task)) {
             String msg = String.format("Poll task %s is unregistered", task);
             logger.debug(msg);
@@ -700,6 +770,7 @@ public class ModbusManagerImpl implements ModbusManager {
             Exception exception = lastError.get();
             if (exception != null) {
                 // All retries failed with some error
+                recordMetrics(endpoint, metrics -> metrics.recordError(exception));
                 timer.callback.timeRunnable(() -> {
                     invokeCallbackWithError(request, failureCallback, exception);
                 });
@@ -718,6 +789,7 @@ public class ModbusManagerImpl implements ModbusManager {
             timer.connection.timeConsumer(c -> returnConnection(endpoint, c), connection);
             logger.trace("Connection was returned to the pool, ending operation [operation ID {}]", operationId);
             timer.suspendAllRunning();
+            recordMetrics(endpoint, metrics -> metrics.recordOperation(timer));
             logger.debug("Modbus operation ended, timing info: {} [operation ID {}]", timer, operationId);
         }
     }
@@ -747,11 +819,17 @@ public class ModbusManagerImpl implements ModbusManager {
             Objects.requireNonNull(executor, "Not activated!");
             long scheduleTime = System.currentTimeMillis();
             BasicPollTask task = new BasicPollTask(endpoint, request, resultCallback, failureCallback);
+            EndpointTaskScheduler scheduler = schedulerFor(endpoint);
+            if (scheduler != null) {
+                logger.debug("Scheduling one-off poll task {} by deadline", task);
+                return scheduler.submit(() -> executeOperation(task, true, pollOperation), false);
+            }
             logger.debug("Scheduling one-off poll task {}", task);
             Future<?> future = executor.submit(() -> {
                 long millisInThreadPoolWaiting = System.currentTimeMillis() - scheduleTime;
                 logger.debug("Will now execute one-off poll task {}, waited in thread pool for {}", task,
                         millisInThreadPoolWaiting);
+                recordMetrics(endpoint, metrics -> metrics.recordQueueWait(millisInThreadPoolWaiting));
                 executeOperation(task, true, pollOperation);
             });
             return future;
@@ -774,10 +852,34 @@ public class ModbusManagerImpl implements ModbusManager {
                     logger.trace("Unregistering previous poll task (possibly with different period)");
                     unregisterRegularPoll(task);
                 }
+                EndpointPoolConfiguration poolConfiguration = getEndpointPoolConfiguration(endpoint);
+                if (poolConfiguration != null && (poolConfiguration.isCoalesceRegularPolls()
+                        || poolConfiguration.getMaxInFlightTransactions() > 1)) {
+                    ScheduledFuture<?> future = scheduleCoalescedPoll(executor, task, pollPeriodMillis,
+                            initialDelayMillis);
+                    scheduledPollTasks.put(task, future);
+                    pollTasksRegisteredByThisCommInterface.add(task);
+                    logger.trace("Registered poll task {} with period {} for coalesced polling", task,
+                            pollPeriodMillis);
+                    return task;
+                }
+                EndpointTaskScheduler scheduler = schedulerFor(endpoint);
+                if (scheduler != null) {
+                    ScheduledFuture<?> future = scheduler.schedulePeriodic(task,
+                            () -> executeOperation(task, false, pollOperation), initialDelayMillis, pollPeriodMillis);
+                    scheduledPollTasks.put(task, future);
+                    pollTasksRegisteredByThisCommInterface.add(task);
+                    logger.trace(
+                            "Registered poll task {} with period {} using initial delay {} for deadline scheduling",
+                            task, pollPeriodMillis, initialDelayMillis);
+                    return task;
+                }
+                AtomicLong expectedStartMillis = new AtomicLong(System.currentTimeMillis() + initialDelayMillis);
                 ScheduledFuture<?> future = executor.scheduleWithFixedDelay(() -> {
                     long started = System.currentTimeMillis();
                     logger.debug("Executing scheduled ({}ms) poll task {}. Current millis: {}", pollPeriodMillis, task,
                             started);
+                    recordMetrics(endpoint, metrics -> metrics.recordQueueWait(started - expectedStartMillis.get()));
                     try {
                         executeOperation(task, false, pollOperation);
                     } catch (RuntimeException e) {
@@ -793,6 +895,11 @@ public class ModbusManagerImpl implements ModbusManager {
                     logger.debug(
                             "Execution of scheduled ({}ms) poll task {} finished at {}. Was started at millis: {} (=duration of {} millis)",
                             pollPeriodMillis, task, finished, started, finished - started);
+                    if (finished - started > pollPeriodMillis) {
+                        recordMetrics(endpoint, EndpointMetricsCollector::recordPollPeriodOverrun);
+                    }
+                    // With fixed delay, next execution is scheduled relative to the end of this one
+                    expectedStartMillis.set(finished + pollPeriodMillis);
                 }, initialDelayMillis, pollPeriodMillis, TimeUnit.MILLISECONDS);
 
                 scheduledPollTasks.put(task, future);
@@ -823,6 +930,16 @@ public class ModbusManagerImpl implements ModbusManager {
                     logger.warn("Caller tried to unregister nonexisting poll task {}", task);
                     return false;
                 }
+                @Nullable
+                CoalescedPollGroup group = coalescedPollGroups.remove(task);
+                if (group != null) {
+                    group.tasks.remove(task);
+                    if (!group.tasks.isEmpty()) {
+                        logger.debug("Poll task {} removed from coalesced polling, {} other tasks remain polled",
+                                task, group.tasks.size());
+                        return true;
+                    }
+                }
                 logger.debug("Unregistering regular poll task {} (interrupting if necessary)", task);
                 future.cancel(true);
                 logger.debug("Poll task {} canceled", task);
@@ -840,11 +957,17 @@ public class ModbusManagerImpl implements ModbusManager {
             Objects.requireNonNull(localScheduledThreadPoolExecutor, "Not activated!");
             WriteTask task = new BasicWriteTask(endpoint, request, resultCallback, failureCallback);
             long scheduleTime = System.currentTimeMillis();
+            EndpointTaskScheduler scheduler = schedulerFor(endpoint);
+            if (scheduler != null) {
+                logger.debug("Scheduling one-off write task {} ahead of polls", task);
+                return scheduler.submit(() -> executeOperation(task, true, writeOperation), true);
+            }
             logger.debug("Scheduling one-off write task {}", task);
             Future<?> future = localScheduledThreadPoolExecutor.submit(() -> {
                 long millisInThreadPoolWaiting = System.currentTimeMillis() - scheduleTime;
                 logger.debug("Will now execute one-off write task {}, waited in thread pool for {}", task,
                         millisInThreadPoolWaiting);
+                recordMetrics(endpoint, metrics -> metrics.recordQueueWait(millisInThreadPoolWaiting));
                 executeOperation(task, true, writeOperation);
             });
             return future;
@@ -875,6 +998,219 @@ public class ModbusManagerImpl implements ModbusManager {
         }
     }
 
+    /**
+     * Add the task to coalesced poll group with the same endpoint and poll period, creating the group if necessary
+     *
+     * @return future of the group
+     */
+    private ScheduledFuture<?> scheduleCoalescedPoll(ScheduledExecutorService executor, PollTask task,
+            long pollPeriodMillis, long initialDelayMillis) {
+        @Nullable
+        CoalescedPollGroup group = coalescedPollGroups.values().stream()
+                .filter(g -> g.endpoint.equals(task.getEndpoint()) && g.pollPeriodMillis == pollPeriodMillis)
+                .findFirst().orElse(null);
+        @Nullable
+        ScheduledFuture<?> future = group == null ? null : group.future;
+        if (group == null || future == null) {
+            CoalescedPollGroup newGroup = new CoalescedPollGroup(task.getEndpoint(), pollPeriodMillis);
+            newGroup.expectedStartMillis = System.currentTimeMillis() + initialDelayMillis;
+            EndpointTaskScheduler scheduler = schedulerFor(task.getEndpoint());
+            if (scheduler != null) {
+                newGroup.future = future = scheduler.schedulePeriodic(newGroup,
+                        () -> executeCoalescedPoll(newGroup, false), initialDelayMillis, pollPeriodMillis);
+            } else {
+                newGroup.future = future = executor.scheduleWithFixedDelay(() -> executeCoalescedPoll(newGroup, true),
+                        initialDelayMillis, pollPeriodMillis, TimeUnit.MILLISECONDS);
+            }
+            group = newGroup;
+        }
+        group.tasks.add(task);
+        coalescedPollGroups.put(task, group);
+        return future;
+    }
+
+    /**
+     * Execute regular polls of the group
+     *
+     * @param group group to poll
+     * @param recordTiming whether queue wait and poll period overruns should be recorded. Not needed when the group is
+     *            scheduled by {@link EndpointTaskScheduler}, which records them itself.
+     */
+    private void executeCoalescedPoll(CoalescedPollGroup group, boolean recordTiming) {
+        long started = System.currentTimeMillis();
+        ModbusSlaveConnectionFactoryImpl connectionFactory = this.connectionFactory;
+        if (connectionFactory == null) {
+            // deactivated manager
+            return;
+        }
+        EndpointPoolConfiguration poolConfiguration = connectionFactory.getEndpointPoolConfiguration(group.endpoint);
+        boolean coalesce = poolConfiguration != null && poolConfiguration.isCoalesceRegularPolls();
+        int maxInFlight = poolConfiguration == null || !(group.endpoint instanceof ModbusTCPSlaveEndpoint) ? 1
+                : poolConfiguration.getMaxInFlightTransactions();
+
+        if (recordTiming) {
+            recordMetrics(group.endpoint, metrics -> metrics.recordQueueWait(started - group.expectedStartMillis));
+        }
+
+        List<PollTask> tasks;
+        synchronized (this) {
+            // Tasks are registered and unregistered under the same lock
+            tasks = new ArrayList<>(group.tasks);
+        }
+        // Tasks unregistered during this poll do not receive the results of the coalesced reads
+        List<PollTask> plannedTasks = coalesce
+                ? PollTaskCoalescer.plan(group.endpoint, tasks, task -> scheduledPollTasks.containsKey(task))
+                : tasks;
+        logger.debug("Executing coalesced ({}ms) poll of {} tasks using {} reads. Current millis: {}",
+                group.pollPeriodMillis, tasks.size(), plannedTasks.size(), started);
+        if (maxInFlight > 1 && plannedTasks.size() > 1) {
+            plannedTasks = executePipelinedPolls(group.endpoint, plannedTasks, maxInFlight);
+        }
+        // Execute one by one whatever was not completed by pipelining (e.g. due to errors)
+        for (PollTask task : plannedTasks) {
+            try {
+                executeOperation(task, false, pollOperation);
+            } catch (RuntimeException e) {
+                // Same as with other regular polls, unhandled exceptions would halt the polling
+                logger.warn(
+                        "Execution of coalesced ({}ms) poll task {} failed unexpectedly. Ignoring exception, polling again according to poll interval.",
+                        group.pollPeriodMillis, task, e);
+            }
+        }
+        long finished = System.currentTimeMillis();
+        logger.debug("Execution of coalesced ({}ms) poll finished at {} (=duration of {} millis)",
+                group.pollPeriodMillis, finished, finished - started);
+        if (recordTiming && finished - started > group.pollPeriodMillis) {
+            recordMetrics(group.endpoint, EndpointMetricsCollector::recordPollPeriodOverrun);
+        }
+        group.expectedStartMillis = finished + group.pollPeriodMillis;
+    }
+
+    /**
+     * Execute poll tasks against TCP endpoint having several transactions in flight
+     *
+     * Requests are written to the connection without waiting for the previous response, with at most
+     * <code>maxInFlight</code> requests outstanding. Responses are matched to the requests using the transaction id.
+     *
+     * No retries are made here. Instead, the tasks that did not complete successfully are returned, to be executed
+     * one-by-one with the normal retry mechanism. Tasks that have been unregistered meanwhile are skipped, and the
+     * configured time between transactions is respected between the written requests.
+     *
+     * @param endpoint endpoint of the tasks
+     * @param tasks tasks to execute
+     * @param maxInFlight maximum number of outstanding transactions
+     * @return tasks that were not completed successfully. Empty list if the thread was interrupted.
+     */
+    private List<PollTask> executePipelinedPolls(ModbusSlaveEndpoint endpoint, List<PollTask> tasks,
+            int maxInFlight) {
+        AggregateStopWatch timer = new AggregateStopWatch();
+        timer.total.resume();
+        String operationId = timer.operationId;
+        List<PollTask> notCompleted = new LinkedList<>(tasks);
+        if (!(endpoint instanceof ModbusTCPSlaveEndpoint)) {
+            logger.debug(
+                    "Pipelining is supported only with TCP endpoints, executing tasks one-by-one [operation ID {}]",
+                    operationId);
+            return notCompleted;
+        }
+        EndpointPoolConfiguration configuration = getEndpointPoolConfiguration(endpoint);
+        long interTransactionDelayMillis = configuration == null ? 0 : configuration.getInterTransactionDelayMillis();
+
+        Optional<ModbusSlaveConnection> connection = timer.connection.timeSupplier(() -> borrowConnection(endpoint));
+        try {
+            if (!connection.isPresent() || !(connection.get() instanceof TCPMasterConnection)) {
+                logger.debug(
+                        "Could not get TCP connection for pipelining, executing tasks one-by-one [operation ID {}]",
+                        operationId);
+                return notCompleted;
+            }
+            ModbusTransport transport = ((TCPMasterConnection) connection.get()).getModbusTransport();
+            Map<Integer, PollTask> inFlightTasks = new HashMap<>();
+            Map<Integer, ModbusRequest> inFlightRequests = new HashMap<>();
+            Iterator<PollTask> toSend = tasks.iterator();
+            @Nullable
+            Long lastWriteMillis = null;
+            while (toSend.hasNext() || !inFlightTasks.isEmpty()) {
+                while (toSend.hasNext() && inFlightTasks.size() < maxInFlight) {
+                    if (Thread.interrupted()) {
+                        throw new InterruptedException("Thread interrupted");
+                    }
+                    PollTask task = toSend.next();
+                    try {
+                        // Check poll task is still registered (this is all asynchronous)
+                        verifyTaskIsRegistered(task);
+                    } catch (PollTaskUnregistered e) {
+                        logger.debug("Poll task was unregistered -- not executing it: {} [operation ID {}]",
+                                e.getMessage(), operationId);
+                        notCompleted.remove(task);
+                        continue;
+                    }
+                    // Let's ensure that enough time is between the transactions
+                    ModbusSlaveConnectionFactoryImpl.waitAtleast(lastWriteMillis, interTransactionDelayMillis);
+                    ModbusRequest libRequest = ModbusLibraryWrapper.createRequest(task.getRequest());
+                    int transactionId = pipelinedTransactionId.incrementAndGet() & 0xffff;
+                    libRequest.setTransactionID(transactionId);
+                    logger.trace("Writing pipelined request (FC={}, transaction ID={}): {} [operation ID {}]",
+                            libRequest.getFunctionCode(), transactionId, libRequest.getHexMessage(), operationId);
+                    timer.transaction.timeRunnableWithModbusException(() -> transport.writeMessage(libRequest));
+                    lastWriteMillis = System.currentTimeMillis();
+                    inFlightTasks.put(transactionId, task);
+                    inFlightRequests.put(transactionId, libRequest);
+                }
+                if (inFlightTasks.isEmpty()) {
+                    // All the remaining tasks were unregistered
+                    continue;
+                }
+
+                AtomicReference<@Nullable ModbusResponse> responseRef = new AtomicReference<>();
+                timer.transaction.timeRunnableWithModbusException(() -> responseRef.set(transport.readResponse()));
+                ModbusResponse response = responseRef.get();
+                Objects.requireNonNull(response);
+                logger.trace("Read pipelined response (FC={}, transaction ID={}): {} [operation ID {}]",
+                        response.getFunctionCode(), response.getTransactionID(), response.getHexMessage(),
+                        operationId);
+                PollTask task = inFlightTasks.remove(response.getTransactionID());
+                ModbusRequest libRequest = inFlightRequests.remove(response.getTransactionID());
+                if (task == null || libRequest == null) {
+                    throw new ModbusUnexpectedTransactionIdException(-1, response.getTransactionID());
+                }
+                if (response instanceof ExceptionResponse) {
+                    // Left to be retried (and reported) one-by-one
+                    logger.debug("Slave returned exception response to pipelined request {} [operation ID {}]",
+                            task.getRequest(), operationId);
+                    continue;
+                }
+                checkFunctionCode(response, libRequest, operationId);
+                checkResponseSize(response, task.getRequest(), operationId);
+                timer.callback.timeRunnable(() -> ModbusLibraryWrapper.invokeCallbackWithResponse(task.getRequest(),
+                        task.getResultCallback(), response));
+                notCompleted.remove(task);
+            }
+        } catch (ModbusException | ModbusUnexpectedTransactionIdException
+                | ModbusUnexpectedResponseFunctionCodeException | ModbusUnexpectedResponseSizeException e) {
+            // Responses cannot be trusted anymore, so we reset the connection
+            logger.debug(
+                    "Pipelined execution failed, reseting the connection and executing the remaining {} tasks one-by-one. Error details: {} {} [operation ID {}]",
+                    notCompleted.size(), e.getClass().getName(), e.getMessage(), operationId);
+            timer.connection.timeConsumer(c -> invalidate(endpoint, c), connection);
+            connection = Optional.empty();
+        } catch (InterruptedException e) {
+            logger.warn("Poll was canceled -- not executing/proceeding with the pipelined poll: {} [operation ID {}]",
+                    e.getMessage(), operationId);
+            // Responses of the outstanding requests would be left unread, so we reset the connection
+            timer.connection.timeConsumer(c -> invalidate(endpoint, c), connection);
+            connection = Optional.empty();
+            notCompleted.clear();
+        } finally {
+            timer.connection.timeConsumer(c -> returnConnection(endpoint, c), connection);
+            timer.suspendAllRunning();
+            recordMetrics(endpoint, metrics -> metrics.recordOperation(timer));
+            logger.debug("Pipelined Modbus operation of {} tasks ended, timing info: {} [operation ID {}]",
+                    tasks.size(), timer, operationId);
+        }
+        return notCompleted;
+    }
+
     @Override
     public ModbusCommunicationInterface newModbusCommunicationInterface(ModbusSlaveEndpoint endpoint,
             @Nullable EndpointPoolConfiguration configuration) throws IllegalArgumentException {
@@ -888,6 +1224,7 @@ public class ModbusManagerImpl implements ModbusManager {
 
         ModbusCommunicationInterfaceImpl comm = new ModbusCommunicationInterfaceImpl(endpoint, configuration);
         communicationInterfaces.add(comm);
+        endpointMetrics.computeIfAbsent(endpoint, EndpointMetricsCollector::new);
         return comm;
     }
 
@@ -897,6 +1234,61 @@ public class ModbusManagerImpl implements ModbusManager {
         return connectionFactory.getEndpointPoolConfiguration(endpoint);
     }
 
+    @Override
+    public Collection<ModbusEndpointMetrics> getEndpointMetrics() {
+        return endpointMetrics.values().stream().map(EndpointMetricsCollector::snapshot)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void resetMetrics() {
+        endpointMetrics.replaceAll((endpoint, metrics) -> new EndpointMetricsCollector(endpoint));
+    }
+
+    /**
+     * Record metrics of the endpoint
+     *
+     * Metrics are created when communication interface to the endpoint is opened, and removed when the last one is
+     * closed. Operations finishing after that are not recorded.
+     *
+     * @param endpoint endpoint of the operation
+     * @param recorder function recording the metrics
+     */
+    private void recordMetrics(ModbusSlaveEndpoint endpoint, Consumer<EndpointMetricsCollector> recorder) {
+        EndpointMetricsCollector metrics = endpointMetrics.get(endpoint);
+        if (metrics != null) {
+            recorder.accept(metrics);
+        }
+    }
+
+    /**
+     * Get scheduler of the endpoint, creating it if necessary
+     *
+     * Synchronized with closing of the communication interfaces, so that scheduler is not re-created for an endpoint
+     * that was just closed.
+     *
+     * @param endpoint endpoint
+     * @return scheduler, or null when deadline scheduling is not enabled for the endpoint or the endpoint has no open
+     *         communication interfaces
+     */
+    private synchronized @Nullable EndpointTaskScheduler schedulerFor(ModbusSlaveEndpoint endpoint) {
+        ScheduledExecutorService executor = scheduledThreadPoolExecutor;
+        ModbusSlaveConnectionFactoryImpl connectionFactory = this.connectionFactory;
+        if (executor == null || connectionFactory == null) {
+            return null;
+        }
+        EndpointPoolConfiguration configuration = connectionFactory.getEndpointPoolConfiguration(endpoint);
+        if (configuration == null || !configuration.isDeadlineScheduling()) {
+            return null;
+        }
+        if (communicationInterfaces.stream().noneMatch(comm -> comm.endpoint.equals(endpoint))) {
+            logger.debug("No open communication interfaces to endpoint {}, not creating scheduler", endpoint);
+            return null;
+        }
+        return endpointSchedulers.computeIfAbsent(endpoint,
+                e -> new EndpointTaskScheduler(executor, () -> endpointMetrics.get(e)));
+    }
+
     private void unregisterCommunicationInterface(ModbusCommunicationInterface commInterface) {
         communicationInterfaces.remove(commInterface);
         maybeCloseConnections(commInterface.getEndpoint());
@@ -908,6 +1300,11 @@ public class ModbusManagerImpl implements ModbusManager {
         if (lastCommWithThisEndpointWasRemoved) {
             // Since last communication interface pointing to this endpoint was closed, we can clean up resources
             // and disconnect connections.
+            endpointMetrics.remove(endpoint);
+            EndpointTaskScheduler scheduler = endpointSchedulers.remove(endpoint);
+            if (scheduler != null) {
+                scheduler.close();
+            }
 
             // Make sure connections to this endpoint are closed when they are returned to pool (which
             // is usually pretty soon as transactions should be relatively short-lived)
@@ -973,6 +1370,9 @@ public class ModbusManagerImpl implements ModbusManager {
             // when pool is received from ThreadPoolManager is called
             scheduledThreadPoolExecutor = null;
             connectionFactory = null;
+            endpointSchedulers.values().forEach(EndpointTaskScheduler::close);
+            endpointSchedulers.clear();
+            endpointMetrics.clear();
             logger.debug("Modbus manager deactivated");
         }
     }
@@ -0,0 +1,145 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.io.transport.modbus.ModbusConstants;
+import org.openhab.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.PollTask;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+
+/**
+ * Plans wire reads for a set of poll tasks sharing the same endpoint
+ *
+ * Read requests with the same unit id and function code are merged when they overlap or are adjacent, as long as the
+ * merged read does not exceed the maximum read count of the Modbus protocol (see {@link ModbusConstants}). Each
+ * merged read is represented by a {@link CoalescedPollTask} which fans out the response to the original tasks.
+ *
+ * Tasks that cannot be merged with any other task are returned as they are.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class PollTaskCoalescer {
+
+    private static final Comparator<PollTask> BY_START = Comparator
+            .comparingInt((PollTask task) -> task.getRequest().getReference())
+            .thenComparingInt(task -> task.getRequest().getDataLength());
+
+    private PollTaskCoalescer() {
+        // utility class
+    }
+
+    /**
+     * Plan reads for the given tasks
+     *
+     * @param endpoint endpoint shared by all the tasks
+     * @param tasks tasks to plan. All tasks must have the given endpoint.
+     * @return tasks to execute. Each returned task is either one of the given tasks or {@link CoalescedPollTask}
+     *         covering several of the given tasks.
+     * @throws IllegalArgumentException when tasks have differing endpoints
+     */
+    public static List<PollTask> plan(ModbusSlaveEndpoint endpoint, Collection<PollTask> tasks) {
+        return plan(endpoint, tasks, task -> true);
+    }
+
+    /**
+     * Plan reads for the given tasks
+     *
+     * @param endpoint endpoint shared by all the tasks
+     * @param tasks tasks to plan. All tasks must have the given endpoint.
+     * @param isRegistered tells whether a task is still registered. A {@link CoalescedPollTask} checks it before
+     *            passing the result to each of the covered tasks.
+     * @return tasks to execute. Each returned task is either one of the given tasks or {@link CoalescedPollTask}
+     *         covering several of the given tasks.
+     * @throws IllegalArgumentException when tasks have differing endpoints
+     */
+    public static List<PollTask> plan(ModbusSlaveEndpoint endpoint, Collection<PollTask> tasks,
+            Predicate<PollTask> isRegistered) {
+        Map<String, List<PollTask>> groups = new LinkedHashMap<>();
+        for (PollTask task : tasks) {
+            if (!Objects.equals(endpoint, task.getEndpoint())) {
+                throw new IllegalArgumentException(
+                        String.format("Task %s does not share the endpoint %s", task, endpoint));
+            }
+            ModbusReadRequestBlueprint request = task.getRequest();
+            String key = request.getUnitID() + "/" + request.getFunctionCode();
+            groups.computeIfAbsent(key, k -> new ArrayList<>()).add(task);
+        }
+
+        List<PollTask> planned = new ArrayList<>(tasks.size());
+        for (List<PollTask> group : groups.values()) {
+            group.sort(BY_START);
+            List<PollTask> run = new ArrayList<>();
+            int runStart = 0;
+            int runEnd = 0;
+            for (PollTask task : group) {
+                ModbusReadRequestBlueprint request = task.getRequest();
+                int start = request.getReference();
+                int end = start + request.getDataLength();
+                int mergedEnd = Math.max(runEnd, end);
+                if (!run.isEmpty() && start <= runEnd
+                        && mergedEnd - runStart <= maxReadCount(request.getFunctionCode())) {
+                    run.add(task);
+                    runEnd = mergedEnd;
+                } else {
+                    flush(endpoint, run, runStart, runEnd, planned, isRegistered);
+                    run = new ArrayList<>();
+                    run.add(task);
+                    runStart = start;
+                    runEnd = end;
+                }
+            }
+            flush(endpoint, run, runStart, runEnd, planned, isRegistered);
+        }
+        return planned;
+    }
+
+    private static void flush(ModbusSlaveEndpoint endpoint, List<PollTask> run, int start, int end,
+            List<PollTask> planned, Predicate<PollTask> isRegistered) {
+        if (run.isEmpty()) {
+            return;
+        } else if (run.size() == 1) {
+            planned.add(run.get(0));
+            return;
+        }
+        ModbusReadRequestBlueprint first = run.get(0).getRequest();
+        int maxTries = run.stream().mapToInt(task -> task.getRequest().getMaxTries()).max().orElse(1);
+        ModbusReadRequestBlueprint merged = new ModbusReadRequestBlueprint(first.getUnitID(),
+                first.getFunctionCode(), start, end - start, maxTries);
+        planned.add(new CoalescedPollTask(endpoint, merged, run, isRegistered));
+    }
+
+    private static int maxReadCount(ModbusReadFunctionCode functionCode) {
+        switch (functionCode) {
+            case READ_COILS:
+            case READ_INPUT_DISCRETES:
+                return ModbusConstants.MAX_BITS_READ_COUNT;
+            case READ_MULTIPLE_REGISTERS:
+            case READ_INPUT_REGISTERS:
+                return ModbusConstants.MAX_REGISTERS_READ_COUNT;
+            default:
+                throw new IllegalArgumentException(String.format("Unexpected function code %s", functionCode));
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.internal.console;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.smarthome.io.console.Console;
+import org.eclipse.smarthome.io.console.extensions.AbstractConsoleCommandExtension;
+import org.eclipse.smarthome.io.console.extensions.ConsoleCommandExtension;
+import org.openhab.io.transport.modbus.ModbusEndpointMetrics;
+import org.openhab.io.transport.modbus.ModbusMetricsService;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+/**
+ * The {@link ModbusCommandExtension} is responsible for handling console commands of the Modbus transport
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+@Component(service = ConsoleCommandExtension.class)
+public class ModbusCommandExtension extends AbstractConsoleCommandExtension {
+
+    private static final String METRICS = "metrics";
+    private static final String RESET_METRICS = "resetMetrics";
+
+    private final ModbusMetricsService metricsService;
+
+    @Activate
+    public ModbusCommandExtension(final @Reference ModbusMetricsService metricsService) {
+        super("modbus", "Inspect the Modbus transport.");
+        this.metricsService = metricsService;
+    }
+
+    @Override
+    public void execute(String[] args, Console console) {
+        if (args.length != 1) {
+            printUsage(console);
+            return;
+        }
+        switch (args[0]) {
+            case METRICS:
+                Collection<ModbusEndpointMetrics> metrics = metricsService.getEndpointMetrics();
+                if (metrics.isEmpty()) {
+                    console.println("No metrics collected");
+                }
+                for (ModbusEndpointMetrics endpointMetrics : metrics) {
+                    printMetrics(console, endpointMetrics);
+                }
+                break;
+            case RESET_METRICS:
+                metricsService.resetMetrics();
+                console.println("Metrics reset");
+                break;
+            default:
+                printUsage(console);
+                break;
+        }
+    }
+
+    private void printMetrics(Console console, ModbusEndpointMetrics metrics) {
+        console.println("Endpoint " + metrics.getEndpoint());
+        console.println("  queue wait:   " + metrics.getQueueWait());
+        console.println("  connection:   " + metrics.getConnection());
+        console.println("  transaction:  " + metrics.getTransaction());
+        console.println("  callback:     " + metrics.getCallback());
+        console.println("  overruns:     " + metrics.getPollPeriodOverruns());
+        Map<String, Long> errors = metrics.getErrorCounts();
+        console.println("  errors:       " + (errors.isEmpty() ? "none" : errors));
+    }
+
+    @Override
+    public List<String> getUsages() {
+        return Arrays.asList(new String[] {
+                buildCommandUsage(METRICS, "show timing and error metrics of each endpoint"),
+                buildCommandUsage(RESET_METRICS, "reset all collected metrics") });
+    }
+}
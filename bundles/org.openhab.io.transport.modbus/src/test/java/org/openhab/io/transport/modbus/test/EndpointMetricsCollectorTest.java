@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+import org.openhab.io.transport.modbus.ModbusEndpointMetrics;
+import org.openhab.io.transport.modbus.ModbusTimingHistogram;
+import org.openhab.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
+import org.openhab.io.transport.modbus.exception.ModbusConnectionException;
+import org.openhab.io.transport.modbus.internal.EndpointMetricsCollector;
+
+/**
+ * @author agent - Initial contribution
+ */
+public class EndpointMetricsCollectorTest {
+
+    private final ModbusTCPSlaveEndpoint endpoint = new ModbusTCPSlaveEndpoint("localhost", 502);
+
+    @Test
+    public void testBucketIndex() {
+        assertThat(ModbusTimingHistogram.bucketIndex(0), is(equalTo(0)));
+        assertThat(ModbusTimingHistogram.bucketIndex(1), is(equalTo(0)));
+        assertThat(ModbusTimingHistogram.bucketIndex(2), is(equalTo(1)));
+        assertThat(ModbusTimingHistogram.bucketIndex(150), is(equalTo(7)));
+        assertThat(ModbusTimingHistogram.bucketIndex(5000), is(equalTo(11)));
+        assertThat(ModbusTimingHistogram.bucketIndex(5001), is(equalTo(12)));
+    }
+
+    @Test
+    public void testBucketUpperBoundsCannotBeModified() {
+        long[] bounds = ModbusTimingHistogram.getBucketUpperBoundsMillis();
+        assertThat(bounds.length, is(equalTo(ModbusTimingHistogram.BUCKET_COUNT - 1)));
+        bounds[0] = 1000;
+        assertThat(ModbusTimingHistogram.getBucketUpperBoundsMillis()[0], is(equalTo(1L)));
+        assertThat(ModbusTimingHistogram.bucketIndex(1), is(equalTo(0)));
+    }
+
+    @Test
+    public void testQueueWaitHistogram() {
+        EndpointMetricsCollector collector = new EndpointMetricsCollector(endpoint);
+        for (int i = 0; i < 9; i++) {
+            collector.recordQueueWait(3);
+        }
+        collector.recordQueueWait(7000);
+        // negative waits (poll started earlier than expected) are counted as zero
+        collector.recordQueueWait(-5);
+
+        ModbusTimingHistogram queueWait = collector.snapshot().getQueueWait();
+        assertThat(queueWait.getCount(), is(equalTo(11L)));
+        assertThat(queueWait.getTotalMillis(), is(equalTo(7027L)));
+        assertThat(queueWait.getMaxMillis(), is(equalTo(7000L)));
+        assertThat(queueWait.getBucketCounts()[0], is(equalTo(1L)));
+        assertThat(queueWait.getBucketCounts()[2], is(equalTo(9L)));
+        assertThat(queueWait.getBucketCounts()[12], is(equalTo(1L)));
+        assertThat(queueWait.getPercentileMillis(50), is(equalTo(5L)));
+        assertThat(queueWait.getPercentileMillis(100), is(equalTo(7000L)));
+    }
+
+    @Test
+    public void testErrorsAndOverruns() {
+        EndpointMetricsCollector collector = new EndpointMetricsCollector(endpoint);
+        collector.recordError(new ModbusConnectionException(endpoint));
+        collector.recordError(new ModbusConnectionException(endpoint));
+        collector.recordError(new IllegalStateException());
+        collector.recordPollPeriodOverrun();
+
+        ModbusEndpointMetrics metrics = collector.snapshot();
+        assertThat(metrics.getEndpoint(), is(equalTo(endpoint)));
+        assertThat(metrics.getErrorCounts().get("ModbusConnectionException"), is(equalTo(2L)));
+        assertThat(metrics.getErrorCounts().get("IllegalStateException"), is(equalTo(1L)));
+        assertThat(metrics.getPollPeriodOverruns(), is(equalTo(1L)));
+        assertThat(metrics.getTransaction().getCount(), is(equalTo(0L)));
+        assertThat(metrics.getTransaction().getPercentileMillis(95), is(equalTo(0L)));
+    }
+}
@@ -0,0 +1,191 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+import org.openhab.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
+import org.openhab.io.transport.modbus.internal.EndpointMetricsCollector;
+import org.openhab.io.transport.modbus.internal.EndpointTaskScheduler;
+
+/**
+ * @author agent - Initial contribution
+ */
+public class EndpointTaskSchedulerTest {
+
+    private final ScheduledExecutorService executor = new ScheduledThreadPoolExecutor(4);
+    private final EndpointMetricsCollector metrics = new EndpointMetricsCollector(
+            new ModbusTCPSlaveEndpoint("localhost", 502));
+    private final EndpointTaskScheduler scheduler = new EndpointTaskScheduler(executor, () -> metrics);
+
+    @After
+    public void tearDown() {
+        scheduler.close();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testWritesBeforePolls() throws Exception {
+        CountDownLatch blockerStarted = new CountDownLatch(1);
+        CountDownLatch releaseBlocker = new CountDownLatch(1);
+        List<String> executed = new CopyOnWriteArrayList<>();
+        scheduler.submit(() -> {
+            blockerStarted.countDown();
+            try {
+                releaseBlocker.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, false);
+        assertTrue(blockerStarted.await(1, TimeUnit.SECONDS));
+
+        scheduler.submit(() -> executed.add("poll1"), false);
+        scheduler.submit(() -> executed.add("poll2"), false);
+        Future<?> write = scheduler.submit(() -> executed.add("write"), true);
+        releaseBlocker.countDown();
+        write.get(1, TimeUnit.SECONDS);
+        scheduler.submit(() -> { }, false).get(1, TimeUnit.SECONDS);
+
+        assertThat(executed, is(equalTo(Arrays.asList("write", "poll1", "poll2"))));
+    }
+
+    @Test
+    public void testOneOperationAtTime() throws Exception {
+        AtomicInteger concurrent = new AtomicInteger();
+        AtomicInteger maxConcurrent = new AtomicInteger();
+        Future<?> last = null;
+        for (int i = 0; i < 10; i++) {
+            last = scheduler.submit(() -> {
+                maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                concurrent.decrementAndGet();
+            }, i % 2 == 0);
+        }
+        last.get(1, TimeUnit.SECONDS);
+        assertThat(maxConcurrent.get(), is(equalTo(1)));
+    }
+
+    @Test
+    public void testOverrunningPollBacksOff() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+        ScheduledFuture<?> future = scheduler.schedulePeriodic("slow poll", () -> {
+            executions.incrementAndGet();
+            try {
+                Thread.sleep(30);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, 0, 10);
+        Thread.sleep(500);
+        future.cancel(true);
+
+        long overruns = metrics.snapshot().getPollPeriodOverruns();
+        assertThat(overruns > 0, is(true));
+        // Without backoff the poll would be executed every 40 ms, i.e. more than 10 times
+        assertThat(executions.get() < 10, is(true));
+        assertThat(future.isCancelled(), is(true));
+        int executionsAfterCancel = executions.get();
+        Thread.sleep(100);
+        assertThat(executions.get(), is(equalTo(executionsAfterCancel)));
+    }
+
+    @Test
+    public void testCancelInterruptsRunningPollOnly() throws Exception {
+        CountDownLatch pollStarted = new CountDownLatch(1);
+        CountDownLatch pollInterrupted = new CountDownLatch(1);
+        ScheduledFuture<?> future = scheduler.schedulePeriodic("blocking poll", () -> {
+            pollStarted.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                pollInterrupted.countDown();
+                Thread.currentThread().interrupt();
+            }
+        }, 0, 1000);
+        assertTrue(pollStarted.await(1, TimeUnit.SECONDS));
+        future.cancel(true);
+        assertTrue(pollInterrupted.await(1, TimeUnit.SECONDS));
+
+        // Interruption does not leak to the operations executed after the canceled poll
+        AtomicInteger interruptedOperations = new AtomicInteger();
+        for (int i = 0; i < 5; i++) {
+            scheduler.submit(() -> {
+                if (Thread.currentThread().isInterrupted()) {
+                    interruptedOperations.incrementAndGet();
+                }
+            }, false).get(1, TimeUnit.SECONDS);
+        }
+        assertThat(interruptedOperations.get(), is(equalTo(0)));
+        // Canceling again does nothing
+        assertThat(future.cancel(true), is(false));
+    }
+
+    @Test
+    public void testPollsOrderedByDeadline() throws Exception {
+        List<String> executed = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(2);
+        scheduler.schedulePeriodic("late", () -> {
+            executed.add("late");
+            done.countDown();
+        }, 60, 1000);
+        scheduler.schedulePeriodic("early", () -> {
+            executed.add("early");
+            done.countDown();
+        }, 20, 1000);
+        assertTrue(done.await(1, TimeUnit.SECONDS));
+        assertThat(executed, is(equalTo(Arrays.asList("early", "late"))));
+    }
+
+    @Test
+    public void testCloseCancelsQueued() throws Exception {
+        CountDownLatch releaseBlocker = new CountDownLatch(1);
+        scheduler.submit(() -> {
+            try {
+                releaseBlocker.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, false);
+        Future<?> queued = scheduler.submit(() -> { }, false);
+        ScheduledFuture<?> periodic = scheduler.schedulePeriodic("poll", () -> { }, 1000, 1000);
+        scheduler.close();
+        releaseBlocker.countDown();
+
+        assertThat(queued.isCancelled(), is(true));
+        assertThat(periodic.isCancelled(), is(true));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testSubmitAfterClose() {
+        scheduler.close();
+        scheduler.submit(() -> { }, false);
+    }
+}
@@ -0,0 +1,96 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+import org.openhab.io.transport.modbus.ModbusBitUtilities;
+import org.openhab.io.transport.modbus.ModbusRegister;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+
+/**
+ * @author agent - Initial contribution
+ */
+public class ModbusRegisterArrayTest {
+
+    @Test
+    public void testConstructorsAreEquivalent() {
+        ModbusRegisterArray fromValues = new ModbusRegisterArray(0x0445, 0xffff, 0);
+        ModbusRegisterArray fromRegisters = new ModbusRegisterArray(
+                new ModbusRegister[] { new ModbusRegister((byte) 0x04, (byte) 0x45),
+                        new ModbusRegister((byte) 0xff, (byte) 0xff), new ModbusRegister(0) });
+        ModbusRegisterArray fromBytes = new ModbusRegisterArray(
+                new byte[] { 0x04, 0x45, (byte) 0xff, (byte) 0xff, 0x00, 0x00 });
+        int[] values = { 0x0445, 0xffff, 0 };
+        ModbusRegisterArray fromFunction = new ModbusRegisterArray(values.length, i -> values[i]);
+        ModbusRegisterArray fromSlice = new ModbusRegisterArray(1, 0x0445, 0xffff, 0, 2).slice(1, 3);
+
+        for (ModbusRegisterArray registers : new ModbusRegisterArray[] { fromValues, fromRegisters, fromBytes,
+                fromFunction, fromSlice }) {
+            assertThat(registers.size(), is(equalTo(3)));
+            assertThat(registers.toHexString(), is(equalTo("04 45 ff ff 00 00")));
+            assertThat(registers.getUnsignedRegister(0), is(equalTo(0x0445)));
+            assertThat(registers.getSignedRegister(1), is(equalTo(-1)));
+            assertThat(registers.getUnsignedRegister(1), is(equalTo(0xffff)));
+            assertThat(registers.getRegister(1).toUnsignedShort(), is(equalTo(0xffff)));
+            assertThat(registers.getByte(1), is(equalTo((byte) 0x45)));
+        }
+    }
+
+    @Test
+    public void testBytesAreCopied() {
+        byte[] bytes = new byte[] { 0x04, 0x45 };
+        ModbusRegisterArray registers = new ModbusRegisterArray(bytes);
+        bytes[0] = 0x00;
+        assertThat(registers.getUnsignedRegister(0), is(equalTo(0x0445)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOddNumberOfBytes() {
+        new ModbusRegisterArray(new byte[] { 1, 2, 3 });
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testSliceOutOfBounds() {
+        new ModbusRegisterArray(1, 2, 3).slice(2, 2);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testIndexOutOfBounds() {
+        new ModbusRegisterArray(1, 2).getUnsignedRegister(2);
+    }
+
+    @Test
+    public void testPrimitiveExtractMatchesState() {
+        ModbusRegisterArray registers = new ModbusRegisterArray(0x8001, 0x0002, 0xfffe, 0x4049);
+        assertThat(ModbusBitUtilities.extractSInt16(registers, 0), is(equalTo(-32767)));
+        assertThat(ModbusBitUtilities.extractUInt16(registers, 0), is(equalTo(0x8001)));
+        assertThat(ModbusBitUtilities.extractSInt32(registers, 0), is(equalTo(0x80010002)));
+        assertThat(ModbusBitUtilities.extractUInt32(registers, 0), is(equalTo(0x80010002L)));
+        assertThat(ModbusBitUtilities.extractSInt32Swap(registers, 0), is(equalTo(0x00028001)));
+        assertThat(ModbusBitUtilities.extractSInt64(registers, 0), is(equalTo(0x80010002fffe4049L)));
+        assertThat(ModbusBitUtilities.extractSInt64Swap(registers, 0), is(equalTo(0x4049fffe00028001L)));
+        assertThat(ModbusBitUtilities.extractSInt8(registers, 0), is(equalTo(1)));
+        assertThat(ModbusBitUtilities.extractSInt8(registers, 1), is(equalTo(-128)));
+        assertThat(ModbusBitUtilities.extractUInt8(registers, 1), is(equalTo(0x80)));
+        assertThat(ModbusBitUtilities.extractBit(registers, 15), is(equalTo(1)));
+        assertThat(ModbusBitUtilities.extractBit(registers, 14), is(equalTo(0)));
+
+        ModbusRegisterArray pi = new ModbusRegisterArray(0x4049, 0x0fdb);
+        assertThat(ModbusBitUtilities.extractFloat32(pi, 0), is(equalTo((float) Math.PI)));
+        assertThat(ModbusBitUtilities.extractFloat32Swap(new ModbusRegisterArray(0x0fdb, 0x4049), 0),
+                is(equalTo((float) Math.PI)));
+    }
+}
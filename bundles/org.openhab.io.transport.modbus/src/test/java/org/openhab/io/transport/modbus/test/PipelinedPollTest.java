@@ -0,0 +1,161 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+import org.openhab.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.endpoint.EndpointPoolConfiguration;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+
+import net.wimpi.modbus.msg.ReadMultipleRegistersRequest;
+import net.wimpi.modbus.procimg.SimpleRegister;
+
+/**
+ * Tests for regular polls executed with several transactions in flight
+ *
+ * @author agent - Initial contribution
+ */
+public class PipelinedPollTest extends IntegrationTestSupport {
+
+    private static final int REGISTER_COUNT = 100;
+    private static final long POLL_PERIOD_MILLIS = 60_000;
+    private static final long INITIAL_DELAY_MILLIS = 300;
+
+    private void generateData() {
+        for (int i = 0; i < REGISTER_COUNT; i++) {
+            spi.addRegister(new SimpleRegister(i));
+        }
+    }
+
+    private EndpointPoolConfiguration pipelinedConfiguration(int maxInFlight, long interTransactionDelayMillis) {
+        EndpointPoolConfiguration configuration = new EndpointPoolConfiguration();
+        configuration.setMaxInFlightTransactions(maxInFlight);
+        configuration.setInterTransactionDelayMillis(interTransactionDelayMillis);
+        return configuration;
+    }
+
+    private ModbusReadRequestBlueprint holdingRequest(int reference) {
+        return new ModbusReadRequestBlueprint(SLAVE_UNIT_ID, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS,
+                reference, 5, 1);
+    }
+
+    private List<Integer> receivedReferences() {
+        synchronized (modbustRequestCaptor.getAllReturnValues()) {
+            return modbustRequestCaptor.getAllReturnValues().stream()
+                    .map(request -> ((ReadMultipleRegistersRequest) request).getReference())
+                    .collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    public void testPipelinedPollsCompleteInOrder() throws Exception {
+        generateData();
+        ModbusSlaveEndpoint endpoint = getEndpoint();
+        Queue<Integer> callbackReferences = new ConcurrentLinkedQueue<>();
+        AtomicInteger unexpectedCount = new AtomicInteger();
+        CountDownLatch callbackCalled = new CountDownLatch(3);
+
+        try (ModbusCommunicationInterface comms = modbusManager.newModbusCommunicationInterface(endpoint,
+                pipelinedConfiguration(2, 0))) {
+            for (int reference : new int[] { 10, 0, 20 }) {
+                comms.registerRegularPoll(holdingRequest(reference), POLL_PERIOD_MILLIS, INITIAL_DELAY_MILLIS,
+                        result -> {
+                            if (result.getRegisters().isPresent()
+                                    && result.getRegisters().get().getRegister(0).toUnsignedShort() == reference) {
+                                callbackReferences.add(reference);
+                            } else {
+                                unexpectedCount.incrementAndGet();
+                            }
+                            callbackCalled.countDown();
+                        }, failure -> {
+                            unexpectedCount.incrementAndGet();
+                            callbackCalled.countDown();
+                        });
+            }
+            assertTrue(callbackCalled.await(10, TimeUnit.SECONDS));
+        }
+        assertThat(unexpectedCount.get(), is(equalTo(0)));
+        // Requests are written and responses handled in the order of registration
+        assertThat(receivedReferences(), is(equalTo(Arrays.asList(10, 0, 20))));
+        assertThat(callbackReferences.stream().collect(Collectors.toList()), is(equalTo(Arrays.asList(10, 0, 20))));
+        // Single connection is shared by all the pipelined requests
+        waitForConnectionsReceived(1);
+    }
+
+    @Test
+    public void testPipelinedPollsPartialFailure() throws Exception {
+        generateData();
+        ModbusSlaveEndpoint endpoint = getEndpoint();
+        AtomicInteger okCount = new AtomicInteger();
+        AtomicInteger errorCount = new AtomicInteger();
+        CountDownLatch callbackCalled = new CountDownLatch(3);
+
+        try (ModbusCommunicationInterface comms = modbusManager.newModbusCommunicationInterface(endpoint,
+                pipelinedConfiguration(3, 0))) {
+            // The middle request is out of bounds, slave responds with exception response
+            for (int reference : new int[] { 0, REGISTER_COUNT - 2, 10 }) {
+                comms.registerRegularPoll(holdingRequest(reference), POLL_PERIOD_MILLIS, INITIAL_DELAY_MILLIS,
+                        result -> {
+                            okCount.incrementAndGet();
+                            callbackCalled.countDown();
+                        }, failure -> {
+                            errorCount.incrementAndGet();
+                            callbackCalled.countDown();
+                        });
+            }
+            assertTrue(callbackCalled.await(10, TimeUnit.SECONDS));
+        }
+        assertThat(okCount.get(), is(equalTo(2)));
+        assertThat(errorCount.get(), is(equalTo(1)));
+        // Failed request is retried once one-by-one, after the pipelined requests
+        assertThat(receivedReferences(), is(equalTo(Arrays.asList(0, REGISTER_COUNT - 2, 10, REGISTER_COUNT - 2))));
+    }
+
+    @Test
+    public void testPipelinedPollsCanceled() throws Exception {
+        generateData();
+        ModbusSlaveEndpoint endpoint = getEndpoint();
+        AtomicInteger callbackCount = new AtomicInteger();
+
+        try (ModbusCommunicationInterface comms = modbusManager.newModbusCommunicationInterface(endpoint,
+                pipelinedConfiguration(3, 500))) {
+            for (int reference : new int[] { 0, 10, 20 }) {
+                comms.registerRegularPoll(holdingRequest(reference), POLL_PERIOD_MILLIS, INITIAL_DELAY_MILLIS,
+                        result -> callbackCount.incrementAndGet(), failure -> callbackCount.incrementAndGet());
+            }
+            // Time between transactions is respected, next request is written only after 500ms
+            waitForRequests(1);
+            // Unregisters the polls, canceling the ongoing poll
+        }
+        Thread.sleep(1500);
+        List<Integer> references = receivedReferences();
+        assertThat(references.size(), is(equalTo(1)));
+        assertThat(references.get(0), is(equalTo(0)));
+        // Poll was canceled, no callbacks and no one-by-one execution of the remaining tasks
+        assertThat(callbackCount.get(), is(equalTo(0)));
+    }
+}
@@ -0,0 +1,159 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.openhab.io.transport.modbus.AsyncModbusFailure;
+import org.openhab.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.io.transport.modbus.BitArray;
+import org.openhab.io.transport.modbus.ModbusConstants;
+import org.openhab.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.io.transport.modbus.PollTask;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.openhab.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
+import org.openhab.io.transport.modbus.internal.BasicPollTask;
+import org.openhab.io.transport.modbus.internal.CoalescedPollTask;
+import org.openhab.io.transport.modbus.internal.PollTaskCoalescer;
+
+/**
+ * @author agent - Initial contribution
+ */
+public class PollTaskCoalescerTest {
+
+    private final ModbusSlaveEndpoint endpoint = new ModbusTCPSlaveEndpoint("localhost", 502);
+    private final List<AsyncModbusReadResult> results = new ArrayList<>();
+    private final List<AsyncModbusFailure<ModbusReadRequestBlueprint>> failures = new ArrayList<>();
+
+    private PollTask task(int unitId, ModbusReadFunctionCode functionCode, int start, int length) {
+        return new BasicPollTask(endpoint, new ModbusReadRequestBlueprint(unitId, functionCode, start, length, 1),
+                results::add, failures::add);
+    }
+
+    @Test
+    public void testSingleTaskIsUnchanged() {
+        PollTask task = task(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 5);
+        List<PollTask> planned = PollTaskCoalescer.plan(endpoint, Arrays.asList(task));
+        assertThat(planned.size(), is(equalTo(1)));
+        assertThat(planned.get(0), is(sameInstance(task)));
+    }
+
+    @Test
+    public void testOverlappingAndAdjacentAreMerged() {
+        PollTask first = task(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 10, 5);
+        PollTask overlapping = task(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 12, 5);
+        PollTask adjacent = task(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 17, 2);
+        PollTask gap = task(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 20, 2);
+        List<PollTask> planned = PollTaskCoalescer.plan(endpoint, Arrays.asList(gap, adjacent, first, overlapping));
+
+        assertThat(planned.size(), is(equalTo(2)));
+        assertThat(planned.get(0), is(instanceOf(CoalescedPollTask.class)));
+        ModbusReadRequestBlueprint merged = planned.get(0).getRequest();
+        assertThat(merged.getReference(), is(equalTo(10)));
+        assertThat(merged.getDataLength(), is(equalTo(9)));
+        assertThat(((CoalescedPollTask) planned.get(0)).getMembers(),
+                is(equalTo(Arrays.asList(first, overlapping, adjacent))));
+        assertThat(planned.get(1), is(sameInstance(gap)));
+    }
+
+    @Test
+    public void testDifferentUnitOrFunctionCodeNotMerged() {
+        PollTask holding = task(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 5);
+        PollTask input = task(1, ModbusReadFunctionCode.READ_INPUT_REGISTERS, 5, 5);
+        PollTask otherUnit = task(2, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 5, 5);
+        List<PollTask> planned = PollTaskCoalescer.plan(endpoint, Arrays.asList(holding, input, otherUnit));
+        assertThat(planned.size(), is(equalTo(3)));
+        assertTrue(planned.stream().noneMatch(t -> t instanceof CoalescedPollTask));
+    }
+
+    @Test
+    public void testMaxReadCountRespected() {
+        PollTask first = task(1, ModbusReadFunctionCode.READ_INPUT_REGISTERS, 0, 100);
+        PollTask second = task(1, ModbusReadFunctionCode.READ_INPUT_REGISTERS, 100,
+                ModbusConstants.MAX_REGISTERS_READ_COUNT - 99);
+        List<PollTask> planned = PollTaskCoalescer.plan(endpoint, Arrays.asList(first, second));
+        assertThat(planned.size(), is(equalTo(2)));
+    }
+
+    @Test
+    public void testRegisterResultIsSliced() {
+        PollTask first = task(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 10, 2);
+        PollTask second = task(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 11, 3);
+        PollTask merged = PollTaskCoalescer.plan(endpoint, Arrays.asList(first, second)).get(0);
+
+        merged.getResultCallback()
+                .handle(new AsyncModbusReadResult(merged.getRequest(), new ModbusRegisterArray(1, 2, 3, 4)));
+
+        assertThat(results.size(), is(equalTo(2)));
+        assertThat(results.get(0).getRequest(), is(equalTo(first.getRequest())));
+        assertThat(results.get(0).getRegisters().get().toHexString(), is(equalTo("00 01 00 02")));
+        assertThat(results.get(1).getRequest(), is(equalTo(second.getRequest())));
+        assertThat(results.get(1).getRegisters().get().toHexString(), is(equalTo("00 02 00 03 00 04")));
+    }
+
+    @Test
+    public void testBitResultIsSliced() {
+        PollTask first = task(1, ModbusReadFunctionCode.READ_COILS, 0, 2);
+        PollTask second = task(1, ModbusReadFunctionCode.READ_COILS, 2, 2);
+        PollTask merged = PollTaskCoalescer.plan(endpoint, Arrays.asList(first, second)).get(0);
+
+        merged.getResultCallback().handle(
+                new AsyncModbusReadResult(merged.getRequest(), new BitArray(true, false, false, true)));
+
+        assertThat(results.size(), is(equalTo(2)));
+        assertThat(results.get(0).getBits().get(), is(equalTo(new BitArray(true, false))));
+        assertThat(results.get(1).getBits().get(), is(equalTo(new BitArray(false, true))));
+    }
+
+    @Test
+    public void testFailureIsPassedToAll() {
+        PollTask first = task(1, ModbusReadFunctionCode.READ_COILS, 0, 2);
+        PollTask second = task(1, ModbusReadFunctionCode.READ_COILS, 2, 2);
+        PollTask merged = PollTaskCoalescer.plan(endpoint, Arrays.asList(first, second)).get(0);
+        Exception error = new Exception("fail");
+
+        merged.getFailureCallback().handle(new AsyncModbusFailure<>(merged.getRequest(), error));
+
+        assertThat(failures.size(), is(equalTo(2)));
+        assertThat(failures.get(0).getRequest(), is(equalTo(first.getRequest())));
+        assertThat(failures.get(1).getRequest(), is(equalTo(second.getRequest())));
+        assertThat(failures.get(1).getCause(), is(sameInstance(error)));
+    }
+
+    @Test
+    public void testUnregisteredMembersAreSkipped() {
+        PollTask first = task(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 2);
+        PollTask second = task(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 2, 2);
+        List<PollTask> registered = new ArrayList<>(Arrays.asList(first, second));
+        PollTask merged = PollTaskCoalescer.plan(endpoint, Arrays.asList(first, second), registered::contains).get(0);
+
+        // the first task is unregistered while the coalesced read is in progress
+        registered.remove(first);
+        merged.getResultCallback()
+                .handle(new AsyncModbusReadResult(merged.getRequest(), new ModbusRegisterArray(1, 2, 3, 4)));
+        merged.getFailureCallback().handle(new AsyncModbusFailure<>(merged.getRequest(), new Exception("fail")));
+
+        assertThat(results.size(), is(equalTo(1)));
+        assertThat(results.get(0).getRequest(), is(equalTo(second.getRequest())));
+        assertThat(failures.size(), is(equalTo(1)));
+        assertThat(failures.get(0).getRequest(), is(equalTo(second.getRequest())));
+    }
+}
@@ -0,0 +1,42 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.jsonpath;
+
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.transform.TransformationException;
+import org.eclipse.smarthome.core.transform.TransformationService;
+
+/**
+ * {@link TransformationService} able to evaluate several expressions against the same source. The source is parsed
+ * only once, which is considerably cheaper than calling {@link #transform(String, String)} for each expression when
+ * many values are extracted from the same document.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public interface MultiPathTransformationService extends TransformationService {
+
+    /**
+     * Transforms the input <code>source</code> by each of the given expressions.
+     *
+     * @param functions expressions to evaluate
+     * @param source the input to transform
+     * @return results in the same order as the expressions. The result is <code>null</code> when the expression
+     *         does not match anything in the source, or matches a <code>null</code> value.
+     * @throws TransformationException if the source cannot be parsed, or any of the expressions is invalid
+     */
+    List<@Nullable String> transform(List<String> functions, String source) throws TransformationException;
+}
@@ -12,7 +12,13 @@
  */
 package org.openhab.transform.jsonpath.internal;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -20,10 +26,12 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.transform.TransformationException;
 import org.eclipse.smarthome.core.transform.TransformationService;
 import org.eclipse.smarthome.core.types.UnDefType;
+import org.openhab.transform.jsonpath.MultiPathTransformationService;
 import org.osgi.service.component.annotations.Component;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.jayway.jsonpath.Configuration;
 import com.jayway.jsonpath.InvalidJsonException;
 import com.jayway.jsonpath.InvalidPathException;
 import com.jayway.jsonpath.JsonPath;
@@ -33,16 +41,112 @@ import com.jayway.jsonpath.PathNotFoundException;
  * <p>
  * The implementation of {@link TransformationService} which transforms the input by JSonPath Expressions.
  *
+ * <p>
+ * Compiled expressions are cached, and so are the most recently parsed documents. Thus extracting several values
+ * from the same document, be it with {@link #transform(List, String)} or by calling
+ * {@link #transform(String, String)} repeatedly with the same source string, parses the document only once.
+ *
  * @author Gaël L'hopital
  * @author Sebastian Janzen
  *
  */
 @NonNullByDefault
-@Component(immediate = true, property = { "smarthome.transform=JSONPATH" })
-public class JSonPathTransformationService implements TransformationService {
+@Component(immediate = true, service = { TransformationService.class,
+        MultiPathTransformationService.class }, property = { "smarthome.transform=JSONPATH" })
+public class JSonPathTransformationService implements MultiPathTransformationService {
+
+    /**
+     * Maximum number of compiled expressions kept in the cache
+     */
+    static final int MAX_CACHED_PATHS = 256;
+
+    /**
+     * Maximum total length of the sources of the parsed documents kept in the cache
+     */
+    static final int MAX_CACHED_DOCUMENTS_LENGTH = 1024 * 1024;
 
     private final Logger logger = LoggerFactory.getLogger(JSonPathTransformationService.class);
 
+    private final Configuration configuration = Configuration.defaultConfiguration();
+
+    private final Map<String, JsonPath> compiledPaths = Collections.synchronizedMap(new LruMap<>(MAX_CACHED_PATHS));
+
+    private final DocumentCache parsedDocuments = new DocumentCache(MAX_CACHED_DOCUMENTS_LENGTH);
+
+    private static class LruMap<K, V> extends LinkedHashMap<K, V> {
+        private static final long serialVersionUID = 1L;
+
+        private final int maxSize;
+
+        LruMap(int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(@Nullable Entry<K, V> eldest) {
+            return size() > maxSize;
+        }
+    }
+
+    /**
+     * Cache of parsed documents by their source. The sources are compared by identity, so a lookup does not compare
+     * the whole source, and the cache is bounded by the total length of the sources.
+     */
+    static class DocumentCache {
+        private final LinkedHashMap<SourceKey, Object> documents = new LinkedHashMap<>(16, 0.75f, true);
+        private final int maxLength;
+        private long length;
+
+        DocumentCache(int maxLength) {
+            this.maxLength = maxLength;
+        }
+
+        synchronized @Nullable Object get(String source) {
+            return documents.get(new SourceKey(source));
+        }
+
+        synchronized void put(String source, Object document) {
+            if (source.length() > maxLength) {
+                return;
+            }
+            if (documents.put(new SourceKey(source), document) == null) {
+                length += source.length();
+            }
+            Iterator<SourceKey> eldest = documents.keySet().iterator();
+            while (length > maxLength && eldest.hasNext()) {
+                length -= eldest.next().source.length();
+                eldest.remove();
+            }
+        }
+
+        synchronized int size() {
+            return documents.size();
+        }
+
+        synchronized long getLength() {
+            return length;
+        }
+    }
+
+    private static final class SourceKey {
+        private final String source;
+
+        SourceKey(String source) {
+            this.source = source;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(source);
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            return obj instanceof SourceKey && ((SourceKey) obj).source == source;
+        }
+    }
+
     /**
      * Transforms the input <code>source</code> by JSonPath expression.
      *
@@ -60,15 +164,9 @@ public class JSonPathTransformationService implements TransformationService {
         logger.debug("about to transform '{}' by the function '{}'", source, jsonPathExpression);
 
         try {
-            Object transformationResult = JsonPath.read(source, jsonPathExpression);
+            Object transformationResult = getCompiledPath(jsonPathExpression).read(getDocument(source), configuration);
             logger.debug("transformation resulted in '{}'", transformationResult);
-            if (transformationResult == null) {
-                return null;
-            } else if (transformationResult instanceof List) {
-                return flattenList((List<?>) transformationResult);
-            } else {
-                return transformationResult.toString();
-            }
+            return toResultString(transformationResult);
         } catch (PathNotFoundException e) {
             throw new TransformationException("Invalid path '" + jsonPathExpression + "' in '" + source + "'");
         } catch (InvalidPathException | InvalidJsonException e) {
@@ -76,6 +174,77 @@ public class JSonPathTransformationService implements TransformationService {
         }
     }
 
+    /**
+     * Transforms the input <code>source</code> by each of the JSonPath expressions, parsing the source only once.
+     *
+     * @param jsonPathExpressions JsonPath expressions
+     * @param source String which contains JSON
+     * @return results in the same order as the expressions. The result is <code>null</code> when the expression does
+     *         not match anything in the source, or matches a <code>null</code> value.
+     * @throws TransformationException If the source is not valid JSON or any of the expressions is invalid.
+     */
+    @Override
+    public List<@Nullable String> transform(List<String> jsonPathExpressions, String source)
+            throws TransformationException {
+        if (jsonPathExpressions == null || source == null) {
+            throw new TransformationException("the given parameters 'JSonPath' and 'source' must not be null");
+        }
+
+        logger.debug("about to transform '{}' by the functions '{}'", source, jsonPathExpressions);
+
+        try {
+            Object document = getDocument(source);
+            List<@Nullable String> results = new ArrayList<>(jsonPathExpressions.size());
+            for (String jsonPathExpression : jsonPathExpressions) {
+                JsonPath jsonPath = getCompiledPath(jsonPathExpression);
+                try {
+                    results.add(toResultString(jsonPath.read(document, configuration)));
+                } catch (PathNotFoundException e) {
+                    logger.debug("Path '{}' not found in '{}'", jsonPathExpression, source);
+                    results.add(null);
+                }
+            }
+            logger.debug("transformation resulted in '{}'", results);
+            return results;
+        } catch (InvalidPathException | InvalidJsonException e) {
+            throw new TransformationException("An error occurred while transforming JSON expression.", e);
+        }
+    }
+
+    private JsonPath getCompiledPath(String jsonPathExpression) {
+        JsonPath jsonPath = compiledPaths.get(jsonPathExpression);
+        if (jsonPath == null) {
+            jsonPath = JsonPath.compile(jsonPathExpression);
+            compiledPaths.put(jsonPathExpression, jsonPath);
+        }
+        return jsonPath;
+    }
+
+    /**
+     * Get parsed document. Parsed documents are only read, never modified, so the same document can be shared between
+     * callers.
+     */
+    private Object getDocument(String source) {
+        Object document = parsedDocuments.get(source);
+        if (document == null) {
+            document = configuration.jsonProvider().parse(source);
+            if (document != null) {
+                parsedDocuments.put(source, document);
+            }
+        }
+        return document;
+    }
+
+    private @Nullable String toResultString(@Nullable Object transformationResult) {
+        if (transformationResult == null) {
+            return null;
+        } else if (transformationResult instanceof List) {
+            return flattenList((List<?>) transformationResult);
+        } else {
+            return transformationResult.toString();
+        }
+    }
+
     private String flattenList(List<?> list) {
         if (list.size() == 1) {
             return list.get(0).toString();
@@ -12,7 +12,10 @@
  */
 package org.openhab.transform.jsonpath.internal;
 
-import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
 
 import org.eclipse.smarthome.core.transform.TransformationException;
 import org.junit.Assert;
@@ -128,4 +131,44 @@ public class JSonPathTransformationServiceTest {
         String transformedResponse = processor.transform("$.data", json);
         assertEquals(list, transformedResponse);
     }
+
+    @Test
+    public void testMultiplePaths() throws TransformationException {
+        final String json = "{\"temperature\": 21.5, \"humidity\": 48, \"name\": \"sensor\", \"battery\": null}";
+        List<String> results = processor.transform(
+                Arrays.asList("$.temperature", "$.unknown", "$.name", "$.battery", "$.humidity"), json);
+        assertEquals(Arrays.asList("21.5", null, "sensor", null, "48"), results);
+    }
+
+    @Test(expected = TransformationException.class)
+    public void testMultiplePaths_invalidPath() throws TransformationException {
+        processor.transform(Arrays.asList("$.temperature", "$$"), "{\"temperature\": 21.5}");
+    }
+
+    @Test
+    public void testRepeatedTransformationsOfSameSource() throws TransformationException {
+        for (int i = 0; i < 3; i++) {
+            assertEquals("bob", processor.transform("$[0].name", jsonArray));
+            assertEquals("alice", processor.transform("$[1].name", jsonArray));
+        }
+        assertEquals("carol", processor.transform("$[1].name", "[{\"name\":\"dave\"},{\"name\":\"carol\"}]"));
+    }
+
+    @Test
+    public void testDocumentCacheIsBoundedByTotalLength() {
+        JSonPathTransformationService.DocumentCache cache = new JSonPathTransformationService.DocumentCache(10);
+        String first = "[1,2,3]";
+        String second = "[4,5]";
+        cache.put(first, "first");
+        cache.put(second, "second");
+        // the sources are compared by identity
+        assertNull(cache.get(new String(second)));
+        assertEquals("second", cache.get(second));
+        assertEquals(1, cache.size());
+        assertEquals(second.length(), cache.getLength());
+
+        cache.put("[1,2,3,4,5,6]", "too long");
+        assertEquals(1, cache.size());
+        assertEquals("second", cache.get(second));
+    }
 }
@@ -0,0 +1,178 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.regex.internal;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Bounded cache of compiled regular expressions, keyed by the expression given to the transformation.
+ *
+ * Expressions in the substitution form <code>s/regex/substitution/options</code> are parsed once, and the regex part is
+ * compiled as is. Other expressions are compiled anchored with <code>^</code> and <code>$</code>, as expected by
+ * {@link RegExTransformationService}.
+ *
+ * The cache is safe for concurrent use. When it is full, an arbitrary entry is evicted to make room for the new one.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class RegExPatternCache {
+
+    /**
+     * Default maximum number of cached expressions
+     */
+    public static final int DEFAULT_MAX_SIZE = 256;
+
+    private static final Pattern SUBSTR_PATTERN = Pattern.compile("^s/(.*?[^\\\\])/(.*?[^\\\\])/(.*)$");
+
+    /**
+     * Compiled form of a single transformation expression
+     */
+    public static class CompiledRegEx {
+        private final Pattern pattern;
+        private final @Nullable String substitution;
+        private final boolean global;
+
+        private CompiledRegEx(Pattern pattern, @Nullable String substitution, boolean global) {
+            this.pattern = pattern;
+            this.substitution = substitution;
+            this.global = global;
+        }
+
+        /**
+         * Get the compiled pattern. In substitution form, this is the pattern to replace, otherwise the anchored
+         * pattern to match.
+         *
+         * @return compiled pattern
+         */
+        public Pattern getPattern() {
+            return pattern;
+        }
+
+        /**
+         * Get the substitution
+         *
+         * @return substitution, or <code>null</code> if the expression is not in substitution form
+         */
+        public @Nullable String getSubstitution() {
+            return substitution;
+        }
+
+        /**
+         * Whether all matches should be substituted, i.e. the expression has the <code>g</code> option
+         *
+         * @return true when all matches should be substituted, false if only the first one
+         */
+        public boolean isGlobal() {
+            return global;
+        }
+    }
+
+    private final int maxSize;
+    private final Map<String, CompiledRegEx> cache = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public RegExPatternCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    public RegExPatternCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Get compiled form of the expression, compiling it if not cached already
+     *
+     * @param regExpression expression as given to the transformation
+     * @return compiled expression
+     * @throws PatternSyntaxException if the expression is not a valid regular expression. Invalid expressions are not
+     *             cached.
+     */
+    public CompiledRegEx get(String regExpression) {
+        CompiledRegEx compiled = cache.get(regExpression);
+        if (compiled != null) {
+            hits.increment();
+            return compiled;
+        }
+        misses.increment();
+        compiled = compile(regExpression);
+        if (cache.size() >= maxSize) {
+            Iterator<String> keys = cache.keySet().iterator();
+            if (keys.hasNext()) {
+                keys.next();
+                keys.remove();
+            }
+        }
+        // Concurrent callers might have compiled the same expression, any of the equal results will do
+        cache.put(regExpression, compiled);
+        return compiled;
+    }
+
+    private static CompiledRegEx compile(String regExpression) {
+        Matcher substMatcher = SUBSTR_PATTERN.matcher(regExpression);
+        if (substMatcher.matches()) {
+            return new CompiledRegEx(Pattern.compile(substMatcher.group(1)), substMatcher.group(2),
+                    substMatcher.group(3).equals("g"));
+        }
+        return new CompiledRegEx(Pattern.compile("^" + regExpression + "$", Pattern.DOTALL), null, false);
+    }
+
+    /**
+     * Get number of lookups served from the cache
+     *
+     * @return number of cache hits
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Get number of lookups that required compiling the expression
+     *
+     * @return number of cache misses
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Get number of cached expressions
+     *
+     * @return number of cached expressions
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * Remove all cached expressions and reset the counters
+     */
+    public void clear() {
+        cache.clear();
+        hits.reset();
+        misses.reset();
+    }
+}
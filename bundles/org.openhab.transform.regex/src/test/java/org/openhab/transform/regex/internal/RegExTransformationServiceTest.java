@@ -12,7 +12,7 @@
  */
 package org.openhab.transform.regex.internal;
 
-import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.*;
 
 import org.eclipse.smarthome.core.transform.TransformationException;
 import org.junit.Before;
@@ -75,4 +75,29 @@ public class RegExTransformationServiceTest extends AbstractTransformationServic
         // Asserts
         assertEquals("varX=12 varY=54 ", transformedResponse);
     }
+
+    @Test
+    public void testTransformByRegex_compiledOnce() throws TransformationException {
+        for (int i = 0; i < 3; i++) {
+            assertEquals("8", processor.transform(".*?<current_conditions>.*?<temp_c data=\"(.*?)\".*", source));
+            assertEquals("SetMode(42)", processor.transform("s/^OP:(.*?),ARG:(.*)$/$1($2)/", "OP:SetMode,ARG:42"));
+        }
+
+        RegExPatternCache cache = processor.getPatternCache();
+        assertEquals(2, cache.size());
+        assertEquals(2, cache.getMissCount());
+        assertEquals(4, cache.getHitCount());
+    }
+
+    @Test
+    public void testPatternCache_bounded() {
+        RegExPatternCache cache = new RegExPatternCache(2);
+        cache.get("a(.*)");
+        cache.get("b(.*)");
+        cache.get("c(.*)");
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get("c(.*)").getPattern());
+        assertNull(cache.get("c(.*)").getSubstitution());
+        assertTrue(cache.get("s/a/b/g").isGlobal());
+    }
 }
@@ -109,4 +109,18 @@ public class Range {
 
         return true;
     }
+
+    /**
+     * Checks whether the open interval between the given limits is within this range. The limits of this range must
+     * not be strictly between the given limits.
+     *
+     * @param lower lower limit of the interval, <code>null</code> for unbounded
+     * @param upper upper limit of the interval, <code>null</code> for unbounded
+     * @return true if the interval is within this range
+     */
+    boolean containsInterval(final BigDecimal lower, final BigDecimal upper) {
+        final boolean minMatch = min == null || (lower != null && min.compareTo(lower) <= 0);
+        final boolean maxMatch = max == null || (upper != null && max.compareTo(upper) >= 0);
+        return minMatch && maxMatch;
+    }
 }
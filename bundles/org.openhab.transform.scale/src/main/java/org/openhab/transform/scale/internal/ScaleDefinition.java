@@ -0,0 +1,203 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.scale.internal;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+
+/**
+ * Loaded scale file, compiled for fast lookups.
+ *
+ * The limits of all ranges split the number line into elementary segments: the limits themselves, and the open
+ * intervals between consecutive limits. Every range either covers an elementary segment completely or not at all, so
+ * the label of each segment is resolved once when the file is loaded, taking the first matching range in the order of
+ * the file. A lookup is then a binary search over the sorted limits.
+ *
+ * @author agent - Initial contribution
+ */
+public class ScaleDefinition {
+
+    private final String format;
+    private final String nonNumericLabel;
+
+    /** Distinct range limits in ascending order */
+    private final BigDecimal[] limits;
+
+    /** Range limits as doubles, for lookups that avoid BigDecimal construction */
+    private final double[] doubleLimits;
+
+    /**
+     * Label of each elementary segment, <code>null</code> if no range matches. Index <code>2 * i</code> is the open
+     * interval just below <code>limits[i]</code> (or above the last limit for <code>i == limits.length</code>), and
+     * index <code>2 * i + 1</code> is <code>limits[i]</code> itself.
+     */
+    private final String[] labels;
+
+    /**
+     * Compile scale definition
+     *
+     * @param ranges ranges and their labels, in the order of the scale file
+     * @param format presentation format of the result
+     * @param nonNumericLabel label used with non numeric inputs, or <code>null</code> if not defined
+     */
+    public ScaleDefinition(List<Map.Entry<Range, String>> ranges, String format, String nonNumericLabel) {
+        this.format = format;
+        this.nonNumericLabel = nonNumericLabel;
+
+        TreeSet<BigDecimal> sortedLimits = new TreeSet<>();
+        for (Map.Entry<Range, String> entry : ranges) {
+            if (entry.getKey().min != null) {
+                sortedLimits.add(entry.getKey().min);
+            }
+            if (entry.getKey().max != null) {
+                sortedLimits.add(entry.getKey().max);
+            }
+        }
+        limits = sortedLimits.toArray(new BigDecimal[0]);
+        doubleLimits = new double[limits.length];
+        for (int i = 0; i < limits.length; i++) {
+            doubleLimits[i] = limits[i].doubleValue();
+        }
+
+        labels = new String[2 * limits.length + 1];
+        for (int i = 0; i <= limits.length; i++) {
+            BigDecimal lower = i == 0 ? null : limits[i - 1];
+            BigDecimal upper = i == limits.length ? null : limits[i];
+            labels[2 * i] = firstMatch(ranges, range -> range.containsInterval(lower, upper));
+            if (upper != null) {
+                labels[2 * i + 1] = firstMatch(ranges, range -> range.contains(upper));
+            }
+        }
+    }
+
+    private static String firstMatch(List<Map.Entry<Range, String>> ranges, Predicate<Range> matches) {
+        return ranges.stream().filter(entry -> matches.test(entry.getKey())).findFirst().map(Map.Entry::getValue)
+                .orElse(null);
+    }
+
+    /**
+     * Get presentation format of the result
+     *
+     * @return format with <code>%value%</code> and <code>%label%</code> placeholders
+     */
+    public String getFormat() {
+        return format;
+    }
+
+    /**
+     * Get label for non numeric inputs
+     *
+     * @return label, or <code>null</code> if the scale does not define one
+     */
+    public String getNonNumericLabel() {
+        return nonNumericLabel;
+    }
+
+    /**
+     * Get label of the first range containing the value
+     *
+     * @param value value to look up
+     * @return label, or <code>null</code> if no range contains the value
+     */
+    public String getLabel(BigDecimal value) {
+        int index = lowerBound(value);
+        if (index < limits.length && limits[index].compareTo(value) == 0) {
+            return labels[2 * index + 1];
+        }
+        return labels[2 * index];
+    }
+
+    /**
+     * Get label of the first range containing the numeric value of the text.
+     *
+     * Plain decimal numbers are looked up as doubles, falling back to exact comparison only if the value is equal to
+     * one of the limits when converted to double.
+     *
+     * @param value decimal number as text, as accepted by {@link BigDecimal#BigDecimal(String)}
+     * @return label, or <code>null</code> if no range contains the value
+     * @throws NumberFormatException if the text is not a valid decimal number
+     */
+    public String getLabel(String value) {
+        if (isPlainDecimal(value)) {
+            try {
+                double doubleValue = Double.parseDouble(value);
+                if (!Double.isInfinite(doubleValue) && !Double.isNaN(doubleValue)) {
+                    int index = lowerBound(doubleValue);
+                    // Conversion to double is monotonic, so the segment is exact unless the value lands on a limit
+                    if (index == doubleLimits.length || doubleLimits[index] != doubleValue) {
+                        return labels[2 * index];
+                    }
+                }
+            } catch (NumberFormatException e) {
+                // Let BigDecimal decide below
+            }
+        }
+        return getLabel(new BigDecimal(value));
+    }
+
+    private static boolean isPlainDecimal(String value) {
+        if (value.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if ((c < '0' || c > '9') && c != '.' && c != '-' && c != '+' && c != 'e' && c != 'E') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Index of the first limit greater than or equal to the value
+     */
+    private int lowerBound(BigDecimal value) {
+        int low = 0;
+        int high = limits.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (limits[mid].compareTo(value) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Index of the first double limit greater than or equal to the value
+     */
+    private int lowerBound(double value) {
+        int low = 0;
+        int high = doubleLimits.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (doubleLimits[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    @Override
+    public String toString() {
+        return "ScaleDefinition [limits=" + Arrays.toString(limits) + ", labels=" + Arrays.toString(labels) + "]";
+    }
+}
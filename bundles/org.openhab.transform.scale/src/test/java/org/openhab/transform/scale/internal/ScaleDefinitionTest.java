@@ -0,0 +1,95 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.scale.internal;
+
+import static org.junit.Assert.*;
+
+import java.math.BigDecimal;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * @author agent - Initial contribution
+ */
+public class ScaleDefinitionTest {
+
+    private final List<Map.Entry<Range, String>> ranges = new ArrayList<>();
+
+    private void add(Range range, String label) {
+        ranges.add(new SimpleImmutableEntry<>(range, label));
+    }
+
+    private String linearLookup(BigDecimal value) {
+        return ranges.stream().filter(entry -> entry.getKey().contains(value)).findFirst().map(Map.Entry::getValue)
+                .orElse(null);
+    }
+
+    @Test
+    public void testFirstMatchWins() {
+        add(Range.open(null, new BigDecimal(15)), "first");
+        add(Range.closedOpen(new BigDecimal(10), new BigDecimal(17)), "second");
+        add(Range.atLeast(new BigDecimal(15)), "last");
+        ScaleDefinition scale = new ScaleDefinition(ranges, "%label%", null);
+
+        assertEquals("first", scale.getLabel("12"));
+        assertEquals("first", scale.getLabel("14.999"));
+        assertEquals("second", scale.getLabel("15"));
+        assertEquals("second", scale.getLabel("16.5"));
+        assertEquals("last", scale.getLabel("17"));
+        assertEquals("first", scale.getLabel("-1e9"));
+    }
+
+    @Test
+    public void testLimitsAndGaps() {
+        add(Range.closed(new BigDecimal("0.1"), new BigDecimal("0.2")), "low");
+        add(Range.openClosed(new BigDecimal("0.3"), new BigDecimal("0.4")), "high");
+        ScaleDefinition scale = new ScaleDefinition(ranges, "%label%", "NaN");
+
+        assertEquals("low", scale.getLabel("0.1"));
+        assertEquals("low", scale.getLabel("0.20"));
+        assertNull(scale.getLabel("0.25"));
+        assertNull(scale.getLabel("0.3"));
+        assertEquals("high", scale.getLabel("0.30000000000000000001"));
+        assertEquals("high", scale.getLabel(new BigDecimal("0.4")));
+        assertNull(scale.getLabel("0.40000000000000000001"));
+        assertEquals("NaN", scale.getNonNumericLabel());
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void testInvalidNumber() {
+        add(Range.all(), "all");
+        new ScaleDefinition(ranges, "%label%", null).getLabel("1e");
+    }
+
+    @Test
+    public void testSameAsLinearLookup() {
+        Random random = new Random(42);
+        for (int i = 0; i < 30; i++) {
+            BigDecimal lower = random.nextInt(5) == 0 ? null : BigDecimal.valueOf(random.nextInt(40) - 20, 1);
+            BigDecimal upper = random.nextInt(5) == 0 ? null : BigDecimal.valueOf(random.nextInt(40) - 20, 1);
+            add(Range.range(lower, random.nextBoolean(), upper, random.nextBoolean()), "label" + i);
+        }
+        ScaleDefinition scale = new ScaleDefinition(ranges, "%label%", null);
+
+        for (int i = -250; i <= 250; i++) {
+            BigDecimal value = BigDecimal.valueOf(i, 2);
+            assertEquals(value.toString(), linearLookup(value), scale.getLabel(value.toString()));
+            assertEquals(value.toString(), linearLookup(value), scale.getLabel(value));
+        }
+    }
+}
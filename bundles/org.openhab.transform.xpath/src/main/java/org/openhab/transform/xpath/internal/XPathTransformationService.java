@@ -13,12 +13,19 @@
 package org.openhab.transform.xpath.internal;
 
 import java.io.StringReader;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -26,6 +33,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.transform.TransformationException;
 import org.eclipse.smarthome.core.transform.TransformationService;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
@@ -35,14 +43,74 @@ import org.xml.sax.InputSource;
  * <p>
  * The implementation of {@link TransformationService} which transforms the input by XPath Expressions.
  *
+ * <p>
+ * Neither {@link DocumentBuilder}, {@link XPath} nor {@link XPathExpression} are thread-safe. Thus each
+ * transformation borrows a parser, together with a bounded LRU cache of the expressions compiled with it, from a
+ * small pool owned by the service.
+ *
  * @author Thomas.Eichstaedt-Engelen
  */
 @NonNullByDefault
 @Component(immediate = true, property = { "smarthome.transform=XPATH" })
 public class XPathTransformationService implements TransformationService {
 
+    /**
+     * Maximum number of compiled expressions cached per parser
+     */
+    static final int MAX_CACHED_EXPRESSIONS = 64;
+
+    /**
+     * Maximum number of idle parsers kept for reuse
+     */
+    static final int MAX_IDLE_PARSERS = 8;
+
     private final Logger logger = LoggerFactory.getLogger(XPathTransformationService.class);
 
+    /**
+     * Parser and compiled expressions, used by a single transformation at a time
+     */
+    private static class ParserState {
+        private final DocumentBuilder builder;
+        private final XPath xpath = XPathFactory.newInstance().newXPath();
+        private final Map<String, XPathExpression> expressions = new LinkedHashMap<String, XPathExpression>(16,
+                0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(@Nullable Entry<String, XPathExpression> eldest) {
+                return size() > MAX_CACHED_EXPRESSIONS;
+            }
+        };
+
+        ParserState() throws ParserConfigurationException {
+            DocumentBuilderFactory domFactory = DocumentBuilderFactory.newInstance();
+            domFactory.setNamespaceAware(true);
+            domFactory.setValidating(false);
+            builder = domFactory.newDocumentBuilder();
+        }
+
+        XPathExpression getExpression(String xpathExpression) throws XPathExpressionException {
+            XPathExpression expr = expressions.get(xpathExpression);
+            if (expr == null) {
+                expr = xpath.compile(xpathExpression);
+                expressions.put(xpathExpression, expr);
+            }
+            return expr;
+        }
+    }
+
+    /**
+     * Idle parsers, the most recently used first
+     */
+    private final Deque<ParserState> idleParsers = new ArrayDeque<>();
+
+    @Deactivate
+    protected void deactivate() {
+        synchronized (idleParsers) {
+            idleParsers.clear();
+        }
+    }
+
     @Override
     public @Nullable String transform(String xpathExpression, String source) throws TransformationException {
         if (xpathExpression == null || source == null) {
@@ -52,22 +120,22 @@ public class XPathTransformationService implements TransformationService {
         logger.debug("about to transform '{}' by the function '{}'", source, xpathExpression);
 
         StringReader stringReader = null;
+        @Nullable
+        ParserState state = null;
 
         try {
-            DocumentBuilderFactory domFactory = DocumentBuilderFactory.newInstance();
-            domFactory.setNamespaceAware(true);
-            domFactory.setValidating(false);
-            DocumentBuilder builder = domFactory.newDocumentBuilder();
+            state = borrowParser();
+            // Compile first so that invalid expressions are reported without parsing the document
+            XPathExpression expr = state.getExpression(xpathExpression);
 
             stringReader = new StringReader(source);
             InputSource inputSource = new InputSource(stringReader);
             inputSource.setEncoding("UTF-8");
 
+            DocumentBuilder builder = state.builder;
+            builder.reset();
             Document doc = builder.parse(inputSource);
 
-            XPath xpath = XPathFactory.newInstance().newXPath();
-            XPathExpression expr = xpath.compile(xpathExpression);
-
             String transformationResult = (String) expr.evaluate(doc, XPathConstants.STRING);
 
             logger.debug("transformation resulted in '{}'", transformationResult);
@@ -79,6 +147,32 @@ public class XPathTransformationService implements TransformationService {
             if (stringReader != null) {
                 stringReader.close();
             }
+            if (state != null) {
+                returnParser(state);
+            }
+        }
+    }
+
+    private ParserState borrowParser() throws ParserConfigurationException {
+        @Nullable
+        ParserState state;
+        synchronized (idleParsers) {
+            state = idleParsers.pollFirst();
+        }
+        return state != null ? state : new ParserState();
+    }
+
+    private void returnParser(ParserState state) {
+        synchronized (idleParsers) {
+            if (idleParsers.size() < MAX_IDLE_PARSERS) {
+                idleParsers.addFirst(state);
+            }
+        }
+    }
+
+    int getIdleParserCount() {
+        synchronized (idleParsers) {
+            return idleParsers.size();
         }
     }
 }
@@ -38,4 +38,43 @@ public class XPathTransformationServiceTest extends AbstractTransformationServic
         // Asserts
         assertEquals("8", transformedResponse);
     }
+
+    @Test
+    public void testTransformByCachedXPath() throws TransformationException {
+        for (int i = 0; i < 3; i++) {
+            assertEquals("8", processor.transform("//current_conditions/temp_c/@data", source));
+            assertEquals("46", processor.transform("//current_conditions/temp_f/@data", source));
+        }
+    }
+
+    @Test
+    public void testTransformMoreExpressionsThanCached() throws TransformationException {
+        for (int i = 0; i <= XPathTransformationService.MAX_CACHED_EXPRESSIONS; i++) {
+            assertEquals("8", processor.transform("//current_conditions/temp_c/@data | //x" + i, source));
+        }
+        assertEquals("8", processor.transform("//current_conditions/temp_c/@data", source));
+    }
+
+    @Test(expected = TransformationException.class)
+    public void testInvalidXPath() throws TransformationException {
+        processor.transform("//current_conditions/[", source);
+    }
+
+    @Test
+    public void testParserIsReused() throws TransformationException {
+        processor.transform("//current_conditions/temp_c/@data", source);
+        assertEquals(1, processor.getIdleParserCount());
+        processor.transform("//current_conditions/temp_f/@data", source);
+        assertEquals(1, processor.getIdleParserCount());
+
+        try {
+            processor.transform("//current_conditions/[", source);
+        } catch (TransformationException e) {
+            // the parser is returned anyway
+        }
+        assertEquals(1, processor.getIdleParserCount());
+
+        processor.deactivate();
+        assertEquals(0, processor.getIdleParserCount());
+    }
 }
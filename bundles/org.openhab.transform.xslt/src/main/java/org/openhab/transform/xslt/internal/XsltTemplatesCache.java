@@ -0,0 +1,109 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.xslt.internal;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import javax.xml.transform.Templates;
+import javax.xml.transform.TransformerConfigurationException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.stream.StreamSource;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.config.core.ConfigConstants;
+import org.eclipse.smarthome.core.transform.TransformationException;
+import org.eclipse.smarthome.core.transform.TransformationService;
+import org.osgi.service.component.annotations.Component;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded LRU cache of compiled XSLT stylesheets.
+ *
+ * {@link Templates} are thread-safe, so the same compiled stylesheet is shared by all callers. Entries are removed by
+ * {@link TransformationStylesheetWatcher} when the stylesheet file is modified or deleted.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+@Component(service = XsltTemplatesCache.class)
+public class XsltTemplatesCache {
+
+    public static final String TRANSFORM_FOLDER = ConfigConstants.getConfigFolder() + File.separator
+            + TransformationService.TRANSFORM_FOLDER_NAME;
+
+    /**
+     * Maximum number of compiled stylesheets kept in the cache
+     */
+    static final int MAX_CACHED_TEMPLATES = 32;
+
+    private final Logger logger = LoggerFactory.getLogger(XsltTemplatesCache.class);
+
+    private final Map<Path, Templates> templatesMap = new LinkedHashMap<Path, Templates>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(@Nullable Entry<Path, Templates> eldest) {
+            return size() > MAX_CACHED_TEMPLATES;
+        }
+    };
+
+    /**
+     * Get compiled stylesheet from cache. If it is not in the cache, then load it from storage and put the compiled
+     * version into the cache.
+     *
+     * @param filename name of the stylesheet file, relative to the transform folder
+     * @return compiled stylesheet
+     * @throws TransformationException if the stylesheet cannot be loaded or compiled
+     */
+    public Templates getTemplates(String filename) throws TransformationException {
+        Path path = toKey(Paths.get(TRANSFORM_FOLDER, filename));
+        synchronized (templatesMap) {
+            Templates templates = templatesMap.get(path);
+            if (templates != null) {
+                logger.debug("Loading XSLT {} from cache.", filename);
+                return templates;
+            }
+            logger.debug("Loading XSLT {} from storage", path);
+            try {
+                templates = TransformerFactory.newInstance().newTemplates(new StreamSource(path.toFile()));
+            } catch (TransformerConfigurationException e) {
+                throw new TransformationException("An error occurred while loading XSLT. " + e.getMessage(), e);
+            }
+            templatesMap.put(path, templates);
+            return templates;
+        }
+    }
+
+    /**
+     * Remove compiled stylesheet from cache.
+     *
+     * @param path path of the stylesheet file
+     */
+    public void removeFromCache(Path path) {
+        logger.debug("Removing XSLT {} from cache.", path);
+        synchronized (templatesMap) {
+            templatesMap.remove(toKey(path));
+        }
+    }
+
+    private static Path toKey(Path path) {
+        return path.toAbsolutePath().normalize();
+    }
+}
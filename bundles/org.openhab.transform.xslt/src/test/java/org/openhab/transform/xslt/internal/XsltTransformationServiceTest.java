@@ -12,7 +12,11 @@
  */
 package org.openhab.transform.xslt.internal;
 
-import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.*;
+
+import java.nio.file.Paths;
+
+import javax.xml.transform.Templates;
 
 import org.eclipse.smarthome.core.transform.TransformationException;
 import org.junit.Before;
@@ -24,10 +28,13 @@ import org.junit.Test;
 public class XsltTransformationServiceTest extends AbstractTransformationServiceTest {
 
     private XsltTransformationService processor;
+    private XsltTemplatesCache cache;
 
     @Before
     public void init() {
+        cache = new XsltTemplatesCache();
         processor = new XsltTransformationService();
+        processor.setXsltTemplatesCache(cache);
     }
 
     @Test
@@ -38,4 +45,21 @@ public class XsltTransformationServiceTest extends AbstractTransformationService
         // Asserts
         assertEquals("8", transformedResponse);
     }
+
+    @Test
+    public void testTemplatesAreCached() throws TransformationException {
+        Templates templates = cache.getTemplates("http/google_weather.xsl");
+        assertSame(templates, cache.getTemplates("http/google_weather.xsl"));
+        assertEquals("8", processor.transform("http/google_weather.xsl", source));
+        assertEquals("8", processor.transform("http/google_weather.xsl", source));
+
+        // as done by the watcher when the file is modified
+        cache.removeFromCache(Paths.get(XsltTemplatesCache.TRANSFORM_FOLDER, "http", "google_weather.xsl"));
+        assertNotSame(templates, cache.getTemplates("http/google_weather.xsl"));
+    }
+
+    @Test(expected = TransformationException.class)
+    public void testMissingFile() throws TransformationException {
+        processor.transform("http/missing.xsl", source);
+    }
 }